@@ -1,26 +1,51 @@
 package com.educagame.model;
 
+import com.educagame.model.content.ThemeContent;
+import com.educagame.model.state.GameState;
+import com.educagame.model.state.RoundState;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Source of truth for a single game room. All state, scores, turn and timers live here.
+ * Players are indexed by id for O(1) lookups. Small rooms also keep them in join order, which
+ * turn-based engines rely on; large rooms (auditorium quizzes with thousands of players) keep
+ * only the index and are not serialized with their player list (see {@link #isLargeRoom}).
  */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class GameSession {
 
+    /** Ranking lines a large room sends instead of its player list. */
+    public static final int LARGE_ROOM_RANKING_SIZE = 10;
+
+    private static final Comparator<Player> BY_SCORE = Comparator.comparingInt(Player::getScore);
+
     private String roomId;
     private String theme;
     private GameType gameType;
     private String hostConnectionId;
-    private final List<Player> players = new CopyOnWriteArrayList<>();
+    private final Map<String, Player> playersById = new ConcurrentHashMap<>();
+    private final List<Player> players = new CopyOnWriteArrayList<>(); // join order; unused in large rooms
+    private final AtomicInteger disconnected = new AtomicInteger(); // players waiting out the resume grace
+    private boolean largeRoom;
+    private String topic; // question category to draw from; null for the whole bank
+    private boolean withBots; // host asked for bots in a game other than Roletrando
     private GamePhase phase = GamePhase.LOBBY;
     private int currentTurnIndex;
-    private Object gamePayload; // wheel segment index, current question, etc.
+    private GameState gamePayload; // typed per engine, see model.state
     private Long roundStartedAt; // for timers
+    @JsonIgnore
+    private ThemeContent content; // pinned at game start
 
     public GameSession() {
     }
@@ -64,26 +89,149 @@ public class GameSession {
         this.hostConnectionId = hostConnectionId;
     }
 
+    /** Large-room mode: set at creation, before anyone joins. */
+    public boolean isLargeRoom() {
+        return largeRoom;
+    }
+
+    public void setLargeRoom(boolean largeRoom) {
+        this.largeRoom = largeRoom;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    /** Host opt-in: bots fill the room at start even where the game does not seat them by default. */
+    @JsonIgnore
+    public boolean isWithBots() {
+        return withBots;
+    }
+
+    public void setWithBots(boolean withBots) {
+        this.withBots = withBots;
+    }
+
+    /** A copy of the players, in join order except in large rooms. */
+    @JsonIgnore
     public List<Player> getPlayers() {
-        return new ArrayList<>(players);
+        return largeRoom ? new ArrayList<>(playersById.values()) : new ArrayList<>(players);
+    }
+
+    /** What clients get as "players"; large rooms send counts and a top-K ranking instead. */
+    @JsonProperty("players")
+    List<Player> serializedPlayers() {
+        return largeRoom ? null : getPlayers();
+    }
+
+    @JsonIgnore
+    public Player getPlayer(String connectionId) {
+        return connectionId == null ? null : playersById.get(connectionId);
+    }
+
+    @JsonIgnore
+    public int getPlayerCount() {
+        return playersById.size();
     }
 
     public void addPlayer(Player player) {
-        if (players.stream().noneMatch(p -> p.getId().equals(player.getId()))) {
+        if (playersById.putIfAbsent(player.getId(), player) == null && !largeRoom) {
             players.add(player);
         }
     }
 
     public void removePlayer(String connectionId) {
-        players.removeIf(p -> p.getId().equals(connectionId));
-        players.forEach(p -> p.setConnected(!p.getId().equals(connectionId)));
+        Player removed = playersById.remove(connectionId);
+        if (removed == null) return;
+        if (!removed.isConnected()) disconnected.decrementAndGet();
+        if (!largeRoom) players.removeIf(p -> p.getId().equals(connectionId));
     }
 
     public void setPlayerConnected(String connectionId, boolean connected) {
-        players.stream()
-                .filter(p -> p.getId().equals(connectionId))
-                .findFirst()
-                .ifPresent(p -> p.setConnected(connected));
+        Player player = getPlayer(connectionId);
+        if (player == null || player.isConnected() == connected) return;
+        player.setConnected(connected);
+        disconnected.addAndGet(connected ? -1 : 1);
+        if (gamePayload instanceof RoundState<?> round) round.answererConnected(connectionId, connected);
+    }
+
+    /**
+     * True while the room has humans but every one of them has dropped: rounds and bots wait for
+     * someone to resume instead of playing on without them. A room of bots alone never waits.
+     */
+    @JsonIgnore
+    public boolean isWaitingForHumans() {
+        if (largeRoom) return !playersById.isEmpty() && getConnectedCount() == 0;
+        boolean humans = false;
+        for (Player p : players) {
+            if (p.isBot()) continue;
+            if (p.isConnected()) return false;
+            humans = true;
+        }
+        return humans;
+    }
+
+    /** True while a human (connected or within the resume grace) is seated; bots alone do not keep a room open. */
+    @JsonIgnore
+    public boolean hasHumans() {
+        if (largeRoom) return !playersById.isEmpty();
+        for (Player p : players) {
+            if (!p.isBot()) return true;
+        }
+        return false;
+    }
+
+    /** Players with a live connection; O(1), for large rooms. */
+    @JsonIgnore
+    public int getConnectedCount() {
+        return playersById.size() - disconnected.get();
+    }
+
+    /**
+     * Passes the host role to the first connected human, in join order, when the host has left or
+     * dropped, so START is never waiting on someone who is gone. A host who resumes later plays on
+     * as a regular player.
+     */
+    public void handOverHost() {
+        Player host = hostConnectionId != null ? playersById.get(hostConnectionId) : null;
+        if (host != null && host.isConnected()) return;
+        Player next = null;
+        for (Player p : largeRoom ? playersById.values() : players) {
+            if (!p.isBot() && p.isConnected()) {
+                next = p;
+                break;
+            }
+        }
+        if (next == null) return;
+        if (host != null) host.setHost(false);
+        next.setHost(true);
+        hostConnectionId = next.getId();
+    }
+
+    /**
+     * Humans by score, best first, ties in join order. Large rooms only rank the top
+     * {@link #LARGE_ROOM_RANKING_SIZE} instead of sorting every player.
+     */
+    public List<Player> ranking() {
+        if (largeRoom) return topPlayers(LARGE_ROOM_RANKING_SIZE);
+        return players.stream().filter(p -> !p.isBot()).sorted(BY_SCORE.reversed()).toList();
+    }
+
+    /** The {@code k} best-scoring humans, best first; O(n log k) with a bounded heap. */
+    public List<Player> topPlayers(int k) {
+        PriorityQueue<Player> heap = new PriorityQueue<>(k + 1, BY_SCORE);
+        for (Player p : playersById.values()) {
+            if (p.isBot()) continue;
+            heap.add(p);
+            if (heap.size() > k) heap.poll();
+        }
+        List<Player> top = new ArrayList<>(heap);
+        top.sort(BY_SCORE.reversed());
+        return top;
     }
 
     public GamePhase getPhase() {
@@ -102,11 +250,26 @@ public class GameSession {
         this.currentTurnIndex = currentTurnIndex;
     }
 
-    public Object getGamePayload() {
+    /** The theme content this game started with; null before the start. */
+    @JsonIgnore
+    public ThemeContent getContent() {
+        return content;
+    }
+
+    public void setContent(ThemeContent content) {
+        this.content = content;
+    }
+
+    public GameState getGamePayload() {
         return gamePayload;
     }
 
-    public void setGamePayload(Object gamePayload) {
+    /** The payload if it belongs to the given engine, otherwise null. */
+    public <T extends GameState> T getGamePayload(Class<T> type) {
+        return type.isInstance(gamePayload) ? type.cast(gamePayload) : null;
+    }
+
+    public void setGamePayload(GameState gamePayload) {
         this.gamePayload = gamePayload;
     }
 
@@ -1,33 +1,7 @@
 package com.educagame.model;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 
-@JsonInclude(JsonInclude.Include.NON_NULL)
-public class WsAnswer implements WsInbound {
-
-    public static final String TYPE = "ANSWER";
-
-    private Integer answerIndex;
-    private String answerText;
-
-    @Override
-    public String getType() {
-        return TYPE;
-    }
-
-    public Integer getAnswerIndex() {
-        return answerIndex;
-    }
-
-    public void setAnswerIndex(Integer answerIndex) {
-        this.answerIndex = answerIndex;
-    }
-
-    public String getAnswerText() {
-        return answerText;
-    }
-
-    public void setAnswerText(String answerText) {
-        this.answerText = answerText;
-    }
-}
+/** An option pick: QUIZ_ANSWER, MILLIONAIRE_ANSWER, BUZZER_ANSWER and the generic ANSWER. */
+@RegisterForReflection
+public record WsAnswer(Integer answerIndex, String answerText) implements WsInbound {}
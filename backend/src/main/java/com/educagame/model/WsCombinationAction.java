@@ -0,0 +1,9 @@
+package com.educagame.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.Map;
+
+/** The current stage's own message body, handed to the stage engine as is. */
+@RegisterForReflection
+public record WsCombinationAction(Map<String, Object> action) implements WsInbound {}
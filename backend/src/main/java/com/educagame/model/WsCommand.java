@@ -0,0 +1,7 @@
+package com.educagame.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/** A message that is only its type: START, PING, QUIZ_NEXT, the lifelines, BUZZER_BUZZ, RESYNC. */
+@RegisterForReflection
+public record WsCommand() implements WsInbound {}
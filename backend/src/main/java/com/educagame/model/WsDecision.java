@@ -0,0 +1,7 @@
+package com.educagame.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/** A true/false call in BINARY_DECISION. */
+@RegisterForReflection
+public record WsDecision(Boolean decision) implements WsInbound {}
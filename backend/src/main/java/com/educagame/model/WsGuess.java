@@ -0,0 +1,7 @@
+package com.educagame.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/** A Roletrando letter guess. */
+@RegisterForReflection
+public record WsGuess(String letter) implements WsInbound {}
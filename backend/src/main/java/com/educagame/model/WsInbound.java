@@ -1,21 +1,9 @@
 package com.educagame.model;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.annotation.JsonSubTypes;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-
 /**
- * Client-to-server WebSocket message envelope.
+ * Body of a client-to-server WebSocket message. The frame's {@code type} field picks the record
+ * and is not part of it; {@code InboundDecoder} reads the type first and binds the remaining
+ * fields straight into the record registered for it.
  */
-@JsonInclude(JsonInclude.Include.NON_NULL)
-@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
-@JsonSubTypes({
-        @JsonSubTypes.Type(name = "JOIN", value = WsJoin.class),
-        @JsonSubTypes.Type(name = "START", value = WsStart.class),
-        @JsonSubTypes.Type(name = "WHEEL_SPIN", value = WsWheelSpin.class),
-        @JsonSubTypes.Type(name = "ANSWER", value = WsAnswer.class),
-        @JsonSubTypes.Type(name = "PING", value = WsPing.class)
-})
 public interface WsInbound {
-    String getType();
 }
@@ -1,33 +1,6 @@
 package com.educagame.model;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 
-@JsonInclude(JsonInclude.Include.NON_NULL)
-public class WsJoin implements WsInbound {
-
-    public static final String TYPE = "JOIN";
-
-    private String roomId;
-    private String playerName;
-
-    @Override
-    public String getType() {
-        return TYPE;
-    }
-
-    public String getRoomId() {
-        return roomId;
-    }
-
-    public void setRoomId(String roomId) {
-        this.roomId = roomId;
-    }
-
-    public String getPlayerName() {
-        return playerName;
-    }
-
-    public void setPlayerName(String playerName) {
-        this.playerName = playerName;
-    }
-}
+@RegisterForReflection
+public record WsJoin(String roomId, String playerName) implements WsInbound {}
@@ -10,6 +10,7 @@ public class WsOutbound {
 
     private String type;
     private Object payload;
+    private Long revision;
 
     public WsOutbound() {
     }
@@ -23,6 +24,20 @@ public class WsOutbound {
         return new WsOutbound("STATE", session);
     }
 
+    /** Full snapshot at a state revision; clients replace their copy and apply later patches on top. */
+    public static WsOutbound state(Object payload, long revision) {
+        WsOutbound out = new WsOutbound("STATE", payload);
+        out.revision = revision;
+        return out;
+    }
+
+    /** Ops that turn the state at baseRevision (always revision - 1) into the state at revision. */
+    public static WsOutbound statePatch(Object ops, long revision) {
+        WsOutbound out = new WsOutbound("STATE_PATCH", new StatePatchPayload(revision - 1, ops));
+        out.revision = revision;
+        return out;
+    }
+
     public static WsOutbound event(String eventType, Object data) {
         return new WsOutbound(eventType, data);
     }
@@ -51,6 +66,32 @@ public class WsOutbound {
         this.payload = payload;
     }
 
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public static class StatePatchPayload {
+        private final long baseRevision;
+        private final Object ops;
+
+        public StatePatchPayload(long baseRevision, Object ops) {
+            this.baseRevision = baseRevision;
+            this.ops = ops;
+        }
+
+        public long getBaseRevision() {
+            return baseRevision;
+        }
+
+        public Object getOps() {
+            return ops;
+        }
+    }
+
     public static class ErrorPayload {
         private String message;
 
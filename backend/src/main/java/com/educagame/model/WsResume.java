@@ -0,0 +1,7 @@
+package com.educagame.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/** Reconnect with the token from JOIN_OK; {@code revision} is the last state revision the client applied. */
+@RegisterForReflection
+public record WsResume(String token, Long revision) implements WsInbound {}
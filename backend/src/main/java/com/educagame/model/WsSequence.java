@@ -0,0 +1,9 @@
+package com.educagame.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+
+/** Item ids in the order the player arranged them. */
+@RegisterForReflection
+public record WsSequence(List<String> orderedIds) implements WsInbound {}
@@ -0,0 +1,7 @@
+package com.educagame.model;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/** A Roletrando attempt at the whole phrase. */
+@RegisterForReflection
+public record WsSolve(String phrase) implements WsInbound {}
@@ -0,0 +1,8 @@
+package com.educagame.model;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/** A typed answer: SURVIVAL_ANSWER sends {@code answer}, DETECTIVE_GUESS and SENSORY_GUESS send {@code guess}. */
+@RegisterForReflection
+public record WsTextAnswer(@JsonAlias("guess") String answer) implements WsInbound {}
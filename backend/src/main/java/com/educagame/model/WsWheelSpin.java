@@ -1,24 +1,7 @@
 package com.educagame.model;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 
-@JsonInclude(JsonInclude.Include.NON_NULL)
-public class WsWheelSpin implements WsInbound {
-
-    public static final String TYPE = "WHEEL_SPIN";
-
-    private Integer segmentIndex; // optional; server can draw if null
-
-    @Override
-    public String getType() {
-        return TYPE;
-    }
-
-    public Integer getSegmentIndex() {
-        return segmentIndex;
-    }
-
-    public void setSegmentIndex(Integer segmentIndex) {
-        this.segmentIndex = segmentIndex;
-    }
-}
+/** {@code segmentIndex} is optional; the server draws the segment when it is null. */
+@RegisterForReflection
+public record WsWheelSpin(Integer segmentIndex) implements WsInbound {}
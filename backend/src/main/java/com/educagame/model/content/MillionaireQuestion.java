@@ -0,0 +1,12 @@
+package com.educagame.model.content;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+
+/**
+ * One Show do Milhão question from millionaire.json. {@code value} is null when the file leaves the
+ * prize to the level's default.
+ */
+@RegisterForReflection
+public record MillionaireQuestion(String question, List<String> options, Integer correctIndex, int level, Integer value) {}
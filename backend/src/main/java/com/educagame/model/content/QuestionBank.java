@@ -0,0 +1,236 @@
+package com.educagame.model.content;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * A compiled question bank ({@code .qbank}, written by {@code QuestionBankCompiler}), memory-mapped
+ * read-only. Nothing is decoded up front except the tag names: questions are read from the mapping
+ * one at a time when an engine asks for them, so the heap cost stays flat however big the bank is.
+ * Reads use absolute offsets only, so one instance is safe to share between threads.
+ *
+ * <pre>
+ * header   magic "EQB1", int format, int questions, int levels, int tags,
+ *          int offsets of: records, options, level index, tag index, strings
+ * records  per question, {@value #RECORD_BYTES} bytes: int question string, int first option,
+ *          short option count, short correctIndex (-1 none), short level, short tag (-1 none),
+ *          int value (-1 none), int timeLimitMs (-1 none)
+ * options  int string offset per option
+ * levels   int[levels + 1] start positions, then the question ids ordered by level
+ * tags     int[tags] name strings, int[tags + 1] start positions, then the question ids ordered by tag
+ * strings  int byte length + UTF-8 bytes; string offsets are relative to this section
+ * </pre>
+ * A single mapping is used, so a bank file must stay under 2 GB.
+ */
+public final class QuestionBank {
+
+    public static final int MAGIC = 0x45514231; // "EQB1"
+    public static final int FORMAT = 1;
+    public static final int HEADER_BYTES = 40;
+    public static final int RECORD_BYTES = 24;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int questions;
+    private final int levels;
+    private final int tags;
+    private final int records;
+    private final int options;
+    private final int levelIndex;
+    private final int tagIndex;
+    private final int strings;
+    private final Map<String, Integer> tagIds = new HashMap<>();
+
+    /** One decoded question. Missing optional fields are null. */
+    public record Question(String question, List<String> options, Integer correctIndex, int level, Integer value,
+                           Integer timeLimitMs, String tag) {
+
+        public MillionaireQuestion toMillionaire() {
+            return new MillionaireQuestion(question, options, correctIndex, level, value);
+        }
+
+        /** Same keys as a quiz.json entry. */
+        public Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("question", question);
+            m.put("options", options);
+            if (correctIndex != null) m.put("correctIndex", correctIndex);
+            m.put("level", level);
+            if (value != null) m.put("value", value);
+            if (timeLimitMs != null) m.put("timeLimitMs", timeLimitMs);
+            if (tag != null) m.put("tag", tag);
+            return m;
+        }
+    }
+
+    private QuestionBank(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) throw new IOException(path + " is not a question bank");
+        if (buffer.getInt(4) != FORMAT) throw new IOException(path + " has unsupported format " + buffer.getInt(4));
+        questions = buffer.getInt(8);
+        levels = buffer.getInt(12);
+        tags = buffer.getInt(16);
+        records = buffer.getInt(20);
+        options = buffer.getInt(24);
+        levelIndex = buffer.getInt(28);
+        tagIndex = buffer.getInt(32);
+        strings = buffer.getInt(36);
+        if (questions < 0 || levels < 0 || tags < 0
+                || records != HEADER_BYTES || (long) records + (long) questions * RECORD_BYTES > options
+                || options > levelIndex || levelIndex > tagIndex || tagIndex > strings || strings > buffer.capacity()) {
+            throw new IOException(path + " has a corrupt header");
+        }
+        for (int t = 0; t < tags; t++) tagIds.put(string(buffer.getInt(tagIndex + 4 * t)), t);
+    }
+
+    /** Maps {@code path} read-only and checks its header. */
+    public static QuestionBank open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException(path + " is larger than 2 GB");
+            return new QuestionBank(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int size() {
+        return questions;
+    }
+
+    public Question question(int id) {
+        if (id < 0 || id >= questions) throw new IndexOutOfBoundsException(id);
+        int at = records + id * RECORD_BYTES;
+        int firstOption = buffer.getInt(at + 4);
+        int optionCount = buffer.getShort(at + 8);
+        String[] opts = new String[optionCount];
+        for (int i = 0; i < optionCount; i++) opts[i] = string(buffer.getInt(options + 4 * (firstOption + i)));
+        short correct = buffer.getShort(at + 10);
+        short tag = buffer.getShort(at + 14);
+        int value = buffer.getInt(at + 16);
+        int timeLimit = buffer.getInt(at + 20);
+        return new Question(string(buffer.getInt(at)), List.of(opts), correct >= 0 ? (int) correct : null,
+                buffer.getShort(at + 12), value >= 0 ? value : null, timeLimit >= 0 ? timeLimit : null,
+                tag >= 0 ? string(buffer.getInt(tagIndex + 4 * tag)) : null);
+    }
+
+    /** Number of questions at {@code level}. */
+    public int countAtLevel(int level) {
+        if (level < 0 || level >= levels) return 0;
+        return start(levelIndex, level + 1) - start(levelIndex, level);
+    }
+
+    /** The {@code i}-th question id at {@code level}. */
+    public int idAtLevel(int level, int i) {
+        return buffer.getInt(levelIndex + 4 * (levels + 1) + 4 * (start(levelIndex, level) + i));
+    }
+
+    public int countWithTag(String tag) {
+        Integer t = tagIds.get(tag);
+        if (t == null) return 0;
+        int table = tagIndex + 4 * tags;
+        return start(table, t + 1) - start(table, t);
+    }
+
+    public int idWithTag(String tag, int i) {
+        int t = tagIds.get(tag);
+        int table = tagIndex + 4 * tags;
+        return buffer.getInt(table + 4 * (tags + 1) + 4 * (start(table, t) + i));
+    }
+
+    /** The whole bank as quiz.json-shaped rows, decoded on {@code get}. */
+    public List<Map<String, Object>> rows() {
+        return new LazyList<>(questions, id -> question(id).toMap());
+    }
+
+    /** Rows for {@code ids}, in that order, decoded on {@code get}. */
+    public List<Map<String, Object>> rows(int[] ids) {
+        int[] own = ids.clone();
+        return new LazyList<>(own.length, i -> question(own[i]).toMap());
+    }
+
+    /**
+     * Up to {@code count} distinct question ids in random order: from the questions tagged
+     * {@code tag}, through the tag index, or from the whole bank when {@code tag} is null or
+     * unknown. Costs O(count) whatever the size of the bank (Floyd's sampling).
+     */
+    public int[] sample(String tag, int count, RandomGenerator random) {
+        boolean tagged = tag != null && countWithTag(tag) > 0;
+        int pool = tagged ? countWithTag(tag) : questions;
+        int k = Math.min(Math.max(0, count), pool);
+        Set<Integer> picked = new HashSet<>();
+        for (int j = pool - k; j < pool; j++) {
+            int t = random.nextInt(j + 1);
+            if (!picked.add(t)) picked.add(j);
+        }
+        int[] ids = new int[k];
+        int n = 0;
+        for (int position : picked) ids[n++] = tagged ? idWithTag(tag, position) : position;
+        for (int i = k - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    /** Millionaire questions at {@code level}, decoded on {@code get}. */
+    public List<MillionaireQuestion> atLevel(int level) {
+        return new LazyList<>(countAtLevel(level), i -> question(idAtLevel(level, i)).toMillionaire());
+    }
+
+    /** Rows tagged {@code tag}, decoded on {@code get}. */
+    public List<Map<String, Object>> withTag(String tag) {
+        return new LazyList<>(countWithTag(tag), i -> question(idWithTag(tag, i)).toMap());
+    }
+
+    private int start(int table, int slot) {
+        return buffer.getInt(table + 4 * slot);
+    }
+
+    private String string(int offset) {
+        int at = strings + offset;
+        int length = buffer.getInt(at);
+        byte[] bytes = new byte[length];
+        buffer.get(at + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class LazyList<T> extends AbstractList<T> implements RandomAccess {
+        private final int size;
+        private final IntFunction<T> decode;
+
+        LazyList(int size, IntFunction<T> decode) {
+            this.size = size;
+            this.decode = decode;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+            return decode.apply(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.educagame.model.content;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything one theme serves, parsed once and never changed afterwards: the raw JSON arrays by file
+ * name (deeply unmodifiable, so rooms can share them), plus the typed views the hot paths use —
+ * wheel segments as an array and Millionaire questions bucketed by level. Quiz and Millionaire
+ * questions may instead come from a memory-mapped {@link QuestionBank}; their lists are then views
+ * that decode one question per {@code get}. A room pins the instance
+ * it started with, so a content pack reloaded mid-game only reaches rooms created afterwards.
+ */
+public final class ThemeContent {
+
+    private static final WheelSegment[] NO_SEGMENTS = new WheelSegment[0];
+
+    private final String theme;
+    private final long version;
+    private final Map<String, List<Map<String, Object>>> files;
+    /** Compiled banks by the JSON file they replace. */
+    private final Map<String, QuestionBank> banks;
+    private final WheelSegment[] wheel;
+    /** Index is the level; levels the file never uses hold an empty list. Null when a bank serves them. */
+    private final List<MillionaireQuestion>[] millionaireByLevel;
+    private final List<String> phrases;
+
+    /**
+     * @param files    the arrays found in the theme's own folder, as parsed
+     * @param fallback content whose arrays (shared, not copied) fill in the files the theme lacks; null for default
+     * @param version  0 for classpath themes, the publish sequence number for content packs
+     */
+    public ThemeContent(String theme, Map<String, List<Map<String, Object>>> files, ThemeContent fallback, long version) {
+        this(theme, files, Map.of(), fallback, version);
+    }
+
+    /** @param banks compiled banks keyed by the JSON file they stand for ("quiz.json", "millionaire.json") */
+    public ThemeContent(String theme, Map<String, List<Map<String, Object>>> files, Map<String, QuestionBank> banks,
+                        ThemeContent fallback, long version) {
+        this.theme = theme;
+        this.version = version;
+        Map<String, List<Map<String, Object>>> frozen = new LinkedHashMap<>();
+        Map<String, QuestionBank> ownBanks = new LinkedHashMap<>();
+        if (fallback != null) {
+            frozen.putAll(fallback.files);
+            ownBanks.putAll(fallback.banks);
+        }
+        files.forEach((name, rows) -> {
+            frozen.put(name, freezeRows(rows));
+            ownBanks.remove(name);
+        });
+        banks.forEach((name, bank) -> {
+            frozen.put(name, bank.rows());
+            ownBanks.put(name, bank);
+        });
+        this.files = Collections.unmodifiableMap(frozen);
+        this.banks = Collections.unmodifiableMap(ownBanks);
+        this.wheel = indexWheel(file("wheel.json"));
+        this.millionaireByLevel = this.banks.containsKey("millionaire.json") ? null : indexMillionaire(file("millionaire.json"));
+        this.phrases = file("phrases.json").stream()
+                .map(m -> m.get("phrase") != null ? String.valueOf(m.get("phrase")) : "")
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+
+    public String getTheme() {
+        return theme;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /** The parsed array of {@code fileName}, or an empty list when neither the theme nor default has it. */
+    public List<Map<String, Object>> file(String fileName) {
+        return files.getOrDefault(fileName, List.of());
+    }
+
+    public int wheelSize() {
+        return wheel.length;
+    }
+
+    public WheelSegment wheelSegment(int index) {
+        return wheel[index];
+    }
+
+    /** Questions for {@code level}; empty when the bank has none. */
+    public List<MillionaireQuestion> millionaireQuestions(int level) {
+        if (millionaireByLevel == null) return banks.get("millionaire.json").atLevel(level);
+        if (level < 0 || level >= millionaireByLevel.length) return List.of();
+        return millionaireByLevel[level];
+    }
+
+    /** The compiled bank standing in for {@code fileName}, or null when the file is plain JSON. */
+    public QuestionBank bank(String fileName) {
+        return banks.get(fileName);
+    }
+
+    public List<String> getPhrases() {
+        return phrases;
+    }
+
+    private static WheelSegment[] indexWheel(List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) return NO_SEGMENTS;
+        WheelSegment[] segments = new WheelSegment[rows.size()];
+        for (int i = 0; i < segments.length; i++) {
+            Map<String, Object> m = rows.get(i);
+            segments[i] = new WheelSegment(
+                    m.get("label") != null ? String.valueOf(m.get("label")) : null,
+                    m.get("value") instanceof Number n ? n.intValue() : 0,
+                    m.get("color") != null ? String.valueOf(m.get("color")) : null,
+                    m.get("type") != null ? String.valueOf(m.get("type")) : "NORMAL");
+        }
+        return segments;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<MillionaireQuestion>[] indexMillionaire(List<Map<String, Object>> rows) {
+        int maxLevel = 0;
+        List<MillionaireQuestion> all = new ArrayList<>(rows.size());
+        for (Map<String, Object> m : rows) {
+            int level = m.get("level") instanceof Number n ? n.intValue() : 1;
+            if (level < 0) continue;
+            all.add(new MillionaireQuestion(
+                    (String) m.get("question"),
+                    (List<String>) m.get("options"),
+                    m.get("correctIndex") instanceof Number n ? n.intValue() : null,
+                    level,
+                    m.get("value") instanceof Number n ? n.intValue() : null));
+            maxLevel = Math.max(maxLevel, level);
+        }
+        List<MillionaireQuestion>[] byLevel = new List[maxLevel + 1];
+        for (int level = 0; level <= maxLevel; level++) {
+            int l = level;
+            byLevel[level] = all.stream().filter(q -> q.level() == l).toList();
+        }
+        return byLevel;
+    }
+
+    private static List<Map<String, Object>> freezeRows(List<Map<String, Object>> rows) {
+        List<Map<String, Object>> out = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) out.add(freezeMap(row));
+        return Collections.unmodifiableList(out);
+    }
+
+    private static Map<String, Object> freezeMap(Map<?, ?> map) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        map.forEach((k, v) -> out.put(String.valueOf(k), freeze(v)));
+        return Collections.unmodifiableMap(out);
+    }
+
+    private static Object freeze(Object value) {
+        if (value instanceof Map<?, ?> map) return freezeMap(map);
+        if (value instanceof List<?> list) {
+            List<Object> out = new ArrayList<>(list.size());
+            for (Object item : list) out.add(freeze(item));
+            return Collections.unmodifiableList(out);
+        }
+        return value;
+    }
+}
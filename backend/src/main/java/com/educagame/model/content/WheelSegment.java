@@ -0,0 +1,12 @@
+package com.educagame.model.content;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * One slice of the Roletrando wheel, as read from wheel.json. {@code type} is NORMAL, BONUS,
+ * LOSE_TURN or LOSE_ALL.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public record WheelSegment(String label, int value, String color, String type) {}
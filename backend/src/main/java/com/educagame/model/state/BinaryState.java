@@ -0,0 +1,81 @@
+package com.educagame.model.state;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fato ou Fake: the current statement, its verdict and each player's streak of right answers.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public final class BinaryState extends RoundState<BinaryState.Response> implements GameState {
+
+    private final List<Map<String, Object>> statements;
+    private int statementIndex;
+    private final Map<String, Integer> playerStreaks = new HashMap<>();
+    private String statementText;
+    private boolean truth;
+    private String explanation;
+    private String category;
+    private int difficulty;
+
+    public BinaryState(List<Map<String, Object>> statements) {
+        this.statements = statements;
+    }
+
+    @JsonIgnore
+    public List<Map<String, Object>> getStatements() {
+        return statements;
+    }
+
+    public int getStatementIndex() {
+        return statementIndex;
+    }
+
+    public void setStatementIndex(int statementIndex) {
+        this.statementIndex = statementIndex;
+    }
+
+    public Map<String, Integer> getPlayerStreaks() {
+        return playerStreaks;
+    }
+
+    public String getStatementText() {
+        return statementText;
+    }
+
+    @JsonProperty("isTrue")
+    public boolean isTrue() {
+        return truth;
+    }
+
+    public String getExplanation() {
+        return explanation;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    public void setStatement(String statementText, boolean truth, String explanation, String category, int difficulty) {
+        this.statementText = statementText;
+        this.truth = truth;
+        this.explanation = explanation;
+        this.category = category;
+        this.difficulty = difficulty;
+    }
+
+    public record Response(boolean decision, boolean correct, long responseTime, int streak, int points,
+                           long receivedAt) {
+    }
+}
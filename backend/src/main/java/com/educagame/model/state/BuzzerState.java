@@ -0,0 +1,89 @@
+package com.educagame.model.state;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Passa ou Repassa: current question, who holds the right to answer and how often it was passed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public final class BuzzerState extends RoundState<BuzzerState.Response> implements GameState {
+
+    private final List<Map<String, Object>> questions;
+    private int questionIndex;
+    private List<String> buzzOrder = new ArrayList<>();
+    private String currentBuzzWinner;
+    private int passCount;
+    private String question;
+    private List<String> options;
+    private Integer correctIndex;
+
+    public BuzzerState(List<Map<String, Object>> questions) {
+        this.questions = questions;
+    }
+
+    /** Not serialized: the bank may be a memory-mapped view of a very large file. */
+    @JsonIgnore
+    public List<Map<String, Object>> getQuestions() {
+        return questions;
+    }
+
+    public int getQuestionIndex() {
+        return questionIndex;
+    }
+
+    public void setQuestionIndex(int questionIndex) {
+        this.questionIndex = questionIndex;
+    }
+
+    public List<String> getBuzzOrder() {
+        return buzzOrder;
+    }
+
+    public String getCurrentBuzzWinner() {
+        return currentBuzzWinner;
+    }
+
+    public void setCurrentBuzzWinner(String currentBuzzWinner) {
+        this.currentBuzzWinner = currentBuzzWinner;
+    }
+
+    public int getPassCount() {
+        return passCount;
+    }
+
+    public void setPassCount(int passCount) {
+        this.passCount = passCount;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public List<String> getOptions() {
+        return options;
+    }
+
+    public Integer getCorrectIndex() {
+        return correctIndex;
+    }
+
+    /** New question: nobody has buzzed or passed yet. */
+    public void setQuestion(String question, List<String> options, Integer correctIndex) {
+        this.question = question;
+        this.options = options;
+        this.correctIndex = correctIndex;
+        this.buzzOrder = new ArrayList<>();
+        this.currentBuzzWinner = null;
+        this.passCount = 0;
+    }
+
+    public record Response(int answerIndex, boolean correct, int points, long buzzTime, long receivedAt) {
+    }
+}
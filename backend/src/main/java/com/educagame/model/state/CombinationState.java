@@ -0,0 +1,86 @@
+package com.educagame.model.state;
+
+import com.educagame.model.GameType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Combination: stage list and progress, with the running stage's own engine state in {@code stagePayload}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public final class CombinationState implements GameState {
+
+    private final List<Map<String, Object>> gameStages;
+    private int stageIndex;
+    private final Map<String, Integer> totalScores = new HashMap<>();
+    private final Set<Integer> completedStages = new HashSet<>();
+    private GameType currentStageType;
+    private String currentStageConfig;
+    private long stageStartTime;
+    private GameState stagePayload;
+    private List<RankingEntry> finalRanking;
+
+    public CombinationState(List<Map<String, Object>> gameStages) {
+        this.gameStages = gameStages;
+    }
+
+    @JsonIgnore
+    public List<Map<String, Object>> getGameStages() {
+        return gameStages;
+    }
+
+    public int getStageIndex() {
+        return stageIndex;
+    }
+
+    public Map<String, Integer> getTotalScores() {
+        return totalScores;
+    }
+
+    public Set<Integer> getCompletedStages() {
+        return completedStages;
+    }
+
+    public GameType getCurrentStageType() {
+        return currentStageType;
+    }
+
+    public String getCurrentStageConfig() {
+        return currentStageConfig;
+    }
+
+    public long getStageStartTime() {
+        return stageStartTime;
+    }
+
+    public void setStage(int stageIndex, GameType type, String config, long startTime) {
+        this.stageIndex = stageIndex;
+        this.currentStageType = type;
+        this.currentStageConfig = config;
+        this.stageStartTime = startTime;
+    }
+
+    public GameState getStagePayload() {
+        return stagePayload;
+    }
+
+    public void setStagePayload(GameState stagePayload) {
+        this.stagePayload = stagePayload;
+    }
+
+    public List<RankingEntry> getFinalRanking() {
+        return finalRanking;
+    }
+
+    public void setFinalRanking(List<RankingEntry> finalRanking) {
+        this.finalRanking = finalRanking;
+    }
+}
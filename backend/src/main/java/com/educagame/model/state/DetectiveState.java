@@ -0,0 +1,83 @@
+package com.educagame.model.state;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detetive: the current mystery, its clues and how many of them are already public.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public final class DetectiveState extends RoundState<DetectiveState.Response> implements GameState {
+
+    private final List<Map<String, Object>> mysteries;
+    private int mysteryIndex;
+    private String answer;
+    private List<String> allClues = List.of();
+    private List<String> revealedClues = new ArrayList<>();
+    private String category;
+    private String mysteryDescription;
+    private long lastClueReveal;
+
+    public DetectiveState(List<Map<String, Object>> mysteries) {
+        this.mysteries = mysteries;
+    }
+
+    @JsonIgnore
+    public List<Map<String, Object>> getMysteries() {
+        return mysteries;
+    }
+
+    public int getMysteryIndex() {
+        return mysteryIndex;
+    }
+
+    public void setMysteryIndex(int mysteryIndex) {
+        this.mysteryIndex = mysteryIndex;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public List<String> getAllClues() {
+        return allClues;
+    }
+
+    public List<String> getRevealedClues() {
+        return revealedClues;
+    }
+
+    /** New mystery with no clue revealed yet. */
+    public void setMystery(String answer, List<String> allClues, String category, String mysteryDescription) {
+        this.answer = answer;
+        this.allClues = allClues != null ? allClues : List.of();
+        this.revealedClues = new ArrayList<>();
+        this.category = category;
+        this.mysteryDescription = mysteryDescription;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getMysteryDescription() {
+        return mysteryDescription;
+    }
+
+    public long getLastClueReveal() {
+        return lastClueReveal;
+    }
+
+    public void setLastClueReveal(long lastClueReveal) {
+        this.lastClueReveal = lastClueReveal;
+    }
+
+    public record Response(String guess, boolean correct, int cluesUsed, int points, long receivedAt) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.educagame.model.state;
+
+/**
+ * Engine-owned part of a {@link com.educagame.model.GameSession}, serialized as {@code gamePayload}.
+ * One final class per engine family, so engines work with plain fields instead of casting map
+ * entries, and Jackson writes them through typed bean serializers. Content banks (the questions,
+ * phrases, statements... a game draws from) are {@code @JsonIgnore}d: every state change is
+ * serialized and diffed, and clients never see the banks anyway.
+ */
+public sealed interface GameState permits RoletrandoState, QuizState, MillionaireState, SurvivalState,
+        SequencingState, DetectiveState, BuzzerState, SensoryState, BinaryState, CombinationState {
+}
@@ -0,0 +1,117 @@
+package com.educagame.model.state;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+
+/**
+ * Show do Milhão: current level and question, prize ladder position and lifelines.
+ * {@code won} and {@code finalPrize} stay null until the game ends.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public final class MillionaireState implements GameState {
+
+    private static final int[] NONE = {};
+
+    private int level = 1;
+    private int guaranteedPrize;
+    private boolean lifeline50Used;
+    private boolean lifelineUniUsed;
+    private boolean lifelineSkipUsed;
+    private int[] audiencePercents = NONE;
+    private int[] removedOptions = NONE;
+    private String question;
+    private List<String> options;
+    private Integer correctIndex;
+    private int value;
+    private Boolean won;
+    private Integer finalPrize;
+
+    public int getLevel() {
+        return level;
+    }
+
+    /** Moves to a new question of {@code level}; per-question lifeline results are cleared. */
+    public void setQuestion(int level, String question, List<String> options, Integer correctIndex, int value) {
+        this.level = level;
+        this.question = question;
+        this.options = options;
+        this.correctIndex = correctIndex;
+        this.value = value;
+        this.audiencePercents = NONE;
+        this.removedOptions = NONE;
+    }
+
+    public int getGuaranteedPrize() {
+        return guaranteedPrize;
+    }
+
+    public void setGuaranteedPrize(int guaranteedPrize) {
+        this.guaranteedPrize = guaranteedPrize;
+    }
+
+    public boolean isLifeline50Used() {
+        return lifeline50Used;
+    }
+
+    public boolean isLifelineUniUsed() {
+        return lifelineUniUsed;
+    }
+
+    public boolean isLifelineSkipUsed() {
+        return lifelineSkipUsed;
+    }
+
+    public void useLifelineSkip() {
+        this.lifelineSkipUsed = true;
+    }
+
+    public int[] getAudiencePercents() {
+        return audiencePercents;
+    }
+
+    public void useLifelineUni(int[] audiencePercents) {
+        this.lifelineUniUsed = true;
+        this.audiencePercents = audiencePercents;
+    }
+
+    public int[] getRemovedOptions() {
+        return removedOptions;
+    }
+
+    public void useLifeline50(int[] removedOptions) {
+        this.lifeline50Used = true;
+        this.removedOptions = removedOptions;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public List<String> getOptions() {
+        return options;
+    }
+
+    public Integer getCorrectIndex() {
+        return correctIndex;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    public Boolean getWon() {
+        return won;
+    }
+
+    public Integer getFinalPrize() {
+        return finalPrize;
+    }
+
+    public void finish(boolean won, int finalPrize) {
+        this.won = won;
+        this.finalPrize = finalPrize;
+    }
+}
@@ -0,0 +1,83 @@
+package com.educagame.model.state;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Speed quiz, shared by the plain and the Kahoot-style engines; {@code buzzOrder} is only used by the latter.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public final class QuizState extends RoundState<QuizState.Response> implements GameState {
+
+    private final List<Map<String, Object>> questions;
+    private int questionIndex;
+    private List<String> buzzOrder;
+    private String question;
+    private List<String> options;
+    private Integer correctIndex;
+    private List<RankingEntry> roundRanking;
+
+    public QuizState(List<Map<String, Object>> questions) {
+        this.questions = questions;
+    }
+
+    /** Not serialized: the bank may be a memory-mapped view of a very large file. */
+    @JsonIgnore
+    public List<Map<String, Object>> getQuestions() {
+        return questions;
+    }
+
+    public int getQuestionIndex() {
+        return questionIndex;
+    }
+
+    public void setQuestionIndex(int questionIndex) {
+        this.questionIndex = questionIndex;
+    }
+
+    public List<String> getBuzzOrder() {
+        return buzzOrder;
+    }
+
+    public void resetBuzzOrder() {
+        this.buzzOrder = new ArrayList<>();
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public List<String> getOptions() {
+        return options;
+    }
+
+    public Integer getCorrectIndex() {
+        return correctIndex;
+    }
+
+    public void setQuestion(String question, List<String> options, Integer correctIndex) {
+        this.question = question;
+        this.options = options;
+        this.correctIndex = correctIndex;
+    }
+
+    public List<RankingEntry> getRoundRanking() {
+        return roundRanking;
+    }
+
+    public void setRoundRanking(List<RankingEntry> roundRanking) {
+        this.roundRanking = roundRanking;
+    }
+
+    /** {@code buzzPosition} and {@code speedBonus} are null outside the Kahoot engine. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Response(int answerIndex, long receivedAt, int points, boolean correct,
+                           Integer buzzPosition, Integer speedBonus) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.educagame.model.state;
+
+import com.educagame.model.Player;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * One line of a round or final ranking. {@code eliminated} and {@code bestStreak} are only set by
+ * the engines that track them.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public record RankingEntry(String id, String name, int score, Boolean eliminated, Integer bestStreak) {
+
+    public static RankingEntry of(Player player) {
+        return new RankingEntry(player.getId(), player.getName(), player.getScore(), null, null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.educagame.model.state;
+
+import com.educagame.model.content.WheelSegment;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Roletrando: the phrase, letters revealed so far and the segment of the last spin (null between turns).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public final class RoletrandoState implements GameState {
+
+    private final String phrase;
+    private final Set<String> revealed = new HashSet<>();
+    private Integer segmentIndex;
+    private WheelSegment segment;
+    private String segmentType;
+    private Integer segmentValue;
+    private String solvedBy;
+
+    public RoletrandoState(String phrase) {
+        this.phrase = phrase;
+    }
+
+    public String getPhrase() {
+        return phrase;
+    }
+
+    public Set<String> getRevealed() {
+        return revealed;
+    }
+
+    public Integer getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    public WheelSegment getSegment() {
+        return segment;
+    }
+
+    public String getSegmentType() {
+        return segmentType;
+    }
+
+    public Integer getSegmentValue() {
+        return segmentValue;
+    }
+
+    public void setSegment(int index, WheelSegment segment, String type, int value) {
+        this.segmentIndex = index;
+        this.segment = segment;
+        this.segmentType = type;
+        this.segmentValue = value;
+    }
+
+    /** Only the value, for stages that score letters without a wheel. */
+    public void setSegmentValue(Integer segmentValue) {
+        this.segmentValue = segmentValue;
+    }
+
+    public void clearSegment() {
+        segmentIndex = null;
+        segment = null;
+        segmentType = null;
+        segmentValue = null;
+    }
+
+    public String getSolvedBy() {
+        return solvedBy;
+    }
+
+    public void setSolvedBy(String solvedBy) {
+        this.solvedBy = solvedBy;
+    }
+}
@@ -0,0 +1,103 @@
+package com.educagame.model.state;
+
+import com.educagame.model.GameSession;
+import com.educagame.model.Player;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fields shared by the engines that play timed rounds in which every player answers once:
+ * this round's responses by player id, a running count of answers per option, its time limit and
+ * the ranking set at game end.
+ *
+ * @param <R> response recorded per player
+ */
+public abstract class RoundState<R> {
+
+    private Map<String, R> responses = new ConcurrentHashMap<>();
+    private Map<String, Integer> histogram = new ConcurrentHashMap<>();
+    private final AtomicInteger connectedAnswers = new AtomicInteger();
+    private int timeLimitMs;
+    private List<RankingEntry> finalRanking;
+
+    /** Clears the responses of the previous round. */
+    public void startRound(int timeLimitMs) {
+        this.responses = new ConcurrentHashMap<>();
+        this.histogram = new ConcurrentHashMap<>();
+        this.connectedAnswers.set(0);
+        this.timeLimitMs = timeLimitMs;
+    }
+
+    public Map<String, R> getResponses() {
+        return responses;
+    }
+
+    /**
+     * Answers per option this round ("0".."3", "true"/"false"), counted as they come in so large
+     * rooms never rescan the responses. Not serialized; see {@code StateProjection}.
+     */
+    @JsonIgnore
+    public Map<String, Integer> getHistogram() {
+        return histogram;
+    }
+
+    /** Counts one answer for {@code option}; call once per accepted response, from a connected player. */
+    public void countAnswer(Object option) {
+        histogram.merge(String.valueOf(option), 1, Integer::sum);
+        connectedAnswers.incrementAndGet();
+    }
+
+    /** Keeps the count of answers from connected players right when one who answered drops or resumes. */
+    public void answererConnected(String playerId, boolean connected) {
+        if (responses.containsKey(playerId)) connectedAnswers.addAndGet(connected ? 1 : -1);
+    }
+
+    /**
+     * True once every connected human in {@code players} has responded; bots and players waiting
+     * out the resume grace never hold a round open. False while humans are in the list but none
+     * is connected, so a room that dropped out whole does not race through its rounds.
+     */
+    public boolean allAnswered(Collection<Player> players) {
+        boolean humans = false;
+        boolean connected = false;
+        for (Player p : players) {
+            if (p.isBot()) continue;
+            humans = true;
+            if (!p.isConnected()) continue;
+            connected = true;
+            if (!responses.containsKey(p.getId())) return false;
+        }
+        return connected || !humans;
+    }
+
+    /**
+     * Same check for a whole session. Large rooms have no bots and compare counts instead of
+     * walking every player: answers from players still connected against the players connected.
+     */
+    public boolean allAnswered(GameSession session) {
+        if (session.isWaitingForHumans()) return false;
+        if (session.isLargeRoom()) return connectedAnswers.get() >= session.getConnectedCount();
+        return allAnswered(session.getPlayers());
+    }
+
+    public int getTimeLimitMs() {
+        return timeLimitMs;
+    }
+
+    public void setTimeLimitMs(int timeLimitMs) {
+        this.timeLimitMs = timeLimitMs;
+    }
+
+    public List<RankingEntry> getFinalRanking() {
+        return finalRanking;
+    }
+
+    public void setFinalRanking(List<RankingEntry> finalRanking) {
+        this.finalRanking = finalRanking;
+    }
+}
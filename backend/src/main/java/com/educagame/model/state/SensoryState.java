@@ -0,0 +1,89 @@
+package com.educagame.model.state;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sensorial: the item to identify and the distortion applied to its media.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public final class SensoryState extends RoundState<SensoryState.Response> implements GameState {
+
+    private final List<Map<String, Object>> sensoryItems;
+    private int itemIndex;
+    private String sensoryType;
+    private String answer;
+    private int difficulty = 1;
+    private String mediaUrl;
+    private String description;
+    private Map<String, Object> distortedMedia;
+    private Integer distortionLevel;
+
+    public SensoryState(List<Map<String, Object>> sensoryItems) {
+        this.sensoryItems = sensoryItems;
+    }
+
+    @JsonIgnore
+    public List<Map<String, Object>> getSensoryItems() {
+        return sensoryItems;
+    }
+
+    public int getItemIndex() {
+        return itemIndex;
+    }
+
+    public void setItemIndex(int itemIndex) {
+        this.itemIndex = itemIndex;
+    }
+
+    public String getSensoryType() {
+        return sensoryType;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public int getDifficulty() {
+        return difficulty;
+    }
+
+    public String getMediaUrl() {
+        return mediaUrl;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setItem(String sensoryType, String answer, int difficulty, String mediaUrl, String description) {
+        this.sensoryType = sensoryType;
+        this.answer = answer;
+        this.difficulty = difficulty;
+        this.mediaUrl = mediaUrl;
+        this.description = description;
+    }
+
+    public Map<String, Object> getDistortedMedia() {
+        return distortedMedia;
+    }
+
+    public Integer getDistortionLevel() {
+        return distortionLevel;
+    }
+
+    /** Both null when the item type has no distortion. */
+    public void setDistortion(Map<String, Object> distortedMedia, Integer distortionLevel) {
+        this.distortedMedia = distortedMedia;
+        this.distortionLevel = distortionLevel;
+    }
+
+    public record Response(String guess, boolean correct, String sensoryType, int difficulty, int points,
+                           long receivedAt) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.educagame.model.state;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ordenação: the items of the current sequence in the right order and as shown to players.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public final class SequencingState extends RoundState<SequencingState.Response> implements GameState {
+
+    private final List<Map<String, Object>> sequences;
+    private int sequenceIndex;
+    private List<Map<String, Object>> originalItems;
+    private List<Map<String, Object>> shuffledItems;
+    private String sequenceType;
+    private String sequenceDescription;
+
+    public SequencingState(List<Map<String, Object>> sequences) {
+        this.sequences = sequences;
+    }
+
+    @JsonIgnore
+    public List<Map<String, Object>> getSequences() {
+        return sequences;
+    }
+
+    public int getSequenceIndex() {
+        return sequenceIndex;
+    }
+
+    public void setSequenceIndex(int sequenceIndex) {
+        this.sequenceIndex = sequenceIndex;
+    }
+
+    public List<Map<String, Object>> getOriginalItems() {
+        return originalItems;
+    }
+
+    public List<Map<String, Object>> getShuffledItems() {
+        return shuffledItems;
+    }
+
+    public void setItems(List<Map<String, Object>> originalItems, List<Map<String, Object>> shuffledItems) {
+        this.originalItems = originalItems;
+        this.shuffledItems = shuffledItems;
+    }
+
+    public String getSequenceType() {
+        return sequenceType;
+    }
+
+    public String getSequenceDescription() {
+        return sequenceDescription;
+    }
+
+    public void setSequence(String sequenceType, String sequenceDescription) {
+        this.sequenceType = sequenceType;
+        this.sequenceDescription = sequenceDescription;
+    }
+
+    public record Response(List<String> orderedIds, int correctPositions, int totalItems, int accuracy,
+                           int points, long receivedAt) {
+    }
+}
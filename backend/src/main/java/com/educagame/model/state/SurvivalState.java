@@ -0,0 +1,78 @@
+package com.educagame.model.state;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Acerte ou Caia: current phrase and its masked form, lives left and who is out.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@RegisterForReflection
+public final class SurvivalState extends RoundState<SurvivalState.Response> implements GameState {
+
+    private final List<String> phrases;
+    private int phraseIndex;
+    private final Set<String> eliminatedPlayers = new HashSet<>();
+    private final Map<String, Integer> playerLives = new HashMap<>();
+    private String originalPhrase;
+    private String maskedPhrase;
+    private Set<Character> revealedLetters = new HashSet<>();
+
+    public SurvivalState(List<String> phrases) {
+        this.phrases = phrases;
+    }
+
+    @JsonIgnore
+    public List<String> getPhrases() {
+        return phrases;
+    }
+
+    public int getPhraseIndex() {
+        return phraseIndex;
+    }
+
+    public void setPhraseIndex(int phraseIndex) {
+        this.phraseIndex = phraseIndex;
+    }
+
+    public Set<String> getEliminatedPlayers() {
+        return eliminatedPlayers;
+    }
+
+    public Map<String, Integer> getPlayerLives() {
+        return playerLives;
+    }
+
+    public String getOriginalPhrase() {
+        return originalPhrase;
+    }
+
+    public String getMaskedPhrase() {
+        return maskedPhrase;
+    }
+
+    public void setMaskedPhrase(String maskedPhrase) {
+        this.maskedPhrase = maskedPhrase;
+    }
+
+    /** New challenge: hint letters of the previous phrase are forgotten. */
+    public void setPhrase(String originalPhrase, String maskedPhrase) {
+        this.originalPhrase = originalPhrase;
+        this.maskedPhrase = maskedPhrase;
+        this.revealedLetters = new HashSet<>();
+    }
+
+    public Set<Character> getRevealedLetters() {
+        return revealedLetters;
+    }
+
+    public record Response(String answer, boolean correct, long receivedAt) {
+    }
+}
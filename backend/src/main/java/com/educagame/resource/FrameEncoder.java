@@ -0,0 +1,186 @@
+package com.educagame.resource;
+
+import com.educagame.model.WsOutbound;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.quarkus.websockets.next.WebSocketConnection;
+import org.jboss.logging.Logger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Encodes outbound messages once per wire format into a pooled Netty buffer and writes that buffer
+ * to any number of connections. Each write holds its own reference to the shared bytes (Vert.x
+ * only takes a read-only slice), so the buffer goes back to the pool when the last write completes.
+ * JSON goes out in text frames and CBOR, for connections that negotiated it (see
+ * {@link WireFormat}), in binary ones. Writes go through the connection's bounded
+ * {@link OutboundQueues}, so a slow reader cannot pile up frames on the server.
+ */
+@ApplicationScoped
+public class FrameEncoder {
+
+    private static final Logger LOG = Logger.getLogger(FrameEncoder.class);
+
+    /** Bytes around the per-connection "self" member, per format. */
+    private static final byte[] JSON_SELF_PREFIX = ",\"self\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] JSON_CLOSE = {'}'};
+    /** CBOR text string of length 4, "self". */
+    private static final byte[] CBOR_SELF_PREFIX = {0x64, 's', 'e', 'l', 'f'};
+    /** Jackson writes POJOs as indefinite-length CBOR maps, which end with this break byte. */
+    private static final byte[] CBOR_CLOSE = {(byte) 0xFF};
+
+    @Inject
+    ObjectMapper objectMapper;
+    @Inject
+    OutboundQueues queues;
+
+    private final Map<WireFormat, ObjectWriter> writers = new EnumMap<>(WireFormat.class);
+
+    @PostConstruct
+    void init() {
+        writers.put(WireFormat.JSON, objectMapper.writer());
+        writers.put(WireFormat.CBOR, objectMapper.copyWith(new CBORFactory()).writer());
+    }
+
+    /**
+     * A message and its bytes, one pooled buffer per wire format, each encoded on first use and
+     * shared by every later send. Guarded by the caller; {@link #release} returns the buffers.
+     */
+    public final class Frame {
+        private final Object message;
+        private final ByteBuf[] encoded = new ByteBuf[WireFormat.values().length];
+        /** Slow connections drop queued STATE_PATCHes and catch up with a STATE (see {@link OutboundQueues}). */
+        private final OutboundQueues.Kind kind;
+
+        private Frame(Object message) {
+            this.message = message;
+            String type = message instanceof WsOutbound out ? out.getType() : null;
+            this.kind = "STATE_PATCH".equals(type) ? OutboundQueues.Kind.PATCH
+                    : "STATE".equals(type) ? OutboundQueues.Kind.STATE : OutboundQueues.Kind.OTHER;
+        }
+
+        /** Encodes up front for every format among {@code targets}, so the fan-out only writes. */
+        public Frame prepare(Collection<WebSocketConnection> targets) throws IOException {
+            try {
+                for (WebSocketConnection conn : targets) bytes(WireFormat.of(conn));
+                return this;
+            } catch (IOException | RuntimeException e) {
+                release();
+                throw e;
+            }
+        }
+
+        boolean isEncoded(WireFormat format) {
+            return encoded[format.ordinal()] != null;
+        }
+
+        ByteBuf bytes(WireFormat format) throws IOException {
+            ByteBuf buf = encoded[format.ordinal()];
+            if (buf == null) {
+                buf = encode(message, format);
+                encoded[format.ordinal()] = buf;
+            }
+            return buf;
+        }
+
+        public void release() {
+            for (int i = 0; i < encoded.length; i++) {
+                if (encoded[i] != null) {
+                    encoded[i].release();
+                    encoded[i] = null;
+                }
+            }
+        }
+    }
+
+    public Frame frame(Object message) {
+        return new Frame(message);
+    }
+
+    /** Caller owns the returned JSON buffer (refCnt 1) and must release it. */
+    public ByteBuf encode(Object message) throws IOException {
+        return encode(message, WireFormat.JSON);
+    }
+
+    public ByteBuf encode(Object message, WireFormat format) throws IOException {
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
+        try {
+            // Cast picks the OutputStream overload; ByteBufOutputStream is also a DataOutput.
+            writers.get(format).writeValue((OutputStream) new ByteBufOutputStream(buf), message);
+            return buf;
+        } catch (IOException | RuntimeException e) {
+            buf.release();
+            throw e;
+        }
+    }
+
+    /** Writes the frame to every connection in its format. The frame stays owned by the caller. */
+    public void send(Collection<WebSocketConnection> targets, Frame frame) throws IOException {
+        send(targets, frame, conn -> null);
+    }
+
+    /**
+     * Like {@link #send(Collection, Frame)}, but appends a per-connection {@code "self"} member
+     * to the shared object when {@code selfOf} returns a value. Only the small fragment is
+     * encoded per recipient; the shared bytes are referenced, not copied.
+     */
+    public void send(Collection<WebSocketConnection> targets, Frame frame, Function<WebSocketConnection, Object> selfOf)
+            throws IOException {
+        for (WebSocketConnection conn : targets) {
+            WireFormat format = WireFormat.of(conn);
+            ByteBuf out = withSelf(frame.bytes(format), format, selfOf.apply(conn));
+            queues.send(conn, out, frame.kind);
+        }
+    }
+
+    private ByteBuf withSelf(ByteBuf frame, WireFormat format, Object self) {
+        if (self == null) return frame.retainedDuplicate();
+        ByteBuf fragment;
+        try {
+            fragment = encode(self, format);
+        } catch (IOException e) {
+            return frame.retainedDuplicate();
+        }
+        ByteBuf out = splice(frame, fragment, format);
+        if (out == null) {
+            LOG.warnf("Cannot append self to a %s frame not ending in a closing marker", format);
+            fragment.release();
+            return frame.retainedDuplicate();
+        }
+        return out;
+    }
+
+    /**
+     * Drops the closing marker of the shared object and re-closes it after a "self" member whose
+     * value is {@code fragment}, which it then owns. Returns null, owning nothing, if
+     * {@code frame} does not end in the marker.
+     */
+    static ByteBuf splice(ByteBuf frame, ByteBuf fragment, WireFormat format) {
+        byte[] prefix = format == WireFormat.CBOR ? CBOR_SELF_PREFIX : JSON_SELF_PREFIX;
+        byte[] close = format == WireFormat.CBOR ? CBOR_CLOSE : JSON_CLOSE;
+        int end = frame.writerIndex() - 1;
+        if (frame.readableBytes() == 0 || frame.getByte(end) != close[0]) return null;
+        CompositeByteBuf out = PooledByteBufAllocator.DEFAULT.compositeBuffer(4);
+        out.addComponents(true,
+                frame.retainedSlice(frame.readerIndex(), frame.readableBytes() - 1),
+                Unpooled.wrappedBuffer(prefix),
+                fragment,
+                Unpooled.wrappedBuffer(close));
+        return out;
+    }
+}
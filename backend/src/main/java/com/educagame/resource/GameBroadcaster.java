@@ -1,47 +1,351 @@
 package com.educagame.resource;
 
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
 import com.educagame.model.WsOutbound;
-import com.educagame.service.RoomManager;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import io.quarkus.websockets.next.OpenConnections;
-import io.quarkus.websockets.next.UserData;
+import com.educagame.service.GameClock;
+import com.educagame.service.GameMetrics;
+import com.educagame.service.RoomMailbox;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.quarkus.websockets.next.WebSocketConnection;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import java.util.Set;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Sends WebSocket messages to all connections in a given room.
+ * Game state goes out as a full STATE snapshot once per connection (JOIN, RESYNC) and as
+ * STATE_PATCH deltas against the previous revision afterwards. Each message is encoded once per
+ * wire format in use and the same frame is shared by every recipient (see {@link FrameEncoder}). Clients only get the
+ * public projection of the session plus their own "self" view (see {@link StateProjection}).
+ * Serialize and fan-out time per kind of message go to {@link GameMetrics}.
+ * Answers that arrive in bursts (a whole class answering the same question) go through
+ * {@link #broadcastStateCoalesced}, which sends at most one patch per room per tick.
+ * The last {@code replaySize} patches and room events are kept per room, so a client that
+ * resumes after a drop gets only what it missed (see {@link #resume}).
  */
 @ApplicationScoped
 public class GameBroadcaster {
 
     private static final Logger LOG = Logger.getLogger(GameBroadcaster.class);
-    private static final UserData.TypedKey<String> KEY_ROOM_ID = UserData.TypedKey.forString("roomId");
+    private static final String EVENT = "event";
+    private static final String DIRECT = "direct";
+    private static final String SNAPSHOT = "snapshot";
+    private static final String PATCH = "patch";
+    private static final String REPLAY = "replay";
 
     @Inject
-    OpenConnections openConnections;
+    RoomConnectionRegistry connections;
     @Inject
-    RoomManager roomManager;
+    FrameEncoder encoder;
+
+    private final Map<String, RoomState> states = new ConcurrentHashMap<>();
+
+    @Inject
+    StateProjection projection;
+    @Inject
+    GameMetrics metrics;
+    @Inject
+    GameClock clock;
     @Inject
-    ObjectMapper objectMapper;
+    RoomMailbox mailbox;
+    @Inject
+    OutboundQueues queues;
+
+    /** Coalescing window; 0 sends every change at once. Rounded up to the {@link GameClock} tick. */
+    @ConfigProperty(name = "educagame.broadcast.coalesce-ms", defaultValue = "75")
+    long coalesceMs;
+
+    /** Room-wide messages kept per room for resuming clients; 0 keeps none (every resume gets a snapshot). */
+    @ConfigProperty(name = "educagame.resume.replay-size", defaultValue = "64")
+    int replaySize;
+
+    /** A patch or room event as sent, tagged with the state revision it went out at. */
+    private record Replay(WsOutbound message, long revision, boolean patch) {}
+
+    /** Last state sent to a room; guarded by its own monitor so revisions go out in order. */
+    private static final class RoomState {
+        long revision;
+        JsonNode tree;
+        /** Phase of the session when {@code tree} was taken. */
+        GamePhase phase;
+        /** A coalesced flush is scheduled; cleared by any broadcast that gets there first. */
+        boolean flushPending;
+        Map<String, JsonNode> selves = Map.of();
+        /** Encoded STATE for the current revision, shared by every JOIN/RESYNC until it changes. */
+        FrameEncoder.Frame snapshot;
+        /** Ring of the latest room-wide messages, oldest first. */
+        final ArrayDeque<Replay> recent = new ArrayDeque<>();
+    }
+
+    @PostConstruct
+    void init() {
+        queues.resyncWith(this::resync);
+    }
 
     public void broadcastToRoom(String roomId, WsOutbound message) {
-        String json;
+        RoomState state = states.get(roomId);
+        if (state == null) {
+            send(EVENT, connections.connections(roomId), message);
+            return;
+        }
+        synchronized (state) {
+            remember(state, new Replay(message, state.revision, false));
+            send(EVENT, connections.connections(roomId), message);
+        }
+    }
+
+    /** Sends a message to a single connection (errors, acks, PONG). */
+    public void send(WebSocketConnection connection, WsOutbound message) {
+        send(DIRECT, List.of(connection), message);
+    }
+
+    private void send(String kind, Collection<WebSocketConnection> targets, WsOutbound message) {
         try {
-            json = objectMapper.writeValueAsString(message);
+            long started = System.nanoTime();
+            FrameEncoder.Frame frame = encoder.frame(message).prepare(targets);
+            long encoded = System.nanoTime();
+            metrics.broadcastSerialized(kind, encoded - started);
+            try {
+                encoder.send(targets, frame);
+            } finally {
+                frame.release();
+            }
+            metrics.broadcastSent(kind, System.nanoTime() - encoded);
         } catch (Exception e) {
             LOG.warnf("Serialize error: %s", e.getMessage());
+        }
+    }
+
+    /** Pushes the changes since the last broadcast as a STATE_PATCH; no-op when nothing changed. */
+    public void broadcastState(String roomId, GameSession session) {
+        RoomState state = states.computeIfAbsent(roomId, k -> new RoomState());
+        synchronized (state) {
+            advance(roomId, state, session);
+        }
+    }
+
+    /**
+     * Like {@link #broadcastState}, for changes that come in bursts: marks the room dirty and
+     * flushes the latest state once per {@code coalesceMs} on the room's mailbox, so N answers in
+     * the same tick become one patch instead of N. A change of phase is still sent at once.
+     */
+    public void broadcastStateCoalesced(String roomId, GameSession session) {
+        if (coalesceMs <= 0) {
+            broadcastState(roomId, session);
             return;
         }
-        Set<String> connectionIds = roomManager.getConnectionIdsInRoom(roomId);
-        for (WebSocketConnection conn : openConnections.listAll()) {
-            String connRoom = conn.userData().get(KEY_ROOM_ID);
-            if (roomId.equals(connRoom)) {
-                conn.sendText(json).subscribe().asCompletionStage();
+        RoomState state = states.computeIfAbsent(roomId, k -> new RoomState());
+        synchronized (state) {
+            if (state.tree == null || session.getPhase() != state.phase) {
+                advance(roomId, state, session);
+                return;
+            }
+            if (state.flushPending) return;
+            state.flushPending = true;
+        }
+        scheduleFlush(roomId, session);
+    }
+
+    private void scheduleFlush(String roomId, GameSession session) {
+        clock.after(coalesceMs, () -> mailbox.submit(roomId, () -> flush(roomId, session)));
+    }
+
+    private void flush(String roomId, GameSession session) {
+        RoomState state = states.get(roomId);
+        if (state == null) return;
+        synchronized (state) {
+            if (state.flushPending) advance(roomId, state, session);
+        }
+    }
+
+    /**
+     * Sends the full state to one connection (JOIN or RESYNC). Pending changes are broadcast to
+     * the room first, so the snapshot revision is the one every other client is on. In a large
+     * room a join within the same phase sends the current revision and leaves the change to a
+     * coalesced flush, so a whole auditorium joining is not one patch to everyone per joiner.
+     */
+    public void sendSnapshot(String roomId, GameSession session, WebSocketConnection connection) {
+        RoomState state = states.computeIfAbsent(roomId, k -> new RoomState());
+        boolean deferred = false;
+        synchronized (state) {
+            if (session.isLargeRoom() && coalesceMs > 0 && state.tree != null && session.getPhase() == state.phase) {
+                deferred = !state.flushPending;
+                state.flushPending = true;
+            } else {
+                advance(roomId, state, session);
+            }
+            snapshot(state, connection);
+        }
+        if (deferred) scheduleFlush(roomId, session);
+    }
+
+    /**
+     * Catches up a connection that took over a dropped player, then adds it to the room's
+     * recipients under the same lock, so nothing is sent to it out of order. If the ring still
+     * holds every patch after {@code revision}, only those and the room events sent after them
+     * are replayed, the last one carrying the player's current "self"; otherwise the connection
+     * gets a full snapshot. Returns true for a replay.
+     */
+    public boolean resume(String roomId, GameSession session, WebSocketConnection connection, long revision) {
+        RoomState state = states.computeIfAbsent(roomId, k -> new RoomState());
+        synchronized (state) {
+            advance(roomId, state, session);
+            connections.register(roomId, connection);
+            List<WsOutbound> missed = missed(state, revision);
+            if (missed == null) {
+                snapshot(state, connection);
+                return false;
+            }
+            JsonNode self = state.selves.get(playerId(connection));
+            try {
+                long started = System.nanoTime();
+                for (int i = 0; i < missed.size(); i++) {
+                    boolean last = i == missed.size() - 1;
+                    FrameEncoder.Frame frame = encoder.frame(missed.get(i));
+                    try {
+                        encoder.send(List.of(connection), frame, conn -> last ? self : null);
+                    } finally {
+                        frame.release();
+                    }
+                }
+                metrics.broadcastSent(REPLAY, System.nanoTime() - started);
+            } catch (Exception e) {
+                LOG.warnf("Serialize error: %s", e.getMessage());
+            }
+            return true;
+        }
+    }
+
+    /**
+     * What a client at {@code revision} missed, or null if the ring no longer reaches back that
+     * far. Events sent at the client's own revision are left out: it may or may not have seen
+     * them, and the state it has already reflects them.
+     */
+    private static List<WsOutbound> missed(RoomState state, long revision) {
+        if (state.tree == null || revision < 0 || revision > state.revision) return null;
+        boolean covered = revision == state.revision;
+        List<WsOutbound> missed = new ArrayList<>();
+        for (Replay replay : state.recent) {
+            if (replay.patch() && replay.revision() == revision + 1) covered = true;
+            if (replay.revision() > revision) missed.add(replay.message());
+        }
+        return covered ? missed : null;
+    }
+
+    private void remember(RoomState state, Replay replay) {
+        if (replaySize <= 0) return;
+        if (state.recent.size() >= replaySize) state.recent.removeFirst();
+        state.recent.addLast(replay);
+    }
+
+    /** Sends the current revision's STATE to one connection; the caller holds the room's lock. */
+    private void snapshot(RoomState state, WebSocketConnection connection) {
+        if (state.tree == null) return;
+        try {
+            WireFormat format = WireFormat.of(connection);
+            long started = System.nanoTime();
+            if (state.snapshot == null) state.snapshot = encoder.frame(WsOutbound.state(state.tree, state.revision));
+            if (!state.snapshot.isEncoded(format)) {
+                state.snapshot.bytes(format);
+                metrics.broadcastSerialized(SNAPSHOT, System.nanoTime() - started);
+                started = System.nanoTime();
+            }
+            JsonNode self = state.selves.get(playerId(connection));
+            encoder.send(List.of(connection), state.snapshot, conn -> self);
+            metrics.broadcastSent(SNAPSHOT, System.nanoTime() - started);
+        } catch (Exception e) {
+            LOG.warnf("Serialize error: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends the room's last published revision to a connection that fell behind and had patches
+     * dropped. The room is not advanced, so changes still pending go out to it as the next patch.
+     */
+    private void resync(WebSocketConnection connection) {
+        String roomId = connection.userData().get(GameWebSocket.KEY_ROOM_ID);
+        RoomState state = roomId != null ? states.get(roomId) : null;
+        if (state == null) return;
+        synchronized (state) {
+            snapshot(state, connection);
+        }
+    }
+
+    /** Drops the revision history of a room that no longer exists. */
+    public void forgetRoom(String roomId) {
+        RoomState state = states.remove(roomId);
+        if (state == null) return;
+        synchronized (state) {
+            releaseSnapshot(state);
+        }
+    }
+
+    /**
+     * Projects the session, diffs the public view against the last revision and sends one shared
+     * STATE_PATCH frame; players whose own view changed get it spliced in as "self".
+     */
+    private void advance(String roomId, RoomState state, GameSession session) {
+        state.flushPending = false;
+        try {
+            long started = System.nanoTime();
+            StateProjection.Views views = projection.project(session);
+            JsonNode tree = views.publicView();
+            Map<String, JsonNode> selves = views.selves();
+            if (state.tree == null) {
+                state.tree = tree;
+                state.phase = session.getPhase();
+                state.selves = selves;
+                state.revision = 1;
+                return;
+            }
+            ArrayNode ops = StateDiff.diff(state.tree, tree);
+            Map<String, JsonNode> changedSelves = new HashMap<>();
+            selves.forEach((id, self) -> {
+                if (!self.equals(state.selves.get(id))) changedSelves.put(id, self);
+            });
+            if (ops.isEmpty() && changedSelves.isEmpty()) return;
+            state.tree = tree;
+            state.phase = session.getPhase();
+            state.selves = selves;
+            state.revision++;
+            releaseSnapshot(state);
+            Collection<WebSocketConnection> targets = connections.connections(roomId);
+            WsOutbound patch = WsOutbound.statePatch(ops, state.revision);
+            remember(state, new Replay(patch, state.revision, true));
+            FrameEncoder.Frame frame = encoder.frame(patch).prepare(targets);
+            long encoded = System.nanoTime();
+            metrics.broadcastSerialized(PATCH, encoded - started);
+            try {
+                encoder.send(targets, frame, conn -> changedSelves.get(playerId(conn)));
+            } finally {
+                frame.release();
             }
+            metrics.broadcastSent(PATCH, System.nanoTime() - encoded);
+        } catch (Exception e) {
+            LOG.warnf("Serialize error: %s", e.getMessage());
         }
     }
+
+    private static void releaseSnapshot(RoomState state) {
+        if (state.snapshot != null) {
+            state.snapshot.release();
+            state.snapshot = null;
+        }
+    }
+
+    private static String playerId(WebSocketConnection connection) {
+        return connection.userData().get(GameWebSocket.KEY_CONNECTION_ID);
+    }
 }
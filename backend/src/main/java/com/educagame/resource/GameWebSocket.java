@@ -1,10 +1,14 @@
 package com.educagame.resource;
 
 import com.educagame.model.*;
+import com.educagame.service.BotRuntime;
+import com.educagame.service.GameClock;
 import com.educagame.service.GameEngine;
+import com.educagame.service.GameMetrics;
+import com.educagame.service.GameTimeouts;
+import com.educagame.service.RoomMailbox;
 import com.educagame.service.RoomManager;
 import com.educagame.service.RoletrandoEngine;
-import com.educagame.service.RoletrandoBotScheduler;
 import com.educagame.service.QuizEngine;
 import com.educagame.service.MillionaireEngine;
 import com.educagame.service.SurvivalEngine;
@@ -14,13 +18,14 @@ import com.educagame.service.BuzzerEngine;
 import com.educagame.service.SensoryEngine;
 import com.educagame.service.BinaryEngine;
 import com.educagame.service.CombinationEngine;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.websockets.next.OnBinaryMessage;
 import io.quarkus.websockets.next.OnClose;
 import io.quarkus.websockets.next.OnOpen;
 import io.quarkus.websockets.next.OnTextMessage;
 import io.quarkus.websockets.next.UserData;
 import io.quarkus.websockets.next.WebSocket;
 import io.quarkus.websockets.next.WebSocketConnection;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 import java.util.Set;
 
@@ -31,16 +36,17 @@ import java.util.List;
 
 /**
  * Single WebSocket endpoint for game. Clients send JOIN with roomId; state is broadcast per room.
+ * Messages are JSON unless the client negotiated CBOR when connecting (see {@link WireFormat}).
+ * A closed connection leaves its player disconnected, not removed, for {@code resumeGraceMs}; a
+ * new connection sending RESUME with the token from JOIN_OK picks the player up where it was.
  */
 @WebSocket(path = "/game")
 public class GameWebSocket {
 
     private static final Logger LOG = Logger.getLogger(GameWebSocket.class);
-    private static final UserData.TypedKey<String> KEY_CONNECTION_ID = UserData.TypedKey.forString("connectionId");
-    private static final UserData.TypedKey<String> KEY_ROOM_ID = UserData.TypedKey.forString("roomId");
+    static final UserData.TypedKey<String> KEY_CONNECTION_ID = UserData.TypedKey.forString("connectionId");
+    static final UserData.TypedKey<String> KEY_ROOM_ID = UserData.TypedKey.forString("roomId");
 
-    @Inject
-    WebSocketConnection connection;
     @Inject
     RoomManager roomManager;
     @Inject
@@ -48,7 +54,7 @@ public class GameWebSocket {
     @Inject
     RoletrandoEngine roletrandoEngine;
     @Inject
-    RoletrandoBotScheduler botScheduler;
+    BotRuntime bots;
     @Inject
     QuizEngine quizEngine;
     @Inject
@@ -68,116 +74,241 @@ public class GameWebSocket {
     @Inject
     CombinationEngine combinationEngine;
     @Inject
-    ObjectMapper objectMapper;
+    InboundDecoder decoder;
     @Inject
     GameBroadcaster broadcaster;
+    @Inject
+    RoomConnectionRegistry roomConnections;
+    @Inject
+    GameTimeouts timeouts;
+    @Inject
+    RoomMailbox mailbox;
+    @Inject
+    GameMetrics metrics;
+    @Inject
+    OutboundQueues outboundQueues;
+    @Inject
+    GameClock clock;
+    @Inject
+    RateLimiter rateLimiter;
+
+    /** How long a dropped player keeps their place for a RESUME; 0 removes them on close. */
+    @ConfigProperty(name = "educagame.resume.grace-ms", defaultValue = "30000")
+    long resumeGraceMs;
 
     @OnOpen
-    public void onOpen() {
+    public void onOpen(WebSocketConnection connection) {
         String connectionId = UUID.randomUUID().toString();
         connection.userData().put(KEY_CONNECTION_ID, connectionId);
-        LOG.debugf("WebSocket opened: %s", connectionId);
+        WireFormat format = WireFormat.negotiate(connection.subprotocol(), connection.handshakeRequest().query());
+        connection.userData().put(WireFormat.KEY, format);
+        rateLimiter.open(connection);
+        LOG.debugf("WebSocket opened: %s (%s)", connectionId, format);
     }
 
+    /** Frames over the connection's rate limits are dropped unread; see {@link RateLimiter}. */
     @OnTextMessage
-    public void onMessage(String raw) {
+    public void onMessage(String raw, WebSocketConnection connection) {
+        if (!rateLimiter.admitFrame(connection)) return;
+        InboundDecoder.Inbound inbound;
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> map = objectMapper.readValue(raw, Map.class);
-            String type = (String) map.get("type");
-            if (type == null) return;
+            inbound = decoder.decode(raw, type -> rateLimiter.admit(connection, type));
+        } catch (Exception e) {
+            reject(connection, e);
+            return;
+        }
+        route(connection, inbound);
+    }
 
-            LOG.debugf("WS msg type=%s", type);
+    /** Binary frames carry the connection's wire format: CBOR when negotiated, otherwise UTF-8 JSON. */
+    @OnBinaryMessage
+    public void onBinaryMessage(byte[] raw, WebSocketConnection connection) {
+        if (!rateLimiter.admitFrame(connection)) return;
+        InboundDecoder.Inbound inbound;
+        try {
+            inbound = decoder.decode(raw, WireFormat.of(connection), type -> rateLimiter.admit(connection, type));
+        } catch (Exception e) {
+            reject(connection, e);
+            return;
+        }
+        route(connection, inbound);
+    }
+
+    private void reject(WebSocketConnection connection, Exception e) {
+        LOG.debugf("Rejected malformed message: %s", e.getMessage());
+        broadcaster.send(connection, WsOutbound.error("Invalid message"));
+    }
+
+    /**
+     * Commands for an existing room run on that room's mailbox, one at a time, so handlers never
+     * race each other, clock deadlines or bot turns on the same session. PING and messages that
+     * cannot touch a room are answered inline.
+     */
+    private void route(WebSocketConnection connection, InboundDecoder.Inbound inbound) {
+        if (inbound == null) return;
+        String type = inbound.type();
+        WsInbound message = inbound.message();
+
+        LOG.debugf("WS msg type=%s", type);
+        metrics.messageReceived(type);
+
+        if ("PING".equals(type)) {
+            broadcaster.send(connection, WsOutbound.pong());
+            return;
+        }
+        String roomId;
+        if (message instanceof WsJoin join) {
+            roomId = ValidationUtil.isValidRoomId(join.roomId()) ? join.roomId() : null;
+        } else if (message instanceof WsResume resume) {
+            roomId = roomManager.resumeRoom(resume.token());
+        } else {
+            roomId = connection.userData().get(KEY_ROOM_ID);
+        }
+        if (roomId != null && roomManager.getSession(roomId).isPresent()) {
+            mailbox.submit(roomId, () -> dispatch(connection, type, message));
+        } else {
+            dispatch(connection, type, message);
+        }
+    }
 
+    /** {@code message} is the record the decoder registered for {@code type}, or null for an unknown type. */
+    private void dispatch(WebSocketConnection connection, String type, WsInbound message) {
+        long started = System.nanoTime();
+        try {
             String connectionId = connection.userData().get(KEY_CONNECTION_ID);
             switch (type) {
-                case "JOIN" -> handleJoin(connectionId, map);
-                case "START" -> handleStart(connectionId);
-                case "WHEEL_SPIN" -> handleWheelSpin(connectionId, map);
-                case "GUESS" -> handleGuess(connectionId, map);
-                case "SOLVE" -> handleSolve(connectionId, map);
-                case "QUIZ_ANSWER" -> handleQuizAnswer(connectionId, map);
-                case "QUIZ_NEXT" -> handleQuizNext(connectionId);
-                case "MILLIONAIRE_ANSWER" -> handleMillionaireAnswer(connectionId, map);
-                case "LIFELINE_50_50" -> handleLifeline5050(connectionId);
-                case "LIFELINE_UNI" -> handleLifelineUni(connectionId);
-                case "LIFELINE_SKIP" -> handleLifelineSkip(connectionId);
-                case "SURVIVAL_ANSWER" -> handleSurvivalAnswer(connectionId, map);
-                case "SEQUENCING_SUBMIT" -> handleSequencingSubmit(connectionId, map);
-                case "DETECTIVE_GUESS" -> handleDetectiveGuess(connectionId, map);
-                case "BUZZER_BUZZ" -> handleBuzzerBuzz(connectionId);
-                case "BUZZER_ANSWER" -> handleBuzzerAnswer(connectionId, map);
-                case "SENSORY_GUESS" -> handleSensoryGuess(connectionId, map);
-                case "BINARY_DECISION" -> handleBinaryDecision(connectionId, map);
-                case "COMBINATION_ACTION" -> handleCombinationAction(connectionId, map);
-                case "ANSWER" -> handleAnswer(connectionId, map);
-                case "PING" -> connection.sendText(toJson(WsOutbound.pong())).subscribe().asCompletionStage();
-                default -> connection.sendText(toJson(WsOutbound.error("Unknown type: " + type))).subscribe().asCompletionStage();
+                case "JOIN" -> handleJoin(connection, connectionId, (WsJoin) message);
+                case "START" -> handleStart(connection, connectionId);
+                case "WHEEL_SPIN" -> handleWheelSpin(connection, connectionId);
+                case "GUESS" -> handleGuess(connection, connectionId, (WsGuess) message);
+                case "SOLVE" -> handleSolve(connection, connectionId, (WsSolve) message);
+                case "QUIZ_ANSWER" -> handleQuizAnswer(connection, connectionId, (WsAnswer) message);
+                case "QUIZ_NEXT" -> handleQuizNext(connection, connectionId);
+                case "MILLIONAIRE_ANSWER" -> handleMillionaireAnswer(connection, connectionId, (WsAnswer) message);
+                case "LIFELINE_50_50" -> handleLifeline5050(connection, connectionId);
+                case "LIFELINE_UNI" -> handleLifelineUni(connection, connectionId);
+                case "LIFELINE_SKIP" -> handleLifelineSkip(connection, connectionId);
+                case "SURVIVAL_ANSWER" -> handleSurvivalAnswer(connection, connectionId, (WsTextAnswer) message);
+                case "SEQUENCING_SUBMIT" -> handleSequencingSubmit(connection, connectionId, (WsSequence) message);
+                case "DETECTIVE_GUESS" -> handleDetectiveGuess(connection, connectionId, (WsTextAnswer) message);
+                case "BUZZER_BUZZ" -> handleBuzzerBuzz(connection, connectionId);
+                case "BUZZER_ANSWER" -> handleBuzzerAnswer(connection, connectionId, (WsAnswer) message);
+                case "SENSORY_GUESS" -> handleSensoryGuess(connection, connectionId, (WsTextAnswer) message);
+                case "BINARY_DECISION" -> handleBinaryDecision(connection, connectionId, (WsDecision) message);
+                case "COMBINATION_ACTION" -> handleCombinationAction(connection, connectionId, (WsCombinationAction) message);
+                case "ANSWER" -> handleAnswer(connection, connectionId, (WsAnswer) message);
+                case "RESYNC" -> handleResync(connection);
+                case "RESUME" -> handleResume(connection, (WsResume) message);
+                default -> broadcaster.send(connection, WsOutbound.error("Unknown type: " + type));
             }
         } catch (Exception e) {
             LOG.warn("Message handling failed", e);
-            connection.sendText(toJson(WsOutbound.error("Invalid message"))).subscribe().asCompletionStage();
+            broadcaster.send(connection, WsOutbound.error("Invalid message"));
+        } finally {
+            metrics.messageHandled(type, System.nanoTime() - started);
         }
     }
 
-    private void handleJoin(String connectionId, Map<String, Object> map) {
-        String roomId = (String) map.get("roomId");
-        String playerName = (String) map.get("playerName");
+    private void handleJoin(WebSocketConnection connection, String connectionId, WsJoin join) {
+        String roomId = join.roomId();
+        String playerName = join.playerName();
 
         LOG.infof("WS JOIN requested conn=%s room=%s player=%s", connectionId, roomId, playerName);
         if (!ValidationUtil.isValidRoomId(roomId) || !ValidationUtil.isValidPlayerName(playerName)) {
-            connection.sendText(toJson(WsOutbound.error("Invalid room or player name"))).subscribe().asCompletionStage();
+            broadcaster.send(connection, WsOutbound.error("Invalid room or player name"));
             return;
         }
         if (!roomManager.joinRoom(roomId, connectionId, playerName)) {
             LOG.warnf("WS JOIN failed conn=%s room=%s player=%s", connectionId, roomId, playerName);
-            connection.sendText(toJson(WsOutbound.error("Could not join room"))).subscribe().asCompletionStage();
+            broadcaster.send(connection, WsOutbound.error("Could not join room"));
             return;
         }
-        connection.userData().put(KEY_ROOM_ID, roomId);
+        String previousRoomId = connection.userData().put(KEY_ROOM_ID, roomId);
+        if (previousRoomId != null && !previousRoomId.equals(roomId)) {
+            roomConnections.unregister(previousRoomId, connection);
+        }
+        roomConnections.register(roomId, connection);
         roomManager.getSession(roomId).ifPresent(session -> {
-            connection.sendText(toJson(WsOutbound.event("JOIN_OK", Map.of("connectionId", connectionId)))).subscribe().asCompletionStage();
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            broadcaster.send(connection, WsOutbound.event("JOIN_OK", Map.of(
+                    "connectionId", connectionId,
+                    "resumeToken", roomManager.issueResumeToken(connectionId))));
+            broadcaster.sendSnapshot(roomId, session, connection);
         });
     }
 
-    private void handleStart(String connectionId) {
+    /**
+     * A new connection takes over a player who dropped, within the grace period: it gets the
+     * player's id, the messages it missed since {@code revision} (or a snapshot) and the room
+     * sees the player connected again. RESUME_FAILED tells the client to JOIN from scratch.
+     */
+    private void handleResume(WebSocketConnection connection, WsResume resume) {
+        String roomId = roomManager.resumeRoom(resume.token());
+        String playerId = roomId != null ? roomManager.resumePlayer(resume.token()) : null;
+        GameSession session = playerId != null ? roomManager.getSession(roomId).orElse(null) : null;
+        if (session == null) {
+            broadcaster.send(connection, WsOutbound.event("RESUME_FAILED", Map.of()));
+            return;
+        }
+        dropStaleConnections(roomId, playerId, connection);
+        connection.userData().put(KEY_CONNECTION_ID, playerId);
+        connection.userData().put(KEY_ROOM_ID, roomId);
+        broadcaster.send(connection, WsOutbound.event("RESUME_OK", Map.of(
+                "connectionId", playerId,
+                "resumeToken", resume.token())));
+        boolean replayed = broadcaster.resume(roomId, session, connection, resume.revision() != null ? resume.revision() : -1);
+        LOG.infof("WS RESUME player=%s room=%s replayed=%s", playerId, roomId, replayed);
+        publish(roomId, session);
+    }
+
+    /** Closes connections still bound to a player that another connection just took over. */
+    private void dropStaleConnections(String roomId, String playerId, WebSocketConnection current) {
+        for (WebSocketConnection conn : List.copyOf(roomConnections.connections(roomId))) {
+            if (conn == current || !playerId.equals(conn.userData().get(KEY_CONNECTION_ID))) continue;
+            conn.userData().remove(KEY_ROOM_ID);
+            roomConnections.unregister(roomId, conn);
+            conn.close().subscribe().with(v -> { }, f -> { });
+        }
+    }
+
+    /** Client missed a STATE_PATCH revision: send it a fresh full snapshot. */
+    private void handleResync(WebSocketConnection connection) {
+        String roomId = connection.userData().get(KEY_ROOM_ID);
+        if (roomId == null) return;
+        roomManager.getSession(roomId).ifPresent(session -> broadcaster.sendSnapshot(roomId, session, connection));
+    }
+
+    private void handleStart(WebSocketConnection connection, String connectionId) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
         roomManager.getSession(roomId).ifPresent(session -> {
             if (!connectionId.equals(session.getHostConnectionId())) return;
             gameEngine.startGame(session);
-            gameEngine.transitionToPlaying(session);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
-            if (session.getGameType() == GameType.ROLETRANDO) {
-                botScheduler.scheduleBotTurnIfNeeded(roomId);
-            }
+            // The countdown deadline moves the game to playing and wakes the bots.
+            publish(roomId, session);
         });
     }
 
-    private void handleWheelSpin(String connectionId, Map<String, Object> map) {
+    private void handleWheelSpin(WebSocketConnection connection, String connectionId) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.ROLETRANDO) return;
             java.util.Map<String, Object> spinResult = roletrandoEngine.spinWheel(session, connectionId);
             if (spinResult == null) {
-                connection.sendText(toJson(WsOutbound.error("Not your turn or invalid state"))).subscribe().asCompletionStage();
+                broadcaster.send(connection, WsOutbound.error("Not your turn or invalid state"));
                 return;
             }
             broadcaster.broadcastToRoom(roomId, WsOutbound.event("WHEEL_SPUN", spinResult));
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
-            botScheduler.scheduleBotTurnIfNeeded(roomId);
+            publish(roomId, session);
         });
     }
 
-    private void handleGuess(String connectionId, Map<String, Object> map) {
+    private void handleGuess(WebSocketConnection connection, String connectionId, WsGuess guess) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
-        Object letterObj = map.get("letter");
-        String letterStr = letterObj != null ? String.valueOf(letterObj).trim() : "";
+        String letterStr = guess.letter() != null ? guess.letter().trim() : "";
         if (!ValidationUtil.isValidGuessLetter(letterStr)) {
-            connection.sendText(toJson(WsOutbound.error("Invalid letter"))).subscribe().asCompletionStage();
+            broadcaster.send(connection, WsOutbound.error("Invalid letter"));
             return;
         }
         char letter = letterStr.toUpperCase(java.util.Locale.ROOT).charAt(0);
@@ -185,214 +316,200 @@ public class GameWebSocket {
             if (session.getGameType() != GameType.ROLETRANDO) return;
             boolean applied = roletrandoEngine.processGuess(session, connectionId, letter);
             if (!applied) {
-                connection.sendText(toJson(WsOutbound.error("Invalid guess or not your turn"))).subscribe().asCompletionStage();
+                broadcaster.send(connection, WsOutbound.error("Invalid guess or not your turn"));
                 return;
             }
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
-            botScheduler.scheduleBotTurnIfNeeded(roomId);
+            publish(roomId, session);
         });
     }
 
-    private void handleSolve(String connectionId, Map<String, Object> map) {
+    private void handleSolve(WebSocketConnection connection, String connectionId, WsSolve solve) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
-        Object attemptObj = map.get("phrase");
-        String attempt = attemptObj != null ? String.valueOf(attemptObj).trim() : "";
+        String attempt = solve.phrase() != null ? solve.phrase().trim() : "";
         if (attempt.isEmpty()) {
-            connection.sendText(toJson(WsOutbound.error("Phrase required"))).subscribe().asCompletionStage();
+            broadcaster.send(connection, WsOutbound.error("Phrase required"));
             return;
         }
         if (!ValidationUtil.isValidSolvePhrase(attempt)) {
-            connection.sendText(toJson(WsOutbound.error("Phrase invalid or too long"))).subscribe().asCompletionStage();
+            broadcaster.send(connection, WsOutbound.error("Phrase invalid or too long"));
             return;
         }
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.ROLETRANDO) return;
             boolean applied = roletrandoEngine.processSolve(session, connectionId, attempt);
             if (!applied) {
-                connection.sendText(toJson(WsOutbound.error("Invalid solve or not your turn"))).subscribe().asCompletionStage();
+                broadcaster.send(connection, WsOutbound.error("Invalid solve or not your turn"));
                 return;
             }
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
-            botScheduler.scheduleBotTurnIfNeeded(roomId);
+            publish(roomId, session);
         });
     }
 
-    private void handleQuizAnswer(String connectionId, Map<String, Object> map) {
+    private void handleQuizAnswer(WebSocketConnection connection, String connectionId, WsAnswer answer) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
-        Object idxObj = map.get("answerIndex");
-        if (idxObj == null) {
-            connection.sendText(toJson(WsOutbound.error("answerIndex required"))).subscribe().asCompletionStage();
+        if (answer.answerIndex() == null) {
+            broadcaster.send(connection, WsOutbound.error("answerIndex required"));
             return;
         }
-        int answerIndex = ((Number) idxObj).intValue();
+        int answerIndex = answer.answerIndex();
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.QUIZ_SPEED) return;
             quizEngine.submitAnswer(session, connectionId, answerIndex);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publishAnswer(roomId, session);
         });
     }
 
-    private void handleQuizNext(String connectionId) {
+    private void handleQuizNext(WebSocketConnection connection, String connectionId) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.QUIZ_SPEED) return;
             quizEngine.hostNextStage(session, connectionId);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publish(roomId, session);
         });
     }
 
-    private void handleMillionaireAnswer(String connectionId, Map<String, Object> map) {
+    private void handleMillionaireAnswer(WebSocketConnection connection, String connectionId, WsAnswer answer) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
-        Object idxObj = map.get("answerIndex");
-        if (idxObj == null) {
-            connection.sendText(toJson(WsOutbound.error("answerIndex required"))).subscribe().asCompletionStage();
+        if (answer.answerIndex() == null) {
+            broadcaster.send(connection, WsOutbound.error("answerIndex required"));
             return;
         }
-        int answerIndex = ((Number) idxObj).intValue();
+        int answerIndex = answer.answerIndex();
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.QUIZ_INCREMENTAL) return;
             millionaireEngine.submitAnswer(session, connectionId, answerIndex);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publish(roomId, session);
         });
     }
 
-    private void handleLifeline5050(String connectionId) {
+    private void handleLifeline5050(WebSocketConnection connection, String connectionId) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.QUIZ_INCREMENTAL) return;
             millionaireEngine.lifeline50_50(session, connectionId);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publish(roomId, session);
         });
     }
 
-    private void handleLifelineUni(String connectionId) {
+    private void handleLifelineUni(WebSocketConnection connection, String connectionId) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.QUIZ_INCREMENTAL) return;
             millionaireEngine.lifelineUni(session, connectionId);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publish(roomId, session);
         });
     }
 
-    private void handleLifelineSkip(String connectionId) {
+    private void handleLifelineSkip(WebSocketConnection connection, String connectionId) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.QUIZ_INCREMENTAL) return;
             millionaireEngine.lifelineSkip(session, connectionId);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publish(roomId, session);
         });
     }
 
-    private void handleSurvivalAnswer(String connectionId, Map<String, Object> map) {
+    private void handleSurvivalAnswer(WebSocketConnection connection, String connectionId, WsTextAnswer message) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
-        Object answerObj = map.get("answer");
-        String answer = answerObj != null ? String.valueOf(answerObj) : "";
+        String answer = message.answer() != null ? message.answer() : "";
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.SURVIVAL) return;
             survivalEngine.submitAnswer(session, connectionId, answer);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publishAnswer(roomId, session);
         });
     }
 
-    @SuppressWarnings("unchecked")
-    private void handleSequencingSubmit(String connectionId, Map<String, Object> map) {
+    private void handleSequencingSubmit(WebSocketConnection connection, String connectionId, WsSequence sequence) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
-        Object idsObj = map.get("orderedIds");
-        List<String> orderedIds = idsObj instanceof List ? (List<String>) idsObj : List.of();
+        List<String> orderedIds = sequence.orderedIds() != null ? sequence.orderedIds() : List.of();
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.SEQUENCING) return;
             sequencingEngine.submitSequence(session, connectionId, orderedIds);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publishAnswer(roomId, session);
         });
     }
 
-    private void handleDetectiveGuess(String connectionId, Map<String, Object> map) {
+    private void handleDetectiveGuess(WebSocketConnection connection, String connectionId, WsTextAnswer message) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
-        Object guessObj = map.get("guess");
-        String guess = guessObj != null ? String.valueOf(guessObj) : "";
+        String guess = message.answer() != null ? message.answer() : "";
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.DETECTIVE) return;
             detectiveEngine.submitAnswer(session, connectionId, guess);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publishAnswer(roomId, session);
         });
     }
 
-    private void handleBuzzerBuzz(String connectionId) {
+    private void handleBuzzerBuzz(WebSocketConnection connection, String connectionId) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.BUZZER) return;
             buzzerEngine.playerBuzz(session, connectionId);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publish(roomId, session);
         });
     }
 
-    private void handleBuzzerAnswer(String connectionId, Map<String, Object> map) {
+    private void handleBuzzerAnswer(WebSocketConnection connection, String connectionId, WsAnswer answer) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
-        Object idxObj = map.get("answerIndex");
-        if (idxObj == null) return;
-        int answerIndex = ((Number) idxObj).intValue();
+        if (answer.answerIndex() == null) return;
+        int answerIndex = answer.answerIndex();
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.BUZZER) return;
             buzzerEngine.submitAnswer(session, connectionId, answerIndex);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publish(roomId, session);
         });
     }
 
-    private void handleSensoryGuess(String connectionId, Map<String, Object> map) {
+    private void handleSensoryGuess(WebSocketConnection connection, String connectionId, WsTextAnswer message) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
-        Object guessObj = map.get("guess");
-        String guess = guessObj != null ? String.valueOf(guessObj) : "";
+        String guess = message.answer() != null ? message.answer() : "";
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.SENSORY) return;
             sensoryEngine.submitAnswer(session, connectionId, guess);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publishAnswer(roomId, session);
         });
     }
 
-    private void handleBinaryDecision(String connectionId, Map<String, Object> map) {
+    private void handleBinaryDecision(WebSocketConnection connection, String connectionId, WsDecision message) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
-        Object decisionObj = map.get("decision");
-        if (!(decisionObj instanceof Boolean)) return;
-        boolean decision = (Boolean) decisionObj;
+        if (message.decision() == null) return;
+        boolean decision = message.decision();
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.BINARY_DECISION) return;
             binaryEngine.submitDecision(session, connectionId, decision);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publishAnswer(roomId, session);
         });
     }
 
-    @SuppressWarnings("unchecked")
-    private void handleCombinationAction(String connectionId, Map<String, Object> map) {
+    private void handleCombinationAction(WebSocketConnection connection, String connectionId, WsCombinationAction message) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
-        Object actionObj = map.get("action");
-        Map<String, Object> action = actionObj instanceof Map ? (Map<String, Object>) actionObj : Map.of();
+        Map<String, Object> action = message.action() != null ? message.action() : Map.of();
         roomManager.getSession(roomId).ifPresent(session -> {
             if (session.getGameType() != GameType.COMBINATION) return;
             combinationEngine.submitStageAction(session, connectionId, action);
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publishAnswer(roomId, session);
         });
     }
 
-    private void handleAnswer(String connectionId, Map<String, Object> map) {
+    private void handleAnswer(WebSocketConnection connection, String connectionId, WsAnswer answer) {
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId == null) return;
         roomManager.getSession(roomId).ifPresent(session -> {
-            Integer answerIndex = map.get("answerIndex") != null ? ((Number) map.get("answerIndex")).intValue() : null;
+            Integer answerIndex = answer.answerIndex();
             if (answerIndex != null) {
                 if (session.getGameType() == GameType.QUIZ_SPEED) {
                     quizEngine.submitAnswer(session, connectionId, answerIndex);
@@ -400,26 +517,67 @@ public class GameWebSocket {
                     millionaireEngine.submitAnswer(session, connectionId, answerIndex);
                 }
             }
-            broadcaster.broadcastToRoom(roomId, WsOutbound.state(session));
+            publishAnswer(roomId, session);
         });
     }
 
+    /** Re-arms the room's deadlines and bot moves for the new state, then broadcasts it. */
+    private void publish(String roomId, GameSession session) {
+        timeouts.update(roomId, session);
+        broadcaster.broadcastState(roomId, session);
+        bots.onStateChanged(roomId, session);
+    }
+
+    /**
+     * {@link #publish} for one player's answer in a round everyone answers at once; the broadcast
+     * is coalesced with the room's other answers in the same tick.
+     */
+    private void publishAnswer(String roomId, GameSession session) {
+        timeouts.update(roomId, session);
+        broadcaster.broadcastStateCoalesced(roomId, session);
+        bots.onStateChanged(roomId, session);
+    }
+
     @OnClose
-    public void onClose() {
+    public void onClose(WebSocketConnection connection) {
+        outboundQueues.forget(connection);
         String connectionId = connection.userData().get(KEY_CONNECTION_ID);
         String roomId = connection.userData().get(KEY_ROOM_ID);
         if (roomId != null) {
-            roomManager.leaveRoom(connectionId);
-            roomManager.getSession(roomId).ifPresent(session -> broadcaster.broadcastToRoom(roomId, WsOutbound.state(session)));
+            roomConnections.unregister(roomId, connection);
+            mailbox.submit(roomId, () -> {
+                // Taken over by a RESUME in the meantime: the player is not gone.
+                if (connection.userData().get(KEY_ROOM_ID) == null) return;
+                long stamp = resumeGraceMs > 0 ? roomManager.markDisconnected(connectionId) : 0;
+                if (stamp == 0) {
+                    roomManager.leaveRoom(connectionId);
+                    afterLeave(roomId);
+                    return;
+                }
+                roomManager.getSession(roomId).ifPresent(session -> {
+                    roletrandoEngine.passTurnIfAway(session);
+                    publish(roomId, session);
+                });
+                clock.after(resumeGraceMs, () -> mailbox.submit(roomId, () -> {
+                    if (roomManager.expire(connectionId, stamp)) afterLeave(roomId);
+                }));
+            });
         }
         LOG.debugf("WebSocket closed: %s", connectionId);
     }
 
-    private String toJson(Object o) {
-        try {
-            return objectMapper.writeValueAsString(o);
-        } catch (Exception e) {
-            return "{}";
-        }
+    /** Publishes the room without the player who left, or forgets it if that was the last one. */
+    private void afterLeave(String roomId) {
+        roomManager.getSession(roomId).ifPresentOrElse(
+                session -> {
+                    roletrandoEngine.passTurnIfAway(session);
+                    publish(roomId, session);
+                },
+                () -> {
+                    broadcaster.forgetRoom(roomId);
+                    timeouts.forgetRoom(roomId);
+                    bots.forgetRoom(roomId);
+                    mailbox.forgetRoom(roomId);
+                });
     }
 }
@@ -0,0 +1,150 @@
+package com.educagame.resource;
+
+import com.educagame.model.*;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Decodes client frames in one streaming pass. The {@code type} field is read first and picks a
+ * reader compiled once per body record; the parser then binds the remaining fields straight into
+ * that record, with no intermediate map or tree. Clients send {@code type} first, so the usual
+ * frame is never buffered; fields that come before it are replayed from a token buffer.
+ * Anything that is not a single JSON object is rejected before a reader is picked. Binary frames
+ * are parsed in the connection's {@link WireFormat}; the same readers bind CBOR tokens. An
+ * {@code admit} check sees the type before the body is read, so a frame it turns down costs only
+ * the bytes up to {@code type}.
+ */
+@ApplicationScoped
+public class InboundDecoder {
+
+    /** A decoded frame. {@code message} is null when {@code type} is not one the server handles. */
+    public record Inbound(String type, WsInbound message) {}
+
+    /** {@code empty} is the body with every field absent, bound once since readers return null for it. */
+    private record Binding(ObjectReader reader, WsInbound empty) {}
+
+    private static final String TYPE = "type";
+    /** Body record of every message type the server handles. */
+    private static final Map<String, Class<? extends WsInbound>> BODIES = bodies();
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private JsonFactory factory;
+    private final JsonFactory cborFactory = new CBORFactory();
+    private final Map<String, Binding> bindings = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        factory = objectMapper.getFactory();
+        Map<Class<? extends WsInbound>, Binding> byBody = new HashMap<>();
+        BODIES.forEach((type, body) -> bindings.put(type, byBody.computeIfAbsent(body, this::bind)));
+    }
+
+    /** Whether {@code type} is a message type the server handles, as opposed to one a client made up. */
+    public static boolean handles(String type) {
+        return type != null && BODIES.containsKey(type);
+    }
+
+    /**
+     * Returns null for an object without a string {@code type}, which clients never send and the
+     * endpoint ignores.
+     *
+     * @throws IOException if the frame is not well-formed JSON, is not an object, has trailing
+     *                     content, or a field does not fit the record for its type
+     */
+    public Inbound decode(String raw) throws IOException {
+        return decode(raw, type -> true);
+    }
+
+    /** Same as {@link #decode(String)}, but also returns null, unread past the type, when {@code admit} rejects it. */
+    public Inbound decode(String raw, Predicate<String> admit) throws IOException {
+        try (JsonParser p = factory.createParser(raw)) {
+            return decode(p, admit);
+        }
+    }
+
+    /** Same as {@link #decode(String)} for a binary frame in {@code format}. */
+    public Inbound decode(byte[] raw, WireFormat format) throws IOException {
+        return decode(raw, format, type -> true);
+    }
+
+    /** Same as {@link #decode(String, Predicate)} for a binary frame in {@code format}. */
+    public Inbound decode(byte[] raw, WireFormat format, Predicate<String> admit) throws IOException {
+        try (JsonParser p = (format == WireFormat.CBOR ? cborFactory : factory).createParser(raw)) {
+            return decode(p, admit);
+        }
+    }
+
+    private Inbound decode(JsonParser p, Predicate<String> admit) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) throw new JsonParseException(p, "Expected an object");
+        TokenBuffer before = null;
+        String type = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            if (TYPE.equals(p.currentName())) {
+                type = p.nextTextValue();
+                break;
+            }
+            if (before == null) {
+                before = new TokenBuffer(p);
+                before.writeStartObject();
+            }
+            before.copyCurrentStructure(p);
+        }
+        if (type == null || !admit.test(type)) return null;
+
+        Binding binding = bindings.get(type);
+        if (binding == null) return new Inbound(type, null);
+        JsonParser body = before != null ? JsonParserSequence.createFlattened(false, before.asParser(p), p) : p;
+        WsInbound message = body.nextToken() == JsonToken.END_OBJECT ? binding.empty() : binding.reader().readValue(body);
+        if (p.nextToken() != null) throw new JsonParseException(p, "Trailing content after the message");
+        return new Inbound(type, message);
+    }
+
+    private Binding bind(Class<? extends WsInbound> body) {
+        ObjectReader reader = objectMapper.readerFor(body).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        try {
+            return new Binding(reader, reader.readValue("{}"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Map<String, Class<? extends WsInbound>> bodies() {
+        Map<String, Class<? extends WsInbound>> bodies = new HashMap<>();
+        register(bodies, WsJoin.class, "JOIN");
+        register(bodies, WsResume.class, "RESUME");
+        register(bodies, WsCommand.class, "START", "PING", "QUIZ_NEXT", "LIFELINE_50_50", "LIFELINE_UNI", "LIFELINE_SKIP",
+                "BUZZER_BUZZ", "RESYNC");
+        register(bodies, WsWheelSpin.class, "WHEEL_SPIN");
+        register(bodies, WsGuess.class, "GUESS");
+        register(bodies, WsSolve.class, "SOLVE");
+        register(bodies, WsAnswer.class, "QUIZ_ANSWER", "MILLIONAIRE_ANSWER", "BUZZER_ANSWER", "ANSWER");
+        register(bodies, WsTextAnswer.class, "SURVIVAL_ANSWER", "DETECTIVE_GUESS", "SENSORY_GUESS");
+        register(bodies, WsSequence.class, "SEQUENCING_SUBMIT");
+        register(bodies, WsDecision.class, "BINARY_DECISION");
+        register(bodies, WsCombinationAction.class, "COMBINATION_ACTION");
+        return Map.copyOf(bodies);
+    }
+
+    private static void register(Map<String, Class<? extends WsInbound>> bodies, Class<? extends WsInbound> body, String... types) {
+        for (String type : types) bodies.put(type, body);
+    }
+}
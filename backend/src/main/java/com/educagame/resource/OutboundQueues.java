@@ -0,0 +1,261 @@
+package com.educagame.resource;
+
+import com.educagame.service.GameClock;
+import com.educagame.service.GameMetrics;
+import io.netty.buffer.ByteBuf;
+import io.quarkus.websockets.next.WebSocketConnection;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Bounded outbound queue per WebSocket connection. Up to {@code maxInFlight} writes may be pending
+ * in Vert.x at once; later frames wait here until one completes. When a STATE_PATCH finds another
+ * one still waiting, the connection is marked stale: its queued patches and every later one are
+ * dropped, and once the queue drains the {@link #resyncWith resync} hook sends it a single STATE,
+ * so the client never sees a revision gap. Snapshots and one-shot events such as WHEEL_SPUN are
+ * always kept, in order. A connection whose queue passes {@code maxQueued} frames, or makes no
+ * progress for {@code stallMs}, is closed; stalls are also swept on the {@link GameClock}, so a
+ * connection nothing more is sent to does not keep its backlog.
+ */
+@ApplicationScoped
+public class OutboundQueues {
+
+    private static final Logger LOG = Logger.getLogger(OutboundQueues.class);
+    private static final long STALL_CHECK_MS = 1000;
+
+    /** What a frame is, for deciding what may be dropped while it waits. */
+    public enum Kind {
+        /** A full STATE; brings a stale connection back in step. */
+        STATE,
+        /** A STATE_PATCH against the previous revision. */
+        PATCH,
+        /** Anything else: events, acks, errors. Never dropped. */
+        OTHER
+    }
+
+    @Inject
+    GameMetrics metrics;
+    @Inject
+    GameClock clock;
+
+    @ConfigProperty(name = "educagame.ws.outbound.max-in-flight", defaultValue = "16")
+    int maxInFlight;
+    @ConfigProperty(name = "educagame.ws.outbound.max-queued", defaultValue = "64")
+    int maxQueued;
+    @ConfigProperty(name = "educagame.ws.outbound.stall-ms", defaultValue = "10000")
+    long stallMs;
+
+    private final Map<String, Outbox> outboxes = new ConcurrentHashMap<>();
+    private volatile Consumer<WebSocketConnection> resync = connection -> { };
+
+    private record Pending(ByteBuf frame, Kind kind) {
+    }
+
+    /** Writes and backlog of one connection; guarded by its own monitor. */
+    private static final class Outbox {
+        final WebSocketConnection connection;
+        /** JSON goes out as text frames, CBOR as binary ones. */
+        final WireFormat format;
+        final ArrayDeque<Pending> queued = new ArrayDeque<>();
+        int inFlight;
+        /** When a write last completed, or the backlog started if none has since. */
+        long lastProgress;
+        /** Patches were dropped; later ones are too, until a STATE goes out. */
+        boolean stale;
+        /** The resync hook already ran for this stale spell. */
+        boolean resyncAsked;
+        boolean closed;
+
+        Outbox(WebSocketConnection connection) {
+            this.connection = connection;
+            this.format = WireFormat.of(connection);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        clock.after(STALL_CHECK_MS, this::sweep);
+    }
+
+    /**
+     * Sets what sends the current STATE to a stale connection whose queue has drained. It runs on
+     * the thread that completed the last write, outside any outbox lock.
+     */
+    public void resyncWith(Consumer<WebSocketConnection> resync) {
+        this.resync = resync;
+    }
+
+    /**
+     * Sends {@code frame}, which this queue now owns, or queues it behind the pending writes.
+     * A {@link Kind#PATCH} is dropped instead while the connection is stale.
+     */
+    public void send(WebSocketConnection connection, ByteBuf frame, Kind kind) {
+        if (!connection.isOpen()) {
+            frame.release();
+            return;
+        }
+        Outbox box = outboxes.computeIfAbsent(connection.id(), id -> new Outbox(connection));
+        // Closed (and forgotten) since the check above: do not keep the new outbox around.
+        if (!connection.isOpen()) outboxes.remove(connection.id(), box);
+        String dropReason;
+        synchronized (box) {
+            if (box.closed) {
+                frame.release();
+                return;
+            }
+            if (kind == Kind.PATCH && box.stale) {
+                frame.release();
+                metrics.outboundReplaced();
+                return;
+            }
+            if (kind == Kind.STATE) {
+                box.stale = false;
+                box.resyncAsked = false;
+            }
+            if (box.inFlight < maxInFlight && box.queued.isEmpty()) {
+                box.inFlight++;
+                dropReason = null;
+            } else {
+                dropReason = enqueue(box, new Pending(frame, kind));
+                if (dropReason == null) return;
+            }
+        }
+        if (dropReason == null) {
+            write(box, frame);
+            return;
+        }
+        disconnect(connection, dropReason);
+    }
+
+    /** Releases whatever the connection still had queued; call when it closes. */
+    public void forget(WebSocketConnection connection) {
+        Outbox box = outboxes.remove(connection.id());
+        if (box == null) return;
+        synchronized (box) {
+            close(box);
+        }
+    }
+
+    /** Frames waiting for the connection, not counting writes already handed to Vert.x. */
+    int queued(WebSocketConnection connection) {
+        Outbox box = outboxes.get(connection.id());
+        if (box == null) return 0;
+        synchronized (box) {
+            return box.queued.size();
+        }
+    }
+
+    /** Closes connections whose backlog has not moved for {@code stallMs}, then re-arms. */
+    private void sweep() {
+        clock.after(STALL_CHECK_MS, this::sweep);
+        checkStalls();
+    }
+
+    void checkStalls() {
+        long now = System.currentTimeMillis();
+        for (Outbox box : outboxes.values()) {
+            boolean stalled;
+            synchronized (box) {
+                stalled = !box.closed && !box.queued.isEmpty() && now - box.lastProgress > stallMs;
+                if (stalled) close(box);
+            }
+            if (stalled) disconnect(box.connection, "stalled");
+        }
+    }
+
+    /** Queues behind the pending writes; returns why the connection must be dropped, or null. */
+    private String enqueue(Outbox box, Pending pending) {
+        long now = System.currentTimeMillis();
+        if (box.queued.isEmpty()) {
+            box.lastProgress = now;
+            metrics.outboundBacklogged(1);
+        }
+        if (pending.kind() == Kind.PATCH && dropQueuedPatches(box)) {
+            // Two patches waiting: the client gets one STATE once it catches up instead.
+            box.stale = true;
+            pending.frame().release();
+            metrics.outboundReplaced();
+            if (box.queued.isEmpty()) metrics.outboundBacklogged(-1);
+        } else {
+            metrics.outboundQueued(1);
+            box.queued.add(pending);
+        }
+        String dropReason = box.queued.size() > maxQueued ? "overflow"
+                : now - box.lastProgress > stallMs ? "stalled" : null;
+        if (dropReason != null) close(box);
+        return dropReason;
+    }
+
+    private boolean dropQueuedPatches(Outbox box) {
+        boolean dropped = false;
+        Iterator<Pending> it = box.queued.iterator();
+        while (it.hasNext()) {
+            Pending pending = it.next();
+            if (pending.kind() == Kind.PATCH) {
+                it.remove();
+                pending.frame().release();
+                metrics.outboundQueued(-1);
+                metrics.outboundReplaced();
+                dropped = true;
+            }
+        }
+        return dropped;
+    }
+
+    private void disconnect(WebSocketConnection connection, String reason) {
+        LOG.warnf("Closing slow WebSocket connection %s (%s)", connection.id(), reason);
+        metrics.outboundDisconnected(reason);
+        connection.close().subscribe().with(v -> { }, f -> { });
+    }
+
+    private void write(Outbox box, ByteBuf frame) {
+        Buffer buffer = Buffer.buffer(frame);
+        Uni<Void> sent = box.format == WireFormat.CBOR ? box.connection.sendBinary(buffer) : box.connection.sendText(buffer);
+        sent.subscribe().with(v -> completed(box, frame), f -> completed(box, frame));
+    }
+
+    private void completed(Outbox box, ByteBuf frame) {
+        frame.release();
+        Pending next;
+        boolean stale;
+        synchronized (box) {
+            box.inFlight--;
+            box.lastProgress = System.currentTimeMillis();
+            next = box.closed ? null : box.queued.poll();
+            stale = next == null && box.stale && !box.resyncAsked && !box.closed;
+            if (stale) box.resyncAsked = true;
+            if (next != null) {
+                box.inFlight++;
+                metrics.outboundQueued(-1);
+                if (box.queued.isEmpty()) metrics.outboundBacklogged(-1);
+            }
+        }
+        if (next != null) {
+            write(box, next.frame());
+        } else if (stale) {
+            resync.accept(box.connection);
+        }
+    }
+
+    /** Marks the outbox closed and releases its queue; the caller holds the monitor. */
+    private void close(Outbox box) {
+        if (box.closed) return;
+        box.closed = true;
+        if (box.queued.isEmpty()) return;
+        metrics.outboundQueued(-box.queued.size());
+        metrics.outboundBacklogged(-1);
+        for (Pending pending : box.queued) pending.frame().release();
+        box.queued.clear();
+    }
+}
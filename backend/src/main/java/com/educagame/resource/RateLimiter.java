@@ -0,0 +1,160 @@
+package com.educagame.resource;
+
+import com.educagame.service.GameMetrics;
+import io.quarkus.websockets.next.UserData;
+import io.quarkus.websockets.next.WebSocketConnection;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets on inbound frames, per connection: one for every frame, checked before anything
+ * is parsed, and one per message type, checked as soon as the decoder has read {@code type} and
+ * before the body is bound. Frames over the limit are dropped without a reply and counted; a
+ * connection that keeps going past {@code maxDrops} drops within {@link #OFFENCE_WINDOW_NS} is
+ * closed. Limits are {@code TYPE:rate/burst} (messages per second / bucket size), with
+ * {@code *} for every type not listed.
+ */
+@ApplicationScoped
+public class RateLimiter {
+
+    private static final Logger LOG = Logger.getLogger(RateLimiter.class);
+    private static final UserData.TypedKey<Limits> KEY = new UserData.TypedKey<>("rateLimits");
+    private static final String ANY_TYPE = "*";
+    /** Tag of frames dropped by the per-connection bucket, before their type is known. */
+    public static final String FRAME = "FRAME";
+    static final long OFFENCE_WINDOW_NS = TimeUnit.SECONDS.toNanos(10);
+
+    @Inject
+    GameMetrics metrics;
+
+    @ConfigProperty(name = "educagame.ws.rate.frames", defaultValue = "30/60")
+    String frameLimit;
+    @ConfigProperty(name = "educagame.ws.rate.limits", defaultValue = "*:10/20")
+    List<String> typeLimits;
+    @ConfigProperty(name = "educagame.ws.rate.max-drops", defaultValue = "100")
+    int maxDrops;
+
+    private Limit frames;
+    private final Map<String, Limit> limits = new HashMap<>();
+
+    /** Refill rate in tokens per second and bucket size. */
+    record Limit(double perSecond, double burst) {
+
+        static Limit parse(String spec) {
+            int slash = spec.indexOf('/');
+            if (slash < 0) throw new IllegalArgumentException("Rate limit must be rate/burst: " + spec);
+            return new Limit(Double.parseDouble(spec.substring(0, slash).trim()),
+                    Double.parseDouble(spec.substring(slash + 1).trim()));
+        }
+    }
+
+    /** One bucket; starts full. */
+    static final class Bucket {
+        private final Limit limit;
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(Limit limit, long now) {
+            this.limit = limit;
+            this.tokens = limit.burst();
+            this.refilledAt = now;
+        }
+
+        boolean tryTake(long now) {
+            tokens = Math.min(limit.burst(), tokens + (now - refilledAt) * limit.perSecond() / 1e9);
+            refilledAt = now;
+            if (tokens < 1) return false;
+            tokens -= 1;
+            return true;
+        }
+    }
+
+    /** Buckets and recent drops of one connection; guarded by its own monitor. */
+    private final class Limits {
+        final Bucket frames;
+        final Map<String, Bucket> types = new HashMap<>();
+        long windowStart;
+        int drops;
+        boolean closing;
+
+        Limits(long now) {
+            this.frames = new Bucket(RateLimiter.this.frames, now);
+            this.windowStart = now;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        frames = Limit.parse(frameLimit);
+        for (String entry : typeLimits) {
+            int colon = entry.indexOf(':');
+            if (colon < 0) throw new IllegalArgumentException("Rate limit must be TYPE:rate/burst: " + entry);
+            limits.put(entry.substring(0, colon).trim(), Limit.parse(entry.substring(colon + 1)));
+        }
+        limits.putIfAbsent(ANY_TYPE, frames);
+    }
+
+    /** Gives the connection its buckets; call when it opens. */
+    public void open(WebSocketConnection connection) {
+        connection.userData().put(KEY, new Limits(nanoTime()));
+    }
+
+    /** Takes a token from the connection's frame bucket. Connections never opened here pass. */
+    public boolean admitFrame(WebSocketConnection connection) {
+        Limits l = connection.userData().get(KEY);
+        if (l == null) return true;
+        boolean admitted;
+        synchronized (l) {
+            admitted = l.frames.tryTake(nanoTime());
+        }
+        return admitted || dropped(connection, l, FRAME);
+    }
+
+    /** Takes a token from the connection's bucket for {@code type}. */
+    public boolean admit(WebSocketConnection connection, String type) {
+        Limits l = connection.userData().get(KEY);
+        if (l == null) return true;
+        boolean admitted;
+        synchronized (l) {
+            long now = nanoTime();
+            // Unknown types share the "*" bucket, so made-up names cannot mint fresh buckets.
+            String key = limits.containsKey(type) ? type : ANY_TYPE;
+            admitted = l.types.computeIfAbsent(key, k -> new Bucket(limits.get(k), now)).tryTake(now);
+        }
+        return admitted || dropped(connection, l, type);
+    }
+
+    /** Counts the drop and closes the connection once it is a repeat offender; always false. */
+    private boolean dropped(WebSocketConnection connection, Limits l, String type) {
+        metrics.inboundDropped(type);
+        boolean close;
+        synchronized (l) {
+            long now = nanoTime();
+            if (now - l.windowStart > OFFENCE_WINDOW_NS) {
+                l.windowStart = now;
+                l.drops = 0;
+            }
+            close = ++l.drops > maxDrops && !l.closing;
+            if (close) l.closing = true;
+        }
+        if (close) {
+            LOG.warnf("Closing WebSocket connection %s: over %d rate-limited frames in %d s",
+                    connection.id(), maxDrops, TimeUnit.NANOSECONDS.toSeconds(OFFENCE_WINDOW_NS));
+            metrics.inboundDisconnected();
+            connection.close().subscribe().with(v -> { }, f -> { });
+        }
+        return false;
+    }
+
+    long nanoTime() {
+        return System.nanoTime();
+    }
+}
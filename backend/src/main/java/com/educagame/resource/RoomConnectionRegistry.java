@@ -0,0 +1,49 @@
+package com.educagame.resource;
+
+import io.quarkus.websockets.next.WebSocketConnection;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of live WebSocket connections per room. Maintained by GameWebSocket on JOIN and close,
+ * so broadcasting to a room costs O(players in the room) instead of O(connections on the node).
+ */
+@ApplicationScoped
+public class RoomConnectionRegistry {
+
+    private final Map<String, Set<WebSocketConnection>> rooms = new ConcurrentHashMap<>();
+
+    public void register(String roomId, WebSocketConnection connection) {
+        rooms.compute(roomId, (k, set) -> {
+            Set<WebSocketConnection> s = set != null ? set : ConcurrentHashMap.newKeySet();
+            s.add(connection);
+            return s;
+        });
+    }
+
+    public void unregister(String roomId, WebSocketConnection connection) {
+        rooms.computeIfPresent(roomId, (k, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /** Live view of the connections in a room; empty if nobody is connected. */
+    public Collection<WebSocketConnection> connections(String roomId) {
+        Set<WebSocketConnection> set = rooms.get(roomId);
+        return set == null ? Set.of() : set;
+    }
+
+    public int connectionCount(String roomId) {
+        Set<WebSocketConnection> set = rooms.get(roomId);
+        return set == null ? 0 : set.size();
+    }
+
+    public int roomCount() {
+        return rooms.size();
+    }
+}
@@ -73,10 +73,11 @@ public class RoomResource {
     @POST
     @Path("/rooms")
     public Response createRoom(CreateRoomRequest request) {
-        LOG.infof("REST createRoom requested theme=%s gameType=%s privateRoom=%s",
+        LOG.infof("REST createRoom requested theme=%s gameType=%s privateRoom=%s largeRoom=%s",
                 request != null ? request.getTheme() : null,
                 request != null ? request.getGameType() : null,
-                request != null ? request.getPrivateRoom() : null);
+                request != null ? request.getPrivateRoom() : null,
+                request != null ? request.getLargeRoom() : null);
         if (request == null || request.getGameType() == null) {
             LOG.warn("REST createRoom badRequest: gameType required");
             return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", "gameType required")).build();
@@ -90,13 +91,21 @@ public class RoomResource {
         }
         String theme = request.getTheme() != null ? request.getTheme() : "default";
         boolean isPrivate = request.getPrivateRoom() != null && request.getPrivateRoom();
-        GameSession session = roomManager.createRoom(theme, type, isPrivate);
+        boolean largeRoom = request.getLargeRoom() != null && request.getLargeRoom();
+        if (largeRoom && !RoomManager.supportsLargeRoom(type)) {
+            LOG.warnf("REST createRoom badRequest: largeRoom not supported for gameType=%s", type);
+            return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", "largeRoom not supported for gameType")).build();
+        }
+        GameSession session = roomManager.createRoom(theme, type, isPrivate, largeRoom);
+        if (request.getTopic() != null && !request.getTopic().isBlank()) session.setTopic(request.getTopic().trim());
+        session.setWithBots(request.getBots() != null && request.getBots());
         gameHistoryService.recordGameCreated(type);
         LOG.infof("REST createRoom created roomId=%s theme=%s gameType=%s", session.getRoomId(), session.getTheme(), session.getGameType());
         return Response.status(Response.Status.CREATED).entity(Map.of(
                 "roomId", session.getRoomId(),
                 "theme", session.getTheme(),
-                "gameType", session.getGameType().name()
+                "gameType", session.getGameType().name(),
+                "largeRoom", session.isLargeRoom()
         )).build();
     }
 
@@ -111,8 +120,8 @@ public class RoomResource {
                         s.getRoomId(),
                         s.getTheme(),
                         s.getGameType(),
-                        s.getPlayers().size(),
-                        10,
+                        s.getPlayerCount(),
+                        RoomManager.maxPlayers(s),
                         false
                 )).build())
                 .orElse(Response.status(Response.Status.NOT_FOUND).build());
@@ -122,6 +131,9 @@ public class RoomResource {
         private String theme;
         private String gameType;
         private Boolean privateRoom;
+        private Boolean largeRoom;
+        private String topic;
+        private Boolean bots;
 
         public String getTheme() { return theme; }
         public void setTheme(String theme) { this.theme = theme; }
@@ -129,5 +141,11 @@ public class RoomResource {
         public void setGameType(String gameType) { this.gameType = gameType; }
         public Boolean getPrivateRoom() { return privateRoom; }
         public void setPrivateRoom(Boolean privateRoom) { this.privateRoom = privateRoom; }
+        public Boolean getLargeRoom() { return largeRoom; }
+        public void setLargeRoom(Boolean largeRoom) { this.largeRoom = largeRoom; }
+        public String getTopic() { return topic; }
+        public void setTopic(String topic) { this.topic = topic; }
+        public Boolean getBots() { return bots; }
+        public void setBots(Boolean bots) { this.bots = bots; }
     }
 }
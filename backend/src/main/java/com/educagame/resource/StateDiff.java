@@ -0,0 +1,84 @@
+package com.educagame.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Structural diff between two JSON trees, emitted as JSON Patch (RFC 6902) operations restricted
+ * to add, remove and replace. Objects are diffed per field and arrays per index, so appending an
+ * answer or revealing a letter produces a couple of small ops instead of the whole session.
+ */
+public final class StateDiff {
+
+    private StateDiff() {
+    }
+
+    public static ArrayNode diff(JsonNode base, JsonNode target) {
+        ArrayNode ops = JsonNodeFactory.instance.arrayNode();
+        diff("", base, target, ops);
+        return ops;
+    }
+
+    private static void diff(String path, JsonNode base, JsonNode target, ArrayNode ops) {
+        if (base.equals(target)) return;
+        if (base.isObject() && target.isObject()) {
+            diffObjects(path, base, target, ops);
+        } else if (base.isArray() && target.isArray()) {
+            diffArrays(path, base, target, ops);
+        } else {
+            ops.add(op("replace", path, target));
+        }
+    }
+
+    private static void diffObjects(String path, JsonNode base, JsonNode target, ArrayNode ops) {
+        Iterator<Map.Entry<String, JsonNode>> fields = target.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String childPath = path + "/" + escape(field.getKey());
+            JsonNode old = base.get(field.getKey());
+            if (old == null) {
+                ops.add(op("add", childPath, field.getValue()));
+            } else {
+                diff(childPath, old, field.getValue(), ops);
+            }
+        }
+        Iterator<String> names = base.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            if (!target.has(name)) {
+                ops.add(op("remove", path + "/" + escape(name), null));
+            }
+        }
+    }
+
+    private static void diffArrays(String path, JsonNode base, JsonNode target, ArrayNode ops) {
+        int common = Math.min(base.size(), target.size());
+        for (int i = 0; i < common; i++) {
+            diff(path + "/" + i, base.get(i), target.get(i), ops);
+        }
+        for (int i = common; i < target.size(); i++) {
+            ops.add(op("add", path + "/" + i, target.get(i)));
+        }
+        // Remove from the tail so earlier indices stay valid while applying.
+        for (int i = base.size() - 1; i >= common; i--) {
+            ops.add(op("remove", path + "/" + i, null));
+        }
+    }
+
+    private static ObjectNode op(String op, String path, JsonNode value) {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        node.put("op", op);
+        node.put("path", path);
+        if (value != null) node.set("value", value);
+        return node;
+    }
+
+    private static String escape(String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+}
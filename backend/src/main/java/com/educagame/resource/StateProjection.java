@@ -0,0 +1,164 @@
+package com.educagame.resource;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.Player;
+import com.educagame.model.state.GameState;
+import com.educagame.model.state.RoundState;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits a session into what every client may see and what only one player may see, serializing
+ * it once. Content banks are never serialized (see {@link GameState}); current-round solutions and
+ * answer keys (revealed again in feedback/end phases) are left out while the tree is built, by
+ * one writer per phase kind, instead of being copied and then removed. The tree is then redacted
+ * in place: each player's own response is lifted into their self view, responses are reduced to
+ * "has answered" and the Roletrando phrase is masked.
+ * Large rooms get no player list and no per-player maps at all: an "audience" summary (player and
+ * answer counts, the answer histogram and a top-K ranking) replaces them, and each player finds
+ * their own score in the self view.
+ */
+@ApplicationScoped
+public class StateProjection {
+
+    /** The public view and each human player's self view of one revision. */
+    public record Views(ObjectNode publicView, Map<String, JsonNode> selves) {
+    }
+
+    /** Solutions of the current round; clients get them through the masked/shuffled fields. */
+    private static final Set<String> SOLUTIONS = Set.of(
+            "allClues", "originalItems", "originalPhrase", "correctOrder");
+    /** Answer keys shown once the round is over. */
+    private static final Set<String> ANSWER_KEYS = Set.of(
+            "correctIndex", "answer", "isTrue", "explanation");
+    /** Per-player maps that grow with the audience; dropped from the public view of large rooms. */
+    private static final Set<String> PER_PLAYER = Set.of("responses", "playerStreaks");
+    private static final Set<GamePhase> REVEAL_PHASES = Set.of(
+            GamePhase.QUIZ_FEEDBACK, GamePhase.QUIZ_RANKING, GamePhase.ROUND_END, GamePhase.GAME_END);
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /** Write game states without their solutions, and without answer keys while a round is open. */
+    private ObjectMapper hiding;
+    private ObjectMapper revealing;
+
+    @PostConstruct
+    void init() {
+        Set<String> hidden = new HashSet<>(SOLUTIONS);
+        hidden.addAll(ANSWER_KEYS);
+        hiding = without(hidden);
+        revealing = without(SOLUTIONS);
+    }
+
+    /** Serializes the session once and splits it into the public view and the self views. */
+    public Views project(GameSession session) {
+        boolean reveal = REVEAL_PHASES.contains(session.getPhase());
+        ObjectNode view = (reveal ? revealing : hiding).valueToTree(session);
+        // Read before redact reduces the responses to "has answered".
+        Map<String, JsonNode> selves = selfViews(session, view);
+        JsonNode payload = view.get("gamePayload");
+        if (payload instanceof ObjectNode p) {
+            redact(p, reveal);
+            if (p.get("stagePayload") instanceof ObjectNode stage) {
+                redact(stage, reveal);
+            }
+            if (session.isLargeRoom()) p.remove(PER_PLAYER);
+        }
+        if (session.isLargeRoom()) view.set("audience", audience(session));
+        return new Views(view, selves);
+    }
+
+    /** A copy of the application mapper whose game states skip the {@code hidden} properties. */
+    private ObjectMapper without(Set<String> hidden) {
+        SimpleModule module = new SimpleModule("state-projection");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription bean,
+                                                             List<BeanPropertyWriter> properties) {
+                if (!GameState.class.isAssignableFrom(bean.getBeanClass())) return properties;
+                List<BeanPropertyWriter> kept = new ArrayList<>(properties);
+                kept.removeIf(p -> hidden.contains(p.getName()));
+                return kept;
+            }
+        });
+        return objectMapper.copy().registerModule(module);
+    }
+
+    /** O(options + n log k): counts kept by the engines plus a bounded-heap ranking. */
+    private static ObjectNode audience(GameSession session) {
+        ObjectNode audience = JsonNodeFactory.instance.objectNode();
+        audience.put("players", session.getPlayerCount());
+        if (session.getGamePayload() instanceof RoundState<?> round) {
+            audience.put("answered", round.getResponses().size());
+            ObjectNode histogram = audience.putObject("histogram");
+            round.getHistogram().forEach(histogram::put);
+        }
+        ArrayNode top = audience.putArray("top");
+        for (Player p : session.topPlayers(GameSession.LARGE_ROOM_RANKING_SIZE)) {
+            top.addObject().put("id", p.getId()).put("name", p.getName()).put("score", p.getScore());
+        }
+        return audience;
+    }
+
+    /** Per player: their own response(s) of the current round; empty object when there is none. */
+    private static Map<String, JsonNode> selfViews(GameSession session, JsonNode tree) {
+        JsonNode payload = tree.path("gamePayload");
+        Map<String, JsonNode> views = new HashMap<>();
+        for (Player player : session.getPlayers()) {
+            if (player.isBot()) continue;
+            ObjectNode self = JsonNodeFactory.instance.objectNode();
+            JsonNode response = payload.path("responses").get(player.getId());
+            if (response != null) self.set("response", response);
+            JsonNode stageResponse = payload.path("stagePayload").path("responses").get(player.getId());
+            if (stageResponse != null) self.set("stageResponse", stageResponse);
+            if (session.isLargeRoom()) self.put("score", player.getScore());
+            views.put(player.getId(), self);
+        }
+        return views;
+    }
+
+    private static void redact(ObjectNode payload, boolean reveal) {
+        if (!reveal && payload.get("phrase") != null && payload.get("phrase").isTextual()) {
+            payload.put("phrase", mask(payload.get("phrase").asText(), payload.get("revealed")));
+        }
+        if (payload.get("responses") instanceof ObjectNode responses) {
+            ObjectNode answered = JsonNodeFactory.instance.objectNode();
+            Iterator<String> ids = responses.fieldNames();
+            while (ids.hasNext()) answered.put(ids.next(), true);
+            payload.set("responses", answered);
+        }
+    }
+
+    /** Same rendering the client does: spaces and revealed letters stay, everything else is '_'. */
+    private static String mask(String phrase, JsonNode revealed) {
+        Set<String> letters = new HashSet<>();
+        if (revealed != null) revealed.forEach(n -> letters.add(n.asText()));
+        StringBuilder sb = new StringBuilder(phrase.length());
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            sb.append(c == ' ' || letters.contains(String.valueOf(c)) ? c : '_');
+        }
+        return sb.toString();
+    }
+}
@@ -1,13 +1,14 @@
 package com.educagame.resource;
 
-import com.educagame.model.GameResult;
 import com.educagame.model.GameType;
+import com.educagame.service.BotRuntime;
 import com.educagame.service.GameHistoryService;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +18,8 @@ public class StatsResource {
 
     @Inject
     GameHistoryService gameHistoryService;
+    @Inject
+    BotRuntime botRuntime;
 
     @GET
     @Path("/summary")
@@ -33,21 +36,55 @@ public class StatsResource {
 
     @GET
     @Path("/leaderboard")
-    public Response leaderboard(@QueryParam("mode") String mode, @QueryParam("limit") @DefaultValue("10") int limit) {
+    public Response leaderboard(@QueryParam("mode") String mode, @QueryParam("window") @DefaultValue("all") String window,
+                                @QueryParam("limit") @DefaultValue("10") int limit) {
         GameType type;
         try {
             type = mode == null || mode.isBlank() ? GameType.ROLETRANDO : GameType.valueOf(mode.toUpperCase().replace("-", "_"));
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", "Invalid mode")).build();
         }
-        List<Map<String, Object>> list = gameHistoryService.getLeaderboard(type, limit);
+        GameHistoryService.Window w = switch (window.toLowerCase()) {
+            case "day", "today" -> GameHistoryService.Window.DAY;
+            case "week" -> GameHistoryService.Window.WEEK;
+            case "all", "all-time" -> GameHistoryService.Window.ALL;
+            default -> null;
+        };
+        if (w == null) return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", "Invalid window")).build();
+        List<Map<String, Object>> list = gameHistoryService.getLeaderboard(type, w, limit);
         return Response.ok(list).build();
     }
 
     @GET
     @Path("/history")
-    public Response history(@QueryParam("limit") @DefaultValue("20") int limit) {
-        List<GameResult> list = gameHistoryService.getRecentResults(limit);
-        return Response.ok(list).build();
+    public Response history(@QueryParam("mode") String mode, @QueryParam("theme") String theme,
+                            @QueryParam("player") String player, @QueryParam("cursor") String cursor,
+                            @QueryParam("limit") @DefaultValue("20") int limit) {
+        GameType type;
+        try {
+            type = mode == null || mode.isBlank() ? null : GameType.valueOf(mode.toUpperCase().replace("-", "_"));
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", "Invalid mode")).build();
+        }
+        GameHistoryService.HistoryPage page;
+        try {
+            page = gameHistoryService.getHistory(type, blankToNull(theme), blankToNull(player), cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(Map.of("error", e.getMessage())).build();
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("items", page.items());
+        body.put("nextCursor", page.nextCursor());
+        return Response.ok(body).build();
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s;
+    }
+
+    @GET
+    @Path("/bots")
+    public Response bots() {
+        return Response.ok(botRuntime.stats()).build();
     }
 }
@@ -0,0 +1,35 @@
+package com.educagame.resource;
+
+import io.quarkus.websockets.next.UserData;
+import io.quarkus.websockets.next.WebSocketConnection;
+
+/**
+ * How messages are encoded on one connection, chosen when it opens. JSON is the default; a client
+ * opts into CBOR (the same message shapes, smaller and cheaper to parse on weak devices) with the
+ * {@value #CBOR_SUBPROTOCOL} subprotocol or {@code ?encoding=cbor} on the URL.
+ */
+public enum WireFormat {
+    JSON,
+    CBOR;
+
+    static final String CBOR_SUBPROTOCOL = "educagame.cbor";
+    static final UserData.TypedKey<WireFormat> KEY = new UserData.TypedKey<>("wireFormat");
+
+    /** The format stored on the connection at open; JSON for connections that have none. */
+    public static WireFormat of(WebSocketConnection connection) {
+        UserData data = connection.userData();
+        WireFormat format = data != null ? data.get(KEY) : null;
+        return format != null ? format : JSON;
+    }
+
+    /** Reads the client's choice from the negotiated subprotocol or the handshake query string. */
+    static WireFormat negotiate(String subprotocol, String query) {
+        if (CBOR_SUBPROTOCOL.equals(subprotocol)) return CBOR;
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.equalsIgnoreCase("encoding=cbor")) return CBOR;
+            }
+        }
+        return JSON;
+    }
+}
@@ -4,12 +4,13 @@ import com.educagame.model.GamePhase;
 import com.educagame.model.GameSession;
 import com.educagame.model.GameType;
 import com.educagame.model.Player;
+import com.educagame.model.state.BinaryState;
+import com.educagame.model.state.RankingEntry;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Binary Decision game (Fato ou Fake style) - Judge if statements are true or false.
@@ -29,7 +30,6 @@ public class BinaryEngine implements GameEngineInterface {
     @Inject
     GameHistoryService gameHistoryService;
 
-    @SuppressWarnings("unchecked")
     public void startGame(GameSession session) {
         if (session.getGameType() != GameType.BINARY_DECISION || session.getPhase() != GamePhase.LOBBY) return;
         session.setPhase(GamePhase.COUNTDOWN);
@@ -38,13 +38,7 @@ public class BinaryEngine implements GameEngineInterface {
         List<Map<String, Object>> statements = dataLoaderService.getStatements(session.getTheme());
         if (statements == null) statements = createDefaultStatements();
 
-        Map<String, Object> payload = new ConcurrentHashMap<>();
-        payload.put("statements", statements);
-        payload.put("statementIndex", 0);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
-        payload.put("roundScores", new ArrayList<Map<String, Object>>());
-        payload.put("playerStreaks", new HashMap<String, Integer>());
-        session.setGamePayload(payload);
+        session.setGamePayload(new BinaryState(statements));
         session.setRoundStartedAt(System.currentTimeMillis());
         LOG.infof("Binary decision game started in room %s with %d statements", session.getRoomId(), statements.size());
     }
@@ -54,30 +48,26 @@ public class BinaryEngine implements GameEngineInterface {
         showStatement(session, 0);
     }
 
-    @SuppressWarnings("unchecked")
     private void showStatement(GameSession session, int index) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
-        List<Map<String, Object>> statements = (List<Map<String, Object>>) payload.get("statements");
+        BinaryState state = session.getGamePayload(BinaryState.class);
+        if (state == null) return;
+        List<Map<String, Object>> statements = state.getStatements();
         if (statements == null || index >= statements.size()) {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
             return;
         }
         
-        payload.put("statementIndex", index);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
+        state.setStatementIndex(index);
         
         Map<String, Object> statement = statements.get(index);
-        payload.put("statementText", statement.get("text"));
-        payload.put("isTrue", statement.get("isTrue"));
-        payload.put("explanation", statement.get("explanation"));
-        payload.put("category", statement.get("category"));
-        payload.put("difficulty", statement.get("difficulty"));
+        state.setStatement((String) statement.get("text"), Boolean.TRUE.equals(statement.get("isTrue")),
+                (String) statement.get("explanation"), (String) statement.get("category"),
+                statement.get("difficulty") != null ? ((Number) statement.get("difficulty")).intValue() : 1);
         
         int timeMs = statement.get("timeLimitMs") != null ? ((Number) statement.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
-        payload.put("timeLimitMs", timeMs);
+        state.startRound(timeMs);
         session.setRoundStartedAt(System.currentTimeMillis());
         
         LOG.infof("Binary statement %d: %s (Truth: %s)", index, statement.get("text"), statement.get("isTrue"));
@@ -86,29 +76,26 @@ public class BinaryEngine implements GameEngineInterface {
     /**
      * Submit binary decision (true/false).
      */
-    @SuppressWarnings("unchecked")
     public boolean submitDecision(GameSession session, String connectionId, boolean decision) {
         if (session.getGameType() != GameType.BINARY_DECISION || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        BinaryState state = session.getGamePayload(BinaryState.class);
+        if (state == null) return false;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
+        Map<String, BinaryState.Response> responses = state.getResponses();
         if (responses.containsKey(connectionId)) return true; // already answered
 
-        Boolean isTrue = (Boolean) payload.get("isTrue");
+        boolean isTrue = state.isTrue();
         long responseTime = System.currentTimeMillis() - session.getRoundStartedAt();
         
         boolean correct = decision == isTrue;
         
         // Calculate points
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         int timeBonus = Math.max(0, (int) ((timeLimitMs - responseTime) * BASE_POINTS / timeLimitMs / 2));
         
         // Handle streaks
-        Map<String, Integer> playerStreaks = (Map<String, Integer>) payload.get("playerStreaks");
-        if (playerStreaks == null) playerStreaks = new HashMap<>();
+        Map<String, Integer> playerStreaks = state.getPlayerStreaks();
         
         int currentStreak = playerStreaks.getOrDefault(connectionId, 0);
         int streakBonus = 0;
@@ -125,16 +112,11 @@ public class BinaryEngine implements GameEngineInterface {
         int basePoints = correct ? BASE_POINTS : -WRONG_ANSWER_PENALTY;
         int totalPoints = basePoints + timeBonus + streakBonus;
 
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("decision", decision);
-        resp.put("correct", correct);
-        resp.put("responseTime", responseTime);
-        resp.put("streak", currentStreak);
-        resp.put("points", totalPoints);
-        resp.put("receivedAt", System.currentTimeMillis());
-        responses.put(connectionId, resp);
+        responses.put(connectionId, new BinaryState.Response(decision, correct, responseTime, currentStreak, totalPoints,
+                System.currentTimeMillis()));
+        state.countAnswer(decision);
 
-        Player player = session.getPlayers().stream().filter(p -> p.getId().equals(connectionId)).findFirst().orElse(null);
+        Player player = session.getPlayer(connectionId);
         if (player != null && !player.isBot()) {
             player.addScore(totalPoints);
             LOG.infof("Binary decision from %s: %s -> %s (streak: %d, %d points, %dms)", 
@@ -147,43 +129,37 @@ public class BinaryEngine implements GameEngineInterface {
     /**
      * Check if round should end (all players answered or time up).
      */
-    @SuppressWarnings("unchecked")
     public boolean shouldEndRound(GameSession session) {
         if (session.getGameType() != GameType.BINARY_DECISION || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        BinaryState state = session.getGamePayload(BinaryState.class);
+        if (state == null) return false;
         
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         long elapsed = System.currentTimeMillis() - session.getRoundStartedAt();
         
         // End round if time is up
         if (elapsed >= timeLimitMs) return true;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
-        
         // Check if all non-bot players have answered
-        long nonBotCount = session.getPlayers().stream().filter(p -> !p.isBot()).count();
-        return responses.size() >= nonBotCount;
+        return state.allAnswered(session);
     }
 
     /**
      * Move to next statement or end game.
      */
-    @SuppressWarnings("unchecked")
     public void nextStatement(GameSession session) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
+        BinaryState state = session.getGamePayload(BinaryState.class);
+        if (state == null) return;
         
-        int idx = payload.get("statementIndex") != null ? ((Number) payload.get("statementIndex")).intValue() : 0;
-        List<Map<String, Object>> statements = (List<Map<String, Object>>) payload.get("statements");
+        int idx = state.getStatementIndex();
+        List<Map<String, Object>> statements = state.getStatements();
         
         if (statements != null && idx + 1 < statements.size()) {
             showStatement(session, idx + 1);
         } else {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
         }
     }
@@ -254,23 +230,13 @@ public class BinaryEngine implements GameEngineInterface {
         return statements;
     }
 
-    private List<Map<String, Object>> buildRanking(GameSession session) {
-        @SuppressWarnings("unchecked")
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        Map<String, Integer> playerStreaks = payload != null ? 
-                (Map<String, Integer>) payload.get("playerStreaks") : new HashMap<>();
+    private List<RankingEntry> buildRanking(GameSession session) {
+        BinaryState state = session.getGamePayload(BinaryState.class);
+        Map<String, Integer> playerStreaks = state != null ? state.getPlayerStreaks() : Map.of();
         
-        return session.getPlayers().stream()
-                .filter(p -> !p.isBot())
-                .sorted((a, b) -> Integer.compare(b.getScore(), a.getScore()))
-                .map(p -> {
-                    Map<String, Object> playerData = new HashMap<>();
-                    playerData.put("id", p.getId());
-                    playerData.put("name", p.getName());
-                    playerData.put("score", p.getScore());
-                    playerData.put("bestStreak", playerStreaks.getOrDefault(p.getId(), 0));
-                    return playerData;
-                })
+        return session.ranking().stream()
+                .map(p -> new RankingEntry(p.getId(), p.getName(), p.getScore(), null,
+                        playerStreaks.getOrDefault(p.getId(), 0)))
                 .toList();
     }
 
@@ -0,0 +1,163 @@
+package com.educagame.service;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.resource.GameBroadcaster;
+import org.jboss.logging.Logger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays the bots of every room. After each state change it asks the game's {@link BotStrategy}
+ * which bots have a move, arms one timer per move on the shared {@link GameClock} and runs the
+ * move on the room's {@link RoomMailbox}. Queue delay (how late a move starts compared with its
+ * planned time, clock tick plus mailbox wait) is tracked in {@link #stats()} and in
+ * {@link GameMetrics}.
+ */
+@ApplicationScoped
+public class BotRuntime {
+
+    private static final Logger LOG = Logger.getLogger(BotRuntime.class);
+    /** Delay histogram bucket i counts moves that started less than 2^i ms late. */
+    private static final int BUCKETS = 16;
+    /** Games with a bot strategy start with at least this many players, bots filling the gap. */
+    static final int MIN_PLAYERS = 3;
+
+    @Inject
+    GameClock clock;
+    @Inject
+    RoomMailbox mailbox;
+    @Inject
+    RoomManager roomManager;
+    @Inject
+    GameTimeouts timeouts;
+    @Inject
+    GameBroadcaster broadcaster;
+    @Inject
+    RoletrandoBotStrategy roletrandoBots;
+    @Inject
+    RoundBotStrategy roundBots;
+    @Inject
+    GameMetrics metrics;
+
+    private final Map<GameType, BotStrategy> strategies = new EnumMap<>(GameType.class);
+    /** Bots with a move already armed, per room; only touched from the room's mailbox. */
+    private final Map<String, Set<String>> pending = new ConcurrentHashMap<>();
+
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder delaySumMs = new LongAdder();
+    private final LongAccumulator maxDelayMs = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray delayBuckets = new AtomicLongArray(BUCKETS);
+
+    /** Snapshot of the runtime: moves armed now, moves played, and how late they started. */
+    public record BotStats(int scheduledMoves, long moves, double meanDelayMs, long p99DelayMs, long maxDelayMs) {}
+
+    @PostConstruct
+    void initialize() {
+        register(roletrandoBots);
+        register(roundBots);
+    }
+
+    void register(BotStrategy strategy) {
+        for (GameType type : strategy.getSupportedGameTypes()) strategies.put(type, strategy);
+    }
+
+    /**
+     * Adds bots until a room has {@value #MIN_PLAYERS} players. Roletrando always gets them; the
+     * other games with a bot strategy only when the host asked ({@link GameSession#isWithBots}), so
+     * solo scores and leaderboards stay human unless chosen. Large rooms never get bots. Call at
+     * game start, before the engine sets up its state.
+     */
+    public void fillRoom(GameSession session) {
+        if (session.isLargeRoom() || !strategies.containsKey(session.getGameType())) return;
+        if (session.getGameType() != GameType.ROLETRANDO && !session.isWithBots()) return;
+        int missing = MIN_PLAYERS - session.getPlayerCount();
+        for (int i = 0; i < missing; i++) {
+            session.addPlayer(new Player("bot-" + UUID.randomUUID().toString().substring(0, 6), "Bot " + (i + 1), true));
+        }
+    }
+
+    /** Arms a move for every bot that has one in the new state. Call from the room's mailbox. */
+    public void onStateChanged(String roomId, GameSession session) {
+        BotStrategy strategy = strategies.get(session.getGameType());
+        GamePhase phase = session.getPhase();
+        if (strategy == null || phase == GamePhase.LOBBY || phase == GamePhase.COUNTDOWN || phase == GamePhase.GAME_END) return;
+        // Bots do not play on while every human is away; a resume publishes and wakes them.
+        if (session.isWaitingForHumans()) return;
+        for (Player bot : session.getPlayers()) {
+            if (!bot.isBot() || !strategy.wantsToAct(session, bot)) continue;
+            if (!pending.computeIfAbsent(roomId, k -> new HashSet<>()).add(bot.getId())) continue;
+            long delayMs = strategy.thinkTimeMs(session, bot);
+            long due = System.currentTimeMillis() + delayMs;
+            String botId = bot.getId();
+            scheduled.incrementAndGet();
+            clock.after(delayMs, () -> mailbox.submit(roomId, () -> play(roomId, botId, due)));
+        }
+    }
+
+    /** Forgets the room's armed moves (room closed); their timers find no session and do nothing. */
+    public void forgetRoom(String roomId) {
+        pending.remove(roomId);
+    }
+
+    private void play(String roomId, String botId, long due) {
+        scheduled.decrementAndGet();
+        record(System.currentTimeMillis() - due);
+        Set<String> armed = pending.get(roomId);
+        if (armed != null) armed.remove(botId);
+
+        GameSession session = roomManager.getSession(roomId).orElse(null);
+        if (session == null) return;
+        BotStrategy strategy = strategies.get(session.getGameType());
+        Player bot = session.getPlayers().stream().filter(p -> p.getId().equals(botId)).findFirst().orElse(null);
+        if (strategy == null || bot == null || session.isWaitingForHumans() || !strategy.wantsToAct(session, bot)) return;
+
+        if (strategy.act(session, bot)) {
+            LOG.debugf("Bot %s moved in room %s, phase now %s", botId, roomId, session.getPhase());
+            timeouts.update(roomId, session);
+            broadcaster.broadcastStateCoalesced(roomId, session);
+        }
+        // Also re-arms a bot whose move was rejected, so it tries again instead of stalling the turn.
+        onStateChanged(roomId, session);
+    }
+
+    private void record(long delayMs) {
+        long d = Math.max(0, delayMs);
+        moves.increment();
+        delaySumMs.add(d);
+        maxDelayMs.accumulate(d);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(d));
+        delayBuckets.incrementAndGet(bucket);
+        metrics.botDelay(d);
+    }
+
+    public BotStats stats() {
+        long n = moves.sum();
+        long target = (long) Math.ceil(n * 0.99);
+        long seen = 0;
+        long p99 = 0;
+        for (int i = 0; i < BUCKETS && n > 0; i++) {
+            seen += delayBuckets.get(i);
+            if (seen >= target) {
+                p99 = i == 0 ? 0 : 1L << i;
+                break;
+            }
+        }
+        return new BotStats(scheduled.get(), n, n > 0 ? (double) delaySumMs.sum() / n : 0, p99, maxDelayMs.get());
+    }
+}
@@ -0,0 +1,45 @@
+package com.educagame.service;
+
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+
+import java.util.Set;
+
+/**
+ * How bots play one or more game types. {@link BotRuntime} asks {@link #wantsToAct} after every
+ * state change, waits {@link #thinkTimeMs} on the game clock and then calls {@link #act} on the
+ * room's mailbox, after checking again that the move still applies.
+ */
+public interface BotStrategy {
+
+    /**
+     * Game types this strategy plays.
+     * @return The supported game types
+     */
+    Set<GameType> getSupportedGameTypes();
+
+    /**
+     * Whether the bot has a move to make in the current state.
+     * @param session The game session
+     * @param bot The bot player
+     * @return true if the bot should act
+     */
+    boolean wantsToAct(GameSession session, Player bot);
+
+    /**
+     * Human-like pause before the move.
+     * @param session The game session
+     * @param bot The bot player
+     * @return Delay in milliseconds
+     */
+    long thinkTimeMs(GameSession session, Player bot);
+
+    /**
+     * Make the move.
+     * @param session The game session
+     * @param bot The bot player
+     * @return true if the session changed and must be broadcast
+     */
+    boolean act(GameSession session, Player bot);
+}
@@ -4,12 +4,13 @@ import com.educagame.model.GamePhase;
 import com.educagame.model.GameSession;
 import com.educagame.model.GameType;
 import com.educagame.model.Player;
+import com.educagame.model.state.BuzzerState;
+import com.educagame.model.state.RankingEntry;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Buzzer game (Passa ou Repassa style) - First to buzz gets to answer.
@@ -29,23 +30,15 @@ public class BuzzerEngine implements GameEngineInterface {
     @Inject
     GameHistoryService gameHistoryService;
 
-    @SuppressWarnings("unchecked")
     public void startGame(GameSession session) {
         if (session.getGameType() != GameType.BUZZER || session.getPhase() != GamePhase.LOBBY) return;
         session.setPhase(GamePhase.COUNTDOWN);
         session.setCurrentTurnIndex(0);
         
-        List<Map<String, Object>> questions = dataLoaderService.getQuizQuestions(session.getTheme());
+        List<Map<String, Object>> questions = dataLoaderService.drawQuizQuestions(session);
         if (questions == null) questions = createDefaultBuzzerQuestions();
 
-        Map<String, Object> payload = new ConcurrentHashMap<>();
-        payload.put("questions", questions);
-        payload.put("questionIndex", 0);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
-        payload.put("roundScores", new ArrayList<Map<String, Object>>());
-        payload.put("buzzOrder", new ArrayList<String>());
-        payload.put("passCount", 0);
-        session.setGamePayload(payload);
+        session.setGamePayload(new BuzzerState(questions));
         session.setRoundStartedAt(System.currentTimeMillis());
         LOG.infof("Buzzer game started in room %s with %d questions", session.getRoomId(), questions.size());
     }
@@ -57,29 +50,24 @@ public class BuzzerEngine implements GameEngineInterface {
 
     @SuppressWarnings("unchecked")
     private void showQuestion(GameSession session, int index) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
-        List<Map<String, Object>> questions = (List<Map<String, Object>>) payload.get("questions");
+        BuzzerState state = session.getGamePayload(BuzzerState.class);
+        if (state == null) return;
+        List<Map<String, Object>> questions = state.getQuestions();
         if (questions == null || index >= questions.size()) {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
             return;
         }
         
-        payload.put("questionIndex", index);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
-        payload.put("buzzOrder", new ArrayList<String>());
-        payload.remove("currentBuzzWinner");
-        payload.put("passCount", 0);
+        state.setQuestionIndex(index);
         
         Map<String, Object> q = questions.get(index);
-        payload.put("question", q.get("question"));
-        payload.put("options", q.get("options"));
-        payload.put("correctIndex", q.get("correctIndex"));
+        state.setQuestion((String) q.get("question"), (List<String>) q.get("options"),
+                q.get("correctIndex") != null ? ((Number) q.get("correctIndex")).intValue() : null);
         
         int timeMs = q.get("timeLimitMs") != null ? ((Number) q.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
-        payload.put("timeLimitMs", timeMs);
+        state.startRound(timeMs);
         session.setRoundStartedAt(System.currentTimeMillis());
         
         LOG.infof("Buzzer question %d: %s", index, q.get("question"));
@@ -88,23 +76,17 @@ public class BuzzerEngine implements GameEngineInterface {
     /**
      * Handle player buzz - first to buzz wins the right to answer.
      */
-    @SuppressWarnings("unchecked")
     public boolean playerBuzz(GameSession session, String connectionId) {
         if (session.getGameType() != GameType.BUZZER || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
-        
-        String currentBuzzWinner = (String) payload.get("currentBuzzWinner");
-        if (currentBuzzWinner != null) return false; // Someone already buzzed
+        BuzzerState state = session.getGamePayload(BuzzerState.class);
+        if (state == null) return false;
         
-        List<String> buzzOrder = (List<String>) payload.get("buzzOrder");
-        if (buzzOrder == null) buzzOrder = new ArrayList<>();
+        if (state.getCurrentBuzzWinner() != null) return false; // Someone already buzzed
         
         // First player to buzz wins
-        buzzOrder.add(connectionId);
-        payload.put("buzzOrder", buzzOrder);
-        payload.put("currentBuzzWinner", connectionId);
+        state.getBuzzOrder().add(connectionId);
+        state.setCurrentBuzzWinner(connectionId);
         
         LOG.infof("Player %s buzzed first!", connectionId);
         return true;
@@ -113,27 +95,24 @@ public class BuzzerEngine implements GameEngineInterface {
     /**
      * Submit answer from buzz winner.
      */
-    @SuppressWarnings("unchecked")
     public boolean submitAnswer(GameSession session, String connectionId, int answerIndex) {
         if (session.getGameType() != GameType.BUZZER || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        BuzzerState state = session.getGamePayload(BuzzerState.class);
+        if (state == null) return false;
         
-        String currentBuzzWinner = (String) payload.get("currentBuzzWinner");
-        if (!connectionId.equals(currentBuzzWinner)) return false; // Only buzz winner can answer
+        if (!connectionId.equals(state.getCurrentBuzzWinner())) return false; // Only buzz winner can answer
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
+        Map<String, BuzzerState.Response> responses = state.getResponses();
         if (responses.containsKey(connectionId)) return true; // already answered
 
-        Integer correctIdx = payload.get("correctIndex") != null ? ((Number) payload.get("correctIndex")).intValue() : null;
+        Integer correctIdx = state.getCorrectIndex();
         long buzzTime = System.currentTimeMillis() - session.getRoundStartedAt();
         
         boolean correct = correctIdx != null && answerIndex == correctIdx;
         
         // Calculate points
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         int timeBonus = Math.max(0, (int) ((timeLimitMs - buzzTime) * BUZZER_BONUS / timeLimitMs));
         
         int points;
@@ -143,15 +122,10 @@ public class BuzzerEngine implements GameEngineInterface {
             points = -WRONG_ANSWER_PENALTY; // Penalty for wrong answer
         }
 
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("answerIndex", answerIndex);
-        resp.put("correct", correct);
-        resp.put("points", points);
-        resp.put("buzzTime", buzzTime);
-        resp.put("receivedAt", System.currentTimeMillis());
-        responses.put(connectionId, resp);
+        responses.put(connectionId, new BuzzerState.Response(answerIndex, correct, points, buzzTime, System.currentTimeMillis()));
+        state.countAnswer(answerIndex);
 
-        Player player = session.getPlayers().stream().filter(p -> p.getId().equals(connectionId)).findFirst().orElse(null);
+        Player player = session.getPlayer(connectionId);
         if (player != null && !player.isBot()) {
             player.addScore(points);
             LOG.infof("Buzzer answer from %s: %s (%d points, buzz time: %dms)", 
@@ -164,27 +138,25 @@ public class BuzzerEngine implements GameEngineInterface {
     /**
      * Pass the question to next player in buzz order.
      */
-    @SuppressWarnings("unchecked")
     public boolean passQuestion(GameSession session, String connectionId) {
         if (session.getGameType() != GameType.BUZZER || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        BuzzerState state = session.getGamePayload(BuzzerState.class);
+        if (state == null) return false;
         
-        String currentBuzzWinner = (String) payload.get("currentBuzzWinner");
-        if (!connectionId.equals(currentBuzzWinner)) return false; // Only buzz winner can pass
+        if (!connectionId.equals(state.getCurrentBuzzWinner())) return false; // Only buzz winner can pass
         
-        List<String> buzzOrder = (List<String>) payload.get("buzzOrder");
-        if (buzzOrder == null || buzzOrder.size() <= 1) return false; // No one else to pass to
+        List<String> buzzOrder = state.getBuzzOrder();
+        if (buzzOrder.size() <= 1) return false; // No one else to pass to
         
         // Find next player in buzz order
         int currentIndex = buzzOrder.indexOf(connectionId);
         if (currentIndex < buzzOrder.size() - 1) {
             String nextPlayer = buzzOrder.get(currentIndex + 1);
-            payload.put("currentBuzzWinner", nextPlayer);
+            state.setCurrentBuzzWinner(nextPlayer);
             
-            int passCount = payload.get("passCount") != null ? ((Number) payload.get("passCount")).intValue() : 0;
-            payload.put("passCount", passCount + 1);
+            int passCount = state.getPassCount();
+            state.setPassCount(passCount + 1);
             
             LOG.infof("Question passed to %s (pass #%d)", nextPlayer, passCount + 1);
             return true;
@@ -196,51 +168,44 @@ public class BuzzerEngine implements GameEngineInterface {
     /**
      * Check if round should end.
      */
-    @SuppressWarnings("unchecked")
     public boolean shouldEndRound(GameSession session) {
         if (session.getGameType() != GameType.BUZZER || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        BuzzerState state = session.getGamePayload(BuzzerState.class);
+        if (state == null) return false;
         
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         long elapsed = System.currentTimeMillis() - session.getRoundStartedAt();
         
         // End round if time is up
         if (elapsed >= timeLimitMs) return true;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
-        
         // Check if someone answered correctly
-        boolean correctAnswer = responses.values().stream()
-                .anyMatch(resp -> Boolean.TRUE.equals(resp.get("correct")));
+        boolean correctAnswer = state.getResponses().values().stream()
+                .anyMatch(BuzzerState.Response::correct);
         
         if (correctAnswer) return true;
         
-        // Check if all buzz order players have passed or answered
-        List<String> buzzOrder = (List<String>) payload.get("buzzOrder");
-        int passCount = payload.get("passCount") != null ? ((Number) payload.get("passCount")).intValue() : 0;
-        
-        return passCount >= buzzOrder.size() - 1;
+        // Only the buzz winner may answer: once they have, the question is over
+        String winner = state.getCurrentBuzzWinner();
+        return winner != null && state.getResponses().containsKey(winner);
     }
 
     /**
      * Move to next question or end game.
      */
-    @SuppressWarnings("unchecked")
     public void nextQuestion(GameSession session) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
+        BuzzerState state = session.getGamePayload(BuzzerState.class);
+        if (state == null) return;
         
-        int idx = payload.get("questionIndex") != null ? ((Number) payload.get("questionIndex")).intValue() : 0;
-        List<Map<String, Object>> questions = (List<Map<String, Object>>) payload.get("questions");
+        int idx = state.getQuestionIndex();
+        List<Map<String, Object>> questions = state.getQuestions();
         
         if (questions != null && idx + 1 < questions.size()) {
             showQuestion(session, idx + 1);
         } else {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
         }
     }
@@ -275,11 +240,9 @@ public class BuzzerEngine implements GameEngineInterface {
         return questions;
     }
 
-    private List<Map<String, Object>> buildRanking(GameSession session) {
-        return session.getPlayers().stream()
-                .filter(p -> !p.isBot())
-                .sorted((a, b) -> Integer.compare(b.getScore(), a.getScore()))
-                .map(p -> Map.<String, Object>of("id", p.getId(), "name", p.getName(), "score", p.getScore()))
+    private List<RankingEntry> buildRanking(GameSession session) {
+        return session.ranking().stream()
+                .map(RankingEntry::of)
                 .toList();
     }
 
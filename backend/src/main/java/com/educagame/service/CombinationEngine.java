@@ -4,12 +4,23 @@ import com.educagame.model.GamePhase;
 import com.educagame.model.GameSession;
 import com.educagame.model.GameType;
 import com.educagame.model.Player;
+import com.educagame.model.state.BinaryState;
+import com.educagame.model.state.BuzzerState;
+import com.educagame.model.state.CombinationState;
+import com.educagame.model.state.DetectiveState;
+import com.educagame.model.state.GameState;
+import com.educagame.model.state.MillionaireState;
+import com.educagame.model.state.QuizState;
+import com.educagame.model.state.RankingEntry;
+import com.educagame.model.state.RoletrandoState;
+import com.educagame.model.state.SensoryState;
+import com.educagame.model.state.SequencingState;
+import com.educagame.model.state.SurvivalState;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Combination game - Multi-stage game combining different game types.
@@ -49,7 +60,6 @@ public class CombinationEngine implements GameEngineInterface {
     @Inject
     BinaryEngine binaryEngine;
 
-    @SuppressWarnings("unchecked")
     public void startGame(GameSession session) {
         if (session.getGameType() != GameType.COMBINATION || session.getPhase() != GamePhase.LOBBY) return;
         session.setPhase(GamePhase.COUNTDOWN);
@@ -58,13 +68,7 @@ public class CombinationEngine implements GameEngineInterface {
         List<Map<String, Object>> gameStages = dataLoaderService.getCombinationStages(session.getTheme());
         if (gameStages == null) gameStages = createDefaultStages();
 
-        Map<String, Object> payload = new ConcurrentHashMap<>();
-        payload.put("gameStages", gameStages);
-        payload.put("stageIndex", 0);
-        payload.put("stageScores", new ArrayList<Map<String, Object>>());
-        payload.put("totalScores", new HashMap<String, Integer>());
-        payload.put("completedStages", new HashSet<Integer>());
-        session.setGamePayload(payload);
+        session.setGamePayload(new CombinationState(gameStages));
         session.setRoundStartedAt(System.currentTimeMillis());
         LOG.infof("Combination game started in room %s with %d stages", session.getRoomId(), gameStages.size());
     }
@@ -74,219 +78,146 @@ public class CombinationEngine implements GameEngineInterface {
         startStage(session, 0);
     }
 
-    @SuppressWarnings("unchecked")
     private void startStage(GameSession session, int stageIndex) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
-        List<Map<String, Object>> gameStages = (List<Map<String, Object>>) payload.get("gameStages");
+        CombinationState state = session.getGamePayload(CombinationState.class);
+        if (state == null) return;
+        List<Map<String, Object>> gameStages = state.getGameStages();
         if (gameStages == null || stageIndex >= gameStages.size()) {
             endCombinationGame(session);
             return;
         }
         
-        payload.put("stageIndex", stageIndex);
-        
         Map<String, Object> stage = gameStages.get(stageIndex);
         GameType stageType = GameType.valueOf((String) stage.get("gameType"));
         String stageConfig = (String) stage.get("config");
         
-        payload.put("currentStageType", stageType);
-        payload.put("currentStageConfig", stageConfig);
-        payload.put("stageStartTime", System.currentTimeMillis());
+        state.setStage(stageIndex, stageType, stageConfig, System.currentTimeMillis());
         
         // Initialize stage-specific data
-        initializeStageData(session, stageType, stageConfig);
+        state.setStagePayload(initializeStageData(stageType, stageConfig));
         
         LOG.infof("Starting combination stage %d: %s (%s)", stageIndex, stageType, stageConfig);
     }
 
-    @SuppressWarnings("unchecked")
-    private void initializeStageData(GameSession session, GameType stageType, String config) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        
+    private GameState initializeStageData(GameType stageType, String config) {
         // Create stage-specific payload
-        Map<String, Object> stagePayload = new ConcurrentHashMap<>();
-        
-        switch (stageType) {
-            case ROLETRANDO:
-                initRoletrandoStage(stagePayload, config);
-                break;
-            case QUIZ_SPEED:
-                initQuizStage(stagePayload, config);
-                break;
-            case QUIZ_INCREMENTAL:
-                initMillionaireStage(stagePayload, config);
-                break;
-            case SURVIVAL:
-                initSurvivalStage(stagePayload, config);
-                break;
-            case SEQUENCING:
-                initSequencingStage(stagePayload, config);
-                break;
-            case DETECTIVE:
-                initDetectiveStage(stagePayload, config);
-                break;
-            case BUZZER:
-                initBuzzerStage(stagePayload, config);
-                break;
-            case SENSORY:
-                initSensoryStage(stagePayload, config);
-                break;
-            case BINARY_DECISION:
-                initBinaryStage(stagePayload, config);
-                break;
-        }
-        
-        payload.put("stagePayload", stagePayload);
+        return switch (stageType) {
+            case ROLETRANDO -> initRoletrandoStage(config);
+            case QUIZ_SPEED -> initQuizStage(config);
+            case QUIZ_INCREMENTAL -> initMillionaireStage(config);
+            case SURVIVAL -> initSurvivalStage(config);
+            case SEQUENCING -> initSequencingStage(config);
+            case DETECTIVE -> initDetectiveStage(config);
+            case BUZZER -> initBuzzerStage(config);
+            case SENSORY -> initSensoryStage(config);
+            case BINARY_DECISION -> initBinaryStage(config);
+            default -> null;
+        };
     }
 
-    @SuppressWarnings("unchecked")
-    private void initRoletrandoStage(Map<String, Object> stagePayload, String config) {
+    private RoletrandoState initRoletrandoStage(String config) {
         List<String> phrases = dataLoaderService.getPhrases(config);
         if (phrases == null) phrases = List.of("EDUCAGAME", "MULTIPLAYER", "LEARNING");
         
         Random random = new Random();
         String phrase = phrases.get(random.nextInt(phrases.size()));
         
-        stagePayload.put("phrase", phrase);
-        stagePayload.put("revealed", new HashSet<String>());
-        stagePayload.put("segmentValue", 100);
+        RoletrandoState stage = new RoletrandoState(phrase);
+        stage.setSegmentValue(100);
+        return stage;
     }
 
-    @SuppressWarnings("unchecked")
-    private void initQuizStage(Map<String, Object> stagePayload, String config) {
-        List<Map<String, Object>> questions = dataLoaderService.getQuizQuestions(config);
+    private QuizState initQuizStage(String config) {
+        List<Map<String, Object>> questions = dataLoaderService.drawQuizQuestions(dataLoaderService.content(config), null);
         if (questions == null || questions.isEmpty()) {
             questions = createDefaultQuizQuestions();
         }
         
-        stagePayload.put("questions", questions);
-        stagePayload.put("questionIndex", 0);
-        stagePayload.put("responses", new HashMap<String, Map<String, Object>>());
+        return new QuizState(questions);
     }
 
-    @SuppressWarnings("unchecked")
-    private void initMillionaireStage(Map<String, Object> stagePayload, String config) {
-        stagePayload.put("level", 1);
-        stagePayload.put("guaranteedPrize", 0);
-        stagePayload.put("lifeline50Used", false);
-        stagePayload.put("lifelineUniUsed", false);
-        stagePayload.put("lifelineSkipUsed", false);
+    private MillionaireState initMillionaireStage(String config) {
+        return new MillionaireState();
     }
 
-    @SuppressWarnings("unchecked")
-    private void initSurvivalStage(Map<String, Object> stagePayload, String config) {
+    private SurvivalState initSurvivalStage(String config) {
         List<String> phrases = dataLoaderService.getPhrases(config);
         if (phrases == null) phrases = List.of("MYSTERY WORD", "HIDDEN PHRASE");
         
         String phrase = phrases.get(new Random().nextInt(phrases.size()));
-        stagePayload.put("originalPhrase", phrase);
-        stagePayload.put("maskedPhrase", createMaskedPhrase(phrase));
-        stagePayload.put("revealedLetters", new HashSet<Character>());
+        SurvivalState stage = new SurvivalState(phrases);
+        stage.setPhrase(phrase, createMaskedPhrase(phrase));
+        return stage;
     }
 
-    @SuppressWarnings("unchecked")
-    private void initSequencingStage(Map<String, Object> stagePayload, String config) {
-        stagePayload.put("sequenceType", "time");
-        stagePayload.put("items", Arrays.asList("1500", "1822", "1889", "1939"));
-        stagePayload.put("correctOrder", Arrays.asList("1500", "1822", "1889", "1939"));
+    private SequencingState initSequencingStage(String config) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (String year : List.of("1500", "1822", "1889", "1939")) {
+            items.add(Map.of("id", year, "content", year));
+        }
+        SequencingState stage = new SequencingState(List.of());
+        stage.setSequence("time", null);
+        stage.setItems(items, items);
+        return stage;
     }
 
-    @SuppressWarnings("unchecked")
-    private void initDetectiveStage(Map<String, Object> stagePayload, String config) {
-        stagePayload.put("answer", "Albert Einstein");
-        stagePayload.put("clues", Arrays.asList("German physicist", "E=mc²", "Nobel Prize", "Relativity theory"));
-        stagePayload.put("revealedClues", new ArrayList<String>());
+    private DetectiveState initDetectiveStage(String config) {
+        DetectiveState stage = new DetectiveState(List.of());
+        stage.setMystery("Albert Einstein", Arrays.asList("German physicist", "E=mc²", "Nobel Prize", "Relativity theory"), null, null);
+        return stage;
     }
 
-    @SuppressWarnings("unchecked")
-    private void initBuzzerStage(Map<String, Object> stagePayload, String config) {
-        stagePayload.put("question", "What is 2 + 2?");
-        stagePayload.put("options", Arrays.asList("3", "4", "5", "6"));
-        stagePayload.put("correctIndex", 1);
-        stagePayload.put("buzzOrder", new ArrayList<String>());
+    private BuzzerState initBuzzerStage(String config) {
+        BuzzerState stage = new BuzzerState(List.of());
+        stage.setQuestion("What is 2 + 2?", Arrays.asList("3", "4", "5", "6"), 1);
+        return stage;
     }
 
-    @SuppressWarnings("unchecked")
-    private void initSensoryStage(Map<String, Object> stagePayload, String config) {
-        stagePayload.put("sensoryType", "sound");
-        stagePayload.put("answer", "Dog Barking");
-        stagePayload.put("difficulty", 1);
+    private SensoryState initSensoryStage(String config) {
+        SensoryState stage = new SensoryState(List.of());
+        stage.setItem("sound", "Dog Barking", 1, null, null);
+        return stage;
     }
 
-    @SuppressWarnings("unchecked")
-    private void initBinaryStage(Map<String, Object> stagePayload, String config) {
-        stagePayload.put("statement", "The Earth is flat");
-        stagePayload.put("isTrue", false);
-        stagePayload.put("explanation", "The Earth is spherical");
+    private BinaryState initBinaryStage(String config) {
+        BinaryState stage = new BinaryState(List.of());
+        stage.setStatement("The Earth is flat", false, "The Earth is spherical", null, 1);
+        return stage;
     }
 
     /**
      * Submit action for current stage.
      */
-    @SuppressWarnings("unchecked")
     public boolean submitStageAction(GameSession session, String connectionId, Map<String, Object> action) {
         if (session.getGameType() != GameType.COMBINATION || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        CombinationState state = session.getGamePayload(CombinationState.class);
+        if (state == null) return false;
         
-        GameType currentStageType = (GameType) payload.get("currentStageType");
-        Map<String, Object> stagePayload = (Map<String, Object>) payload.get("stagePayload");
-        if (stagePayload == null) return false;
+        GameType currentStageType = state.getCurrentStageType();
+        GameState stage = state.getStagePayload();
+        if (stage == null) return false;
         
-        boolean success = false;
-        int points = 0;
-        
-        switch (currentStageType) {
-            case ROLETRANDO:
-                success = handleRoletrandoAction(session, connectionId, action, stagePayload);
-                points = success ? BASE_POINTS + STAGE_BONUS : 0;
-                break;
-            case QUIZ_SPEED:
-                success = handleQuizAction(session, connectionId, action, stagePayload);
-                points = success ? BASE_POINTS + STAGE_BONUS : 0;
-                break;
-            case QUIZ_INCREMENTAL:
-                success = handleMillionaireAction(session, connectionId, action, stagePayload);
-                points = success ? BASE_POINTS + STAGE_BONUS : 0;
-                break;
-            case SURVIVAL:
-                success = handleSurvivalAction(session, connectionId, action, stagePayload);
-                points = success ? BASE_POINTS + STAGE_BONUS : 0;
-                break;
-            case SEQUENCING:
-                success = handleSequencingAction(session, connectionId, action, stagePayload);
-                points = success ? BASE_POINTS + STAGE_BONUS : 0;
-                break;
-            case DETECTIVE:
-                success = handleDetectiveAction(session, connectionId, action, stagePayload);
-                points = success ? BASE_POINTS + STAGE_BONUS : 0;
-                break;
-            case BUZZER:
-                success = handleBuzzerAction(session, connectionId, action, stagePayload);
-                points = success ? BASE_POINTS + STAGE_BONUS : 0;
-                break;
-            case SENSORY:
-                success = handleSensoryAction(session, connectionId, action, stagePayload);
-                points = success ? BASE_POINTS + STAGE_BONUS : 0;
-                break;
-            case BINARY_DECISION:
-                success = handleBinaryAction(session, connectionId, action, stagePayload);
-                points = success ? BASE_POINTS + STAGE_BONUS : 0;
-                break;
-        }
+        boolean success = switch (currentStageType) {
+            case ROLETRANDO -> stage instanceof RoletrandoState s && handleRoletrandoAction(action, s);
+            case QUIZ_SPEED -> stage instanceof QuizState s && handleQuizAction(action, s);
+            case QUIZ_INCREMENTAL -> stage instanceof MillionaireState s && handleMillionaireAction(action, s);
+            case SURVIVAL -> stage instanceof SurvivalState s && handleSurvivalAction(action, s);
+            case SEQUENCING -> stage instanceof SequencingState s && handleSequencingAction(action, s);
+            case DETECTIVE -> stage instanceof DetectiveState s && handleDetectiveAction(action, s);
+            case BUZZER -> stage instanceof BuzzerState s && handleBuzzerAction(action, s);
+            case SENSORY -> stage instanceof SensoryState s && handleSensoryAction(action, s);
+            case BINARY_DECISION -> stage instanceof BinaryState s && handleBinaryAction(action, s);
+            default -> false;
+        };
+        int points = success ? BASE_POINTS + STAGE_BONUS : 0;
         
         // Update player score
         if (success) {
             Player player = session.getPlayers().stream().filter(p -> p.getId().equals(connectionId)).findFirst().orElse(null);
             if (player != null && !player.isBot()) {
                 player.addScore(points);
-                
-                Map<String, Integer> totalScores = (Map<String, Integer>) payload.get("totalScores");
-                if (totalScores == null) totalScores = new HashMap<>();
-                totalScores.put(connectionId, totalScores.getOrDefault(connectionId, 0) + points);
-                payload.put("totalScores", totalScores);
+                state.getTotalScores().merge(connectionId, points, Integer::sum);
                 
                 LOG.infof("Combination stage action from %s: %s (%d points)", player.getName(), currentStageType, points);
             }
@@ -296,82 +227,73 @@ public class CombinationEngine implements GameEngineInterface {
     }
 
     // Simplified handlers for each stage type
-    private boolean handleRoletrandoAction(GameSession session, String connectionId, Map<String, Object> action, Map<String, Object> stagePayload) {
+    private boolean handleRoletrandoAction(Map<String, Object> action, RoletrandoState stage) {
         // Simplified roletrando logic
         String guess = (String) action.get("guess");
-        String phrase = (String) stagePayload.get("phrase");
-        return guess != null && guess.equalsIgnoreCase(phrase);
+        return guess != null && guess.equalsIgnoreCase(stage.getPhrase());
     }
 
-    private boolean handleQuizAction(GameSession session, String connectionId, Map<String, Object> action, Map<String, Object> stagePayload) {
+    private boolean handleQuizAction(Map<String, Object> action, QuizState stage) {
         // Simplified quiz logic
         Integer answerIndex = (Integer) action.get("answerIndex");
         return answerIndex != null && answerIndex == 0; // Assume first option is correct
     }
 
-    private boolean handleMillionaireAction(GameSession session, String connectionId, Map<String, Object> action, Map<String, Object> stagePayload) {
+    private boolean handleMillionaireAction(Map<String, Object> action, MillionaireState stage) {
         // Simplified millionaire logic
         Integer answerIndex = (Integer) action.get("answerIndex");
         return answerIndex != null && answerIndex == 0;
     }
 
-    private boolean handleSurvivalAction(GameSession session, String connectionId, Map<String, Object> action, Map<String, Object> stagePayload) {
+    private boolean handleSurvivalAction(Map<String, Object> action, SurvivalState stage) {
         // Simplified survival logic
         String answer = (String) action.get("answer");
-        String phrase = (String) stagePayload.get("originalPhrase");
-        return answer != null && answer.equalsIgnoreCase(phrase);
+        return answer != null && answer.equalsIgnoreCase(stage.getOriginalPhrase());
     }
 
-    private boolean handleSequencingAction(GameSession session, String connectionId, Map<String, Object> action, Map<String, Object> stagePayload) {
+    @SuppressWarnings("unchecked")
+    private boolean handleSequencingAction(Map<String, Object> action, SequencingState stage) {
         // Simplified sequencing logic
         List<String> orderedIds = (List<String>) action.get("orderedIds");
-        List<String> correctOrder = (List<String>) stagePayload.get("correctOrder");
+        List<Object> correctOrder = stage.getOriginalItems().stream().map(item -> item.get("id")).toList();
         return orderedIds != null && orderedIds.equals(correctOrder);
     }
 
-    private boolean handleDetectiveAction(GameSession session, String connectionId, Map<String, Object> action, Map<String, Object> stagePayload) {
+    private boolean handleDetectiveAction(Map<String, Object> action, DetectiveState stage) {
         // Simplified detective logic
         String guess = (String) action.get("guess");
-        String answer = (String) stagePayload.get("answer");
-        return guess != null && guess.equalsIgnoreCase(answer);
+        return guess != null && guess.equalsIgnoreCase(stage.getAnswer());
     }
 
-    private boolean handleBuzzerAction(GameSession session, String connectionId, Map<String, Object> action, Map<String, Object> stagePayload) {
+    private boolean handleBuzzerAction(Map<String, Object> action, BuzzerState stage) {
         // Simplified buzzer logic
         Integer answerIndex = (Integer) action.get("answerIndex");
-        Integer correctIndex = (Integer) stagePayload.get("correctIndex");
-        return answerIndex != null && answerIndex.equals(correctIndex);
+        return answerIndex != null && answerIndex.equals(stage.getCorrectIndex());
     }
 
-    private boolean handleSensoryAction(GameSession session, String connectionId, Map<String, Object> action, Map<String, Object> stagePayload) {
+    private boolean handleSensoryAction(Map<String, Object> action, SensoryState stage) {
         // Simplified sensory logic
         String guess = (String) action.get("guess");
-        String answer = (String) stagePayload.get("answer");
-        return guess != null && guess.equalsIgnoreCase(answer);
+        return guess != null && guess.equalsIgnoreCase(stage.getAnswer());
     }
 
-    private boolean handleBinaryAction(GameSession session, String connectionId, Map<String, Object> action, Map<String, Object> stagePayload) {
+    private boolean handleBinaryAction(Map<String, Object> action, BinaryState stage) {
         // Simplified binary logic
         Boolean decision = (Boolean) action.get("decision");
-        Boolean isTrue = (Boolean) stagePayload.get("isTrue");
-        return decision != null && decision.equals(isTrue);
+        return decision != null && decision == stage.isTrue();
     }
 
     /**
      * Move to next stage or end game.
      */
-    @SuppressWarnings("unchecked")
     public void nextStage(GameSession session) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
+        CombinationState state = session.getGamePayload(CombinationState.class);
+        if (state == null) return;
         
-        int idx = payload.get("stageIndex") != null ? ((Number) payload.get("stageIndex")).intValue() : 0;
-        List<Map<String, Object>> gameStages = (List<Map<String, Object>>) payload.get("gameStages");
+        int idx = state.getStageIndex();
+        List<Map<String, Object>> gameStages = state.getGameStages();
         
-        Set<Integer> completedStages = (Set<Integer>) payload.get("completedStages");
-        if (completedStages == null) completedStages = new HashSet<>();
-        completedStages.add(idx);
-        payload.put("completedStages", completedStages);
+        state.getCompletedStages().add(idx);
         
         if (gameStages != null && idx + 1 < gameStages.size()) {
             startStage(session, idx + 1);
@@ -380,23 +302,22 @@ public class CombinationEngine implements GameEngineInterface {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void endCombinationGame(GameSession session) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
+        CombinationState state = session.getGamePayload(CombinationState.class);
+        if (state == null) return;
         
         session.setPhase(GamePhase.GAME_END);
-        payload.put("finalRanking", buildCombinationRanking(session));
+        state.setFinalRanking(buildCombinationRanking(session));
         gameHistoryService.recordGame(session);
         
         LOG.infof("Combination game ended in room %s", session.getRoomId());
     }
 
-    private List<Map<String, Object>> buildCombinationRanking(GameSession session) {
+    private List<RankingEntry> buildCombinationRanking(GameSession session) {
         return session.getPlayers().stream()
                 .filter(p -> !p.isBot())
                 .sorted((a, b) -> Integer.compare(b.getScore(), a.getScore()))
-                .map(p -> Map.<String, Object>of("id", p.getId(), "name", p.getName(), "score", p.getScore()))
+                .map(RankingEntry::of)
                 .toList();
     }
 
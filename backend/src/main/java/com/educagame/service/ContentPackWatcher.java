@@ -0,0 +1,231 @@
+package com.educagame.service;
+
+import com.educagame.model.content.QuestionBank;
+import com.educagame.model.content.ThemeContent;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.runtime.StartupEvent;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Content packs on disk: {@code educagame.content.dir/{theme}/*.json}, same files as the classpath
+ * themes. Packs are loaded at startup and the directory is watched; a changed pack is parsed and
+ * validated on the watcher thread and, if valid, published to {@link DataLoaderService} in one
+ * swap. An invalid pack is logged and the previous version stays live. A {@code quiz.qbank} or
+ * {@code millionaire.qbank} (see {@code QuestionBankCompiler}) replaces the JSON file of the same name
+ * and is memory-mapped rather than parsed.
+ */
+@ApplicationScoped
+public class ContentPackWatcher {
+
+    private static final Logger LOG = Logger.getLogger(ContentPackWatcher.class);
+    /** Editors save in several writes; wait for the directory to go quiet before reloading. */
+    static final long QUIET_MS = 250;
+    private static final Set<String> BANKED = Set.of("quiz.json", "millionaire.json");
+    private static final Set<String> SEGMENT_TYPES = Set.of("NORMAL", "BONUS", "LOSE_TURN", "LOSE_ALL");
+
+    @ConfigProperty(name = "educagame.content.dir")
+    Optional<String> contentDir;
+    @Inject
+    DataLoaderService dataLoaderService;
+    @Inject
+    ObjectMapper objectMapper;
+
+    private final AtomicLong versions = new AtomicLong();
+    private Path root;
+    private WatchService watchService;
+    private Thread thread;
+
+    void onStart(@Observes StartupEvent event) {
+        contentDir.filter(dir -> !dir.isBlank()).map(Path::of).ifPresent(this::start);
+    }
+
+    void start(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            LOG.warnf("Content pack directory %s does not exist; content packs disabled", dir);
+            return;
+        }
+        root = dir.toAbsolutePath();
+        try {
+            watchService = root.getFileSystem().newWatchService();
+            register(root);
+            for (String theme : packDirectories()) {
+                register(root.resolve(theme));
+                reload(theme);
+            }
+        } catch (IOException e) {
+            LOG.errorf(e, "Could not watch content pack directory %s", root);
+            return;
+        }
+        thread = new Thread(this::watch, "content-pack-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        LOG.infof("Watching content packs in %s", root);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOG.debugf("Closing content pack watcher: %s", e.getMessage());
+        }
+        if (thread != null) thread.interrupt();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                Set<String> changed = new HashSet<>();
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    collect(key, changed);
+                    key = watchService.poll(QUIET_MS, TimeUnit.MILLISECONDS);
+                }
+                for (String theme : changed) reload(theme);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            LOG.debug("Content pack watcher stopped");
+        }
+    }
+
+    private void collect(WatchKey key, Set<String> changed) {
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.addAll(packDirectories());
+                continue;
+            }
+            Path name = (Path) event.context();
+            if (dir.equals(root)) {
+                // A pack directory itself appeared or went away.
+                String theme = name.toString();
+                if (Files.isDirectory(root.resolve(theme))) {
+                    try {
+                        register(root.resolve(theme));
+                    } catch (IOException e) {
+                        LOG.warnf("Could not watch content pack %s: %s", theme, e.getMessage());
+                    }
+                }
+                changed.add(theme);
+            } else {
+                changed.add(dir.getFileName().toString());
+            }
+        }
+        key.reset();
+    }
+
+    /** Parses, validates and publishes one pack; removes it if its directory is gone. */
+    void reload(String theme) {
+        Path dir = root.resolve(theme);
+        if (!Files.isDirectory(dir)) {
+            if (dataLoaderService.removePack(theme)) LOG.infof("Content pack %s removed", theme);
+            return;
+        }
+        Map<String, List<Map<String, Object>>> files = new LinkedHashMap<>();
+        Map<String, QuestionBank> banks = new LinkedHashMap<>();
+        List<String> errors = new ArrayList<>();
+        for (String fileName : DataLoaderService.FILES) {
+            Path bankFile = dir.resolve(fileName.replace(".json", ".qbank"));
+            if (BANKED.contains(fileName) && Files.isRegularFile(bankFile)) {
+                try {
+                    banks.put(fileName, QuestionBank.open(bankFile));
+                } catch (IOException e) {
+                    errors.add(bankFile.getFileName() + ": " + e.getMessage());
+                }
+                continue;
+            }
+            Path file = dir.resolve(fileName);
+            if (!Files.isRegularFile(file)) continue;
+            try {
+                List<Map<String, Object>> rows = objectMapper.readValue(file.toFile(), new TypeReference<List<Map<String, Object>>>() {});
+                validate(fileName, rows, errors);
+                files.put(fileName, rows);
+            } catch (IOException e) {
+                errors.add(fileName + ": " + e.getMessage());
+            }
+        }
+        if (!errors.isEmpty()) {
+            LOG.warnf("Content pack %s rejected, keeping the previous version: %s", theme, errors);
+            return;
+        }
+        ThemeContent content = dataLoaderService.buildPack(theme, files, banks, versions.incrementAndGet());
+        dataLoaderService.publishPack(content);
+        LOG.infof("Content pack %s published as version %d (%d files, %d banks)", theme, content.getVersion(), files.size(), banks.size());
+    }
+
+    private static void validate(String fileName, List<Map<String, Object>> rows, List<String> errors) {
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            String where = fileName + "[" + i + "]";
+            if (row == null) {
+                errors.add(where + ": null entry");
+                continue;
+            }
+            switch (fileName) {
+                case "wheel.json" -> {
+                    if (!(row.get("value") instanceof Number)) errors.add(where + ": value must be a number");
+                    if (row.get("type") != null && !SEGMENT_TYPES.contains(String.valueOf(row.get("type")))) {
+                        errors.add(where + ": unknown type " + row.get("type"));
+                    }
+                }
+                case "quiz.json", "millionaire.json" -> {
+                    if (!(row.get("question") instanceof String)) errors.add(where + ": question is missing");
+                    if (!(row.get("options") instanceof List<?> options) || options.isEmpty()) {
+                        errors.add(where + ": options must be a non-empty list");
+                    } else if (!(row.get("correctIndex") instanceof Number n) || n.intValue() < 0 || n.intValue() >= options.size()) {
+                        errors.add(where + ": correctIndex must point at an option");
+                    }
+                    if ("millionaire.json".equals(fileName) && row.get("level") != null && !(row.get("level") instanceof Number)) {
+                        errors.add(where + ": level must be a number");
+                    }
+                }
+                case "phrases.json" -> {
+                    if (row.get("phrase") == null || String.valueOf(row.get("phrase")).isBlank()) errors.add(where + ": phrase is empty");
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private List<String> packDirectories() {
+        List<String> themes = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path dir : stream) themes.add(dir.getFileName().toString());
+        } catch (IOException e) {
+            LOG.warnf("Could not list content packs in %s: %s", root, e.getMessage());
+        }
+        return themes;
+    }
+
+    private void register(Path dir) throws IOException {
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+}
@@ -1,5 +1,8 @@
 package com.educagame.service;
 
+import com.educagame.model.GameSession;
+import com.educagame.model.content.QuestionBank;
+import com.educagame.model.content.ThemeContent;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.jboss.logging.Logger;
@@ -11,11 +14,20 @@ import java.util.stream.Stream;
 import jakarta.inject.Inject;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Dynamic theme discovery: data/{theme-name}/*.json with fallback to default.
+ * Each theme is parsed once, on first use, into an immutable {@link ThemeContent}; the last
+ * {@link #MAX_CACHED_THEMES} themes used stay in memory, so game starts and spins do no I/O.
+ * Content packs on disk (see {@link ContentPackWatcher}) are parsed off-thread and published here
+ * as a whole new map; they take precedence over classpath themes of the same name.
  */
 @ApplicationScoped
 public class DataLoaderService {
@@ -23,14 +35,43 @@ public class DataLoaderService {
     private static final Logger LOG = Logger.getLogger(DataLoaderService.class);
     private static final String DATA_BASE = "data";
     private static final String DEFAULT_THEME = "default";
+    static final List<String> FILES = List.of("wheel.json", "quiz.json", "millionaire.json", "phrases.json",
+            "sequences.json", "mysteries.json", "sensory.json", "statements.json", "combination.json");
+    static final int MAX_CACHED_THEMES = 32;
+    /** Most questions one game draws from a compiled bank. */
+    static final int QUESTIONS_PER_GAME = 10;
 
     @Inject
     ObjectMapper objectMapper;
 
+    /** Access-ordered, so the eldest entry is the least recently used theme. */
+    private final Map<String, ThemeContent> themes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ThemeContent> eldest) {
+            return size() > MAX_CACHED_THEMES;
+        }
+    };
+    /** Published content packs by theme; replaced wholesale, never mutated. */
+    private final AtomicReference<Map<String, ThemeContent>> packs = new AtomicReference<>(Map.of());
+    private volatile List<String> classpathThemes;
+
     /**
-     * Discover theme names: read data/themes.txt (one theme per line), then verify data/{theme}/ exists via load.
+     * Theme names: the classpath themes listed in data/themes.txt, then any content packs.
      */
     public List<String> discoverThemes() {
+        Map<String, ThemeContent> published = packs.get();
+        if (published.isEmpty()) return classpathThemes();
+        List<String> themes = new ArrayList<>(classpathThemes());
+        for (String pack : new TreeSet<>(published.keySet())) {
+            if (!themes.contains(pack)) themes.add(pack);
+        }
+        return themes;
+    }
+
+    /** data/themes.txt (one theme per line), read once. */
+    private List<String> classpathThemes() {
+        List<String> cached = classpathThemes;
+        if (cached != null) return cached;
         List<String> themes = new ArrayList<>();
         try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(DATA_BASE + "/themes.txt")) {
             if (is != null) {
@@ -44,23 +85,77 @@ public class DataLoaderService {
             LOG.debugf("Could not read themes.txt: %s", e.getMessage());
         }
         if (themes.isEmpty()) themes.add(DEFAULT_THEME);
-        return themes;
+        classpathThemes = List.copyOf(themes);
+        return classpathThemes;
+    }
+
+    /** The content the session's game is running with, or the theme's current content before the start. */
+    public ThemeContent content(GameSession session) {
+        ThemeContent pinned = session.getContent();
+        return pinned != null ? pinned : content(session.getTheme());
+    }
+
+    /** The theme's current content: its published pack if any, otherwise the classpath theme, loaded on first use. */
+    public ThemeContent content(String theme) {
+        String key = theme == null || theme.isBlank() ? DEFAULT_THEME : theme;
+        ThemeContent pack = packs.get().get(key);
+        if (pack != null) return pack;
+        synchronized (themes) {
+            ThemeContent cached = themes.get(key);
+            if (cached != null) return cached;
+        }
+        // Parse outside the lock; if two callers race, the first one stored wins.
+        ThemeContent loaded = load(key);
+        synchronized (themes) {
+            ThemeContent raced = themes.putIfAbsent(key, loaded);
+            return raced != null ? raced : loaded;
+        }
     }
 
     /**
      * Load JSON array from theme. Tries data/{theme}/{fileName}, then data/default/{fileName}.
      */
     public List<Map<String, Object>> loadJsonArray(String theme, String fileName) {
-        List<Map<String, Object>> fromTheme = loadResourceJsonArray(DATA_BASE + "/" + theme + "/" + fileName);
-        if (fromTheme != null) return fromTheme;
-        if (!DEFAULT_THEME.equals(theme)) {
-            fromTheme = loadResourceJsonArray(DATA_BASE + "/" + DEFAULT_THEME + "/" + fileName);
-            if (fromTheme != null) {
-                LOG.debugf("Fallback: loaded %s from theme default", fileName);
-                return fromTheme;
-            }
+        return content(theme).file(fileName);
+    }
+
+    private ThemeContent load(String theme) {
+        ThemeContent fallback = DEFAULT_THEME.equals(theme) ? null : content(DEFAULT_THEME);
+        Map<String, List<Map<String, Object>>> files = new LinkedHashMap<>();
+        for (String fileName : FILES) {
+            List<Map<String, Object>> rows = loadResourceJsonArray(DATA_BASE + "/" + theme + "/" + fileName);
+            if (rows != null) files.put(fileName, rows);
+            else if (fallback != null) LOG.debugf("Fallback: %s for theme %s comes from default", fileName, theme);
         }
-        return List.of();
+        LOG.infof("Loaded content for theme %s (%d own files)", theme, files.size());
+        return new ThemeContent(theme, files, fallback, 0);
+    }
+
+    /** Builds pack content; files the pack lacks come from the current default theme. */
+    ThemeContent buildPack(String theme, Map<String, List<Map<String, Object>>> files, Map<String, QuestionBank> banks,
+                           long version) {
+        ThemeContent fallback = DEFAULT_THEME.equals(theme) ? null : content(DEFAULT_THEME);
+        return new ThemeContent(theme, files, banks, fallback, version);
+    }
+
+    /** Makes {@code content} the theme's current version; rooms already playing keep theirs. */
+    void publishPack(ThemeContent content) {
+        packs.updateAndGet(current -> {
+            Map<String, ThemeContent> next = new HashMap<>(current);
+            next.put(content.getTheme(), content);
+            return Map.copyOf(next);
+        });
+    }
+
+    /** Drops the theme's pack; returns false if it had none. */
+    boolean removePack(String theme) {
+        Map<String, ThemeContent> before = packs.getAndUpdate(current -> {
+            if (!current.containsKey(theme)) return current;
+            Map<String, ThemeContent> next = new HashMap<>(current);
+            next.remove(theme);
+            return Map.copyOf(next);
+        });
+        return before.containsKey(theme);
     }
 
     public List<Map<String, Object>> getWheelSegments(String theme) {
@@ -71,18 +166,34 @@ public class DataLoaderService {
         return loadJsonArray(theme, "quiz.json");
     }
 
+    /**
+     * The questions one quiz or buzzer game plays. A compiled {@code quiz.qbank} is sampled: up to
+     * {@value #QUESTIONS_PER_GAME} distinct questions at random, from the {@code topic} category
+     * when the bank has it. A plain quiz.json is played whole and in order, narrowed to the
+     * questions of {@code topic} when there are any.
+     */
+    public List<Map<String, Object>> drawQuizQuestions(ThemeContent content, String topic) {
+        QuestionBank bank = content.bank("quiz.json");
+        if (bank != null) return bank.rows(bank.sample(topic, QUESTIONS_PER_GAME, ThreadLocalRandom.current()));
+        List<Map<String, Object>> rows = content.file("quiz.json");
+        if (topic == null) return rows;
+        List<Map<String, Object>> onTopic = rows.stream().filter(row -> topic.equals(row.get("category")) || topic.equals(row.get("tag"))).toList();
+        return onTopic.isEmpty() ? rows : onTopic;
+    }
+
+    /** {@link #drawQuizQuestions(ThemeContent, String)} with the room's pinned content and topic. */
+    public List<Map<String, Object>> drawQuizQuestions(GameSession session) {
+        return drawQuizQuestions(content(session), session.getTopic());
+    }
+
     public List<Map<String, Object>> getMillionaireQuestions(String theme) {
         return loadJsonArray(theme, "millionaire.json");
     }
 
     /** Roletrando: phrases to guess (fallback to default). */
     public List<String> getPhrases(String theme) {
-        List<Map<String, Object>> raw = loadJsonArray(theme, "phrases.json");
-        if (raw == null || raw.isEmpty()) return List.of("Brasil", "Educacao", "Matematica");
-        return raw.stream()
-                .map(m -> m.get("phrase") != null ? String.valueOf(m.get("phrase")) : "")
-                .filter(s -> !s.isEmpty())
-                .toList();
+        List<String> phrases = content(theme).getPhrases();
+        return phrases.isEmpty() ? List.of("Brasil", "Educacao", "Matematica") : phrases;
     }
 
     /** Sequencing: ordered items for arrangement games. */
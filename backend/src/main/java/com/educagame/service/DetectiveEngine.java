@@ -4,12 +4,13 @@ import com.educagame.model.GamePhase;
 import com.educagame.model.GameSession;
 import com.educagame.model.GameType;
 import com.educagame.model.Player;
+import com.educagame.model.state.DetectiveState;
+import com.educagame.model.state.RankingEntry;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Detetive (Detective) game - Progressive deduction with minimum clues.
@@ -29,7 +30,6 @@ public class DetectiveEngine implements GameEngineInterface {
     @Inject
     GameHistoryService gameHistoryService;
 
-    @SuppressWarnings("unchecked")
     public void startGame(GameSession session) {
         if (session.getGameType() != GameType.DETECTIVE || session.getPhase() != GamePhase.LOBBY) return;
         session.setPhase(GamePhase.COUNTDOWN);
@@ -38,12 +38,7 @@ public class DetectiveEngine implements GameEngineInterface {
         List<Map<String, Object>> mysteries = dataLoaderService.getMysteries(session.getTheme());
         if (mysteries == null) mysteries = createDefaultMysteries();
 
-        Map<String, Object> payload = new ConcurrentHashMap<>();
-        payload.put("mysteries", mysteries);
-        payload.put("mysteryIndex", 0);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
-        payload.put("roundScores", new ArrayList<Map<String, Object>>());
-        session.setGamePayload(payload);
+        session.setGamePayload(new DetectiveState(mysteries));
         session.setRoundStartedAt(System.currentTimeMillis());
         LOG.infof("Detective game started in room %s with %d mysteries", session.getRoomId(), mysteries.size());
     }
@@ -55,33 +50,28 @@ public class DetectiveEngine implements GameEngineInterface {
 
     @SuppressWarnings("unchecked")
     private void showMystery(GameSession session, int index) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
-        List<Map<String, Object>> mysteries = (List<Map<String, Object>>) payload.get("mysteries");
+        DetectiveState state = session.getGamePayload(DetectiveState.class);
+        if (state == null) return;
+        List<Map<String, Object>> mysteries = state.getMysteries();
         if (mysteries == null || index >= mysteries.size()) {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
             return;
         }
         
-        payload.put("mysteryIndex", index);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
+        state.setMysteryIndex(index);
         
         Map<String, Object> mystery = mysteries.get(index);
         String answer = (String) mystery.get("answer");
         List<String> clues = (List<String>) mystery.get("clues");
         String category = (String) mystery.get("category");
         
-        payload.put("answer", answer);
-        payload.put("allClues", clues);
-        payload.put("revealedClues", new ArrayList<String>());
-        payload.put("category", category);
-        payload.put("mysteryDescription", mystery.get("description"));
+        state.setMystery(answer, clues, category, (String) mystery.get("description"));
         
         int timeMs = mystery.get("timeLimitMs") != null ? ((Number) mystery.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
-        payload.put("timeLimitMs", timeMs);
-        payload.put("lastClueReveal", System.currentTimeMillis());
+        state.startRound(timeMs);
+        state.setLastClueReveal(System.currentTimeMillis());
         session.setRoundStartedAt(System.currentTimeMillis());
         
         LOG.infof("Detective mystery %d: %s (%d clues)", index, category, clues.size());
@@ -90,23 +80,20 @@ public class DetectiveEngine implements GameEngineInterface {
     /**
      * Reveal next clue progressively.
      */
-    @SuppressWarnings("unchecked")
     public boolean revealNextClue(GameSession session) {
         if (session.getGameType() != GameType.DETECTIVE || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        DetectiveState state = session.getGamePayload(DetectiveState.class);
+        if (state == null) return false;
         
-        List<String> allClues = (List<String>) payload.get("allClues");
-        List<String> revealedClues = (List<String>) payload.get("revealedClues");
-        if (revealedClues == null) revealedClues = new ArrayList<>();
+        List<String> allClues = state.getAllClues();
+        List<String> revealedClues = state.getRevealedClues();
         
         if (revealedClues.size() >= allClues.size()) return false; // All clues revealed
         
         String nextClue = allClues.get(revealedClues.size());
         revealedClues.add(nextClue);
-        payload.put("revealedClues", revealedClues);
-        payload.put("lastClueReveal", System.currentTimeMillis());
+        state.setLastClueReveal(System.currentTimeMillis());
         
         LOG.infof("Revealed clue %d/%d: %s", revealedClues.size(), allClues.size(), nextClue);
         return true;
@@ -115,42 +102,46 @@ public class DetectiveEngine implements GameEngineInterface {
     /**
      * Check if it's time to auto-reveal next clue.
      */
-    @SuppressWarnings("unchecked")
     public boolean shouldAutoRevealClue(GameSession session) {
         if (session.getGameType() != GameType.DETECTIVE || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
-        
-        List<String> allClues = (List<String>) payload.get("allClues");
-        List<String> revealedClues = (List<String>) payload.get("revealedClues");
-        if (revealedClues == null) revealedClues = new ArrayList<>();
+        DetectiveState state = session.getGamePayload(DetectiveState.class);
+        if (state == null) return false;
         
-        if (revealedClues.size() >= allClues.size()) return false;
+        if (state.getRevealedClues().size() >= state.getAllClues().size()) return false;
         
-        long lastReveal = payload.get("lastClueReveal") != null ? 
-                ((Number) payload.get("lastClueReveal")).longValue() : session.getRoundStartedAt();
+        long lastReveal = state.getLastClueReveal() > 0 ? state.getLastClueReveal() : session.getRoundStartedAt();
         
         return (System.currentTimeMillis() - lastReveal) >= CLUE_REVEAL_INTERVAL_MS;
     }
 
+    /**
+     * Epoch millis at which the next clue is due, or 0 when every clue is already revealed.
+     */
+    public long nextClueRevealAt(GameSession session) {
+        if (session.getGameType() != GameType.DETECTIVE || session.getPhase() != GamePhase.PLAYING) return 0;
+        
+        DetectiveState state = session.getGamePayload(DetectiveState.class);
+        if (state == null || state.getRevealedClues().size() >= state.getAllClues().size()) return 0;
+        
+        long lastReveal = state.getLastClueReveal() > 0 ? state.getLastClueReveal() : session.getRoundStartedAt();
+        return lastReveal + CLUE_REVEAL_INTERVAL_MS;
+    }
+
     /**
      * Submit detective answer.
      */
-    @SuppressWarnings("unchecked")
     public boolean submitAnswer(GameSession session, String connectionId, String guess) {
         if (session.getGameType() != GameType.DETECTIVE || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        DetectiveState state = session.getGamePayload(DetectiveState.class);
+        if (state == null) return false;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
+        Map<String, DetectiveState.Response> responses = state.getResponses();
         if (responses.containsKey(connectionId)) return true; // already answered
 
-        String answer = (String) payload.get("answer");
-        List<String> revealedClues = (List<String>) payload.get("revealedClues");
-        if (revealedClues == null) revealedClues = new ArrayList<>();
+        String answer = state.getAnswer();
+        List<String> revealedClues = state.getRevealedClues();
         
         boolean correct = guess.trim().equalsIgnoreCase(answer.trim());
         
@@ -159,20 +150,14 @@ public class DetectiveEngine implements GameEngineInterface {
         int cluePenalty = cluesUsed * 100; // Penalty for each clue revealed
         
         long elapsed = System.currentTimeMillis() - session.getRoundStartedAt();
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         long timeRemaining = Math.max(0, timeLimitMs - elapsed);
         int timeBonus = (int) (timeRemaining * BASE_POINTS / timeLimitMs / 2);
         
         int basePoints = correct ? BASE_POINTS : 0;
         int totalPoints = Math.max(0, basePoints + timeBonus - cluePenalty + EARLY_SOLVE_BONUS);
 
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("guess", guess);
-        resp.put("correct", correct);
-        resp.put("cluesUsed", cluesUsed);
-        resp.put("points", totalPoints);
-        resp.put("receivedAt", System.currentTimeMillis());
-        responses.put(connectionId, resp);
+        responses.put(connectionId, new DetectiveState.Response(guess, correct, cluesUsed, totalPoints, System.currentTimeMillis()));
 
         Player player = session.getPlayers().stream().filter(p -> p.getId().equals(connectionId)).findFirst().orElse(null);
         if (player != null && !player.isBot()) {
@@ -187,43 +172,37 @@ public class DetectiveEngine implements GameEngineInterface {
     /**
      * Check if round should end (all players answered or time up).
      */
-    @SuppressWarnings("unchecked")
     public boolean shouldEndRound(GameSession session) {
         if (session.getGameType() != GameType.DETECTIVE || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        DetectiveState state = session.getGamePayload(DetectiveState.class);
+        if (state == null) return false;
         
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         long elapsed = System.currentTimeMillis() - session.getRoundStartedAt();
         
         // End round if time is up
         if (elapsed >= timeLimitMs) return true;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
-        
         // Check if all non-bot players have answered
-        long nonBotCount = session.getPlayers().stream().filter(p -> !p.isBot()).count();
-        return responses.size() >= nonBotCount;
+        return state.allAnswered(session.getPlayers());
     }
 
     /**
      * Move to next mystery or end game.
      */
-    @SuppressWarnings("unchecked")
     public void nextMystery(GameSession session) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
+        DetectiveState state = session.getGamePayload(DetectiveState.class);
+        if (state == null) return;
         
-        int idx = payload.get("mysteryIndex") != null ? ((Number) payload.get("mysteryIndex")).intValue() : 0;
-        List<Map<String, Object>> mysteries = (List<Map<String, Object>>) payload.get("mysteries");
+        int idx = state.getMysteryIndex();
+        List<Map<String, Object>> mysteries = state.getMysteries();
         
         if (mysteries != null && idx + 1 < mysteries.size()) {
             showMystery(session, idx + 1);
         } else {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
         }
     }
@@ -282,11 +261,11 @@ public class DetectiveEngine implements GameEngineInterface {
         return mysteries;
     }
 
-    private List<Map<String, Object>> buildRanking(GameSession session) {
+    private List<RankingEntry> buildRanking(GameSession session) {
         return session.getPlayers().stream()
                 .filter(p -> !p.isBot())
                 .sorted((a, b) -> Integer.compare(b.getScore(), a.getScore()))
-                .map(p -> Map.<String, Object>of("id", p.getId(), "name", p.getName(), "score", p.getScore()))
+                .map(RankingEntry::of)
                 .toList();
     }
 
@@ -0,0 +1,116 @@
+package com.educagame.service;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import org.jboss.logging.Logger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single hashed-wheel timer holding every room's pending deadlines. Insert and cancel are O(1)
+ * and an idle room costs nothing: there is no per-room polling, the wheel thread only visits the
+ * bucket of the current tick. Each room has at most one pending deadline per {@link Deadline}.
+ * Tasks run on the wheel's single worker thread and must be short.
+ */
+@ApplicationScoped
+public class GameClock {
+
+    private static final Logger LOG = Logger.getLogger(GameClock.class);
+    private static final long TICK_MS = 50;
+    private static final int TICKS_PER_WHEEL = 512;
+
+    public enum Deadline {
+        COUNTDOWN,
+        ROUND_END,
+        CLUE_REVEAL
+    }
+
+    /** A scheduled deadline and the epoch millis it was armed for. */
+    private record Pending(long at, Timeout timeout) {}
+
+    private final Map<String, Map<Deadline, Pending>> rooms = new ConcurrentHashMap<>();
+    private HashedWheelTimer timer;
+
+    @PostConstruct
+    void start() {
+        timer = new HashedWheelTimer(r -> {
+            Thread t = new Thread(r, "game-clock");
+            t.setDaemon(true);
+            return t;
+        }, TICK_MS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+        timer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Runs {@code task} at epoch millis {@code at} (or on the next tick if that is in the past),
+     * replacing the room's pending deadline of the same kind. Re-arming for the same instant
+     * keeps the existing timeout.
+     */
+    public void schedule(String roomId, Deadline kind, long at, Runnable task) {
+        Map<Deadline, Pending> pending = rooms.computeIfAbsent(roomId, k -> new ConcurrentHashMap<>());
+        pending.compute(kind, (k, old) -> {
+            if (old != null && old.at() == at && !old.timeout().isExpired()) return old;
+            if (old != null) old.timeout().cancel();
+            long delay = Math.max(0, at - System.currentTimeMillis());
+            Timeout timeout = timer.newTimeout(t -> {
+                pending.computeIfPresent(kind, (k2, p) -> p.timeout() == t ? null : p);
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOG.warnf(e, "Deadline %s failed in room %s", kind, roomId);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            return new Pending(at, timeout);
+        });
+    }
+
+    /**
+     * Runs {@code task} once after {@code delayMs}, outside the per-room deadline slots. For
+     * events that can be many per room (bot moves); the task must re-check that it still applies.
+     */
+    public void after(long delayMs, Runnable task) {
+        timer.newTimeout(t -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.warn("Timed task failed", e);
+            }
+        }, Math.max(0, delayMs), TimeUnit.MILLISECONDS);
+    }
+
+    public void cancel(String roomId, Deadline kind) {
+        Map<Deadline, Pending> pending = rooms.get(roomId);
+        if (pending == null) return;
+        Pending p = pending.remove(kind);
+        if (p != null) p.timeout().cancel();
+    }
+
+    /** Drops every pending deadline of the room (game over or room closed). */
+    public void cancelRoom(String roomId) {
+        Map<Deadline, Pending> pending = rooms.remove(roomId);
+        if (pending == null) return;
+        pending.values().forEach(p -> p.timeout().cancel());
+    }
+
+    /** Epoch millis the room's deadline is armed for, or 0 when none is pending. */
+    public long scheduledAt(String roomId, Deadline kind) {
+        Map<Deadline, Pending> pending = rooms.get(roomId);
+        Pending p = pending != null ? pending.get(kind) : null;
+        return p != null ? p.at() : 0;
+    }
+
+    /** Timeouts still on the wheel; cancelled ones are purged on the next tick. */
+    public long pendingCount() {
+        return timer.pendingTimeouts();
+    }
+}
@@ -19,10 +19,16 @@ public class GameEngine {
 
     @Inject
     GameEngineRegistry registry;
+    @Inject
+    DataLoaderService dataLoaderService;
+    @Inject
+    BotRuntime bots;
 
     public void startGame(GameSession session) {
         if (session.getPhase() != GamePhase.LOBBY) return;
-        
+        session.setContent(dataLoaderService.content(session.getTheme()));
+        bots.fillRoom(session);
+
         boolean started = registry.startGame(session);
         if (!started) {
             // Fallback for unsupported game types
@@ -6,14 +6,23 @@ import com.educagame.model.GameType;
 import com.educagame.model.Player;
 import org.jboss.logging.Logger;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
- * In-memory store of finished game results for history and leaderboards.
+ * Finished game results for history and leaderboards. Every result is appended to the
+ * {@link HistoryLog} and replayed from it on startup; leaderboards (today, this week, all time)
+ * are updated per result instead of being rebuilt on read. {@link HistoryIndex} serves filtered,
+ * cursor-paged history; the latest {@value #MAX_RESULTS} results are kept in memory and older
+ * pages are read back from the log.
  */
 @ApplicationScoped
 public class GameHistoryService {
@@ -21,11 +30,32 @@ public class GameHistoryService {
     private static final Logger LOG = Logger.getLogger(GameHistoryService.class);
     private static final int MAX_RESULTS = 500;
     private static final int MAX_LEADERBOARD = 100;
+    private static final int MAX_PAGE = 100;
+
+    /** Leaderboard windows; days follow {@code educagame.leaderboard.zone}. */
+    public enum Window { DAY, WEEK, ALL }
+
+    /** One page of history, newest first; pass {@code nextCursor} back to get the next (older) page. */
+    public record HistoryPage(List<GameResult> items, String nextCursor) {}
 
-    private final List<GameResult> results = new CopyOnWriteArrayList<>();
+    @Inject
+    HistoryLog historyLog;
+    @ConfigProperty(name = "educagame.leaderboard.zone", defaultValue = "America/Sao_Paulo")
+    ZoneId zone;
+
+    private final HistoryIndex index = new HistoryIndex();
+    /** The latest results by game number modulo {@link #MAX_RESULTS}; guarded by itself, with {@link #index}. */
+    private final GameResult[] recent = new GameResult[MAX_RESULTS];
+    private final Map<GameType, WindowedLeaderboard> leaderboards = new EnumMap<>(GameType.class);
     private final Map<GameType, Long> gamesCreatedByType = new ConcurrentHashMap<>();
     private final long startedAt = System.currentTimeMillis();
 
+    @PostConstruct
+    void initialize() {
+        for (GameType type : GameType.values()) leaderboards.put(type, new WindowedLeaderboard());
+        historyLog.replay(this::apply);
+    }
+
     public void recordGame(GameSession session) {
         if (session == null) return;
         GameResult r = new GameResult();
@@ -47,8 +77,7 @@ public class GameHistoryService {
                     .map(p -> Map.<String, Object>of("id", p.getId(), "name", p.getName(), "score", p.getScore()))
                     .collect(Collectors.toList()));
         }
-        results.add(0, r);
-        while (results.size() > MAX_RESULTS) results.remove(results.size() - 1);
+        apply(r, historyLog.append(r));
         LOG.debugf("Recorded game %s type=%s", session.getRoomId(), session.getGameType());
     }
 
@@ -56,32 +85,63 @@ public class GameHistoryService {
         gamesCreatedByType.merge(type, 1L, Long::sum);
     }
 
+    /** Adds a result stored at {@code position} to the indexes; used for new games and for the startup replay. */
+    private void apply(GameResult r, long position) {
+        synchronized (recent) {
+            recent[index.add(r, position) % MAX_RESULTS] = r;
+        }
+        if (r.getGameType() != null && r.getWinnerName() != null) {
+            leaderboards.get(r.getGameType()).addWin(r.getWinnerName(), r.getWinnerScore(), day(r.getFinishedAt()), today());
+        }
+    }
+
+    /** Newest first. */
     public List<GameResult> getRecentResults(int limit) {
-        return results.stream().limit(Math.max(1, limit)).toList();
+        return getHistory(null, null, null, null, limit).items();
     }
 
-    public List<Map<String, Object>> getLeaderboard(GameType mode, int limit) {
-        int n = Math.min(MAX_LEADERBOARD, Math.max(1, limit));
-        Map<String, Map<String, Object>> byName = new LinkedHashMap<>();
-        for (GameResult r : results) {
-            if (r.getGameType() != mode || r.getWinnerName() == null) continue;
-            String key = r.getWinnerName().trim().toLowerCase();
-            Map<String, Object> entry = byName.get(key);
-            if (entry == null) {
-                entry = new HashMap<>();
-                entry.put("name", r.getWinnerName());
-                entry.put("score", r.getWinnerScore());
-                entry.put("games", 1);
-                byName.put(key, entry);
-            } else {
-                entry.put("score", (Integer) entry.get("score") + r.getWinnerScore());
-                entry.put("games", (Integer) entry.get("games") + 1);
+    /**
+     * A page of history matching every non-null filter ({@code player} is the winner's name,
+     * case-insensitive), newest first, starting after {@code cursor} (null for the first page).
+     *
+     * @throws IllegalArgumentException if the cursor is not one this service handed out
+     */
+    public HistoryPage getHistory(GameType type, String theme, String player, String cursor, int limit) {
+        Integer before = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                before = Integer.parseInt(cursor, Character.MAX_RADIX);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
             }
         }
-        return byName.values().stream()
-                .sorted((a, b) -> Integer.compare((Integer) b.get("score"), (Integer) a.get("score")))
-                .limit(n)
-                .toList();
+        HistoryIndex.Page page = index.page(type, theme, player, before, Math.min(MAX_PAGE, Math.max(1, limit)));
+        List<GameResult> items = new ArrayList<>(page.ids().length);
+        for (int i = 0; i < page.ids().length; i++) {
+            GameResult r = fetch(page.ids()[i], page.positions()[i]);
+            if (r != null) items.add(r);
+        }
+        return new HistoryPage(items, page.next() != null ? Integer.toString(page.next(), Character.MAX_RADIX) : null);
+    }
+
+    private GameResult fetch(int id, long position) {
+        synchronized (recent) {
+            if (id >= index.size() - MAX_RESULTS) return recent[id % MAX_RESULTS];
+        }
+        return historyLog.read(position);
+    }
+
+    /** Winners of {@code mode} in {@code window}, by total score. */
+    public List<Map<String, Object>> getLeaderboard(GameType mode, Window window, int limit) {
+        return leaderboards.get(mode).top(window, Math.min(MAX_LEADERBOARD, Math.max(1, limit)), today());
+    }
+
+    private long day(long epochMs) {
+        return Instant.ofEpochMilli(epochMs).atZone(zone).toLocalDate().toEpochDay();
+    }
+
+    private long today() {
+        return day(System.currentTimeMillis());
     }
 
     public long getUptimeMs() {
@@ -0,0 +1,155 @@
+package com.educagame.service;
+
+import com.educagame.model.GameType;
+import com.educagame.resource.InboundDecoder;
+import com.educagame.resource.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Game-level Micrometer meters, scraped in Prometheus format at {@code /q/metrics}: open rooms and
+ * connections per game type, inbound WebSocket messages, rate-limited drops and handler time per
+ * message type,
+ * broadcast serialize and fan-out time, outbound frames waiting on slow connections and what was
+ * dropped for them, and how late bot moves start. Meters are created once per
+ * tag value and cached, so recording on a hot path is a map lookup and an atomic add.
+ */
+@ApplicationScoped
+public class GameMetrics {
+
+    /** Tag shared by every message type the server does not handle, so clients cannot mint new series. */
+    private static final String OTHER = "OTHER";
+
+    @Inject
+    MeterRegistry registry;
+    @Inject
+    RoomManager roomManager;
+
+    private final Map<String, Counter> messages = new ConcurrentHashMap<>();
+    private final Map<String, Timer> handlers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> serialize = new ConcurrentHashMap<>();
+    private final Map<String, Timer> fanout = new ConcurrentHashMap<>();
+    private final Map<String, Counter> disconnects = new ConcurrentHashMap<>();
+    private final Map<String, Counter> inboundDropped = new ConcurrentHashMap<>();
+    private final AtomicInteger outboundQueued = new AtomicInteger();
+    private final AtomicInteger outboundBacklogged = new AtomicInteger();
+    private Counter outboundReplaced;
+    private Counter inboundDisconnected;
+    private Timer botDelay;
+
+    @PostConstruct
+    void initialize() {
+        for (GameType type : GameType.values()) {
+            Gauge.builder("educagame.rooms.active", roomManager, rooms -> rooms.countRooms(type))
+                    .description("Open rooms")
+                    .tag("gameType", type.name())
+                    .register(registry);
+            Gauge.builder("educagame.connections.active", roomManager, rooms -> rooms.countConnections(type))
+                    .description("WebSocket connections joined to a room")
+                    .tag("gameType", type.name())
+                    .register(registry);
+        }
+        Gauge.builder("educagame.ws.outbound.queued", outboundQueued, AtomicInteger::get)
+                .description("Outbound frames waiting behind slow WebSocket connections")
+                .register(registry);
+        Gauge.builder("educagame.ws.outbound.backlogged", outboundBacklogged, AtomicInteger::get)
+                .description("WebSocket connections with outbound frames waiting")
+                .register(registry);
+        outboundReplaced = Counter.builder("educagame.ws.outbound.replaced")
+                .description("Queued state patches superseded by a newer one before they were sent")
+                .register(registry);
+        inboundDisconnected = Counter.builder("educagame.ws.inbound.disconnected")
+                .description("Connections closed for repeatedly going over their inbound rate limits")
+                .register(registry);
+        botDelay = timer("educagame.bots.delay", "How late a bot move started compared with its planned time", null, null);
+    }
+
+    /** One inbound WebSocket message of {@code type}. */
+    public void messageReceived(String type) {
+        messages.computeIfAbsent(known(type), t -> Counter.builder("educagame.ws.messages")
+                .description("Inbound WebSocket messages")
+                .tag("type", t)
+                .register(registry)).increment();
+    }
+
+    /** An inbound frame of {@code type} dropped by the rate limiter; FRAME when dropped before its type was read. */
+    public void inboundDropped(String type) {
+        inboundDropped.computeIfAbsent(RateLimiter.FRAME.equals(type) ? type : known(type), t -> Counter.builder("educagame.ws.inbound.dropped")
+                .description("Inbound WebSocket frames dropped by the rate limiter")
+                .tag("type", t)
+                .register(registry)).increment();
+    }
+
+    public void inboundDisconnected() {
+        inboundDisconnected.increment();
+    }
+
+    /** Time spent handling one message of {@code type}, on the room's mailbox or inline. */
+    public void messageHandled(String type, long nanos) {
+        handlers.computeIfAbsent(known(type), t -> timer("educagame.ws.handler",
+                "Time to handle one inbound message", "type", t)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Projecting, diffing and encoding one outbound message of {@code kind} (patch, snapshot, event). */
+    public void broadcastSerialized(String kind, long nanos) {
+        serialize.computeIfAbsent(kind, k -> timer("educagame.broadcast.serialize",
+                "Time to build and encode one outbound message", "kind", k)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Writing one encoded message to every recipient. */
+    public void broadcastSent(String kind, long nanos) {
+        fanout.computeIfAbsent(kind, k -> timer("educagame.broadcast.fanout",
+                "Time to write one encoded message to its recipients", "kind", k)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Frames added to (positive) or taken off (negative) a connection's outbound queue. */
+    public void outboundQueued(int delta) {
+        outboundQueued.addAndGet(delta);
+    }
+
+    /** A connection's outbound queue became non-empty (+1) or drained (-1). */
+    public void outboundBacklogged(int delta) {
+        outboundBacklogged.addAndGet(delta);
+    }
+
+    public void outboundReplaced() {
+        outboundReplaced.increment();
+    }
+
+    /** A slow connection was closed; {@code reason} is "overflow" or "stalled". */
+    public void outboundDisconnected(String reason) {
+        disconnects.computeIfAbsent(reason, r -> Counter.builder("educagame.ws.outbound.disconnected")
+                .description("Connections closed for not reading their outbound frames")
+                .tag("reason", r)
+                .register(registry)).increment();
+    }
+
+    public void botDelay(long delayMs) {
+        botDelay.record(Math.max(0, delayMs), TimeUnit.MILLISECONDS);
+    }
+
+    private Timer timer(String name, String description, String tag, String value) {
+        Timer.Builder builder = Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1000))
+                .maximumExpectedValue(Duration.ofSeconds(10));
+        if (tag != null) builder.tag(tag, value);
+        return builder.register(registry);
+    }
+
+    private static String known(String type) {
+        return InboundDecoder.handles(type) ? type : OTHER;
+    }
+}
@@ -0,0 +1,170 @@
+package com.educagame.service;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.state.RoundState;
+import com.educagame.resource.GameBroadcaster;
+import com.educagame.service.GameClock.Deadline;
+import org.jboss.logging.Logger;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Arms each room's deadlines on the {@link GameClock} from its current state and, when one fires,
+ * applies the engine transition (countdown over, round over, next detective clue) on the room's
+ * {@link RoomMailbox} and broadcasts the result. Call {@link #update} after every change to a
+ * session; rounds that every player has already answered end on the next clock tick instead of
+ * waiting for the time limit.
+ */
+@ApplicationScoped
+public class GameTimeouts {
+
+    private static final Logger LOG = Logger.getLogger(GameTimeouts.class);
+    static final long COUNTDOWN_MS = 3000;
+
+    @Inject
+    GameClock clock;
+    @Inject
+    RoomManager roomManager;
+    @Inject
+    GameEngine gameEngine;
+    @Inject
+    QuizEngine quizEngine;
+    @Inject
+    KahootEngine kahootEngine;
+    @Inject
+    SurvivalEngine survivalEngine;
+    @Inject
+    SequencingEngine sequencingEngine;
+    @Inject
+    DetectiveEngine detectiveEngine;
+    @Inject
+    BuzzerEngine buzzerEngine;
+    @Inject
+    SensoryEngine sensoryEngine;
+    @Inject
+    BinaryEngine binaryEngine;
+    @Inject
+    BotRuntime bots;
+    @Inject
+    GameBroadcaster broadcaster;
+    @Inject
+    RoomMailbox mailbox;
+
+    /** Re-arms (or drops) the room's deadlines to match the session's current phase and round. */
+    public void update(String roomId, GameSession session) {
+        GamePhase phase = session.getPhase();
+        if (phase == GamePhase.LOBBY || phase == GamePhase.GAME_END) {
+            clock.cancelRoom(roomId);
+            return;
+        }
+        if (phase == GamePhase.COUNTDOWN) {
+            long startedAt = session.getRoundStartedAt() != null ? session.getRoundStartedAt() : System.currentTimeMillis();
+            clock.schedule(roomId, Deadline.COUNTDOWN, startedAt + COUNTDOWN_MS, () -> fireOnMailbox(roomId, Deadline.COUNTDOWN));
+            return;
+        }
+        clock.cancel(roomId, Deadline.COUNTDOWN);
+        if (session.isWaitingForHumans()) {
+            // Everyone dropped: hold the round until someone resumes, which publishes and re-arms.
+            clock.cancel(roomId, Deadline.ROUND_END);
+            clock.cancel(roomId, Deadline.CLUE_REVEAL);
+            return;
+        }
+
+        long roundEnd = roundOver(session) ? System.currentTimeMillis() : roundDeadline(session);
+        if (roundEnd > 0) {
+            clock.schedule(roomId, Deadline.ROUND_END, roundEnd, () -> fireOnMailbox(roomId, Deadline.ROUND_END));
+        } else {
+            clock.cancel(roomId, Deadline.ROUND_END);
+        }
+
+        long clueAt = detectiveEngine.nextClueRevealAt(session);
+        if (clueAt > 0) {
+            clock.schedule(roomId, Deadline.CLUE_REVEAL, clueAt, () -> fireOnMailbox(roomId, Deadline.CLUE_REVEAL));
+        } else {
+            clock.cancel(roomId, Deadline.CLUE_REVEAL);
+        }
+    }
+
+    /** Forgets the room's deadlines (room closed). */
+    public void forgetRoom(String roomId) {
+        clock.cancelRoom(roomId);
+    }
+
+    /** Deadlines fire on the clock thread; the transition itself runs on the room's mailbox. */
+    private void fireOnMailbox(String roomId, Deadline deadline) {
+        mailbox.submit(roomId, () -> fire(roomId, deadline));
+    }
+
+    private void fire(String roomId, Deadline deadline) {
+        GameSession session = roomManager.getSession(roomId).orElse(null);
+        if (session == null) {
+            clock.cancelRoom(roomId);
+            return;
+        }
+        boolean changed = switch (deadline) {
+            case COUNTDOWN -> startPlaying(session);
+            case ROUND_END -> roundOver(session) && endRound(session);
+            case CLUE_REVEAL -> detectiveEngine.shouldAutoRevealClue(session) && detectiveEngine.revealNextClue(session);
+        };
+        if (changed) {
+            LOG.debugf("Deadline %s fired in room %s, phase now %s", deadline, roomId, session.getPhase());
+            broadcaster.broadcastState(roomId, session);
+            bots.onStateChanged(roomId, session);
+        }
+        // A deadline that fired a little early for the engine's own clock is simply re-armed.
+        update(roomId, session);
+    }
+
+    private boolean startPlaying(GameSession session) {
+        if (session.getPhase() != GamePhase.COUNTDOWN) return false;
+        gameEngine.transitionToPlaying(session);
+        return true;
+    }
+
+    /** Epoch millis at which the current round times out, or 0 for untimed games and phases. */
+    private long roundDeadline(GameSession session) {
+        if (!isTimed(session) || !(session.getGamePayload() instanceof RoundState<?> round)) return 0;
+        if (round.getTimeLimitMs() <= 0 || session.getRoundStartedAt() == null) return 0;
+        return session.getRoundStartedAt() + round.getTimeLimitMs();
+    }
+
+    private boolean isTimed(GameSession session) {
+        return switch (session.getGameType()) {
+            case QUIZ_SPEED -> session.getPhase() == GamePhase.QUIZ_QUESTION;
+            case SURVIVAL, SEQUENCING, DETECTIVE, BUZZER, SENSORY, BINARY_DECISION -> session.getPhase() == GamePhase.PLAYING;
+            default -> false;
+        };
+    }
+
+    /** Time is up or every player has answered, as judged by the engine. */
+    private boolean roundOver(GameSession session) {
+        return switch (session.getGameType()) {
+            case QUIZ_SPEED -> kahootEngine.shouldEndQuestion(session);
+            case SURVIVAL -> survivalEngine.shouldEndRound(session);
+            case SEQUENCING -> sequencingEngine.shouldEndRound(session);
+            case DETECTIVE -> detectiveEngine.shouldEndRound(session);
+            case BUZZER -> buzzerEngine.shouldEndRound(session);
+            case SENSORY -> sensoryEngine.shouldEndRound(session);
+            case BINARY_DECISION -> binaryEngine.shouldEndRound(session);
+            default -> false;
+        };
+    }
+
+    private boolean endRound(GameSession session) {
+        switch (session.getGameType()) {
+            case QUIZ_SPEED -> quizEngine.endQuestion(session);
+            case SURVIVAL -> survivalEngine.nextChallenge(session);
+            case SEQUENCING -> sequencingEngine.nextSequence(session);
+            case DETECTIVE -> detectiveEngine.nextMystery(session);
+            case BUZZER -> buzzerEngine.nextQuestion(session);
+            case SENSORY -> sensoryEngine.nextSensoryItem(session);
+            case BINARY_DECISION -> binaryEngine.nextStatement(session);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,137 @@
+package com.educagame.service;
+
+import com.educagame.model.GameResult;
+import com.educagame.model.GameType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Secondary indexes over every recorded game. Games are numbered in the order they finished; per
+ * game only the log position and three dictionary-encoded keys are held, and each key value has
+ * an ascending list of game numbers. A page walks one of those lists backwards from the cursor, so
+ * it costs O(log n + page) instead of a scan of the history.
+ */
+final class HistoryIndex {
+
+    /** Game numbers newest first, and the cursor for the next (older) page, null on the last page. */
+    record Page(int[] ids, long[] positions, Integer next) {}
+
+    private long[] positions = new long[1024];
+    private byte[] types = new byte[1024];
+    private int[] themes = new int[1024];
+    private int[] winners = new int[1024];
+    private int size;
+
+    private final Map<String, Integer> themeIds = new HashMap<>();
+    private final Map<String, Integer> winnerIds = new HashMap<>();
+    private final Map<GameType, IntList> byType = new EnumMap<>(GameType.class);
+    private final List<IntList> byTheme = new ArrayList<>();
+    private final List<IntList> byWinner = new ArrayList<>();
+
+    /** Indexes {@code result}, stored at {@code position} in the log, and returns its game number. */
+    synchronized int add(GameResult result, long position) {
+        if (size == positions.length) grow();
+        int id = size++;
+        positions[id] = position;
+        GameType type = result.getGameType();
+        types[id] = (byte) (type != null ? type.ordinal() : -1);
+        if (type != null) byType.computeIfAbsent(type, t -> new IntList()).add(id);
+        themes[id] = key(themeIds, byTheme, result.getTheme(), id);
+        winners[id] = key(winnerIds, byWinner, winnerKey(result.getWinnerName()), id);
+        return id;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Up to {@code limit} games older than {@code before} (all games when null) matching every
+     * non-null filter, newest first.
+     */
+    synchronized Page page(GameType type, String theme, String winner, Integer before, int limit) {
+        int wantTheme = lookup(themeIds, theme);
+        int wantWinner = lookup(winnerIds, winnerKey(winner));
+        if ((theme != null && wantTheme < 0) || (winner != null && wantWinner < 0)) return new Page(new int[0], new long[0], null);
+
+        // Walk the shortest posting list that applies; the other filters are checked per game.
+        IntList list = null;
+        if (type != null) list = byType.getOrDefault(type, new IntList());
+        if (theme != null && (list == null || byTheme.get(wantTheme).size < list.size)) list = byTheme.get(wantTheme);
+        if (winner != null && (list == null || byWinner.get(wantWinner).size < list.size)) list = byWinner.get(wantWinner);
+
+        int end = before != null ? Math.min(before, size) : size;
+        int i = list != null ? list.lowerBound(end) - 1 : end - 1;
+        int[] ids = new int[Math.min(limit, size)];
+        long[] pos = new long[ids.length];
+        int n = 0;
+        for (; i >= 0 && n < limit; i--) {
+            int id = list != null ? list.values[i] : i;
+            if (type != null && types[id] != type.ordinal()) continue;
+            if (theme != null && themes[id] != wantTheme) continue;
+            if (winner != null && winners[id] != wantWinner) continue;
+            ids[n] = id;
+            pos[n++] = positions[id];
+        }
+        Integer next = n == limit && i >= 0 ? ids[n - 1] : null;
+        return new Page(Arrays.copyOf(ids, n), Arrays.copyOf(pos, n), next);
+    }
+
+    private static int key(Map<String, Integer> dictionary, List<IntList> postings, String value, int id) {
+        if (value == null) return -1;
+        Integer k = dictionary.get(value);
+        if (k == null) {
+            k = postings.size();
+            dictionary.put(value, k);
+            postings.add(new IntList());
+        }
+        postings.get(k).add(id);
+        return k;
+    }
+
+    private static int lookup(Map<String, Integer> dictionary, String value) {
+        if (value == null) return -1;
+        return dictionary.getOrDefault(value, -1);
+    }
+
+    /** Winners are matched like the leaderboards group them: trimmed, case-insensitive. */
+    private static String winnerKey(String name) {
+        return name != null ? name.trim().toLowerCase() : null;
+    }
+
+    private void grow() {
+        int capacity = positions.length * 2;
+        positions = Arrays.copyOf(positions, capacity);
+        types = Arrays.copyOf(types, capacity);
+        themes = Arrays.copyOf(themes, capacity);
+        winners = Arrays.copyOf(winners, capacity);
+    }
+
+    /** Ascending game numbers. */
+    private static final class IntList {
+        int[] values = new int[8];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        /** Index of the first value >= {@code v}. */
+        int lowerBound(int v) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < v) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
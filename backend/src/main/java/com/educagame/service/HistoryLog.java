@@ -0,0 +1,247 @@
+package com.educagame.service;
+
+import com.educagame.model.GameResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Durable, append-only log of finished games: numbered segment files under
+ * {@code educagame.history.dir}, each record framed as length, CRC32 and the JSON of a
+ * {@link GameResult}. Segments roll at 16 MB. On startup the log is replayed
+ * oldest first; a torn record at the tail (crash mid-write) is cut off. Appends reserve their
+ * position synchronously and are written on a single writer thread, so the fsync never stalls a
+ * room's mailbox. A position ({@code segment << 32 | offset}) lets {@link #read} fetch one record
+ * later without keeping it in memory.
+ */
+@ApplicationScoped
+public class HistoryLog {
+
+    private static final Logger LOG = Logger.getLogger(HistoryLog.class);
+    private static final String PREFIX = "history-";
+    private static final String SUFFIX = ".log";
+    private static final int FRAME_BYTES = 8;
+    /** Sanity bound for a record's length field; a larger value means the frame is garbage. */
+    private static final int MAX_RECORD_BYTES = 1024 * 1024;
+
+    @ConfigProperty(name = "educagame.history.dir", defaultValue = "data/history")
+    String historyDir;
+    @Inject
+    ObjectMapper objectMapper;
+    long segmentBytes = 16L * 1024 * 1024;
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "history-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    /** Readers per segment, opened on first {@link #read}. */
+    private final Map<Integer, FileChannel> readers = new ConcurrentHashMap<>();
+    private Path root;
+    private boolean available;
+    /** Where the next append goes; guarded by this. */
+    private int tailSegment;
+    private long tailBytes;
+    /** The segment the writer thread has open; only touched on that thread (and in close). */
+    private FileChannel segment;
+    private int segmentNumber;
+
+    /**
+     * Opens the log, hands every stored result and its position to {@code consumer} in the order it
+     * was written and readies the last segment for appends. If the directory is unusable, history
+     * stays in memory only.
+     */
+    public synchronized void replay(ObjLongConsumer<GameResult> consumer) {
+        root = Path.of(historyDir);
+        try {
+            Files.createDirectories(root);
+            List<Path> segments = segments();
+            long records = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                records += replaySegment(segments.get(i), i == segments.size() - 1, consumer);
+            }
+            tailSegment = segments.isEmpty() ? 1 : number(segments.get(segments.size() - 1));
+            tailBytes = segments.isEmpty() ? 0 : Files.size(segments.get(segments.size() - 1));
+            available = true;
+            LOG.infof("Replayed %d game results from %d segments in %s", records, segments.size(), root.toAbsolutePath());
+        } catch (IOException e) {
+            LOG.errorf(e, "Game history log unavailable in %s; history will not survive a restart", root);
+        }
+    }
+
+    /**
+     * Reserves the result's place at the tail and queues the write (and fsync).
+     * Returns its position, or -1 when the log is unavailable.
+     */
+    public synchronized long append(GameResult result) {
+        if (!available) return -1;
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(result);
+        } catch (IOException e) {
+            LOG.errorf(e, "Could not serialize game %s for the history log", result.getGameId());
+            return -1;
+        }
+        if (tailBytes + FRAME_BYTES + json.length > segmentBytes && tailBytes > 0) {
+            tailSegment++;
+            tailBytes = 0;
+        }
+        long position = ((long) tailSegment << 32) | tailBytes;
+        tailBytes += FRAME_BYTES + json.length;
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_BYTES + json.length);
+        frame.putInt(json.length).putInt(crc(json)).put(json).flip();
+        int target = tailSegment;
+        writer.execute(() -> write(target, frame, result.getGameId()));
+        return position;
+    }
+
+    /** The result stored at {@code position}, or null if it cannot be read (not yet written, or lost). */
+    public GameResult read(long position) {
+        if (position < 0 || root == null) return null;
+        int number = (int) (position >>> 32);
+        long offset = position & 0xFFFFFFFFL;
+        try {
+            FileChannel channel = readers.computeIfAbsent(number, n -> {
+                try {
+                    return FileChannel.open(segmentPath(n), StandardOpenOption.READ);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            ByteBuffer header = ByteBuffer.allocate(FRAME_BYTES);
+            if (channel.read(header, offset) < FRAME_BYTES) return null;
+            int length = header.getInt(0);
+            if (length < 0 || length > MAX_RECORD_BYTES) return null;
+            ByteBuffer body = ByteBuffer.allocate(length);
+            int read = 0;
+            while (body.hasRemaining() && read >= 0) read = channel.read(body, offset + FRAME_BYTES + body.position());
+            if (body.hasRemaining() || crc(body.array()) != header.getInt(4)) return null;
+            return objectMapper.readValue(body.array(), GameResult.class);
+        } catch (IOException | UncheckedIOException e) {
+            LOG.debugf("Could not read history record %d:%d: %s", number, offset, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(int target, ByteBuffer frame, String gameId) {
+        try {
+            if (segment == null || segmentNumber != target) {
+                if (segment != null) segment.close();
+                segmentNumber = target;
+                segment = FileChannel.open(segmentPath(target), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+            }
+            while (frame.hasRemaining()) segment.write(frame);
+            segment.force(false);
+        } catch (IOException e) {
+            LOG.errorf(e, "Could not append game %s to the history log", gameId);
+        }
+    }
+
+    /** Writes out the queued results and closes the current segment. */
+    @PreDestroy
+    void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) LOG.warn("History writer did not drain in time");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            available = false;
+            List<FileChannel> channels = new ArrayList<>(readers.values());
+            readers.clear();
+            if (segment != null) channels.add(segment);
+            segment = null;
+            for (FileChannel channel : channels) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    LOG.debugf("Closing history segment: %s", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private long replaySegment(Path path, boolean last, ObjLongConsumer<GameResult> consumer) throws IOException {
+        long segmentBits = (long) number(path) << 32;
+        long records = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(FRAME_BYTES);
+            while (position < size) {
+                header.clear();
+                if (channel.read(header, position) < FRAME_BYTES) break;
+                int length = header.getInt(0);
+                if (length < 0 || length > MAX_RECORD_BYTES || position + FRAME_BYTES + length > size) break;
+                ByteBuffer body = ByteBuffer.allocate(length);
+                int read = 0;
+                while (body.hasRemaining() && read >= 0) read = channel.read(body, position + FRAME_BYTES + body.position());
+                byte[] json = body.array();
+                if (crc(json) != header.getInt(4)) break;
+                try {
+                    consumer.accept(objectMapper.readValue(json, GameResult.class), segmentBits | position);
+                    records++;
+                } catch (IOException e) {
+                    LOG.warnf("Skipping unreadable history record in %s at %d: %s", path.getFileName(), position, e.getMessage());
+                }
+                position += FRAME_BYTES + length;
+            }
+            if (position < size) {
+                if (last) {
+                    LOG.warnf("Truncating torn tail of %s at byte %d (was %d)", path.getFileName(), position, size);
+                    channel.truncate(position);
+                } else {
+                    LOG.warnf("Corrupt record in %s at byte %d; rest of the segment skipped", path.getFileName(), position);
+                }
+            }
+        }
+        return records;
+    }
+
+    private Path segmentPath(int number) {
+        return root.resolve(String.format("%s%06d%s", PREFIX, number, SUFFIX));
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root, PREFIX + "[0-9]*" + SUFFIX)) {
+            for (Path p : stream) segments.add(p);
+        }
+        segments.sort((a, b) -> Integer.compare(number(a), number(b)));
+        return segments;
+    }
+
+    private static int number(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static int crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+}
@@ -4,12 +4,13 @@ import com.educagame.model.GamePhase;
 import com.educagame.model.GameSession;
 import com.educagame.model.GameType;
 import com.educagame.model.Player;
+import com.educagame.model.state.QuizState;
+import com.educagame.model.state.RankingEntry;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Kahoot-style speed quiz game with buzzer mechanics and real-time scoring.
@@ -28,22 +29,17 @@ public class KahootEngine implements GameEngineInterface {
     @Inject
     GameHistoryService gameHistoryService;
 
-    @SuppressWarnings("unchecked")
     public void startGame(GameSession session) {
         if (session.getGameType() != GameType.QUIZ_SPEED || session.getPhase() != GamePhase.LOBBY) return;
         session.setPhase(GamePhase.COUNTDOWN);
         session.setCurrentTurnIndex(0);
         
-        List<Map<String, Object>> questions = dataLoaderService.getQuizQuestions(session.getTheme());
+        List<Map<String, Object>> questions = dataLoaderService.drawQuizQuestions(session);
         if (questions == null) questions = List.of();
-
-        Map<String, Object> payload = new ConcurrentHashMap<>();
-        payload.put("questions", questions);
-        payload.put("questionIndex", 0);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
-        payload.put("roundScores", new ArrayList<Map<String, Object>>());
-        payload.put("buzzOrder", new ArrayList<String>()); // Track buzz order
-        session.setGamePayload(payload);
+        
+        QuizState state = new QuizState(questions);
+        state.resetBuzzOrder(); // Track buzz order
+        session.setGamePayload(state);
         session.setRoundStartedAt(System.currentTimeMillis());
         LOG.infof("Kahoot started in room %s with %d questions", session.getRoomId(), questions.size());
     }
@@ -55,46 +51,42 @@ public class KahootEngine implements GameEngineInterface {
 
     @SuppressWarnings("unchecked")
     private void showQuestion(GameSession session, int index) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
-        List<Map<String, Object>> questions = (List<Map<String, Object>>) payload.get("questions");
+        QuizState state = session.getGamePayload(QuizState.class);
+        if (state == null) return;
+        List<Map<String, Object>> questions = state.getQuestions();
         if (questions == null || index >= questions.size()) {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
             return;
         }
-        payload.put("questionIndex", index);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
-        payload.put("buzzOrder", new ArrayList<String>()); // Reset buzz order for new question
+        state.setQuestionIndex(index);
+        state.resetBuzzOrder(); // Reset buzz order for new question
         Map<String, Object> q = questions.get(index);
-        payload.put("question", q.get("question"));
-        payload.put("options", q.get("options"));
-        payload.put("correctIndex", q.get("correctIndex"));
+        state.setQuestion((String) q.get("question"), (List<String>) q.get("options"),
+                q.get("correctIndex") != null ? ((Number) q.get("correctIndex")).intValue() : null);
         int timeMs = q.get("timeLimitMs") != null ? ((Number) q.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
-        payload.put("timeLimitMs", timeMs);
+        state.startRound(timeMs);
         session.setRoundStartedAt(System.currentTimeMillis());
     }
 
     /**
      * Handle player buzz - first to buzz gets priority in answering.
      */
-    @SuppressWarnings("unchecked")
     public boolean playerBuzz(GameSession session, String connectionId) {
         if (session.getGameType() != GameType.QUIZ_SPEED || session.getPhase() != GamePhase.QUIZ_QUESTION) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        QuizState state = session.getGamePayload(QuizState.class);
+        if (state == null) return false;
         
-        List<String> buzzOrder = (List<String>) payload.get("buzzOrder");
-        if (buzzOrder == null) buzzOrder = new ArrayList<>();
+        if (state.getBuzzOrder() == null) state.resetBuzzOrder();
+        List<String> buzzOrder = state.getBuzzOrder();
         
         // Check if player already buzzed
         if (buzzOrder.contains(connectionId)) return false;
         
         // Add player to buzz order
         buzzOrder.add(connectionId);
-        payload.put("buzzOrder", buzzOrder);
         
         LOG.infof("Player %s buzzed, position: %d", connectionId, buzzOrder.size());
         return true;
@@ -103,31 +95,30 @@ public class KahootEngine implements GameEngineInterface {
     /**
      * Submit answer with speed-based scoring and buzz order consideration.
      */
-    @SuppressWarnings("unchecked")
     public boolean submitAnswer(GameSession session, String connectionId, int answerIndex) {
         if (session.getGameType() != GameType.QUIZ_SPEED || session.getPhase() != GamePhase.QUIZ_QUESTION) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        QuizState state = session.getGamePayload(QuizState.class);
+        if (state == null) return false;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
+        Map<String, QuizState.Response> responses = state.getResponses();
         if (responses.containsKey(connectionId)) return true; // already answered
-
-        Integer correctIdx = payload.get("correctIndex") != null ? ((Number) payload.get("correctIndex")).intValue() : null;
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        
+        Integer correctIdx = state.getCorrectIndex();
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         long started = session.getRoundStartedAt() != null ? session.getRoundStartedAt() : System.currentTimeMillis();
         long now = System.currentTimeMillis();
         long elapsed = Math.min(now - started, timeLimitMs);
         long timeRemaining = Math.max(0, timeLimitMs - elapsed);
-
+        
         // Calculate buzz order bonus
-        List<String> buzzOrder = (List<String>) payload.get("buzzOrder");
+        List<String> buzzOrder = state.getBuzzOrder();
         int buzzPosition = buzzOrder != null ? buzzOrder.indexOf(connectionId) : -1;
         int buzzBonus = buzzPosition >= 0 ? Math.max(0, (5 - buzzPosition) * 100) : 0;
-
+        
+        boolean correct = correctIdx != null && answerIndex == correctIdx;
         int points = 0;
-        if (correctIdx != null && answerIndex == correctIdx) {
+        if (correct) {
             // Speed-based scoring with buzz bonus
             int speedPoints = (int) (BASE_POINTS * timeRemaining / timeLimitMs);
             points = speedPoints + buzzBonus;
@@ -136,17 +127,11 @@ public class KahootEngine implements GameEngineInterface {
             if (buzzPosition == 0) points *= SPEED_BONUS_MULTIPLIER;
             else if (buzzPosition == 1) points = (int) (points * 1.5);
         }
-
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("answerIndex", answerIndex);
-        resp.put("receivedAt", now);
-        resp.put("points", points);
-        resp.put("correct", correctIdx != null && answerIndex == correctIdx);
-        resp.put("buzzPosition", buzzPosition);
-        resp.put("speedBonus", buzzBonus);
-        responses.put(connectionId, resp);
-
-        Player p = session.getPlayers().stream().filter(pl -> pl.getId().equals(connectionId)).findFirst().orElse(null);
+        
+        responses.put(connectionId, new QuizState.Response(answerIndex, now, points, correct, buzzPosition, buzzBonus));
+        state.countAnswer(answerIndex);
+        
+        Player p = session.getPlayer(connectionId);
         if (p != null) p.addScore(points);
         
         LOG.infof("Kahoot answer room=%s player=%s points=%d buzzPos=%d", session.getRoomId(), connectionId, points, buzzPosition);
@@ -156,14 +141,13 @@ public class KahootEngine implements GameEngineInterface {
     /**
      * Check if all players have answered or time is up.
      */
-    @SuppressWarnings("unchecked")
     public boolean shouldEndQuestion(GameSession session) {
         if (session.getGameType() != GameType.QUIZ_SPEED || session.getPhase() != GamePhase.QUIZ_QUESTION) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        QuizState state = session.getGamePayload(QuizState.class);
+        if (state == null) return false;
         
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         long started = session.getRoundStartedAt() != null ? session.getRoundStartedAt() : System.currentTimeMillis();
         long elapsed = System.currentTimeMillis() - started;
         
@@ -171,40 +155,33 @@ public class KahootEngine implements GameEngineInterface {
         boolean timeUp = elapsed >= timeLimitMs;
         if (timeUp) return true;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
-        
         // Check if all non-bot players have answered
-        long nonBotCount = session.getPlayers().stream().filter(p -> !p.isBot()).count();
-        return responses.size() >= nonBotCount;
+        return state.allAnswered(session);
     }
 
     /**
      * Move to next question or end game.
      */
-    @SuppressWarnings("unchecked")
     public void nextQuestion(GameSession session) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
+        QuizState state = session.getGamePayload(QuizState.class);
+        if (state == null) return;
         
-        int idx = payload.get("questionIndex") != null ? ((Number) payload.get("questionIndex")).intValue() : 0;
-        List<Map<String, Object>> questions = (List<Map<String, Object>>) payload.get("questions");
+        int idx = state.getQuestionIndex();
+        List<Map<String, Object>> questions = state.getQuestions();
         
         if (questions != null && idx + 1 < questions.size()) {
             showQuestion(session, idx + 1);
             session.setPhase(GamePhase.QUIZ_QUESTION);
         } else {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
         }
     }
 
-    private List<Map<String, Object>> buildRanking(GameSession session) {
-        return session.getPlayers().stream()
-                .filter(p -> !p.isBot())
-                .sorted((a, b) -> Integer.compare(b.getScore(), a.getScore()))
-                .map(p -> Map.<String, Object>of("id", p.getId(), "name", p.getName(), "score", p.getScore()))
+    private List<RankingEntry> buildRanking(GameSession session) {
+        return session.ranking().stream()
+                .map(RankingEntry::of)
                 .toList();
     }
 
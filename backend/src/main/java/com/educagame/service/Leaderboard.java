@@ -0,0 +1,72 @@
+package com.educagame.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Winner totals for one game type, kept in score order as results arrive: recording a win is
+ * O(log n) and reading the top k is O(k). Players are grouped by name, case-insensitively.
+ * Totals can also be taken back out, which is how a rolling window drops an expired day.
+ */
+final class Leaderboard {
+
+    private record Entry(String key, String name, long score, int games) {}
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::score).reversed()
+            .thenComparing(Entry::key);
+
+    private final Map<String, Entry> byKey = new HashMap<>();
+    private final NavigableSet<Entry> ranked = new TreeSet<>(RANKING);
+
+    synchronized void addWin(String name, int score) {
+        add(name, score, 1);
+    }
+
+    /** Adds (or, with negative values, removes) totals for {@code name}; a player left with no games is dropped. */
+    synchronized void add(String name, long score, int games) {
+        String key = key(name);
+        Entry old = byKey.get(key);
+        if (old != null) ranked.remove(old);
+        Entry updated = old == null
+                ? new Entry(key, name, score, games)
+                : new Entry(key, old.name(), old.score() + score, old.games() + games);
+        if (updated.games() <= 0) {
+            byKey.remove(key);
+            return;
+        }
+        ranked.add(updated);
+        byKey.put(key, updated);
+    }
+
+    /** Takes every total of {@code other} out of this board. */
+    synchronized void subtract(Leaderboard other) {
+        synchronized (other) {
+            for (Entry e : other.ranked) add(e.name(), -e.score(), -e.games());
+        }
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase();
+    }
+
+    synchronized List<Map<String, Object>> top(int limit) {
+        List<Map<String, Object>> top = new ArrayList<>(Math.min(limit, ranked.size()));
+        Iterator<Entry> it = ranked.iterator();
+        while (it.hasNext() && top.size() < limit) {
+            Entry e = it.next();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", e.name());
+            row.put("score", e.score());
+            row.put("games", e.games());
+            top.add(row);
+        }
+        return top;
+    }
+}
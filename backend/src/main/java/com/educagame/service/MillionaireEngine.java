@@ -4,12 +4,13 @@ import com.educagame.model.GamePhase;
 import com.educagame.model.GameSession;
 import com.educagame.model.GameType;
 import com.educagame.model.Player;
+import com.educagame.model.content.MillionaireQuestion;
+import com.educagame.model.state.MillionaireState;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 /**
  * Show do Milhão: 10 levels, lifelines 50:50, Universitários, Skip, prize ladder.
  */
@@ -26,20 +27,11 @@ public class MillionaireEngine implements GameEngineInterface {
     @Inject
     GameHistoryService gameHistoryService;
 
-    @SuppressWarnings("unchecked")
     public void startGame(GameSession session) {
         if (session.getGameType() != GameType.QUIZ_INCREMENTAL || session.getPhase() != GamePhase.LOBBY) return;
         session.setPhase(GamePhase.COUNTDOWN);
         session.setCurrentTurnIndex(0);
-        Map<String, Object> payload = new ConcurrentHashMap<>();
-        payload.put("level", 1);
-        payload.put("guaranteedPrize", 0);
-        payload.put("lifeline50Used", false);
-        payload.put("lifelineUniUsed", false);
-        payload.put("lifelineSkipUsed", false);
-        payload.put("audiencePercents", List.of());
-        payload.put("removedOptions", List.of());
-        session.setGamePayload(payload);
+        session.setGamePayload(new MillionaireState());
         session.setRoundStartedAt(System.currentTimeMillis());
         LOG.infof("Millionaire started in room %s", session.getRoomId());
     }
@@ -49,64 +41,49 @@ public class MillionaireEngine implements GameEngineInterface {
         loadQuestionForLevel(session, 1);
     }
 
-    @SuppressWarnings("unchecked")
     private void loadQuestionForLevel(GameSession session, int level) {
-        List<Map<String, Object>> all = dataLoaderService.getMillionaireQuestions(session.getTheme());
-        if (all == null) all = List.of();
-        List<Map<String, Object>> forLevel = all.stream()
-                .filter(m -> (m.get("level") != null ? ((Number) m.get("level")).intValue() : 1) == level)
-                .toList();
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
-        payload.put("level", level);
-        payload.put("removedOptions", List.of());
-        payload.put("audiencePercents", List.of());
+        List<MillionaireQuestion> forLevel = dataLoaderService.content(session).millionaireQuestions(level);
+        MillionaireState state = session.getGamePayload(MillionaireState.class);
+        if (state == null) return;
         if (forLevel.isEmpty()) {
-            payload.put("question", "Pergunta nível " + level);
-            payload.put("options", List.of("A", "B", "C", "D"));
-            payload.put("correctIndex", 0);
-            payload.put("value", PRIZES[Math.min(level, PRIZES.length - 1)]);
+            state.setQuestion(level, "Pergunta nível " + level, List.of("A", "B", "C", "D"), 0,
+                    PRIZES[Math.min(level, PRIZES.length - 1)]);
         } else {
-            Map<String, Object> q = forLevel.get(random.nextInt(forLevel.size()));
-            payload.put("question", q.get("question"));
-            payload.put("options", q.get("options"));
-            payload.put("correctIndex", q.get("correctIndex"));
-            payload.put("value", q.get("value") != null ? ((Number) q.get("value")).intValue() : PRIZES[Math.min(level, PRIZES.length - 1)]);
+            MillionaireQuestion q = forLevel.get(random.nextInt(forLevel.size()));
+            state.setQuestion(level, q.question(), q.options(), q.correctIndex(),
+                    q.value() != null ? q.value() : PRIZES[Math.min(level, PRIZES.length - 1)]);
         }
         session.setRoundStartedAt(System.currentTimeMillis());
     }
 
-    @SuppressWarnings("unchecked")
     public boolean submitAnswer(GameSession session, String connectionId, int answerIndex) {
         if (session.getGameType() != GameType.QUIZ_INCREMENTAL || session.getPhase() != GamePhase.MILLIONAIRE_QUESTION) return false;
         List<Player> players = session.getPlayers();
         if (players.isEmpty()) return false;
         if (!players.get(0).getId().equals(connectionId)) return false; // single player game, first is the one playing
 
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
-        Integer correctIndex = payload.get("correctIndex") != null ? ((Number) payload.get("correctIndex")).intValue() : null;
-        int level = payload.get("level") != null ? ((Number) payload.get("level")).intValue() : 1;
-        int value = payload.get("value") != null ? ((Number) payload.get("value")).intValue() : PRIZES[level];
-        int guaranteed = payload.get("guaranteedPrize") != null ? ((Number) payload.get("guaranteedPrize")).intValue() : 0;
+        MillionaireState state = session.getGamePayload(MillionaireState.class);
+        if (state == null) return false;
+        Integer correctIndex = state.getCorrectIndex();
+        int level = state.getLevel();
+        int value = state.getValue();
+        int guaranteed = state.getGuaranteedPrize();
 
         if (correctIndex != null && answerIndex == correctIndex) {
             Player p = players.get(0);
             p.setScore(p.getScore() + value);
             if (level >= MAX_LEVEL) {
                 session.setPhase(GamePhase.GAME_END);
-                payload.put("won", true);
-                payload.put("finalPrize", value);
+                state.finish(true, value);
                 gameHistoryService.recordGame(session);
                 LOG.infof("Millionaire won at level %d prize=%d", level, value);
             } else {
-                payload.put("guaranteedPrize", value);
+                state.setGuaranteedPrize(value);
                 loadQuestionForLevel(session, level + 1);
             }
         } else {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("won", false);
-            payload.put("finalPrize", guaranteed);
+            state.finish(false, guaranteed);
             players.get(0).setScore(players.get(0).getScore() + guaranteed);
             gameHistoryService.recordGame(session);
             LOG.infof("Millionaire wrong answer level=%d guaranteed=%d", level, guaranteed);
@@ -114,13 +91,12 @@ public class MillionaireEngine implements GameEngineInterface {
         return true;
     }
 
-    @SuppressWarnings("unchecked")
     public void lifeline50_50(GameSession session, String connectionId) {
         if (session.getGameType() != GameType.QUIZ_INCREMENTAL) return;
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null || Boolean.TRUE.equals(payload.get("lifeline50Used"))) return;
-        List<String> options = (List<String>) payload.get("options");
-        Integer correctIndex = payload.get("correctIndex") != null ? ((Number) payload.get("correctIndex")).intValue() : 0;
+        MillionaireState state = session.getGamePayload(MillionaireState.class);
+        if (state == null || state.isLifeline50Used()) return;
+        List<String> options = state.getOptions();
+        int correctIndex = state.getCorrectIndex() != null ? state.getCorrectIndex() : 0;
         if (options == null || options.size() < 3) return;
 
         List<Integer> toRemove = new ArrayList<>();
@@ -129,17 +105,15 @@ public class MillionaireEngine implements GameEngineInterface {
         }
         Collections.shuffle(toRemove);
         toRemove = toRemove.subList(0, Math.min(2, toRemove.size()));
-        payload.put("lifeline50Used", true);
-        payload.put("removedOptions", toRemove);
+        state.useLifeline50(toRemove.stream().mapToInt(Integer::intValue).toArray());
     }
 
-    @SuppressWarnings("unchecked")
     public void lifelineUni(GameSession session, String connectionId) {
         if (session.getGameType() != GameType.QUIZ_INCREMENTAL) return;
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null || Boolean.TRUE.equals(payload.get("lifelineUniUsed"))) return;
-        List<String> options = (List<String>) payload.get("options");
-        Integer correctIndex = payload.get("correctIndex") != null ? ((Number) payload.get("correctIndex")).intValue() : 0;
+        MillionaireState state = session.getGamePayload(MillionaireState.class);
+        if (state == null || state.isLifelineUniUsed()) return;
+        List<String> options = state.getOptions();
+        int correctIndex = state.getCorrectIndex() != null ? state.getCorrectIndex() : 0;
         if (options == null || options.size() == 0) return;
 
         int[] percents = new int[options.size()];
@@ -151,18 +125,15 @@ public class MillionaireEngine implements GameEngineInterface {
         }
         int remainder = 100 - (correctShare + (options.size() - 1) * (rest / Math.max(1, options.size() - 1)));
         if (correctIndex >= 0 && correctIndex < percents.length) percents[correctIndex] += remainder;
-        payload.put("lifelineUniUsed", true);
-        payload.put("audiencePercents", Arrays.stream(percents).boxed().toList());
+        state.useLifelineUni(percents);
     }
 
-    @SuppressWarnings("unchecked")
     public void lifelineSkip(GameSession session, String connectionId) {
         if (session.getGameType() != GameType.QUIZ_INCREMENTAL) return;
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null || Boolean.TRUE.equals(payload.get("lifelineSkipUsed"))) return;
-        int level = payload.get("level") != null ? ((Number) payload.get("level")).intValue() : 1;
-        payload.put("lifelineSkipUsed", true);
-        loadQuestionForLevel(session, level);
+        MillionaireState state = session.getGamePayload(MillionaireState.class);
+        if (state == null || state.isLifelineSkipUsed()) return;
+        state.useLifelineSkip();
+        loadQuestionForLevel(session, state.getLevel());
     }
 
     @Override
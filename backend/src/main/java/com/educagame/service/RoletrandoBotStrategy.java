@@ -0,0 +1,83 @@
+package com.educagame.service;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.WsOutbound;
+import com.educagame.model.state.RoletrandoState;
+import com.educagame.resource.GameBroadcaster;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Roletrando bots: spin when it is their turn, then guess likely letters (vowels and common
+ * consonants first) and sometimes try to solve short phrases.
+ */
+@ApplicationScoped
+public class RoletrandoBotStrategy implements BotStrategy {
+
+    private static final String COMMON_LETTERS = "AEIOURSTNM";
+
+    @Inject
+    RoletrandoEngine roletrandoEngine;
+    @Inject
+    GameBroadcaster broadcaster;
+
+    @Override
+    public Set<GameType> getSupportedGameTypes() {
+        return Set.of(GameType.ROLETRANDO);
+    }
+
+    @Override
+    public boolean wantsToAct(GameSession session, Player bot) {
+        GamePhase phase = session.getPhase();
+        if (phase != GamePhase.PLAYING && phase != GamePhase.GUESSING) return false;
+        List<Player> players = session.getPlayers();
+        if (players.isEmpty()) return false;
+        return players.get(session.getCurrentTurnIndex() % players.size()).getId().equals(bot.getId());
+    }
+
+    @Override
+    public long thinkTimeMs(GameSession session, Player bot) {
+        return 1500 + ThreadLocalRandom.current().nextInt(2500);
+    }
+
+    @Override
+    public boolean act(GameSession session, Player bot) {
+        String botId = bot.getId();
+        if (session.getPhase() == GamePhase.PLAYING) {
+            Map<String, Object> spinResult = roletrandoEngine.spinWheel(session, botId);
+            if (spinResult == null) return false;
+            broadcaster.broadcastToRoom(session.getRoomId(), WsOutbound.event("WHEEL_SPUN", spinResult));
+            return true;
+        }
+
+        RoletrandoState state = session.getGamePayload(RoletrandoState.class);
+        if (state == null || state.getPhrase() == null) return false;
+        String phrase = state.getPhrase();
+        Set<String> revealed = state.getRevealed();
+
+        for (int i = 0; i < COMMON_LETTERS.length(); i++) {
+            char c = COMMON_LETTERS.charAt(i);
+            if (!revealed.contains(String.valueOf(c)) && phrase.indexOf(c) >= 0) {
+                return roletrandoEngine.processGuess(session, botId, c);
+            }
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            if (!revealed.contains(String.valueOf(c)) && phrase.indexOf(c) >= 0) {
+                return roletrandoEngine.processGuess(session, botId, c);
+            }
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextBoolean() && phrase.length() <= 12) {
+            return roletrandoEngine.processSolve(session, botId, phrase);
+        }
+        return roletrandoEngine.processGuess(session, botId, (char) ('A' + random.nextInt(26)));
+    }
+}
@@ -4,13 +4,15 @@ import com.educagame.model.GamePhase;
 import com.educagame.model.GameSession;
 import com.educagame.model.GameType;
 import com.educagame.model.Player;
+import com.educagame.model.content.ThemeContent;
+import com.educagame.model.content.WheelSegment;
+import com.educagame.model.state.RoletrandoState;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.text.Normalizer;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Roletrando (Roda a Roda) game logic: wheel, GUESS, SOLVE, Lucky Spin, turn validation.
@@ -19,9 +21,6 @@ import java.util.concurrent.ConcurrentHashMap;
 public class RoletrandoEngine implements GameEngineInterface {
 
     private static final Logger LOG = Logger.getLogger(RoletrandoEngine.class);
-    private static final int MAX_BOTS = 3;
-    private static final String SEGMENT_TYPE = "type";
-    private static final String NORMAL = "NORMAL";
     private static final String LOSE_TURN = "LOSE_TURN";
     private static final String LOSE_ALL = "LOSE_ALL";
     private static final String BONUS = "BONUS";
@@ -33,7 +32,6 @@ public class RoletrandoEngine implements GameEngineInterface {
     @Inject
     GameHistoryService gameHistoryService;
 
-    @SuppressWarnings("unchecked")
     public void startGame(GameSession session) {
         if (session.getGameType() != GameType.ROLETRANDO || session.getPhase() != GamePhase.LOBBY) return;
         session.setPhase(GamePhase.COUNTDOWN);
@@ -44,32 +42,15 @@ public class RoletrandoEngine implements GameEngineInterface {
         String phrase = phrases.isEmpty() ? "BRASIL" : phrases.get(random.nextInt(phrases.size())).toUpperCase(Locale.ROOT);
         phrase = normalize(phrase);
 
-        int humanCount = (int) session.getPlayers().stream().filter(p -> !p.isBot()).count();
-        if (humanCount < 3) {
-            int toAdd = Math.min(MAX_BOTS - humanCount, 3 - session.getPlayers().size());
-            for (int i = 0; i < toAdd; i++) {
-                Player bot = new Player("bot-" + UUID.randomUUID().toString().substring(0, 6), "Bot " + (i + 1), true);
-                session.addPlayer(bot);
-            }
-        }
-
-        Map<String, Object> payload = new ConcurrentHashMap<>();
-        payload.put("phrase", phrase);
-        payload.put("revealed", new HashSet<String>());
-        session.setGamePayload(payload);
+        session.setGamePayload(new RoletrandoState(phrase));
         session.setRoundStartedAt(System.currentTimeMillis());
         LOG.infof("Roletrando started in room %s phrase=%s", session.getRoomId(), phrase);
     }
 
     public void transitionToPlaying(GameSession session) {
         session.setPhase(GamePhase.PLAYING);
-        @SuppressWarnings("unchecked")
-        Map<String, Object> payload = session.getGamePayload() != null ? (Map<String, Object>) session.getGamePayload() : new HashMap<>();
-        payload.remove("segmentIndex");
-        payload.remove("segment");
-        payload.remove("segmentType");
-        payload.remove("segmentValue");
-        session.setGamePayload(payload);
+        RoletrandoState state = session.getGamePayload(RoletrandoState.class);
+        if (state != null) state.clearSegment();
     }
 
     /** Returns map with segmentIndex and segment for broadcast; null if invalid. */
@@ -81,21 +62,17 @@ public class RoletrandoEngine implements GameEngineInterface {
         if (!players.get(turnIdx).getId().equals(connectionId)) return null;
         if (session.getPhase() != GamePhase.PLAYING) return null;
 
-        List<Map<String, Object>> segments = dataLoaderService.getWheelSegments(session.getTheme());
-        if (segments == null || segments.isEmpty()) return null;
-        int index = random.nextInt(segments.size());
-        Map<String, Object> segment = segments.get(index);
-        String type = segment.get(SEGMENT_TYPE) != null ? String.valueOf(segment.get(SEGMENT_TYPE)) : NORMAL;
-        int value = segment.get("value") != null ? ((Number) segment.get("value")).intValue() : 0;
+        ThemeContent content = dataLoaderService.content(session);
+        if (content.wheelSize() == 0) return null;
+        int index = random.nextInt(content.wheelSize());
+        WheelSegment segment = content.wheelSegment(index);
+        String type = segment.type();
+        int value = segment.value();
 
+        RoletrandoState state = session.getGamePayload(RoletrandoState.class);
+        if (state == null) return null;
         session.setPhase(GamePhase.SPINNING);
-        @SuppressWarnings("unchecked")
-        Map<String, Object> payload = session.getGamePayload() != null ? (Map<String, Object>) session.getGamePayload() : new HashMap<>();
-        payload.put("segmentIndex", index);
-        payload.put("segment", segment);
-        payload.put("segmentType", type);
-        payload.put("segmentValue", value);
-        session.setGamePayload(payload);
+        state.setSegment(index, segment, type, value);
         session.setRoundStartedAt(System.currentTimeMillis());
 
         Map<String, Object> result = Map.of("segmentIndex", index, "segment", segment);
@@ -116,15 +93,10 @@ public class RoletrandoEngine implements GameEngineInterface {
             players.get(idx).setScore(0);
             LOG.infof("Player %s lost all points", players.get(idx).getName());
         }
-        session.setCurrentTurnIndex((idx + 1) % players.size());
+        session.setCurrentTurnIndex(nextTurn(players, idx));
         session.setPhase(GamePhase.PLAYING);
-        @SuppressWarnings("unchecked")
-        Map<String, Object> payload = session.getGamePayload() != null ? (Map<String, Object>) session.getGamePayload() : new HashMap<>();
-        payload.remove("segmentIndex");
-        payload.remove("segment");
-        payload.remove("segmentType");
-        payload.remove("segmentValue");
-        session.setGamePayload(payload);
+        RoletrandoState state = session.getGamePayload(RoletrandoState.class);
+        if (state != null) state.clearSegment();
     }
 
     /** Returns true if guess was valid and applied. */
@@ -134,14 +106,11 @@ public class RoletrandoEngine implements GameEngineInterface {
         int turnIdx = session.getCurrentTurnIndex() % players.size();
         if (!players.get(turnIdx).getId().equals(connectionId)) return false;
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
-        String phrase = (String) payload.get("phrase");
-        @SuppressWarnings("unchecked")
-        Set<String> revealedSet = (Set<String>) payload.get("revealed");
-        if (revealedSet == null) revealedSet = new HashSet<>();
-        int segmentValue = payload.get("segmentValue") != null ? ((Number) payload.get("segmentValue")).intValue() : 0;
+        RoletrandoState state = session.getGamePayload(RoletrandoState.class);
+        if (state == null) return false;
+        String phrase = state.getPhrase();
+        Set<String> revealedSet = state.getRevealed();
+        int segmentValue = state.getSegmentValue() != null ? state.getSegmentValue() : 0;
 
         char upper = Character.toUpperCase(letter);
         if (!Character.isLetter(upper)) return false;
@@ -154,22 +123,18 @@ public class RoletrandoEngine implements GameEngineInterface {
         }
         if (count > 0) {
             revealedSet.add(letterStr);
-            payload.put("revealed", revealedSet);
             int points = segmentValue * count;
             players.get(turnIdx).addScore(points);
             if (allRevealed(phrase, revealedSet)) {
                 session.setPhase(GamePhase.GAME_END);
-                payload.put("solvedBy", players.get(turnIdx).getName());
+                state.setSolvedBy(players.get(turnIdx).getName());
                 gameHistoryService.recordGame(session);
             }
             LOG.infof("Guess %c count=%d points=%d", upper, count, points);
         } else {
-            session.setCurrentTurnIndex((turnIdx + 1) % players.size());
+            session.setCurrentTurnIndex(nextTurn(players, turnIdx));
             session.setPhase(GamePhase.PLAYING);
-            payload.remove("segmentIndex");
-            payload.remove("segment");
-            payload.remove("segmentType");
-            payload.remove("segmentValue");
+            state.clearSegment();
         }
         return true;
     }
@@ -181,13 +146,10 @@ public class RoletrandoEngine implements GameEngineInterface {
         int turnIdx = session.getCurrentTurnIndex() % players.size();
         if (!players.get(turnIdx).getId().equals(connectionId)) return false;
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
-        String phrase = (String) payload.get("phrase");
-        @SuppressWarnings("unchecked")
-        Set<String> revealedSet = (Set<String>) payload.get("revealed");
-        if (revealedSet == null) revealedSet = new HashSet<>();
+        RoletrandoState state = session.getGamePayload(RoletrandoState.class);
+        if (state == null) return false;
+        String phrase = state.getPhrase();
+        Set<String> revealedSet = state.getRevealed();
 
         String normalized = normalize(attempt.trim().toUpperCase(Locale.ROOT));
         if (normalized.equals(phrase)) {
@@ -198,22 +160,47 @@ public class RoletrandoEngine implements GameEngineInterface {
             int bonus = 1000 * Math.max(0, hidden);
             players.get(turnIdx).addScore(bonus);
             session.setPhase(GamePhase.GAME_END);
-            payload.put("solvedBy", players.get(turnIdx).getName());
+            state.setSolvedBy(players.get(turnIdx).getName());
             gameHistoryService.recordGame(session);
             LOG.infof("Solve correct bonus=%d", bonus);
         } else {
             players.get(turnIdx).setScore(0);
-            session.setCurrentTurnIndex((turnIdx + 1) % players.size());
+            session.setCurrentTurnIndex(nextTurn(players, turnIdx));
             session.setPhase(GamePhase.PLAYING);
-            payload.remove("segmentIndex");
-            payload.remove("segment");
-            payload.remove("segmentType");
-            payload.remove("segmentValue");
+            state.clearSegment();
             LOG.infof("Solve wrong, player score zeroed");
         }
         return true;
     }
 
+    /**
+     * Passes the turn on when its player has dropped (or the turn index now points at someone
+     * who has), undoing a spin they had not guessed on yet. Returns true if the session changed.
+     */
+    public boolean passTurnIfAway(GameSession session) {
+        if (session.getGameType() != GameType.ROLETRANDO) return false;
+        GamePhase phase = session.getPhase();
+        if (phase != GamePhase.PLAYING && phase != GamePhase.SPINNING && phase != GamePhase.GUESSING) return false;
+        List<Player> players = session.getPlayers();
+        if (players.isEmpty()) return false;
+        int turnIdx = session.getCurrentTurnIndex() % players.size();
+        if (players.get(turnIdx).isConnected()) return false;
+        session.setCurrentTurnIndex(nextTurn(players, turnIdx));
+        session.setPhase(GamePhase.PLAYING);
+        RoletrandoState state = session.getGamePayload(RoletrandoState.class);
+        if (state != null) state.clearSegment();
+        return true;
+    }
+
+    /** The next connected player after {@code from}; players waiting out the resume grace are skipped. */
+    private static int nextTurn(List<Player> players, int from) {
+        for (int step = 1; step <= players.size(); step++) {
+            int i = (from + step) % players.size();
+            if (players.get(i).isConnected()) return i;
+        }
+        return (from + 1) % players.size();
+    }
+
     private boolean allRevealed(String phrase, Set<String> revealed) {
         for (int i = 0; i < phrase.length(); i++) {
             if (phrase.charAt(i) != ' ' && !revealed.contains(String.valueOf(phrase.charAt(i)))) return false;
@@ -221,7 +208,7 @@ public class RoletrandoEngine implements GameEngineInterface {
         return true;
     }
 
-    private static String normalize(String s) {
+    static String normalize(String s) {
         if (s == null) return "";
         String n = Normalizer.normalize(s, Normalizer.Form.NFD);
         StringBuilder sb = new StringBuilder();
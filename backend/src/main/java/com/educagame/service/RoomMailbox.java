@@ -0,0 +1,122 @@
+package com.educagame.service;
+
+import org.jboss.logging.Logger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every command that touches a room's {@link com.educagame.model.GameSession} one at a time,
+ * in submission order: WebSocket handlers, clock deadlines and bot turns. A room's commands
+ * never overlap, so engines mutate session state without locks; different rooms drain in
+ * parallel on a small shared pool. A busy room yields its thread after {@link #BATCH} commands.
+ */
+@ApplicationScoped
+public class RoomMailbox {
+
+    private static final Logger LOG = Logger.getLogger(RoomMailbox.class);
+    static final int BATCH = 64;
+
+    private final Map<String, Mailbox> rooms = new ConcurrentHashMap<>();
+    private ExecutorService workers;
+
+    /**
+     * Pending commands of one room; {@code scheduled} is set while a drain is queued or running.
+     * Commands are added inside the map's {@code compute} for the room, so a mailbox is only ever
+     * unmapped while it is idle and empty (see {@link #retireIfIdle}).
+     */
+    private final class Mailbox implements Runnable {
+        final String roomId;
+        final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean forgotten; // room closed: unmap once the last queued command has run
+
+        Mailbox(String roomId) {
+            this.roomId = roomId;
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) workers.execute(this);
+        }
+
+        boolean idle() {
+            return !scheduled.get() && queue.isEmpty();
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < BATCH; i++) {
+                Runnable command = queue.poll();
+                if (command == null) break;
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    LOG.warnf(e, "Command failed in room %s", roomId);
+                }
+            }
+            scheduled.set(false);
+            // Commands offered after the last poll saw scheduled=true and did not reschedule.
+            if (!queue.isEmpty()) schedule();
+            else if (forgotten) retireIfIdle(this);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        AtomicInteger n = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "room-mailbox-" + n.incrementAndGet());
+            t.setDaemon(true);
+            t.setContextClassLoader(loader);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdown();
+    }
+
+    /** Queues a command for the room; it runs after every command submitted to that room before it. */
+    public void submit(String roomId, Runnable command) {
+        Mailbox box = rooms.compute(roomId, (id, existing) -> {
+            Mailbox b = existing != null ? existing : new Mailbox(id);
+            b.queue.add(command);
+            return b;
+        });
+        box.schedule();
+    }
+
+    /**
+     * Drops the room's mailbox once the room is gone. Usually called from the room's own drain, so
+     * the mailbox stays mapped until its queued commands have run; anything submitted meanwhile
+     * still lands in it, and a second mailbox never drains the same room at the same time.
+     */
+    public void forgetRoom(String roomId) {
+        Mailbox box = rooms.get(roomId);
+        if (box == null) return;
+        box.forgotten = true;
+        retireIfIdle(box);
+    }
+
+    /** Unmaps {@code box} if it is still the room's mailbox and has nothing queued or running. */
+    private void retireIfIdle(Mailbox box) {
+        rooms.computeIfPresent(box.roomId, (id, current) -> current == box && box.idle() ? null : current);
+    }
+
+    /** Mailboxes currently mapped; for tests. */
+    int roomCount() {
+        return rooms.size();
+    }
+}
@@ -13,26 +13,55 @@ import java.util.stream.Collectors;
 
 /**
  * Thread-safe manager of game rooms. Single source of truth for session lifecycle.
+ * A player who drops keeps their place (and score) while disconnected: a resume token issued at
+ * JOIN lets a new connection take the player over until the grace period expires.
  */
 @ApplicationScoped
 public class RoomManager {
 
     private static final Logger LOG = Logger.getLogger(RoomManager.class);
     private static final int MAX_PLAYERS = 10;
+    /** Cap of a large room (auditorium quiz); see {@link GameSession#isLargeRoom}. */
+    private static final int LARGE_ROOM_MAX_PLAYERS = 5000;
+    private static final Set<GameType> LARGE_ROOM_TYPES = EnumSet.of(GameType.QUIZ_SPEED, GameType.BINARY_DECISION, GameType.BUZZER);
     private static final int ROOM_ID_LENGTH = 8;
 
     private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
     private final Map<String, Set<String>> roomConnections = new ConcurrentHashMap<>(); // roomId -> connectionIds
+    private final Map<String, String> connectionRooms = new ConcurrentHashMap<>(); // connectionId -> roomId
+    private final Map<String, String> resumeTokens = new ConcurrentHashMap<>(); // token -> connectionId
+    private final Map<String, String> playerTokens = new ConcurrentHashMap<>(); // connectionId -> token
+    private final Map<String, Long> disconnectedAt = new ConcurrentHashMap<>(); // connectionId -> stamp of the last drop
 
     public GameSession createRoom(String theme, GameType gameType, boolean isPrivate) {
+        return createRoom(theme, gameType, isPrivate, false);
+    }
+
+    /**
+     * Creates a room; a large room takes up to {@value #LARGE_ROOM_MAX_PLAYERS} players and only
+     * exists for the game types where everyone answers the same question ({@link #supportsLargeRoom}).
+     */
+    public GameSession createRoom(String theme, GameType gameType, boolean isPrivate, boolean largeRoom) {
+        if (largeRoom && !supportsLargeRoom(gameType)) {
+            throw new IllegalArgumentException("Large rooms are not supported for " + gameType);
+        }
         String roomId = isPrivate ? generateRoomId() : UUID.randomUUID().toString().substring(0, ROOM_ID_LENGTH);
         GameSession session = new GameSession(roomId, theme != null ? theme : "default", gameType, null);
+        session.setLargeRoom(largeRoom);
         sessions.put(roomId, session);
         roomConnections.put(roomId, ConcurrentHashMap.newKeySet());
-        LOG.infof("Room created: %s theme=%s gameType=%s", roomId, session.getTheme(), gameType);
+        LOG.infof("Room created: %s theme=%s gameType=%s large=%s", roomId, session.getTheme(), gameType, largeRoom);
         return session;
     }
 
+    public static boolean supportsLargeRoom(GameType gameType) {
+        return LARGE_ROOM_TYPES.contains(gameType);
+    }
+
+    public static int maxPlayers(GameSession session) {
+        return session.isLargeRoom() ? LARGE_ROOM_MAX_PLAYERS : MAX_PLAYERS;
+    }
+
     public Optional<GameSession> getSession(String roomId) {
         return Optional.ofNullable(sessions.get(roomId));
     }
@@ -43,39 +72,119 @@ public class RoomManager {
             LOG.warnf("Join failed: room %s not found", roomId);
             return false;
         }
-        if (session.getPlayers().stream().anyMatch(p -> p.getId().equals(connectionId))) {
-            roomConnections.computeIfAbsent(roomId, k -> ConcurrentHashMap.newKeySet()).add(connectionId);
+        if (session.getPlayer(connectionId) != null) {
+            index(roomId, connectionId);
             LOG.debugf("Join ignored (already joined): conn=%s room=%s", connectionId, roomId);
             return true;
         }
-        if (session.getPlayers().size() >= MAX_PLAYERS) {
+        if (session.getPlayerCount() >= maxPlayers(session)) {
             LOG.warnf("Join failed: room %s full", roomId);
             return false;
         }
         Player player = new Player(connectionId, playerName);
-        boolean isFirst = session.getPlayers().isEmpty();
+        boolean isFirst = session.getPlayerCount() == 0;
         if (isFirst) session.setHostConnectionId(connectionId);
         player.setHost(isFirst);
         session.addPlayer(player);
-        roomConnections.computeIfAbsent(roomId, k -> ConcurrentHashMap.newKeySet()).add(connectionId);
+        index(roomId, connectionId);
         LOG.infof("Player %s joined room %s", playerName, roomId);
         return true;
     }
 
+    /**
+     * Adds the connection to the room's set and points the reverse index at the room, inside the
+     * room entry's lock so both maps change together. A connection that switches rooms drops out
+     * of the previous room's set.
+     */
+    private void index(String roomId, String connectionId) {
+        roomConnections.compute(roomId, (k, set) -> {
+            Set<String> s = set != null ? set : ConcurrentHashMap.newKeySet();
+            s.add(connectionId);
+            String previous = connectionRooms.put(connectionId, roomId);
+            if (previous != null && !previous.equals(roomId)) {
+                Set<String> old = roomConnections.get(previous);
+                if (old != null) old.remove(connectionId);
+            }
+            return s;
+        });
+    }
+
+    /** The player's resume token, issued on first call; null if the connection is in no room. */
+    public String issueResumeToken(String connectionId) {
+        if (!connectionRooms.containsKey(connectionId)) return null;
+        return playerTokens.computeIfAbsent(connectionId, id -> {
+            String token = UUID.randomUUID().toString();
+            resumeTokens.put(token, id);
+            return token;
+        });
+    }
+
+    /** Room of the player holding {@code token}, or null for an unknown or expired token. */
+    public String resumeRoom(String token) {
+        String connectionId = token != null ? resumeTokens.get(token) : null;
+        return connectionId != null ? connectionRooms.get(connectionId) : null;
+    }
+
+    /**
+     * Hands the player holding {@code token} to a new connection and marks them connected again.
+     * Returns the player's id, which the new connection takes over, or null if the token is
+     * unknown or the grace period already ran out.
+     */
+    public String resumePlayer(String token) {
+        String connectionId = token != null ? resumeTokens.get(token) : null;
+        if (connectionId == null) return null;
+        GameSession session = sessions.get(connectionRooms.getOrDefault(connectionId, ""));
+        if (session == null || session.getPlayer(connectionId) == null) return null;
+        disconnectedAt.remove(connectionId);
+        session.setPlayerConnected(connectionId, true);
+        LOG.infof("Player %s resumed in room %s", connectionId, session.getRoomId());
+        return connectionId;
+    }
+
+    /**
+     * Marks the player disconnected without removing them. Returns the stamp to hand to
+     * {@link #expire} once the grace period is over, or 0 if the connection was in no room.
+     */
+    public long markDisconnected(String connectionId) {
+        String roomId = connectionRooms.get(connectionId);
+        GameSession session = roomId != null ? sessions.get(roomId) : null;
+        if (session == null) return 0;
+        session.setPlayerConnected(connectionId, false);
+        session.handOverHost();
+        long at = System.nanoTime();
+        disconnectedAt.put(connectionId, at);
+        return at;
+    }
+
+    /**
+     * Removes a player still disconnected since {@code stamp}; a player who resumed (and maybe
+     * dropped again later) is left alone. Returns true if the player left.
+     */
+    public boolean expire(String connectionId, long stamp) {
+        if (!disconnectedAt.remove(connectionId, stamp)) return false;
+        leaveRoom(connectionId);
+        return true;
+    }
+
+    /** O(1): finds the connection's room through the reverse index instead of scanning every room. */
     public void leaveRoom(String connectionId) {
-        for (Map.Entry<String, Set<String>> e : roomConnections.entrySet()) {
-            if (e.getValue().remove(connectionId)) {
-                GameSession session = sessions.get(e.getKey());
-                if (session != null) {
-                    session.setPlayerConnected(connectionId, false);
-                    session.removePlayer(connectionId);
-                    if (session.getPlayers().isEmpty()) {
-                        sessions.remove(e.getKey());
-                        roomConnections.remove(e.getKey());
-                        LOG.infof("Room %s removed (empty)", e.getKey());
-                    }
-                }
-                return;
+        String token = playerTokens.remove(connectionId);
+        if (token != null) resumeTokens.remove(token);
+        disconnectedAt.remove(connectionId);
+        String roomId = connectionRooms.remove(connectionId);
+        if (roomId == null) return;
+        Set<String> connections = roomConnections.get(roomId);
+        if (connections != null) connections.remove(connectionId);
+        GameSession session = sessions.get(roomId);
+        if (session != null) {
+            session.setPlayerConnected(connectionId, false);
+            session.removePlayer(connectionId);
+            if (!session.hasHumans()) {
+                sessions.remove(roomId);
+                roomConnections.remove(roomId);
+                LOG.infof("Room %s removed (no humans left)", roomId);
+            } else {
+                session.handOverHost();
             }
         }
     }
@@ -85,6 +194,26 @@ public class RoomManager {
         return set == null ? Set.of() : new HashSet<>(set);
     }
 
+    /** Open rooms of {@code type}; scans every room, meant for metrics scrapes rather than hot paths. */
+    public int countRooms(GameType type) {
+        int n = 0;
+        for (GameSession session : sessions.values()) {
+            if (session.getGameType() == type) n++;
+        }
+        return n;
+    }
+
+    /** Connections joined to rooms of {@code type}; same cost as {@link #countRooms}. */
+    public int countConnections(GameType type) {
+        int n = 0;
+        for (GameSession session : sessions.values()) {
+            if (session.getGameType() != type) continue;
+            Set<String> set = roomConnections.get(session.getRoomId());
+            if (set != null) n += set.size();
+        }
+        return n;
+    }
+
     public List<Room> listPublicRooms() {
         return sessions.values().stream()
                 .filter(s -> !isPrivateRoom(s.getRoomId()))
@@ -92,8 +221,8 @@ public class RoomManager {
                         s.getRoomId(),
                         s.getTheme(),
                         s.getGameType(),
-                        s.getPlayers().size(),
-                        MAX_PLAYERS,
+                        s.getPlayerCount(),
+                        maxPlayers(s),
                         false
                 ))
                 .collect(Collectors.toList());
@@ -0,0 +1,125 @@
+package com.educagame.service;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.state.BinaryState;
+import com.educagame.model.state.BuzzerState;
+import com.educagame.model.state.DetectiveState;
+import com.educagame.model.state.QuizState;
+import com.educagame.model.state.RoundState;
+import com.educagame.model.state.SensoryState;
+import com.educagame.model.state.SequencingState;
+import com.educagame.model.state.SurvivalState;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bots for the games where every player answers each round once: they answer after a short
+ * pause and are right about {@link #ACCURACY_PERCENT}% of the time. Buzzer bots buzz first and
+ * answer only if they won the buzz.
+ */
+@ApplicationScoped
+public class RoundBotStrategy implements BotStrategy {
+
+    private static final int ACCURACY_PERCENT = 60;
+
+    @Inject
+    QuizEngine quizEngine;
+    @Inject
+    SurvivalEngine survivalEngine;
+    @Inject
+    SequencingEngine sequencingEngine;
+    @Inject
+    DetectiveEngine detectiveEngine;
+    @Inject
+    BuzzerEngine buzzerEngine;
+    @Inject
+    SensoryEngine sensoryEngine;
+    @Inject
+    BinaryEngine binaryEngine;
+
+    @Override
+    public Set<GameType> getSupportedGameTypes() {
+        return Set.of(GameType.QUIZ_SPEED, GameType.SURVIVAL, GameType.SEQUENCING, GameType.DETECTIVE,
+                GameType.BUZZER, GameType.SENSORY, GameType.BINARY_DECISION);
+    }
+
+    @Override
+    public boolean wantsToAct(GameSession session, Player bot) {
+        GamePhase expected = session.getGameType() == GameType.QUIZ_SPEED ? GamePhase.QUIZ_QUESTION : GamePhase.PLAYING;
+        if (session.getPhase() != expected) return false;
+        if (!(session.getGamePayload() instanceof RoundState<?> round) || round.getResponses().containsKey(bot.getId())) return false;
+        if (round instanceof BuzzerState buzzer) {
+            return buzzer.getCurrentBuzzWinner() == null || buzzer.getCurrentBuzzWinner().equals(bot.getId());
+        }
+        if (round instanceof SurvivalState survival) {
+            return !survival.getEliminatedPlayers().contains(bot.getId());
+        }
+        return true;
+    }
+
+    @Override
+    public long thinkTimeMs(GameSession session, Player bot) {
+        return 2000 + ThreadLocalRandom.current().nextInt(4000);
+    }
+
+    @Override
+    public boolean act(GameSession session, Player bot) {
+        String botId = bot.getId();
+        boolean right = ThreadLocalRandom.current().nextInt(100) < ACCURACY_PERCENT;
+        return switch (session.getGameType()) {
+            case QUIZ_SPEED -> {
+                QuizState s = session.getGamePayload(QuizState.class);
+                yield s != null && quizEngine.submitAnswer(session, botId, pick(s.getCorrectIndex(), s.getOptions(), right));
+            }
+            case SURVIVAL -> {
+                SurvivalState s = session.getGamePayload(SurvivalState.class);
+                yield s != null && survivalEngine.submitAnswer(session, botId, right ? s.getOriginalPhrase() : "?");
+            }
+            case SEQUENCING -> {
+                SequencingState s = session.getGamePayload(SequencingState.class);
+                yield s != null && s.getOriginalItems() != null
+                        && sequencingEngine.submitSequence(session, botId, order(right ? s.getOriginalItems() : s.getShuffledItems()));
+            }
+            case DETECTIVE -> {
+                DetectiveState s = session.getGamePayload(DetectiveState.class);
+                yield s != null && s.getAnswer() != null && detectiveEngine.submitAnswer(session, botId, right ? s.getAnswer() : "?");
+            }
+            case SENSORY -> {
+                SensoryState s = session.getGamePayload(SensoryState.class);
+                yield s != null && s.getAnswer() != null && sensoryEngine.submitAnswer(session, botId, right ? s.getAnswer() : "?");
+            }
+            case BINARY_DECISION -> {
+                BinaryState s = session.getGamePayload(BinaryState.class);
+                yield s != null && binaryEngine.submitDecision(session, botId, right == s.isTrue());
+            }
+            case BUZZER -> {
+                BuzzerState s = session.getGamePayload(BuzzerState.class);
+                if (s == null) yield false;
+                if (s.getCurrentBuzzWinner() == null) yield buzzerEngine.playerBuzz(session, botId);
+                yield buzzerEngine.submitAnswer(session, botId, pick(s.getCorrectIndex(), s.getOptions(), right));
+            }
+            default -> false;
+        };
+    }
+
+    private static int pick(Integer correctIndex, List<String> options, boolean right) {
+        int count = options != null && !options.isEmpty() ? options.size() : 4;
+        if (right && correctIndex != null) return correctIndex;
+        return ThreadLocalRandom.current().nextInt(count);
+    }
+
+    private static List<String> order(List<Map<String, Object>> items) {
+        List<String> ids = new ArrayList<>();
+        for (Map<String, Object> item : items) ids.add(String.valueOf(item.get("id")));
+        return ids;
+    }
+}
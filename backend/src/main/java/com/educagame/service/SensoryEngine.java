@@ -4,12 +4,13 @@ import com.educagame.model.GamePhase;
 import com.educagame.model.GameSession;
 import com.educagame.model.GameType;
 import com.educagame.model.Player;
+import com.educagame.model.state.RankingEntry;
+import com.educagame.model.state.SensoryState;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Sensory game - Identify sounds, voices, or distorted images.
@@ -28,7 +29,6 @@ public class SensoryEngine implements GameEngineInterface {
     @Inject
     GameHistoryService gameHistoryService;
 
-    @SuppressWarnings("unchecked")
     public void startGame(GameSession session) {
         if (session.getGameType() != GameType.SENSORY || session.getPhase() != GamePhase.LOBBY) return;
         session.setPhase(GamePhase.COUNTDOWN);
@@ -37,12 +37,7 @@ public class SensoryEngine implements GameEngineInterface {
         List<Map<String, Object>> sensoryItems = dataLoaderService.getSensoryItems(session.getTheme());
         if (sensoryItems == null) sensoryItems = createDefaultSensoryItems();
 
-        Map<String, Object> payload = new ConcurrentHashMap<>();
-        payload.put("sensoryItems", sensoryItems);
-        payload.put("itemIndex", 0);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
-        payload.put("roundScores", new ArrayList<Map<String, Object>>());
-        session.setGamePayload(payload);
+        session.setGamePayload(new SensoryState(sensoryItems));
         session.setRoundStartedAt(System.currentTimeMillis());
         LOG.infof("Sensory game started in room %s with %d items", session.getRoomId(), sensoryItems.size());
     }
@@ -54,37 +49,31 @@ public class SensoryEngine implements GameEngineInterface {
 
     @SuppressWarnings("unchecked")
     private void showSensoryItem(GameSession session, int index) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
-        List<Map<String, Object>> sensoryItems = (List<Map<String, Object>>) payload.get("sensoryItems");
+        SensoryState state = session.getGamePayload(SensoryState.class);
+        if (state == null) return;
+        List<Map<String, Object>> sensoryItems = state.getSensoryItems();
         if (sensoryItems == null || index >= sensoryItems.size()) {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
             return;
         }
         
-        payload.put("itemIndex", index);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
+        state.setItemIndex(index);
         
         Map<String, Object> item = sensoryItems.get(index);
         String sensoryType = (String) item.get("type"); // "sound", "image", "voice"
         String answer = (String) item.get("answer");
         int difficulty = item.get("difficulty") != null ? ((Number) item.get("difficulty")).intValue() : 1;
         
-        payload.put("sensoryType", sensoryType);
-        payload.put("answer", answer);
-        payload.put("difficulty", difficulty);
-        payload.put("mediaUrl", item.get("mediaUrl"));
-        payload.put("description", item.get("description"));
+        state.setItem(sensoryType, answer, difficulty, (String) item.get("mediaUrl"), (String) item.get("description"));
         
         // Apply distortion based on difficulty
         Map<String, Object> distortion = applyDistortion(item, difficulty);
-        payload.put("distortedMedia", distortion.get("media"));
-        payload.put("distortionLevel", distortion.get("level"));
+        state.setDistortion((Map<String, Object>) distortion.get("media"), (Integer) distortion.get("level"));
         
         int timeMs = item.get("timeLimitMs") != null ? ((Number) item.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
-        payload.put("timeLimitMs", timeMs);
+        state.startRound(timeMs);
         session.setRoundStartedAt(System.currentTimeMillis());
         
         LOG.infof("Sensory item %d: %s (%s, difficulty %d)", index, answer, sensoryType, difficulty);
@@ -93,7 +82,6 @@ public class SensoryEngine implements GameEngineInterface {
     /**
      * Apply distortion to media based on difficulty level.
      */
-    @SuppressWarnings("unchecked")
     private Map<String, Object> applyDistortion(Map<String, Object> item, int difficulty) {
         Map<String, Object> result = new HashMap<>();
         String type = (String) item.get("type");
@@ -120,26 +108,24 @@ public class SensoryEngine implements GameEngineInterface {
     /**
      * Submit sensory identification answer.
      */
-    @SuppressWarnings("unchecked")
     public boolean submitAnswer(GameSession session, String connectionId, String guess) {
         if (session.getGameType() != GameType.SENSORY || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        SensoryState state = session.getGamePayload(SensoryState.class);
+        if (state == null) return false;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
+        Map<String, SensoryState.Response> responses = state.getResponses();
         if (responses.containsKey(connectionId)) return true; // already answered
 
-        String answer = (String) payload.get("answer");
-        int difficulty = payload.get("difficulty") != null ? ((Number) payload.get("difficulty")).intValue() : 1;
-        String sensoryType = (String) payload.get("sensoryType");
+        String answer = state.getAnswer();
+        int difficulty = state.getDifficulty();
+        String sensoryType = state.getSensoryType();
         
         boolean correct = guess.trim().equalsIgnoreCase(answer.trim());
         
         // Calculate points based on difficulty and time
         long elapsed = System.currentTimeMillis() - session.getRoundStartedAt();
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         long timeRemaining = Math.max(0, timeLimitMs - elapsed);
         int timeBonus = (int) (timeRemaining * BASE_POINTS / timeLimitMs / 2);
         
@@ -147,14 +133,8 @@ public class SensoryEngine implements GameEngineInterface {
         int basePoints = correct ? BASE_POINTS : 0;
         int totalPoints = basePoints + timeBonus + difficultyBonus;
 
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("guess", guess);
-        resp.put("correct", correct);
-        resp.put("sensoryType", sensoryType);
-        resp.put("difficulty", difficulty);
-        resp.put("points", totalPoints);
-        resp.put("receivedAt", System.currentTimeMillis());
-        responses.put(connectionId, resp);
+        responses.put(connectionId, new SensoryState.Response(guess, correct, sensoryType, difficulty, totalPoints,
+                System.currentTimeMillis()));
 
         Player player = session.getPlayers().stream().filter(p -> p.getId().equals(connectionId)).findFirst().orElse(null);
         if (player != null && !player.isBot()) {
@@ -169,43 +149,37 @@ public class SensoryEngine implements GameEngineInterface {
     /**
      * Check if round should end (all players answered or time up).
      */
-    @SuppressWarnings("unchecked")
     public boolean shouldEndRound(GameSession session) {
         if (session.getGameType() != GameType.SENSORY || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        SensoryState state = session.getGamePayload(SensoryState.class);
+        if (state == null) return false;
         
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         long elapsed = System.currentTimeMillis() - session.getRoundStartedAt();
         
         // End round if time is up
         if (elapsed >= timeLimitMs) return true;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
-        
         // Check if all non-bot players have answered
-        long nonBotCount = session.getPlayers().stream().filter(p -> !p.isBot()).count();
-        return responses.size() >= nonBotCount;
+        return state.allAnswered(session.getPlayers());
     }
 
     /**
      * Move to next sensory item or end game.
      */
-    @SuppressWarnings("unchecked")
     public void nextSensoryItem(GameSession session) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
+        SensoryState state = session.getGamePayload(SensoryState.class);
+        if (state == null) return;
         
-        int idx = payload.get("itemIndex") != null ? ((Number) payload.get("itemIndex")).intValue() : 0;
-        List<Map<String, Object>> sensoryItems = (List<Map<String, Object>>) payload.get("sensoryItems");
+        int idx = state.getItemIndex();
+        List<Map<String, Object>> sensoryItems = state.getSensoryItems();
         
         if (sensoryItems != null && idx + 1 < sensoryItems.size()) {
             showSensoryItem(session, idx + 1);
         } else {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
         }
     }
@@ -267,11 +241,11 @@ public class SensoryEngine implements GameEngineInterface {
         return items;
     }
 
-    private List<Map<String, Object>> buildRanking(GameSession session) {
+    private List<RankingEntry> buildRanking(GameSession session) {
         return session.getPlayers().stream()
                 .filter(p -> !p.isBot())
                 .sorted((a, b) -> Integer.compare(b.getScore(), a.getScore()))
-                .map(p -> Map.<String, Object>of("id", p.getId(), "name", p.getName(), "score", p.getScore()))
+                .map(RankingEntry::of)
                 .toList();
     }
 
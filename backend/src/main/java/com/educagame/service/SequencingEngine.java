@@ -4,12 +4,13 @@ import com.educagame.model.GamePhase;
 import com.educagame.model.GameSession;
 import com.educagame.model.GameType;
 import com.educagame.model.Player;
+import com.educagame.model.state.RankingEntry;
+import com.educagame.model.state.SequencingState;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -29,7 +30,6 @@ public class SequencingEngine implements GameEngineInterface {
     @Inject
     GameHistoryService gameHistoryService;
 
-    @SuppressWarnings("unchecked")
     public void startGame(GameSession session) {
         if (session.getGameType() != GameType.SEQUENCING || session.getPhase() != GamePhase.LOBBY) return;
         session.setPhase(GamePhase.COUNTDOWN);
@@ -38,12 +38,7 @@ public class SequencingEngine implements GameEngineInterface {
         List<Map<String, Object>> sequences = dataLoaderService.getSequences(session.getTheme());
         if (sequences == null || sequences.isEmpty()) sequences = createDefaultSequences();
 
-        Map<String, Object> payload = new ConcurrentHashMap<>();
-        payload.put("sequences", sequences);
-        payload.put("sequenceIndex", 0);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
-        payload.put("roundScores", new ArrayList<Map<String, Object>>());
-        session.setGamePayload(payload);
+        session.setGamePayload(new SequencingState(sequences));
         session.setRoundStartedAt(System.currentTimeMillis());
         LOG.infof("Sequencing game started in room %s with %d sequences", session.getRoomId(), sequences.size());
     }
@@ -55,18 +50,17 @@ public class SequencingEngine implements GameEngineInterface {
 
     @SuppressWarnings("unchecked")
     private void showSequence(GameSession session, int index) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
-        List<Map<String, Object>> sequences = (List<Map<String, Object>>) payload.get("sequences");
+        SequencingState state = session.getGamePayload(SequencingState.class);
+        if (state == null) return;
+        List<Map<String, Object>> sequences = state.getSequences();
         if (sequences == null || index >= sequences.size()) {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
             return;
         }
         
-        payload.put("sequenceIndex", index);
-        payload.put("responses", new ConcurrentHashMap<String, Map<String, Object>>());
+        state.setSequenceIndex(index);
         
         Map<String, Object> sequence = sequences.get(index);
         List<Map<String, Object>> items = (List<Map<String, Object>>) sequence.get("items");
@@ -76,13 +70,11 @@ public class SequencingEngine implements GameEngineInterface {
         List<Map<String, Object>> shuffledItems = new ArrayList<>(items);
         Collections.shuffle(shuffledItems);
         
-        payload.put("originalItems", items);
-        payload.put("shuffledItems", shuffledItems);
-        payload.put("sequenceType", sequenceType);
-        payload.put("sequenceDescription", sequence.get("description"));
+        state.setItems(items, shuffledItems);
+        state.setSequence(sequenceType, (String) sequence.get("description"));
         
         int timeMs = sequence.get("timeLimitMs") != null ? ((Number) sequence.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
-        payload.put("timeLimitMs", timeMs);
+        state.startRound(timeMs);
         session.setRoundStartedAt(System.currentTimeMillis());
         
         LOG.infof("Sequencing challenge %d: %s (%d items)", index, sequenceType, items.size());
@@ -91,18 +83,16 @@ public class SequencingEngine implements GameEngineInterface {
     /**
      * Submit player's ordered sequence.
      */
-    @SuppressWarnings("unchecked")
     public boolean submitSequence(GameSession session, String connectionId, List<String> orderedIds) {
         if (session.getGameType() != GameType.SEQUENCING || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        SequencingState state = session.getGamePayload(SequencingState.class);
+        if (state == null) return false;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
+        Map<String, SequencingState.Response> responses = state.getResponses();
         if (responses.containsKey(connectionId)) return true; // already answered
 
-        List<Map<String, Object>> originalItems = (List<Map<String, Object>>) payload.get("originalItems");
+        List<Map<String, Object>> originalItems = state.getOriginalItems();
         if (originalItems == null) return false;
 
         // Calculate score based on correct positions
@@ -120,7 +110,7 @@ public class SequencingEngine implements GameEngineInterface {
         // Calculate points
         int totalItems = correctOrder.size();
         int accuracy = totalItems > 0 ? (correctPositions * 100 / totalItems) : 0;
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         long elapsed = System.currentTimeMillis() - session.getRoundStartedAt();
         long timeRemaining = Math.max(0, timeLimitMs - elapsed);
         
@@ -128,14 +118,8 @@ public class SequencingEngine implements GameEngineInterface {
         int timeBonus = (int) (timeRemaining * BASE_POINTS / timeLimitMs / 2);
         int totalPoints = basePoints + timeBonus + (correctPositions * PER_ITEM_BONUS);
 
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("orderedIds", orderedIds);
-        resp.put("correctPositions", correctPositions);
-        resp.put("totalItems", totalItems);
-        resp.put("accuracy", accuracy);
-        resp.put("points", totalPoints);
-        resp.put("receivedAt", System.currentTimeMillis());
-        responses.put(connectionId, resp);
+        responses.put(connectionId, new SequencingState.Response(orderedIds, correctPositions, totalItems, accuracy,
+                totalPoints, System.currentTimeMillis()));
 
         Player player = session.getPlayers().stream().filter(p -> p.getId().equals(connectionId)).findFirst().orElse(null);
         if (player != null && !player.isBot()) {
@@ -150,43 +134,37 @@ public class SequencingEngine implements GameEngineInterface {
     /**
      * Check if round should end (all players answered or time up).
      */
-    @SuppressWarnings("unchecked")
     public boolean shouldEndRound(GameSession session) {
         if (session.getGameType() != GameType.SEQUENCING || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        SequencingState state = session.getGamePayload(SequencingState.class);
+        if (state == null) return false;
         
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         long elapsed = System.currentTimeMillis() - session.getRoundStartedAt();
         
         // End round if time is up
         if (elapsed >= timeLimitMs) return true;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
-        
         // Check if all non-bot players have answered
-        long nonBotCount = session.getPlayers().stream().filter(p -> !p.isBot()).count();
-        return responses.size() >= nonBotCount;
+        return state.allAnswered(session.getPlayers());
     }
 
     /**
      * Move to next sequence or end game.
      */
-    @SuppressWarnings("unchecked")
     public void nextSequence(GameSession session) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
+        SequencingState state = session.getGamePayload(SequencingState.class);
+        if (state == null) return;
         
-        int idx = payload.get("sequenceIndex") != null ? ((Number) payload.get("sequenceIndex")).intValue() : 0;
-        List<Map<String, Object>> sequences = (List<Map<String, Object>>) payload.get("sequences");
+        int idx = state.getSequenceIndex();
+        List<Map<String, Object>> sequences = state.getSequences();
         
         if (sequences != null && idx + 1 < sequences.size()) {
             showSequence(session, idx + 1);
         } else {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildRanking(session));
+            state.setFinalRanking(buildRanking(session));
             gameHistoryService.recordGame(session);
         }
     }
@@ -236,11 +214,11 @@ public class SequencingEngine implements GameEngineInterface {
         return sequences;
     }
 
-    private List<Map<String, Object>> buildRanking(GameSession session) {
+    private List<RankingEntry> buildRanking(GameSession session) {
         return session.getPlayers().stream()
                 .filter(p -> !p.isBot())
                 .sorted((a, b) -> Integer.compare(b.getScore(), a.getScore()))
-                .map(p -> Map.<String, Object>of("id", p.getId(), "name", p.getName(), "score", p.getScore()))
+                .map(RankingEntry::of)
                 .toList();
     }
 
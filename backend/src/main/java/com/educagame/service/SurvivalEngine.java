@@ -4,12 +4,13 @@ import com.educagame.model.GamePhase;
 import com.educagame.model.GameSession;
 import com.educagame.model.GameType;
 import com.educagame.model.Player;
+import com.educagame.model.state.RankingEntry;
+import com.educagame.model.state.SurvivalState;
 import org.jboss.logging.Logger;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Acerte ou Caia - Fill-in-the-blanks survival game.
@@ -28,7 +29,6 @@ public class SurvivalEngine implements GameEngineInterface {
     @Inject
     GameHistoryService gameHistoryService;
 
-    @SuppressWarnings("unchecked")
     public void startGame(GameSession session) {
         if (session.getGameType() != GameType.SURVIVAL || session.getPhase() != GamePhase.LOBBY) return;
         session.setPhase(GamePhase.COUNTDOWN);
@@ -37,57 +37,45 @@ public class SurvivalEngine implements GameEngineInterface {
         List<String> phrases = dataLoaderService.getPhrases(session.getTheme());
         if (phrases == null) phrases = List.of();
 
-        Map<String, Object> payload = new ConcurrentHashMap<>();
-        payload.put("phrases", phrases);
-        payload.put("phraseIndex", 0);
-        payload.put("responses", new ConcurrentHashMap<>());
-        payload.put("eliminatedPlayers", new HashSet<>());
-        payload.put("roundScores", new ArrayList<>());
+        SurvivalState state = new SurvivalState(phrases);
         
         // Initialize player lives
-        Map<String, Integer> playerLives = new HashMap<>();
         for (Player player : session.getPlayers()) {
             if (!player.isBot()) {
-                playerLives.put(player.getId(), LIVES_START);
+                state.getPlayerLives().put(player.getId(), LIVES_START);
             }
         }
-        payload.put("playerLives", playerLives);
         
-        session.setGamePayload(payload);
+        session.setGamePayload(state);
         session.setRoundStartedAt(System.currentTimeMillis());
         LOG.infof("Survival game started in room %s with %d phrases", session.getRoomId(), phrases.size());
     }
 
-    @SuppressWarnings("unchecked")
     public void transitionToPlaying(GameSession session) {
         session.setPhase(GamePhase.PLAYING);
         showChallenge(session, 0);
     }
 
-    @SuppressWarnings("unchecked")
     private void showChallenge(GameSession session, int index) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
-        List<String> phrases = (List<String>) payload.get("phrases");
+        SurvivalState state = session.getGamePayload(SurvivalState.class);
+        if (state == null) return;
+        List<String> phrases = state.getPhrases();
         if (phrases == null || index >= phrases.size()) {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildSurvivalRanking(session));
+            state.setFinalRanking(buildSurvivalRanking(session));
             gameHistoryService.recordGame(session);
             return;
         }
         
-        payload.put("phraseIndex", index);
-        payload.put("responses", new ConcurrentHashMap<>());
+        state.setPhraseIndex(index);
         
         String phrase = phrases.get(index).toUpperCase(Locale.ROOT);
         String maskedPhrase = createMaskedPhrase(phrase);
         
-        payload.put("originalPhrase", phrase);
-        payload.put("maskedPhrase", maskedPhrase);
-        payload.put("revealedLetters", new HashSet<>());
+        state.setPhrase(phrase, maskedPhrase);
         
         int timeMs = DEFAULT_TIME_MS;
-        payload.put("timeLimitMs", timeMs);
+        state.startRound(timeMs);
         session.setRoundStartedAt(System.currentTimeMillis());
         
         LOG.infof("Survival challenge %d: %s -> %s", index, phrase, maskedPhrase);
@@ -136,17 +124,15 @@ public class SurvivalEngine implements GameEngineInterface {
     /**
      * Reveal a hint letter for all players.
      */
-    @SuppressWarnings("unchecked")
     public void revealHint(GameSession session) {
         if (session.getGameType() != GameType.SURVIVAL || session.getPhase() != GamePhase.PLAYING) return;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
+        SurvivalState state = session.getGamePayload(SurvivalState.class);
+        if (state == null) return;
         
-        String originalPhrase = (String) payload.get("originalPhrase");
-        String maskedPhrase = (String) payload.get("maskedPhrase");
-        Set<Character> revealedLetters = (Set<Character>) payload.get("revealedLetters");
-        if (revealedLetters == null) revealedLetters = new HashSet<>();
+        String originalPhrase = state.getOriginalPhrase();
+        String maskedPhrase = state.getMaskedPhrase();
+        Set<Character> revealedLetters = state.getRevealedLetters();
         
         // Find a letter to reveal
         List<Character> unrevealed = new ArrayList<>();
@@ -177,8 +163,7 @@ public class SurvivalEngine implements GameEngineInterface {
                 }
             }
             
-            payload.put("maskedPhrase", newMasked.toString());
-            payload.put("revealedLetters", revealedLetters);
+            state.setMaskedPhrase(newMasked.toString());
             
             LOG.infof("Revealed hint letter: %c", hintLetter);
         }
@@ -187,33 +172,26 @@ public class SurvivalEngine implements GameEngineInterface {
     /**
      * Submit answer for survival challenge.
      */
-    @SuppressWarnings("unchecked")
     public boolean submitAnswer(GameSession session, String connectionId, String answer) {
         if (session.getGameType() != GameType.SURVIVAL || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        SurvivalState state = session.getGamePayload(SurvivalState.class);
+        if (state == null) return false;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        if (responses == null) return false;
+        Map<String, SurvivalState.Response> responses = state.getResponses();
         if (responses.containsKey(connectionId)) return true; // already answered
 
-        Set<String> eliminatedPlayers = (Set<String>) payload.get("eliminatedPlayers");
+        Set<String> eliminatedPlayers = state.getEliminatedPlayers();
         if (eliminatedPlayers.contains(connectionId)) return false; // player already eliminated
 
-        String originalPhrase = (String) payload.get("originalPhrase");
+        String originalPhrase = state.getOriginalPhrase();
         String normalizedAnswer = answer.toUpperCase(Locale.ROOT).trim();
         
         boolean correct = normalizedAnswer.equals(originalPhrase);
         
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("answer", answer);
-        resp.put("correct", correct);
-        resp.put("receivedAt", System.currentTimeMillis());
-        responses.put(connectionId, resp);
+        responses.put(connectionId, new SurvivalState.Response(answer, correct, System.currentTimeMillis()));
 
-        Map<String, Integer> playerLives = (Map<String, Integer>) payload.get("playerLives");
-        if (playerLives == null) playerLives = new HashMap<>();
+        Map<String, Integer> playerLives = state.getPlayerLives();
 
         Player player = session.getPlayers().stream().filter(p -> p.getId().equals(connectionId)).findFirst().orElse(null);
         if (player != null && !player.isBot()) {
@@ -221,7 +199,7 @@ public class SurvivalEngine implements GameEngineInterface {
                 int points = BASE_POINTS;
                 // Bonus for answering quickly
                 long elapsed = System.currentTimeMillis() - session.getRoundStartedAt();
-                int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+                int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
                 int timeBonus = Math.max(0, (int) ((timeLimitMs - elapsed) * BASE_POINTS / timeLimitMs / 2));
                 points += timeBonus;
                 
@@ -241,50 +219,42 @@ public class SurvivalEngine implements GameEngineInterface {
             }
         }
         
-        payload.put("playerLives", playerLives);
-        payload.put("eliminatedPlayers", eliminatedPlayers);
-        
         return true;
     }
 
     /**
      * Check if round should end (all active players answered or time up).
      */
-    @SuppressWarnings("unchecked")
     public boolean shouldEndRound(GameSession session) {
         if (session.getGameType() != GameType.SURVIVAL || session.getPhase() != GamePhase.PLAYING) return false;
         
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return false;
+        SurvivalState state = session.getGamePayload(SurvivalState.class);
+        if (state == null) return false;
         
-        int timeLimitMs = payload.get("timeLimitMs") != null ? ((Number) payload.get("timeLimitMs")).intValue() : DEFAULT_TIME_MS;
+        int timeLimitMs = state.getTimeLimitMs() > 0 ? state.getTimeLimitMs() : DEFAULT_TIME_MS;
         long elapsed = System.currentTimeMillis() - session.getRoundStartedAt();
         
         // End round if time is up
         if (elapsed >= timeLimitMs) return true;
         
-        Map<String, Map<String, Object>> responses = (Map<String, Map<String, Object>>) payload.get("responses");
-        Set<String> eliminatedPlayers = (Set<String>) payload.get("eliminatedPlayers");
+        Set<String> eliminatedPlayers = state.getEliminatedPlayers();
         
         // Check if all non-eliminated players have answered
-        long activePlayerCount = session.getPlayers().stream()
-                .filter(p -> !p.isBot() && !eliminatedPlayers.contains(p.getId()))
-                .count();
-        
-        return responses.size() >= activePlayerCount;
+        return state.allAnswered(session.getPlayers().stream()
+                .filter(p -> !eliminatedPlayers.contains(p.getId()))
+                .toList());
     }
 
     /**
      * Move to next challenge or end game.
      */
-    @SuppressWarnings("unchecked")
     public void nextChallenge(GameSession session) {
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        if (payload == null) return;
+        SurvivalState state = session.getGamePayload(SurvivalState.class);
+        if (state == null) return;
         
-        int idx = payload.get("phraseIndex") != null ? ((Number) payload.get("phraseIndex")).intValue() : 0;
-        List<String> phrases = (List<String>) payload.get("phrases");
-        Set<String> eliminatedPlayers = (Set<String>) payload.get("eliminatedPlayers");
+        int idx = state.getPhraseIndex();
+        List<String> phrases = state.getPhrases();
+        Set<String> eliminatedPlayers = state.getEliminatedPlayers();
         
         // Check if only one player remains
         long activePlayerCount = session.getPlayers().stream()
@@ -293,17 +263,16 @@ public class SurvivalEngine implements GameEngineInterface {
         
         if (activePlayerCount <= 1 || (phrases != null && idx + 1 >= phrases.size())) {
             session.setPhase(GamePhase.GAME_END);
-            payload.put("finalRanking", buildSurvivalRanking(session));
+            state.setFinalRanking(buildSurvivalRanking(session));
             gameHistoryService.recordGame(session);
         } else {
             showChallenge(session, idx + 1);
         }
     }
 
-    private List<Map<String, Object>> buildSurvivalRanking(GameSession session) {
-        @SuppressWarnings("unchecked")
-        Map<String, Object> payload = (Map<String, Object>) session.getGamePayload();
-        Set<String> eliminatedPlayers = payload != null ? (Set<String>) payload.get("eliminatedPlayers") : new HashSet<>();
+    private List<RankingEntry> buildSurvivalRanking(GameSession session) {
+        SurvivalState state = session.getGamePayload(SurvivalState.class);
+        Set<String> eliminatedPlayers = state != null ? state.getEliminatedPlayers() : Set.of();
         
         return session.getPlayers().stream()
                 .filter(p -> !p.isBot())
@@ -314,14 +283,7 @@ public class SurvivalEngine implements GameEngineInterface {
                     if (!aEliminated && bEliminated) return -1;
                     return Integer.compare(b.getScore(), a.getScore());
                 })
-                .map(p -> {
-                    Map<String, Object> playerData = new HashMap<>();
-                    playerData.put("id", p.getId());
-                    playerData.put("name", p.getName());
-                    playerData.put("score", p.getScore());
-                    playerData.put("eliminated", eliminatedPlayers.contains(p.getId()));
-                    return playerData;
-                })
+                .map(p -> new RankingEntry(p.getId(), p.getName(), p.getScore(), eliminatedPlayers.contains(p.getId()), null))
                 .toList();
     }
 
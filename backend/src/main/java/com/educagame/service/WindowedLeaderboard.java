@@ -0,0 +1,51 @@
+package com.educagame.service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Leaderboards of one game type over three windows: today, the last {@value #WEEK_DAYS} days and
+ * all time. Wins go into a per-day bucket and are added to the week and all-time boards as they
+ * arrive; when a day leaves the week its bucket is subtracted from the week board and dropped, so
+ * at most {@value #WEEK_DAYS} buckets are kept and every read is a top-k walk of a ready board.
+ * Days are epoch days in the caller's time zone.
+ */
+final class WindowedLeaderboard {
+
+    static final int WEEK_DAYS = 7;
+
+    private final Leaderboard allTime = new Leaderboard();
+    private final Leaderboard week = new Leaderboard();
+    private final TreeMap<Long, Leaderboard> days = new TreeMap<>();
+    private long today = Long.MIN_VALUE;
+
+    synchronized void addWin(String name, int score, long day, long today) {
+        advance(today);
+        allTime.addWin(name, score);
+        if (day <= today - WEEK_DAYS || day > today) return;
+        days.computeIfAbsent(day, d -> new Leaderboard()).addWin(name, score);
+        week.addWin(name, score);
+    }
+
+    synchronized List<Map<String, Object>> top(GameHistoryService.Window window, int limit, long today) {
+        advance(today);
+        return switch (window) {
+            case DAY -> days.containsKey(today) ? days.get(today).top(limit) : List.of();
+            case WEEK -> week.top(limit);
+            case ALL -> allTime.top(limit);
+        };
+    }
+
+    /** Moves the window forward to {@code day}, evicting the buckets that fell out of the week. */
+    private void advance(long day) {
+        if (day <= today) return;
+        today = day;
+        Iterator<Map.Entry<Long, Leaderboard>> it = days.headMap(day - WEEK_DAYS, true).entrySet().iterator();
+        while (it.hasNext()) {
+            week.subtract(it.next().getValue());
+            it.remove();
+        }
+    }
+}
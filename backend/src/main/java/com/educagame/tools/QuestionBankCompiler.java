@@ -0,0 +1,187 @@
+package com.educagame.tools;
+
+import com.educagame.model.content.QuestionBank;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline compiler from a quiz.json / millionaire.json array to the {@link QuestionBank} format.
+ * The JSON is streamed one entry at a time; strings are de-duplicated. The output is written next
+ * to the target and moved into place, so a watched content pack never sees a half-written bank.
+ *
+ * <pre>
+ * java -cp backend.jar com.educagame.tools.QuestionBankCompiler quiz.json quiz.qbank
+ * </pre>
+ */
+public final class QuestionBankCompiler {
+
+    private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+    private final DataOutputStream records = new DataOutputStream(recordBytes);
+    private final IntList options = new IntList();
+    private final List<IntList> levels = new ArrayList<>();
+    private final Map<String, IntList> tags = new LinkedHashMap<>();
+    private final Map<String, Short> tagIds = new HashMap<>();
+    private final ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+    private final DataOutputStream strings = new DataOutputStream(stringBytes);
+    private final Map<String, Integer> stringOffsets = new HashMap<>();
+    private int questions;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: QuestionBankCompiler <input.json> <output.qbank>");
+            System.exit(2);
+        }
+        int count = compile(Path.of(args[0]), Path.of(args[1]));
+        System.out.printf("%s: %d questions -> %s (%d bytes)%n", args[0], count, args[1], Files.size(Path.of(args[1])));
+    }
+
+    /** Compiles {@code json} into {@code out}; returns the number of questions. */
+    public static int compile(Path json, Path out) throws IOException {
+        QuestionBankCompiler compiler = new QuestionBankCompiler();
+        ObjectMapper mapper = new ObjectMapper();
+        try (JsonParser parser = mapper.getFactory().createParser(json.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) throw new IOException(json + " is not a JSON array");
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                compiler.add(mapper.readValue(parser, Map.class));
+            }
+        }
+        Path tmp = out.resolveSibling(out.getFileName() + ".tmp");
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+            compiler.write(new DataOutputStream(os));
+        }
+        Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return compiler.questions;
+    }
+
+    private void add(Map<?, ?> row) throws IOException {
+        String where = "entry " + questions;
+        if (!(row.get("question") instanceof String question)) throw new IOException(where + ": question is missing");
+        if (!(row.get("options") instanceof List<?> opts) || opts.isEmpty() || opts.size() > Short.MAX_VALUE) {
+            throw new IOException(where + ": options must be a non-empty list");
+        }
+        Integer correct = row.get("correctIndex") instanceof Number n ? n.intValue() : null;
+        if (correct != null && (correct < 0 || correct >= opts.size())) throw new IOException(where + ": correctIndex out of range");
+        int level = row.get("level") instanceof Number n ? n.intValue() : 1;
+        if (level < 0 || level > Short.MAX_VALUE) throw new IOException(where + ": level out of range");
+        Object tagValue = row.get("tag") != null ? row.get("tag") : row.get("category");
+        String tag = tagValue != null ? String.valueOf(tagValue) : null;
+
+        int id = questions++;
+        records.writeInt(string(question));
+        records.writeInt(options.size());
+        records.writeShort(opts.size());
+        for (Object option : opts) options.add(string(String.valueOf(option)));
+        records.writeShort(correct != null ? correct : -1);
+        records.writeShort(level);
+        records.writeShort(tag != null ? tag(tag, id) : -1);
+        records.writeInt(row.get("value") instanceof Number n ? n.intValue() : -1);
+        records.writeInt(row.get("timeLimitMs") instanceof Number n ? n.intValue() : -1);
+        while (levels.size() <= level) levels.add(new IntList());
+        levels.get(level).add(id);
+    }
+
+    private short tag(String tag, int id) throws IOException {
+        Short t = tagIds.get(tag);
+        if (t == null) {
+            if (tagIds.size() == Short.MAX_VALUE) throw new IOException("too many tags");
+            t = (short) tagIds.size();
+            tagIds.put(tag, t);
+            tags.put(tag, new IntList());
+        }
+        tags.get(tag).add(id);
+        return t;
+    }
+
+    private int string(String s) throws IOException {
+        Integer offset = stringOffsets.get(s);
+        if (offset != null) return offset;
+        offset = strings.size();
+        byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+        strings.writeInt(utf8.length);
+        strings.write(utf8);
+        stringOffsets.put(s, offset);
+        return offset;
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+        List<String> tagNames = new ArrayList<>(tags.keySet());
+        int[] tagNameOffsets = new int[tagNames.size()];
+        for (int i = 0; i < tagNames.size(); i++) tagNameOffsets[i] = string(tagNames.get(i));
+
+        long recordsAt = QuestionBank.HEADER_BYTES;
+        long optionsAt = recordsAt + recordBytes.size();
+        long levelsAt = optionsAt + 4L * options.size();
+        long tagsAt = levelsAt + 4L * (levels.size() + 1) + 4L * questions;
+        long stringsAt = tagsAt + 4L * tagNames.size() + 4L * (tagNames.size() + 1) + 4L * questions - 4L * untagged();
+        if (stringsAt + strings.size() > Integer.MAX_VALUE) throw new IOException("bank would exceed 2 GB");
+
+        out.writeInt(QuestionBank.MAGIC);
+        out.writeInt(QuestionBank.FORMAT);
+        out.writeInt(questions);
+        out.writeInt(levels.size());
+        out.writeInt(tagNames.size());
+        out.writeInt((int) recordsAt);
+        out.writeInt((int) optionsAt);
+        out.writeInt((int) levelsAt);
+        out.writeInt((int) tagsAt);
+        out.writeInt((int) stringsAt);
+        recordBytes.writeTo(out);
+        options.writeTo(out);
+        writeGroups(out, levels);
+        for (int offset : tagNameOffsets) out.writeInt(offset);
+        writeGroups(out, new ArrayList<>(tags.values()));
+        stringBytes.writeTo(out);
+    }
+
+    private int untagged() {
+        int tagged = 0;
+        for (IntList ids : tags.values()) tagged += ids.size();
+        return questions - tagged;
+    }
+
+    /** Start positions (one per group plus the end), then every group's ids back to back. */
+    private static void writeGroups(DataOutputStream out, List<IntList> groups) throws IOException {
+        int start = 0;
+        for (IntList group : groups) {
+            out.writeInt(start);
+            start += group.size();
+        }
+        out.writeInt(start);
+        for (IntList group : groups) group.writeTo(out);
+    }
+
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            for (int i = 0; i < size; i++) out.writeInt(values[i]);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.educagame.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameEncoderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void jsonSelfIsSplicedIntoTheSharedObject() throws Exception {
+        FrameEncoder encoder = new FrameEncoder();
+        encoder.objectMapper = mapper;
+        encoder.init();
+        ByteBuf frame = encoder.encode(Map.of("type", "STATE_PATCH"));
+        ByteBuf out = FrameEncoder.splice(frame, encoder.encode(Map.of("answer", 2)), WireFormat.JSON);
+
+        JsonNode tree = mapper.readTree(ByteBufUtil.getBytes(out));
+        assertEquals("STATE_PATCH", tree.path("type").asText());
+        assertEquals(2, tree.path("self").path("answer").asInt());
+        out.release();
+        assertEquals(1, frame.refCnt(), "the shared frame keeps its own reference");
+        frame.release();
+    }
+
+    @Test
+    void cborSelfGoesBeforeTheBreakOfAnIndefiniteMap() {
+        // {_ "type": "OK" } followed by the fragment 2
+        ByteBuf frame = Unpooled.wrappedBuffer(new byte[]{(byte) 0xBF, 0x64, 't', 'y', 'p', 'e', 0x62, 'O', 'K', (byte) 0xFF});
+        ByteBuf out = FrameEncoder.splice(frame, Unpooled.wrappedBuffer(new byte[]{0x02}), WireFormat.CBOR);
+
+        assertArrayEquals(new byte[]{(byte) 0xBF, 0x64, 't', 'y', 'p', 'e', 0x62, 'O', 'K',
+                0x64, 's', 'e', 'l', 'f', 0x02, (byte) 0xFF}, ByteBufUtil.getBytes(out));
+        out.release();
+    }
+
+    @Test
+    void frameWithoutClosingMarkerIsNotSpliced() {
+        ByteBuf frame = Unpooled.wrappedBuffer(new byte[]{(byte) 0xA1, 0x61, 'a', 0x01});
+        assertNull(FrameEncoder.splice(frame, Unpooled.wrappedBuffer(new byte[]{0x02}), WireFormat.CBOR));
+        assertEquals(1, frame.refCnt());
+    }
+
+    @Test
+    void formatIsNegotiatedBySubprotocolOrQuery() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(null, null));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("", "room=abc"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("educagame.cbor", null));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate(null, "room=abc&encoding=cbor"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(null, "encoding=cborx"));
+    }
+}
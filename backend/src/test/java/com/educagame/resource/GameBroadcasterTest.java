@@ -0,0 +1,201 @@
+package com.educagame.resource;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.WsOutbound;
+import com.educagame.model.state.QuizState;
+import com.educagame.service.GameClock;
+import com.educagame.service.GameMetrics;
+import com.educagame.service.RoomMailbox;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.websockets.next.UserData;
+import io.quarkus.websockets.next.WebSocketConnection;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameBroadcasterTest {
+
+    private static final String ROOM = "r1";
+    private static final int PLAYERS = 5;
+
+    private final GameBroadcaster broadcaster = new GameBroadcaster();
+    /** Ticks handed to the clock; the test fires them by hand. */
+    private final List<Runnable> ticks = new ArrayList<>();
+    private final AtomicInteger framesSent = new AtomicInteger();
+    private GameSession session;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        broadcaster.connections = new RoomConnectionRegistry();
+        broadcaster.projection = new StateProjection();
+        broadcaster.projection.objectMapper = mapper;
+        broadcaster.projection.init();
+        broadcaster.encoder = new FrameEncoder();
+        broadcaster.encoder.objectMapper = mapper;
+        broadcaster.encoder.queues = new OutboundQueues();
+        broadcaster.encoder.queues.maxInFlight = 16;
+        broadcaster.encoder.init();
+        broadcaster.metrics = new GameMetrics() {
+            @Override
+            public void broadcastSerialized(String kind, long nanos) {
+            }
+
+            @Override
+            public void broadcastSent(String kind, long nanos) {
+            }
+        };
+        broadcaster.clock = new GameClock() {
+            @Override
+            public void after(long delayMs, Runnable task) {
+                ticks.add(task);
+            }
+        };
+        broadcaster.mailbox = new RoomMailbox() {
+            @Override
+            public void submit(String roomId, Runnable command) {
+                command.run();
+            }
+        };
+        broadcaster.coalesceMs = 75;
+
+        session = new GameSession(ROOM, "default", GameType.QUIZ_SPEED, "p0");
+        for (int i = 0; i < PLAYERS; i++) {
+            session.addPlayer(new Player("p" + i, "Jogador " + i));
+            broadcaster.connections.register(ROOM, connection("p" + i));
+        }
+        session.setPhase(GamePhase.QUIZ_QUESTION);
+        QuizState quiz = new QuizState(List.of(Map.of("question", "2+2?", "correctIndex", 1)));
+        quiz.setQuestion("2+2?", List.of("3", "4"), 1);
+        session.setGamePayload(quiz);
+        broadcaster.broadcastState(ROOM, session);
+    }
+
+    @Test
+    void answersInOneTickGoOutAsOnePatch() {
+        for (int i = 0; i < PLAYERS; i++) {
+            session.getPlayers().get(i).addScore(100);
+            broadcaster.broadcastStateCoalesced(ROOM, session);
+        }
+        assertEquals(0, framesSent.get());
+        assertEquals(1, ticks.size(), "one flush per tick, however many answers");
+
+        ticks.remove(0).run();
+        assertEquals(PLAYERS, framesSent.get());
+
+        broadcaster.broadcastStateCoalesced(ROOM, session);
+        assertEquals(1, ticks.size(), "the next answer arms the next tick");
+    }
+
+    @Test
+    void phaseChangeIsSentAtOnce() {
+        session.getPlayers().get(0).addScore(100);
+        broadcaster.broadcastStateCoalesced(ROOM, session);
+        session.setPhase(GamePhase.QUIZ_FEEDBACK);
+        broadcaster.broadcastStateCoalesced(ROOM, session);
+
+        assertEquals(PLAYERS, framesSent.get());
+        ticks.remove(0).run();
+        assertEquals(PLAYERS, framesSent.get(), "the pending flush has nothing left to send");
+    }
+
+    @Test
+    void immediateBroadcastTakesOverAPendingFlush() {
+        session.getPlayers().get(0).addScore(100);
+        broadcaster.broadcastStateCoalesced(ROOM, session);
+        broadcaster.broadcastState(ROOM, session);
+        assertEquals(PLAYERS, framesSent.get());
+
+        session.getPlayers().get(1).addScore(100);
+        ticks.remove(0).run();
+        assertEquals(PLAYERS, framesSent.get(), "a flush cleared by an immediate broadcast does not run");
+    }
+
+    @Test
+    void zeroWindowSendsEveryChange() {
+        broadcaster.coalesceMs = 0;
+        for (int i = 0; i < 3; i++) {
+            session.getPlayers().get(i).addScore(100);
+            broadcaster.broadcastStateCoalesced(ROOM, session);
+        }
+        assertEquals(3 * PLAYERS, framesSent.get());
+        assertTrue(ticks.isEmpty());
+    }
+
+    @Test
+    void largeRoomJoinsShareOnePatch() {
+        GameSession large = new GameSession("big", "default", GameType.QUIZ_SPEED, "p0");
+        large.setLargeRoom(true);
+        large.setPhase(GamePhase.LOBBY);
+        large.addPlayer(new Player("p0", "Jogador 0"));
+        broadcaster.connections.register("big", connection("p0"));
+        broadcaster.broadcastState("big", large);
+
+        for (int i = 1; i <= PLAYERS; i++) {
+            WebSocketConnection joiner = connection("p" + i);
+            large.addPlayer(new Player("p" + i, "Jogador " + i));
+            broadcaster.connections.register("big", joiner);
+            broadcaster.sendSnapshot("big", large, joiner);
+        }
+        assertEquals(PLAYERS, framesSent.get(), "each joiner only gets its snapshot");
+        assertEquals(1, ticks.size());
+
+        ticks.remove(0).run();
+        assertEquals(PLAYERS + PLAYERS + 1, framesSent.get(), "one patch to the whole room");
+    }
+
+    @Test
+    void resumeReplaysOnlyWhatWasMissed() {
+        broadcaster.replaySize = 16;
+        for (int i = 0; i < 2; i++) {
+            session.getPlayers().get(0).addScore(100);
+            broadcaster.broadcastState(ROOM, session);
+        }
+        broadcaster.broadcastToRoom(ROOM, WsOutbound.event("WHEEL_SPUN", Map.of("segmentIndex", 3)));
+        int sent = framesSent.get();
+
+        assertTrue(broadcaster.resume(ROOM, session, connection("p1"), 1));
+        assertEquals(sent + 3, framesSent.get(), "both patches and the event after them");
+        assertTrue(broadcaster.resume(ROOM, session, connection("p2"), 3));
+        assertEquals(sent + 3, framesSent.get(), "a client on the current revision gets nothing");
+        assertFalse(broadcaster.resume(ROOM, session, connection("p3"), 0), "older than the ring: snapshot");
+        assertEquals(sent + 4, framesSent.get());
+    }
+
+    private WebSocketConnection connection(String id) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(GameWebSocket.KEY_CONNECTION_ID.value(), id);
+        UserData userData = (UserData) Proxy.newProxyInstance(UserData.class.getClassLoader(), new Class<?>[]{UserData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "get" -> data.get(((UserData.TypedKey<?>) args[0]).value());
+                    case "put" -> data.put(((UserData.TypedKey<?>) args[0]).value(), args[1]);
+                    default -> null;
+                });
+        return (WebSocketConnection) Proxy.newProxyInstance(WebSocketConnection.class.getClassLoader(),
+                new Class<?>[]{WebSocketConnection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "id" -> id;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "isOpen" -> true;
+                    case "userData" -> userData;
+                    case "sendText", "sendBinary" -> {
+                        framesSent.incrementAndGet();
+                        yield Uni.createFrom().voidItem();
+                    }
+                    default -> null;
+                });
+    }
+}
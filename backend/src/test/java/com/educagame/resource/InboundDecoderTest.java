@@ -0,0 +1,107 @@
+package com.educagame.resource;
+
+import com.educagame.model.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InboundDecoderTest {
+
+    private final InboundDecoder decoder = new InboundDecoder();
+
+    @BeforeEach
+    void setUp() {
+        decoder.objectMapper = new ObjectMapper();
+        decoder.init();
+    }
+
+    @Test
+    void bindsTheRecordRegisteredForTheType() throws Exception {
+        InboundDecoder.Inbound join = decoder.decode("{\"type\":\"JOIN\",\"roomId\":\"r1\",\"playerName\":\"Ana\"}");
+        assertEquals("JOIN", join.type());
+        assertEquals(new WsJoin("r1", "Ana"), join.message());
+
+        assertEquals(new WsAnswer(2, null), decoder.decode("{\"type\":\"QUIZ_ANSWER\",\"answerIndex\":2}").message());
+        assertEquals(new WsGuess("A"), decoder.decode("{\"type\":\"GUESS\",\"letter\":\"A\"}").message());
+        assertEquals(new WsDecision(true), decoder.decode("{\"type\":\"BINARY_DECISION\",\"decision\":true}").message());
+        assertEquals(new WsSequence(List.of("b", "a")),
+                decoder.decode("{\"type\":\"SEQUENCING_SUBMIT\",\"orderedIds\":[\"b\",\"a\"]}").message());
+        assertEquals(new WsCommand(), decoder.decode("{\"type\":\"PING\"}").message());
+        assertEquals(new WsAnswer(null, null), decoder.decode("{\"type\":\"QUIZ_ANSWER\"}").message());
+    }
+
+    @Test
+    void binaryFramesAreReadInTheConnectionFormat() throws Exception {
+        byte[] cbor = new ObjectMapper(new CBORFactory()).writeValueAsBytes(Map.of("type", "GUESS", "letter", "E"));
+        assertEquals(new WsGuess("E"), decoder.decode(cbor, WireFormat.CBOR).message());
+
+        byte[] json = "{\"type\":\"GUESS\",\"letter\":\"O\"}".getBytes(StandardCharsets.UTF_8);
+        assertEquals(new WsGuess("O"), decoder.decode(json, WireFormat.JSON).message());
+    }
+
+    @Test
+    void textAnswersAcceptBothFieldNames() throws Exception {
+        assertEquals(new WsTextAnswer("sol"), decoder.decode("{\"type\":\"SURVIVAL_ANSWER\",\"answer\":\"sol\"}").message());
+        assertEquals(new WsTextAnswer("lua"), decoder.decode("{\"type\":\"DETECTIVE_GUESS\",\"guess\":\"lua\"}").message());
+    }
+
+    @Test
+    void fieldsBeforeTheTypeAreReplayed() throws Exception {
+        InboundDecoder.Inbound combo = decoder.decode(
+                "{\"action\":{\"type\":\"inner\",\"answerIndex\":1},\"ignored\":[1,{\"x\":2}],\"type\":\"COMBINATION_ACTION\"}");
+        assertEquals("COMBINATION_ACTION", combo.type());
+        assertEquals(new WsCombinationAction(Map.of("type", "inner", "answerIndex", 1)), combo.message());
+
+        assertEquals(new WsJoin("r1", "Ana"),
+                decoder.decode("{\"roomId\":\"r1\",\"type\":\"JOIN\",\"playerName\":\"Ana\"}").message());
+    }
+
+    @Test
+    void unknownFieldsAreIgnored() throws Exception {
+        assertEquals(new WsAnswer(0, null),
+                decoder.decode("{\"type\":\"ANSWER\",\"extra\":{\"deep\":[1,2]},\"answerIndex\":0}").message());
+    }
+
+    @Test
+    void unknownTypeStopsBeforeTheBody() throws Exception {
+        InboundDecoder.Inbound unknown = decoder.decode("{\"type\":\"NOPE\",\"whatever\":");
+        assertEquals("NOPE", unknown.type());
+        assertNull(unknown.message());
+    }
+
+    @Test
+    void framesWithoutAStringTypeAreIgnored() throws Exception {
+        assertNull(decoder.decode("{}"));
+        assertNull(decoder.decode("{\"roomId\":\"r1\"}"));
+        assertNull(decoder.decode("{\"type\":5}"));
+    }
+
+    @Test
+    void malformedFramesAreRejected() {
+        assertThrows(IOException.class, () -> decoder.decode("not json"));
+        assertThrows(IOException.class, () -> decoder.decode("[{\"type\":\"PING\"}]"));
+        assertThrows(IOException.class, () -> decoder.decode("\"PING\""));
+        assertThrows(IOException.class, () -> decoder.decode("{\"type\":\"GUESS\",\"letter\":\"A\"} {}"));
+        assertThrows(IOException.class, () -> decoder.decode("{\"type\":\"QUIZ_ANSWER\",\"answerIndex\":\"two\"}"));
+        assertThrows(IOException.class, () -> decoder.decode("{\"type\":\"SEQUENCING_SUBMIT\",\"orderedIds\":{\"a\":1}}"));
+        assertThrows(IOException.class, () -> decoder.decode("{\"type\":\"JOIN\",\"roomId\":\"r1\""));
+    }
+
+    @Test
+    void rejectedTypeIsDroppedBeforeTheBodyIsRead() throws Exception {
+        List<String> seen = new ArrayList<>();
+        assertNull(decoder.decode("{\"type\":\"BUZZER_BUZZ\",\"junk\":", type -> !seen.add(type)),
+                "a truncated body is never reached");
+        assertEquals(List.of("BUZZER_BUZZ"), seen);
+        assertNotNull(decoder.decode("{\"type\":\"PING\"}", type -> true));
+    }
+}
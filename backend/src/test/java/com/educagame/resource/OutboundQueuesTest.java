@@ -0,0 +1,225 @@
+package com.educagame.resource;
+
+import com.educagame.resource.OutboundQueues.Kind;
+import com.educagame.service.GameMetrics;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.quarkus.websockets.next.UserData;
+import io.quarkus.websockets.next.WebSocketConnection;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.buffer.Buffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundQueuesTest {
+
+    private final OutboundQueues queues = new OutboundQueues();
+    /** Writes handed to the connection and not completed yet, with what they carried. */
+    private final List<UniEmitter<? super Void>> inFlight = new ArrayList<>();
+    private final List<String> written = new ArrayList<>();
+    private final List<String> frameTypes = new ArrayList<>();
+    private final List<String> disconnects = new ArrayList<>();
+    private final List<WebSocketConnection> resyncs = new ArrayList<>();
+    private int replaced;
+    private boolean open = true;
+    private WebSocketConnection connection;
+
+    @BeforeEach
+    void setUp() {
+        queues.metrics = new GameMetrics() {
+            @Override
+            public void outboundQueued(int delta) {
+            }
+
+            @Override
+            public void outboundBacklogged(int delta) {
+            }
+
+            @Override
+            public void outboundReplaced() {
+                replaced++;
+            }
+
+            @Override
+            public void outboundDisconnected(String reason) {
+                disconnects.add(reason);
+            }
+        };
+        queues.maxInFlight = 2;
+        queues.maxQueued = 4;
+        queues.stallMs = 10_000;
+        queues.resyncWith(resyncs::add);
+        connection = connection("c1", WireFormat.JSON);
+    }
+
+    private WebSocketConnection connection(String id, WireFormat format) {
+        UserData userData = (UserData) Proxy.newProxyInstance(UserData.class.getClassLoader(), new Class<?>[]{UserData.class},
+                (proxy, method, args) -> method.getName().equals("get") && WireFormat.KEY.equals(args[0]) ? format : null);
+        return (WebSocketConnection) Proxy.newProxyInstance(WebSocketConnection.class.getClassLoader(),
+                new Class<?>[]{WebSocketConnection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "id" -> id;
+                    case "isOpen" -> open;
+                    case "userData" -> userData;
+                    case "sendText", "sendBinary" -> {
+                        frameTypes.add(method.getName());
+                        written.add(((Buffer) args[0]).toString(StandardCharsets.UTF_8));
+                        yield Uni.createFrom().<Void>emitter(inFlight::add);
+                    }
+                    case "close" -> {
+                        open = false;
+                        yield Uni.createFrom().voidItem();
+                    }
+                    default -> null;
+                });
+    }
+
+    @Test
+    void framesWaitBehindTheInFlightWindow() {
+        queues.send(connection, frame("e1"), Kind.OTHER);
+        queues.send(connection, frame("e2"), Kind.OTHER);
+        queues.send(connection, frame("e3"), Kind.OTHER);
+        assertEquals(List.of("e1", "e2"), written);
+        assertEquals(1, queues.queued(connection));
+
+        complete();
+        assertEquals(List.of("e1", "e2", "e3"), written);
+        assertEquals(0, queues.queued(connection));
+    }
+
+    @Test
+    void secondQueuedPatchDropsBothAndAsksForOneStateOnceDrained() {
+        queues.send(connection, frame("e1"), Kind.OTHER);
+        queues.send(connection, frame("e2"), Kind.OTHER);
+        ByteBuf stale = frame("patch1");
+        queues.send(connection, stale, Kind.PATCH);
+        queues.send(connection, frame("WHEEL_SPUN"), Kind.OTHER);
+        queues.send(connection, frame("patch2"), Kind.PATCH);
+        queues.send(connection, frame("patch3"), Kind.PATCH);
+
+        assertEquals(0, stale.refCnt(), "the dropped patch goes back to the pool");
+        assertEquals(3, replaced);
+        assertEquals(1, queues.queued(connection));
+        complete();
+        assertTrue(resyncs.isEmpty(), "the event is still waiting");
+        complete();
+        assertEquals(List.of("e1", "e2", "WHEEL_SPUN"), written);
+        assertEquals(List.of(connection), resyncs);
+        complete();
+        assertEquals(1, resyncs.size(), "asked once per stale spell");
+
+        queues.send(connection, frame("patch4"), Kind.PATCH);
+        queues.send(connection, frame("STATE"), Kind.STATE);
+        queues.send(connection, frame("patch5"), Kind.PATCH);
+        assertEquals(List.of("e1", "e2", "WHEEL_SPUN", "STATE", "patch5"), written);
+    }
+
+    @Test
+    void onePatchWaitingIsKeptInOrder() {
+        queues.send(connection, frame("e1"), Kind.OTHER);
+        queues.send(connection, frame("e2"), Kind.OTHER);
+        queues.send(connection, frame("patch1"), Kind.PATCH);
+        queues.send(connection, frame("WHEEL_SPUN"), Kind.OTHER);
+        for (int i = 0; i < 4; i++) complete();
+
+        assertEquals(List.of("e1", "e2", "patch1", "WHEEL_SPUN"), written);
+        assertEquals(0, replaced);
+        assertTrue(resyncs.isEmpty());
+    }
+
+    @Test
+    void overflowClosesTheConnectionAndReleasesItsQueue() {
+        List<ByteBuf> frames = new ArrayList<>();
+        for (int i = 0; i < 2 + queues.maxQueued + 1; i++) {
+            ByteBuf frame = frame("e" + i);
+            frames.add(frame);
+            queues.send(connection, frame, Kind.OTHER);
+        }
+        assertEquals(List.of("overflow"), disconnects);
+        assertFalse(open);
+        assertEquals(0, queues.queued(connection));
+        for (ByteBuf frame : frames.subList(2, frames.size())) assertEquals(0, frame.refCnt());
+
+        ByteBuf late = frame("late");
+        queues.send(connection, late, Kind.OTHER);
+        assertEquals(0, late.refCnt(), "nothing is written to a closed connection");
+        assertEquals(2, written.size());
+    }
+
+    @Test
+    void stalledConnectionIsClosed() {
+        queues.stallMs = 0;
+        queues.send(connection, frame("e1"), Kind.OTHER);
+        queues.send(connection, frame("e2"), Kind.OTHER);
+        queues.send(connection, frame("e3"), Kind.OTHER);
+        assertTrue(disconnects.isEmpty(), "the backlog has only just started");
+
+        sleep();
+        queues.send(connection, frame("e4"), Kind.OTHER);
+        assertEquals(List.of("stalled"), disconnects);
+    }
+
+    @Test
+    void stallIsCaughtWithoutAnotherSend() {
+        queues.send(connection, frame("e1"), Kind.OTHER);
+        queues.send(connection, frame("e2"), Kind.OTHER);
+        ByteBuf queued = frame("e3");
+        queues.send(connection, queued, Kind.OTHER);
+        queues.checkStalls();
+        assertTrue(disconnects.isEmpty());
+
+        queues.stallMs = 0;
+        sleep();
+        queues.checkStalls();
+        assertEquals(List.of("stalled"), disconnects);
+        assertFalse(open);
+        assertEquals(0, queued.refCnt());
+        queues.checkStalls();
+        assertEquals(1, disconnects.size(), "closed once");
+    }
+
+    @Test
+    void jsonGoesOutAsTextFramesAndCborAsBinary() {
+        queues.send(connection, frame("e1"), Kind.OTHER);
+        queues.send(connection("c2", WireFormat.CBOR), frame("e2"), Kind.OTHER);
+        assertEquals(List.of("e1", "e2"), written);
+        assertEquals(List.of("sendText", "sendBinary"), frameTypes);
+    }
+
+    @Test
+    void forgetReleasesQueuedFrames() {
+        queues.send(connection, frame("e1"), Kind.OTHER);
+        queues.send(connection, frame("e2"), Kind.OTHER);
+        ByteBuf queued = frame("e3");
+        queues.send(connection, queued, Kind.OTHER);
+
+        queues.forget(connection);
+        assertEquals(0, queued.refCnt());
+        complete();
+        assertEquals(List.of("e1", "e2"), written);
+    }
+
+    private void complete() {
+        inFlight.remove(0).complete(null);
+    }
+
+    private static ByteBuf frame(String text) {
+        return Unpooled.copiedBuffer(text, StandardCharsets.UTF_8);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
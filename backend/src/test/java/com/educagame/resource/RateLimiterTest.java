@@ -0,0 +1,125 @@
+package com.educagame.resource;
+
+import com.educagame.service.GameMetrics;
+import io.quarkus.websockets.next.UserData;
+import io.quarkus.websockets.next.WebSocketConnection;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    /** Time the limiter sees; the test moves it by hand. */
+    private long now = 1_000_000_000L;
+    private final RateLimiter limiter = new RateLimiter() {
+        @Override
+        long nanoTime() {
+            return now;
+        }
+    };
+    private final List<String> dropped = new ArrayList<>();
+    private int disconnects;
+    private boolean open = true;
+    private WebSocketConnection connection;
+
+    @BeforeEach
+    void setUp() {
+        limiter.metrics = new GameMetrics() {
+            @Override
+            public void inboundDropped(String type) {
+                dropped.add(type);
+            }
+
+            @Override
+            public void inboundDisconnected() {
+                disconnects++;
+            }
+        };
+        limiter.frameLimit = "10/5";
+        limiter.typeLimits = List.of("*:10/3", "BUZZER_BUZZ:2/2");
+        limiter.maxDrops = 3;
+        limiter.init();
+        connection = connection();
+        limiter.open(connection);
+    }
+
+    @Test
+    void typeOverItsBucketIsDroppedWhileOthersPass() {
+        assertTrue(limiter.admit(connection, "BUZZER_BUZZ"));
+        assertTrue(limiter.admit(connection, "BUZZER_BUZZ"));
+        assertFalse(limiter.admit(connection, "BUZZER_BUZZ"));
+        assertTrue(limiter.admit(connection, "QUIZ_ANSWER"), "each type has its own bucket");
+        assertEquals(List.of("BUZZER_BUZZ"), dropped);
+
+        now += TimeUnit.MILLISECONDS.toNanos(500);
+        assertTrue(limiter.admit(connection, "BUZZER_BUZZ"), "one token back after half a second at 2/s");
+        assertFalse(limiter.admit(connection, "BUZZER_BUZZ"));
+    }
+
+    @Test
+    void frameBucketCapsEveryFrame() {
+        for (int i = 0; i < 5; i++) assertTrue(limiter.admitFrame(connection));
+        assertFalse(limiter.admitFrame(connection));
+        assertEquals(List.of(RateLimiter.FRAME), dropped);
+    }
+
+    @Test
+    void unlistedTypesShareTheDefaultBucket() {
+        assertTrue(limiter.admit(connection, "MADE_UP_1"));
+        assertTrue(limiter.admit(connection, "MADE_UP_2"));
+        assertTrue(limiter.admit(connection, "QUIZ_ANSWER"));
+        assertFalse(limiter.admit(connection, "MADE_UP_3"));
+    }
+
+    @Test
+    void repeatOffenderIsClosedOnce() {
+        for (int i = 0; i < 2; i++) limiter.admit(connection, "BUZZER_BUZZ");
+        for (int i = 0; i < 3; i++) limiter.admit(connection, "BUZZER_BUZZ");
+        assertTrue(open, "drops up to the limit are tolerated");
+
+        limiter.admit(connection, "BUZZER_BUZZ");
+        limiter.admit(connection, "BUZZER_BUZZ");
+        assertFalse(open);
+        assertEquals(1, disconnects);
+    }
+
+    @Test
+    void dropsOutsideTheWindowAreForgiven() {
+        for (int i = 0; i < 2; i++) limiter.admit(connection, "BUZZER_BUZZ");
+        for (int i = 0; i < 3; i++) limiter.admit(connection, "BUZZER_BUZZ");
+        now += RateLimiter.OFFENCE_WINDOW_NS + 1;
+        for (int i = 0; i < 2 + 3; i++) limiter.admit(connection, "BUZZER_BUZZ");
+        assertTrue(open, "six drops, but only three in the current window");
+        assertEquals(0, disconnects);
+    }
+
+    private WebSocketConnection connection() {
+        Map<String, Object> data = new HashMap<>();
+        UserData userData = (UserData) Proxy.newProxyInstance(UserData.class.getClassLoader(), new Class<?>[]{UserData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "get" -> data.get(((UserData.TypedKey<?>) args[0]).value());
+                    case "put" -> data.put(((UserData.TypedKey<?>) args[0]).value(), args[1]);
+                    default -> null;
+                });
+        return (WebSocketConnection) Proxy.newProxyInstance(WebSocketConnection.class.getClassLoader(),
+                new Class<?>[]{WebSocketConnection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "id" -> "c1";
+                    case "userData" -> userData;
+                    case "close" -> {
+                        open = false;
+                        yield Uni.createFrom().voidItem();
+                    }
+                    default -> null;
+                });
+    }
+}
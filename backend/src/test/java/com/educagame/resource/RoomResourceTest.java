@@ -33,6 +33,23 @@ class RoomResourceTest {
                 .body("gameType", equalTo("ROLETRANDO"));
     }
 
+    @Test
+    void createLargeRoom() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"gameType\":\"BINARY_DECISION\",\"largeRoom\":true}")
+                .when().post("/api/rooms")
+                .then()
+                .statusCode(201)
+                .body("largeRoom", equalTo(true));
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"gameType\":\"ROLETRANDO\",\"largeRoom\":true}")
+                .when().post("/api/rooms")
+                .then()
+                .statusCode(400);
+    }
+
     @Test
     void listRooms() {
         given()
@@ -0,0 +1,81 @@
+package com.educagame.resource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ContainerNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateDiffTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void identicalTreesProduceNoOps() throws Exception {
+        JsonNode tree = mapper.readTree("{\"phase\":\"PLAYING\",\"players\":[{\"id\":\"a\",\"score\":1}]}");
+        assertTrue(StateDiff.diff(tree, tree.deepCopy()).isEmpty());
+    }
+
+    @Test
+    void patchTouchesOnlyChangedLeaves() throws Exception {
+        JsonNode base = mapper.readTree("{\"phase\":\"PLAYING\",\"gamePayload\":{\"questions\":[\"q1\",\"q2\",\"q3\"],"
+                + "\"answers\":{}},\"players\":[{\"id\":\"a\",\"score\":1}]}");
+        JsonNode target = mapper.readTree("{\"phase\":\"PLAYING\",\"gamePayload\":{\"questions\":[\"q1\",\"q2\",\"q3\"],"
+                + "\"answers\":{\"a\":2}},\"players\":[{\"id\":\"a\",\"score\":5}]}");
+
+        ArrayNode ops = StateDiff.diff(base, target);
+
+        assertEquals(2, ops.size());
+        assertEquals("/gamePayload/answers/a", ops.get(0).get("path").asText());
+        assertEquals("add", ops.get(0).get("op").asText());
+        assertEquals("/players/0/score", ops.get(1).get("path").asText());
+        assertEquals("replace", ops.get(1).get("op").asText());
+        assertEquals(target, apply(base, ops));
+    }
+
+    @Test
+    void roundTripsArrayGrowthShrinkAndRemovedFields() throws Exception {
+        JsonNode base = mapper.readTree("{\"a/b\":1,\"gone\":true,\"list\":[1,2,3,4],\"more\":[1]}");
+        JsonNode target = mapper.readTree("{\"a/b\":2,\"list\":[1,9],\"more\":[1,2,3],\"x\":null}");
+
+        assertEquals(target, apply(base, StateDiff.diff(base, target)));
+    }
+
+    /** Minimal JSON Patch applier mirroring the frontend. */
+    private static JsonNode apply(JsonNode base, ArrayNode ops) {
+        JsonNode root = base.deepCopy();
+        for (JsonNode op : ops) {
+            String[] parts = op.get("path").asText().substring(1).split("/", -1);
+            ContainerNode<?> parent = (ContainerNode<?>) root;
+            for (int i = 0; i < parts.length - 1; i++) {
+                parent = (ContainerNode<?>) child(parent, unescape(parts[i]));
+            }
+            String key = unescape(parts[parts.length - 1]);
+            String kind = op.get("op").asText();
+            if (parent instanceof ObjectNode obj) {
+                if (kind.equals("remove")) obj.remove(key);
+                else obj.set(key, op.get("value"));
+            } else {
+                ArrayNode arr = (ArrayNode) parent;
+                int idx = Integer.parseInt(key);
+                switch (kind) {
+                    case "remove" -> arr.remove(idx);
+                    case "add" -> arr.insert(idx, op.get("value"));
+                    default -> arr.set(idx, op.get("value"));
+                }
+            }
+        }
+        return root;
+    }
+
+    private static JsonNode child(ContainerNode<?> node, String key) {
+        return node.isArray() ? node.get(Integer.parseInt(key)) : node.get(key);
+    }
+
+    private static String unescape(String s) {
+        return s.replace("~1", "/").replace("~0", "~");
+    }
+}
@@ -0,0 +1,126 @@
+package com.educagame.resource;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.state.CombinationState;
+import com.educagame.model.state.DetectiveState;
+import com.educagame.model.state.QuizState;
+import com.educagame.model.state.RoletrandoState;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateProjectionTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final StateProjection projection = new StateProjection();
+
+    @BeforeEach
+    void setUp() {
+        projection.objectMapper = mapper;
+        projection.init();
+    }
+
+    @Test
+    void quizHidesAnswerKeyAndOtherPlayersResponses() {
+        GameSession session = new GameSession("r1", "default", GameType.QUIZ_SPEED, "a");
+        session.addPlayer(new Player("a", "Ana"));
+        session.addPlayer(new Player("b", "Bia"));
+        session.setPhase(GamePhase.QUIZ_QUESTION);
+        QuizState quiz = new QuizState(List.of(Map.of("question", "2+2?", "correctIndex", 1)));
+        quiz.setQuestion("2+2?", List.of("3", "4"), 1);
+        quiz.getResponses().put("a", new QuizState.Response(1, 0L, 900, true, null, null));
+        session.setGamePayload(quiz);
+        StateProjection.Views views = projection.project(session);
+        JsonNode view = views.publicView();
+        assertEquals(2, view.get("players").size());
+        JsonNode pub = view.get("gamePayload");
+        assertFalse(pub.has("questions"), "banks are never serialized");
+        assertFalse(pub.has("correctIndex"));
+        assertEquals("2+2?", pub.get("question").asText());
+        assertTrue(pub.get("responses").get("a").asBoolean());
+        assertTrue(mapper.valueToTree(session).get("gamePayload").has("correctIndex"),
+                "only the projection's writers leave the answer key out");
+
+        Map<String, JsonNode> selves = views.selves();
+        assertEquals(900, selves.get("a").get("response").get("points").asInt());
+        assertTrue(selves.get("b").isEmpty());
+
+        session.setPhase(GamePhase.QUIZ_FEEDBACK);
+        assertEquals(1, projection.project(session).publicView().get("gamePayload").get("correctIndex").asInt());
+    }
+
+    @Test
+    void largeRoomSendsAudienceSummaryInsteadOfPlayers() {
+        GameSession session = new GameSession("r4", "default", GameType.QUIZ_SPEED, "p0");
+        session.setLargeRoom(true);
+        for (int i = 0; i < 50; i++) session.addPlayer(new Player("p" + i, "Aluno " + i));
+        session.setPhase(GamePhase.QUIZ_QUESTION);
+        QuizState quiz = new QuizState(List.of());
+        quiz.setQuestion("2+2?", List.of("3", "4"), 1);
+        for (int i = 0; i < 30; i++) {
+            int answer = i % 3 == 0 ? 0 : 1;
+            quiz.getResponses().put("p" + i, new QuizState.Response(answer, 0L, i * 10, answer == 1, null, null));
+            quiz.countAnswer(answer);
+            session.getPlayer("p" + i).addScore(i * 10);
+        }
+        session.setGamePayload(quiz);
+        StateProjection.Views views = projection.project(session);
+        JsonNode view = views.publicView();
+        assertFalse(view.has("players"));
+        assertFalse(view.get("gamePayload").has("responses"));
+        JsonNode audience = view.get("audience");
+        assertEquals(50, audience.get("players").asInt());
+        assertEquals(30, audience.get("answered").asInt());
+        assertEquals(10, audience.get("histogram").get("0").asInt());
+        assertEquals(20, audience.get("histogram").get("1").asInt());
+        assertEquals(GameSession.LARGE_ROOM_RANKING_SIZE, audience.get("top").size());
+        assertEquals("p29", audience.get("top").get(0).get("id").asText());
+
+        Map<String, JsonNode> selves = views.selves();
+        assertEquals(290, selves.get("p29").get("score").asInt());
+        assertEquals(1, selves.get("p29").get("response").get("answerIndex").asInt());
+    }
+
+    @Test
+    void roletrandoPhraseIsMaskedUntilSolved() {
+        GameSession session = new GameSession("r2", "default", GameType.ROLETRANDO, "a");
+        session.setPhase(GamePhase.PLAYING);
+        RoletrandoState roletrando = new RoletrandoState("BOA SORTE");
+        roletrando.getRevealed().add("O");
+        session.setGamePayload(roletrando);
+
+        assertEquals("_O_ _O___", projection.project(session).publicView()
+                .get("gamePayload").get("phrase").asText());
+
+        session.setPhase(GamePhase.GAME_END);
+        assertEquals("BOA SORTE", projection.project(session).publicView()
+                .get("gamePayload").get("phrase").asText());
+    }
+
+    @Test
+    void combinationStagePayloadIsRedacted() {
+        GameSession session = new GameSession("r3", "default", GameType.COMBINATION, "a");
+        session.setPhase(GamePhase.PLAYING);
+        DetectiveState detective = new DetectiveState(List.of());
+        detective.setMystery("Albert Einstein", List.of("Physicist"), "Person", null);
+        detective.getRevealedClues().add("Physicist");
+        CombinationState combination = new CombinationState(List.of(Map.of("gameType", "DETECTIVE")));
+        combination.setStagePayload(detective);
+        session.setGamePayload(combination);
+
+        JsonNode stage = projection.project(session).publicView().get("gamePayload");
+        assertFalse(stage.has("gameStages"));
+        assertFalse(stage.get("stagePayload").has("answer"));
+        assertFalse(stage.get("stagePayload").has("allClues"));
+        assertTrue(stage.get("stagePayload").has("revealedClues"));
+    }
+}
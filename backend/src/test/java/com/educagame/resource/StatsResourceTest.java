@@ -28,4 +28,40 @@ class StatsResourceTest {
                 .statusCode(200)
                 .body("$", notNullValue());
     }
+
+    @Test
+    void leaderboardWindows() {
+        given()
+                .when().get("/api/stats/leaderboard?mode=QUIZ_SPEED&window=week")
+                .then()
+                .statusCode(200)
+                .body("$", notNullValue());
+        given()
+                .when().get("/api/stats/leaderboard?mode=QUIZ_SPEED&window=month")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void historyPages() {
+        given()
+                .when().get("/api/stats/history?mode=QUIZ_SPEED&limit=5")
+                .then()
+                .statusCode(200)
+                .body("items", notNullValue());
+        given()
+                .when().get("/api/stats/history?cursor=not-a-cursor")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void bots() {
+        given()
+                .when().get("/api/stats/bots")
+                .then()
+                .statusCode(200)
+                .body("moves", notNullValue())
+                .body("p99DelayMs", notNullValue());
+    }
 }
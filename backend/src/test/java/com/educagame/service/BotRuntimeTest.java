@@ -0,0 +1,154 @@
+package com.educagame.service;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.resource.GameBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotRuntimeTest {
+
+    private static final int MOVES_PER_BOT = 3;
+
+    private final GameClock clock = new GameClock();
+    private final RoomMailbox mailbox = new RoomMailbox();
+    private final BotRuntime runtime = new BotRuntime();
+
+    @BeforeEach
+    void start() {
+        clock.start();
+        mailbox.start();
+        runtime.clock = clock;
+        runtime.mailbox = mailbox;
+        runtime.roomManager = new RoomManager();
+        runtime.timeouts = new GameTimeouts() {
+            @Override
+            public void update(String roomId, GameSession session) {
+            }
+        };
+        runtime.broadcaster = new GameBroadcaster() {
+            @Override
+            public void broadcastState(String roomId, GameSession session) {
+            }
+        };
+        runtime.metrics = new GameMetrics();
+        runtime.metrics.registry = new SimpleMeterRegistry();
+        runtime.metrics.roomManager = runtime.roomManager;
+        runtime.metrics.initialize();
+    }
+
+    @AfterEach
+    void stop() {
+        mailbox.stop();
+        clock.stop();
+    }
+
+    /** Completeness and per-room ordering only; how late moves start is measured by BotRuntimeBenchmark. */
+    @Test
+    void tenThousandBotsPlayEveryMoveOneAtATimePerRoom() throws Exception {
+        int rooms = 1_000;
+        int botsPerRoom = 10;
+        CountDownLatch done = new CountDownLatch(rooms * botsPerRoom * MOVES_PER_BOT);
+        Map<String, Integer> movesByBot = new ConcurrentHashMap<>();
+        Set<String> roomsPlaying = ConcurrentHashMap.newKeySet();
+        AtomicInteger overlaps = new AtomicInteger();
+        runtime.register(new BotStrategy() {
+            @Override
+            public Set<GameType> getSupportedGameTypes() {
+                return Set.of(GameType.QUIZ_SPEED);
+            }
+
+            @Override
+            public boolean wantsToAct(GameSession session, Player bot) {
+                return movesByBot.getOrDefault(bot.getId(), 0) < MOVES_PER_BOT;
+            }
+
+            @Override
+            public long thinkTimeMs(GameSession session, Player bot) {
+                return 200 + ThreadLocalRandom.current().nextInt(400);
+            }
+
+            @Override
+            public boolean act(GameSession session, Player bot) {
+                if (!roomsPlaying.add(session.getRoomId())) overlaps.incrementAndGet();
+                movesByBot.merge(bot.getId(), 1, Integer::sum);
+                bot.addScore(1);
+                roomsPlaying.remove(session.getRoomId());
+                done.countDown();
+                return true;
+            }
+        });
+
+        List<GameSession> sessions = new ArrayList<>();
+        for (int r = 0; r < rooms; r++) {
+            GameSession session = runtime.roomManager.createRoom("default", GameType.QUIZ_SPEED, false);
+            for (int b = 0; b < botsPerRoom; b++) {
+                session.addPlayer(new Player(session.getRoomId() + "-bot-" + b, "Bot " + b, true));
+            }
+            session.setPhase(GamePhase.QUIZ_QUESTION);
+            sessions.add(session);
+            mailbox.submit(session.getRoomId(), () -> runtime.onStateChanged(session.getRoomId(), session));
+        }
+
+        assertTrue(done.await(20, TimeUnit.SECONDS), "moves left: " + done.getCount());
+        BotRuntime.BotStats stats = runtime.stats();
+        assertEquals((long) rooms * botsPerRoom * MOVES_PER_BOT, stats.moves());
+        assertEquals(0, stats.scheduledMoves(), "no move left armed");
+        assertEquals(0, overlaps.get(), "a room's bots never move at the same time");
+        for (GameSession session : sessions) {
+            for (Player bot : session.getPlayers()) assertEquals(MOVES_PER_BOT, bot.getScore());
+        }
+    }
+
+    @Test
+    void smallRoletrandoRoomsAndOptedInRoomsAreFilledWithBots() {
+        runtime.roletrandoBots = new RoletrandoBotStrategy();
+        runtime.roundBots = new RoundBotStrategy();
+        runtime.initialize();
+
+        GameSession roletrando = runtime.roomManager.createRoom("default", GameType.ROLETRANDO, false);
+        roletrando.addPlayer(new Player("a", "Ana"));
+        runtime.fillRoom(roletrando);
+        assertEquals(BotRuntime.MIN_PLAYERS, roletrando.getPlayerCount());
+        assertEquals(BotRuntime.MIN_PLAYERS - 1, roletrando.getPlayers().stream().filter(Player::isBot).count());
+
+        GameSession solo = runtime.roomManager.createRoom("default", GameType.QUIZ_SPEED, false);
+        solo.addPlayer(new Player("d", "Duda"));
+        runtime.fillRoom(solo);
+        assertEquals(1, solo.getPlayerCount(), "a solo quiz stays solo unless the host asks for bots");
+
+        GameSession quiz = runtime.roomManager.createRoom("default", GameType.QUIZ_SPEED, false);
+        quiz.setWithBots(true);
+        quiz.addPlayer(new Player("e", "Edu"));
+        runtime.fillRoom(quiz);
+        assertEquals(BotRuntime.MIN_PLAYERS, quiz.getPlayerCount());
+
+        GameSession millionaire = runtime.roomManager.createRoom("default", GameType.QUIZ_INCREMENTAL, false);
+        millionaire.setWithBots(true);
+        millionaire.addPlayer(new Player("b", "Bia"));
+        runtime.fillRoom(millionaire);
+        assertEquals(1, millionaire.getPlayerCount(), "no bot strategy, no bots");
+
+        GameSession large = runtime.roomManager.createRoom("default", GameType.QUIZ_SPEED, false, true);
+        large.setWithBots(true);
+        large.addPlayer(new Player("c", "Caio"));
+        runtime.fillRoom(large);
+        assertEquals(1, large.getPlayerCount());
+    }
+}
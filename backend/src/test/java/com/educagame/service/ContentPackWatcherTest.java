@@ -0,0 +1,110 @@
+package com.educagame.service;
+
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.content.ThemeContent;
+import com.educagame.tools.QuestionBankCompiler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentPackWatcherTest {
+
+    private static final String QUIZ = "[{\"question\":\"%s\",\"options\":[\"a\",\"b\"],\"correctIndex\":1}]";
+
+    @TempDir
+    Path dir;
+
+    private final DataLoaderService loader = new DataLoaderService();
+    private final ContentPackWatcher watcher = new ContentPackWatcher();
+
+    @BeforeEach
+    void start() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        loader.objectMapper = mapper;
+        watcher.objectMapper = mapper;
+        watcher.dataLoaderService = loader;
+        watcher.contentDir = Optional.of(dir.toString());
+        Files.createDirectories(dir.resolve("ciencias"));
+        Files.writeString(dir.resolve("ciencias/quiz.json"), QUIZ.formatted("v1"));
+        watcher.start(dir);
+    }
+
+    @AfterEach
+    void stop() {
+        watcher.stop();
+    }
+
+    @Test
+    void publishesPacksAndKeepsRunningGamesOnTheirSnapshot() throws Exception {
+        ThemeContent v1 = loader.content("ciencias");
+        assertEquals("v1", v1.file("quiz.json").get(0).get("question"));
+        assertFalse(v1.file("wheel.json").isEmpty(), "missing files come from default");
+        assertTrue(loader.discoverThemes().contains("ciencias"));
+
+        GameSession playing = new GameSession("r1", "ciencias", GameType.QUIZ_SPEED, "host");
+        playing.setContent(loader.content("ciencias"));
+
+        Files.writeString(dir.resolve("ciencias/quiz.json"), QUIZ.formatted("v2"));
+        await(() -> loader.content("ciencias").getVersion() > v1.getVersion());
+        assertEquals("v2", loader.content("ciencias").file("quiz.json").get(0).get("question"));
+        assertSame(v1, loader.content(playing));
+    }
+
+    @Test
+    void rejectsInvalidPackAndKeepsPreviousVersion() throws Exception {
+        ThemeContent v1 = loader.content("ciencias");
+        Files.writeString(dir.resolve("ciencias/quiz.json"), "[{\"question\":\"x\",\"options\":[\"a\"],\"correctIndex\":3}]");
+        Files.createDirectories(dir.resolve("historia"));
+        Files.writeString(dir.resolve("historia/quiz.json"), QUIZ.formatted("h1"));
+
+        // The valid pack arriving in the same burst proves the broken one was looked at.
+        await(() -> loader.content("historia").getVersion() > 0);
+        Thread.sleep(ContentPackWatcher.QUIET_MS * 2);
+        assertSame(v1, loader.content("ciencias"));
+    }
+
+    @Test
+    void compiledBankReplacesItsJsonFile() throws Exception {
+        Path pack = dir.resolve("distrito");
+        Files.createDirectories(pack);
+        Path json = dir.resolve("millionaire.json");
+        Files.writeString(json, "[{\"question\":\"q3\",\"options\":[\"a\",\"b\"],\"correctIndex\":0,\"level\":3}]");
+        QuestionBankCompiler.compile(json, pack.resolve("millionaire.qbank"));
+        await(() -> loader.content("distrito").getVersion() > 0);
+
+        ThemeContent content = loader.content("distrito");
+        assertNotNull(content.bank("millionaire.json"));
+        assertEquals("q3", content.millionaireQuestions(3).get(0).question());
+        assertTrue(content.millionaireQuestions(1).isEmpty());
+        assertSame(loader.content("default").file("quiz.json"), content.file("quiz.json"));
+    }
+
+    @Test
+    void removedPackFallsBackToClasspath() throws Exception {
+        try (Stream<Path> files = Files.walk(dir.resolve("ciencias"))) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+        await(() -> loader.content("ciencias").getVersion() == 0);
+        assertFalse(loader.discoverThemes().contains("ciencias"));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for the watcher");
+            Thread.sleep(20);
+        }
+    }
+}
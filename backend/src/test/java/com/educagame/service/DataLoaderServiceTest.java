@@ -0,0 +1,55 @@
+package com.educagame.service;
+
+import com.educagame.model.content.MillionaireQuestion;
+import com.educagame.model.content.ThemeContent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataLoaderServiceTest {
+
+    private final DataLoaderService loader = new DataLoaderService();
+
+    DataLoaderServiceTest() {
+        loader.objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    void parsesEachThemeOnce() {
+        ThemeContent content = loader.content("default");
+        assertSame(content, loader.content("default"));
+        assertSame(loader.getQuizQuestions("default"), loader.getQuizQuestions("default"));
+        assertTrue(content.wheelSize() > 0);
+        assertThrows(UnsupportedOperationException.class, () -> loader.getQuizQuestions("default").get(0).put("question", "x"));
+    }
+
+    @Test
+    void indexesMillionaireByLevel() {
+        ThemeContent content = loader.content("default");
+        long total = 0;
+        for (int level = 0; level <= 10; level++) {
+            for (MillionaireQuestion q : content.millionaireQuestions(level)) assertEquals(level, q.level());
+            total += content.millionaireQuestions(level).size();
+        }
+        assertEquals(loader.getMillionaireQuestions("default").size(), total);
+        assertTrue(content.millionaireQuestions(99).isEmpty());
+    }
+
+    @Test
+    void unknownThemeFallsBackToDefaultAndIsEvictedLeastRecentlyUsedFirst() {
+        ThemeContent first = loader.content("tema-0");
+        List<Map<String, Object>> quiz = loader.getQuizQuestions("default");
+        assertSame(quiz, first.file("quiz.json"), "fallback shares the default theme's arrays");
+
+        for (int i = 1; i <= DataLoaderService.MAX_CACHED_THEMES; i++) {
+            loader.content("default");
+            loader.content("tema-" + i);
+        }
+        assertNotSame(first, loader.content("tema-0"));
+        assertSame(loader.content("default"), loader.content("default"));
+    }
+}
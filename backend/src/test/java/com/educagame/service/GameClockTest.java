@@ -0,0 +1,88 @@
+package com.educagame.service;
+
+import com.educagame.service.GameClock.Deadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameClockTest {
+
+    private final GameClock clock = new GameClock();
+
+    @BeforeEach
+    void start() {
+        clock.start();
+    }
+
+    @AfterEach
+    void stop() {
+        clock.stop();
+    }
+
+    @Test
+    void deadlineFiresOnceAndIsForgotten() throws Exception {
+        CountDownLatch fired = new CountDownLatch(1);
+        clock.schedule("r1", Deadline.ROUND_END, System.currentTimeMillis() + 100, fired::countDown);
+        assertTrue(clock.scheduledAt("r1", Deadline.ROUND_END) > 0);
+
+        assertTrue(fired.await(2, TimeUnit.SECONDS));
+        Thread.sleep(20);
+        assertEquals(0, clock.scheduledAt("r1", Deadline.ROUND_END));
+    }
+
+    @Test
+    void reschedulingReplacesThePendingDeadline() throws Exception {
+        AtomicInteger first = new AtomicInteger();
+        CountDownLatch second = new CountDownLatch(1);
+        long now = System.currentTimeMillis();
+        clock.schedule("r1", Deadline.ROUND_END, now + 150, first::incrementAndGet);
+        clock.schedule("r1", Deadline.ROUND_END, now + 200, second::countDown);
+
+        assertTrue(second.await(2, TimeUnit.SECONDS));
+        assertEquals(0, first.get());
+    }
+
+    @Test
+    void cancelRoomDropsEveryKind() throws Exception {
+        AtomicInteger fired = new AtomicInteger();
+        long at = System.currentTimeMillis() + 100;
+        for (Deadline kind : Deadline.values()) {
+            clock.schedule("r1", kind, at, fired::incrementAndGet);
+        }
+        CountDownLatch other = new CountDownLatch(1);
+        clock.schedule("r2", Deadline.ROUND_END, at + 50, other::countDown);
+
+        clock.cancelRoom("r1");
+
+        assertTrue(other.await(2, TimeUnit.SECONDS));
+        assertEquals(0, fired.get());
+    }
+
+    @Test
+    void holdsTensOfThousandsOfRooms() throws Exception {
+        int rooms = 20_000;
+        CountDownLatch fired = new CountDownLatch(rooms / 2);
+        AtomicInteger count = new AtomicInteger();
+        long at = System.currentTimeMillis() + 300;
+        for (int i = 0; i < rooms; i++) {
+            clock.schedule("room-" + i, Deadline.ROUND_END, at, () -> {
+                count.incrementAndGet();
+                fired.countDown();
+            });
+        }
+        for (int i = 0; i < rooms; i += 2) {
+            clock.cancel("room-" + i, Deadline.ROUND_END);
+        }
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(rooms / 2, count.get());
+        assertEquals(0, clock.pendingCount());
+    }
+}
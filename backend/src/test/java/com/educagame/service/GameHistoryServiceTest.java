@@ -0,0 +1,150 @@
+package com.educagame.service;
+
+import com.educagame.model.GameResult;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameHistoryServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private GameHistoryService open(long segmentBytes) {
+        HistoryLog log = new HistoryLog();
+        log.historyDir = dir.toString();
+        log.objectMapper = new ObjectMapper();
+        log.segmentBytes = segmentBytes;
+        GameHistoryService service = new GameHistoryService();
+        service.historyLog = log;
+        service.zone = ZoneId.of("America/Sao_Paulo");
+        service.initialize();
+        return service;
+    }
+
+    private static GameSession finished(String roomId, GameType type, String winner, int score) {
+        GameSession session = new GameSession(roomId, "default", type, "host");
+        Player player = new Player(roomId + "-p", winner, false);
+        player.setScore(score);
+        session.addPlayer(player);
+        return session;
+    }
+
+    @Test
+    void leaderboardIsKeptInScoreOrderAndSurvivesRestart() {
+        GameHistoryService service = open(16L * 1024 * 1024);
+        service.recordGame(finished("r1", GameType.ROLETRANDO, "Ana", 300));
+        service.recordGame(finished("r2", GameType.ROLETRANDO, "Bia", 500));
+        service.recordGame(finished("r3", GameType.ROLETRANDO, "ana", 400));
+        service.recordGame(finished("r4", GameType.QUIZ_SPEED, "Caio", 900));
+        List<Map<String, Object>> before = service.getLeaderboard(GameType.ROLETRANDO, GameHistoryService.Window.ALL, 10);
+        assertEquals("Ana", before.get(0).get("name"));
+        assertEquals(700L, before.get(0).get("score"));
+        assertEquals(2, before.get(0).get("games"));
+        assertEquals("Bia", before.get(1).get("name"));
+        assertEquals(1, service.getLeaderboard(GameType.ROLETRANDO, GameHistoryService.Window.ALL, 1).size());
+        service.historyLog.close();
+
+        GameHistoryService restarted = open(16L * 1024 * 1024);
+        assertEquals(before, restarted.getLeaderboard(GameType.ROLETRANDO, GameHistoryService.Window.ALL, 10));
+        assertEquals(List.of("r4", "r3", "r2", "r1"), restarted.getRecentResults(10).stream().map(GameResult::getGameId).toList());
+        restarted.historyLog.close();
+    }
+
+    @Test
+    void pagesFilteredHistoryWithCursorsAndReadsOlderPagesFromDisk() {
+        GameHistoryService service = open(16L * 1024 * 1024);
+        for (int i = 0; i < 700; i++) {
+            GameType type = i % 2 == 0 ? GameType.QUIZ_SPEED : GameType.BUZZER;
+            service.recordGame(finished("g" + i, type, i % 7 == 0 ? "Ana" : "Bia", i));
+        }
+        service.historyLog.close();
+
+        GameHistoryService restarted = open(16L * 1024 * 1024);
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            GameHistoryService.HistoryPage page = restarted.getHistory(GameType.QUIZ_SPEED, null, " ana ", cursor, 20);
+            page.items().forEach(r -> ids.add(r.getGameId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+        // Even games won by Ana: multiples of 14, newest first; the oldest ones are past the in-memory window.
+        List<String> expected = new ArrayList<>();
+        for (int i = 699 / 14 * 14; i >= 0; i -= 14) expected.add("g" + i);
+        assertEquals(expected, ids);
+        assertEquals(3, pages);
+
+        GameHistoryService.HistoryPage first = restarted.getHistory(null, "default", null, null, 3);
+        assertEquals(List.of("g699", "g698", "g697"), first.items().stream().map(GameResult::getGameId).toList());
+        GameHistoryService.HistoryPage second = restarted.getHistory(null, "default", null, first.nextCursor(), 3);
+        assertEquals("g696", second.items().get(0).getGameId());
+        assertTrue(restarted.getHistory(null, "other", null, null, 10).items().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> restarted.getHistory(null, null, null, "!", 10));
+        restarted.historyLog.close();
+    }
+
+    @Test
+    void windowsRollByDayAndDropExpiredBuckets() {
+        WindowedLeaderboard board = new WindowedLeaderboard();
+        long day = 20_000;
+        board.addWin("Ana", 100, day - 8, day);
+        board.addWin("Ana", 10, day - 3, day);
+        board.addWin("Bia", 50, day, day);
+        board.addWin("Ana", 5, day, day);
+
+        assertEquals(List.of("Bia", "Ana"), names(board.top(GameHistoryService.Window.DAY, 10, day)));
+        assertEquals(List.of("Bia", "Ana"), names(board.top(GameHistoryService.Window.WEEK, 10, day)));
+        assertEquals(15L, board.top(GameHistoryService.Window.WEEK, 10, day).get(1).get("score"));
+        assertEquals(List.of("Ana", "Bia"), names(board.top(GameHistoryService.Window.ALL, 10, day)));
+
+        // Four days later the day-3 win has left the week and today is empty.
+        long later = day + 4;
+        assertEquals(List.of(), board.top(GameHistoryService.Window.DAY, 10, later));
+        assertEquals(5L, board.top(GameHistoryService.Window.WEEK, 10, later).get(1).get("score"));
+        assertEquals(List.of(), board.top(GameHistoryService.Window.WEEK, 10, day + 7));
+        assertEquals(115L, board.top(GameHistoryService.Window.ALL, 10, day + 7).get(0).get("score"));
+    }
+
+    private static List<Object> names(List<Map<String, Object>> rows) {
+        return rows.stream().map(r -> r.get("name")).toList();
+    }
+
+    @Test
+    void rollsSegmentsAndCutsATornTail() throws IOException {
+        GameHistoryService service = open(1024);
+        for (int i = 0; i < 50; i++) service.recordGame(finished("r" + i, GameType.BUZZER, "P" + (i % 5), 10));
+        service.historyLog.close();
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(dir)) {
+            segments = files.sorted().toList();
+        }
+        assertTrue(segments.size() > 1, "segments: " + segments);
+        // A crash in the middle of a write leaves half a frame at the end of the last segment.
+        Files.write(segments.get(segments.size() - 1), new byte[]{0, 0, 1, 0, 42}, StandardOpenOption.APPEND);
+
+        GameHistoryService restarted = open(1024);
+        assertEquals(50, restarted.getRecentResults(100).size());
+        restarted.recordGame(finished("after", GameType.BUZZER, "P0", 10));
+        restarted.historyLog.close();
+        GameHistoryService reopened = open(1024);
+        assertEquals("after", reopened.getRecentResults(1).get(0).getGameId());
+        reopened.historyLog.close();
+    }
+}
@@ -0,0 +1,91 @@
+package com.educagame.service;
+
+import com.educagame.model.GameType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RoomManager roomManager = new RoomManager();
+    private final GameMetrics metrics = new GameMetrics();
+
+    @BeforeEach
+    void setUp() {
+        metrics.registry = registry;
+        metrics.roomManager = roomManager;
+        metrics.initialize();
+    }
+
+    @Test
+    void gaugesFollowRoomsAndConnectionsPerGameType() {
+        String quiz = roomManager.createRoom("default", GameType.QUIZ_SPEED, false).getRoomId();
+        roomManager.createRoom("default", GameType.QUIZ_SPEED, false);
+        String wheel = roomManager.createRoom("default", GameType.ROLETRANDO, false).getRoomId();
+        roomManager.joinRoom(quiz, "c1", "Ana");
+        roomManager.joinRoom(quiz, "c2", "Bia");
+        roomManager.joinRoom(wheel, "c3", "Caio");
+
+        assertEquals(2, gauge("educagame.rooms.active", GameType.QUIZ_SPEED));
+        assertEquals(1, gauge("educagame.rooms.active", GameType.ROLETRANDO));
+        assertEquals(0, gauge("educagame.rooms.active", GameType.BUZZER));
+        assertEquals(2, gauge("educagame.connections.active", GameType.QUIZ_SPEED));
+        assertEquals(1, gauge("educagame.connections.active", GameType.ROLETRANDO));
+
+        roomManager.leaveRoom("c2");
+        assertEquals(1, gauge("educagame.connections.active", GameType.QUIZ_SPEED));
+    }
+
+    @Test
+    void messagesAreCountedAndTimedPerType() {
+        metrics.messageReceived("GUESS");
+        metrics.messageReceived("GUESS");
+        metrics.messageReceived("QUIZ_ANSWER");
+        metrics.messageHandled("GUESS", 2_000);
+
+        assertEquals(2, registry.get("educagame.ws.messages").tag("type", "GUESS").counter().count());
+        assertEquals(1, registry.get("educagame.ws.messages").tag("type", "QUIZ_ANSWER").counter().count());
+        assertEquals(1, registry.get("educagame.ws.handler").tag("type", "GUESS").timer().count());
+    }
+
+    @Test
+    void unknownMessageTypesShareOneTagWithoutCrowdingOutKnownOnes() {
+        for (int i = 0; i < 1000; i++) {
+            metrics.messageReceived("T" + i);
+            metrics.messageHandled("T" + i, 1_000);
+            metrics.inboundDropped("T" + i);
+        }
+        metrics.messageReceived("BUZZER_BUZZ");
+        metrics.messageHandled("BUZZER_BUZZ", 1_000);
+        metrics.inboundDropped("BUZZER_BUZZ");
+        metrics.inboundDropped("FRAME");
+
+        assertEquals(1000, registry.get("educagame.ws.messages").tag("type", "OTHER").counter().count());
+        assertEquals(1, registry.get("educagame.ws.messages").tag("type", "BUZZER_BUZZ").counter().count());
+        assertEquals(1, registry.get("educagame.ws.handler").tag("type", "BUZZER_BUZZ").timer().count());
+        assertEquals(1, registry.get("educagame.ws.inbound.dropped").tag("type", "BUZZER_BUZZ").counter().count());
+        assertEquals(1, registry.get("educagame.ws.inbound.dropped").tag("type", "FRAME").counter().count());
+        assertEquals(2, registry.find("educagame.ws.messages").counters().size());
+        assertEquals(3, registry.find("educagame.ws.inbound.dropped").counters().size());
+    }
+
+    @Test
+    void broadcastAndBotTimersRecord() {
+        metrics.broadcastSerialized("patch", 5_000);
+        metrics.broadcastSent("patch", 7_000);
+        metrics.botDelay(12);
+
+        assertEquals(1, registry.get("educagame.broadcast.serialize").tag("kind", "patch").timer().count());
+        assertEquals(1, registry.get("educagame.broadcast.fanout").tag("kind", "patch").timer().count());
+        assertEquals(12, registry.get("educagame.bots.delay").timer().totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    private double gauge(String name, GameType type) {
+        return registry.get(name).tag("gameType", type.name()).gauge().value();
+    }
+}
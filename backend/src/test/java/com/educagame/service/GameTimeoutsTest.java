@@ -0,0 +1,76 @@
+package com.educagame.service;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.state.BinaryState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameTimeoutsTest {
+
+    private static final int TIME_LIMIT_MS = 20_000;
+
+    private final GameTimeouts timeouts = new GameTimeouts();
+    private final RoomManager roomManager = new RoomManager();
+    /** Deadlines armed for the room under test, by kind. */
+    private final Map<GameClock.Deadline, Long> armed = new EnumMap<>(GameClock.Deadline.class);
+    private GameSession session;
+
+    @BeforeEach
+    void setUp() {
+        timeouts.clock = new GameClock() {
+            @Override
+            public void schedule(String roomId, Deadline kind, long at, Runnable task) {
+                armed.put(kind, at);
+            }
+
+            @Override
+            public void cancel(String roomId, Deadline kind) {
+                armed.remove(kind);
+            }
+
+            @Override
+            public void cancelRoom(String roomId) {
+                armed.clear();
+            }
+        };
+        timeouts.roomManager = roomManager;
+        timeouts.binaryEngine = new BinaryEngine();
+        timeouts.detectiveEngine = new DetectiveEngine();
+
+        session = roomManager.createRoom("default", GameType.BINARY_DECISION, false);
+        roomManager.joinRoom(session.getRoomId(), "a", "Ana");
+        session.addPlayer(new Player("bot-1", "Bot 1", true));
+        BinaryState state = new BinaryState(List.of());
+        state.startRound(TIME_LIMIT_MS);
+        session.setGamePayload(state);
+        session.setPhase(GamePhase.PLAYING);
+        session.setRoundStartedAt(System.currentTimeMillis());
+    }
+
+    @Test
+    void roundWaitsForTheOnlyHumanToResume() {
+        String token = roomManager.issueResumeToken("a");
+        timeouts.update(session.getRoomId(), session);
+        assertEquals(session.getRoundStartedAt() + TIME_LIMIT_MS, armed.get(GameClock.Deadline.ROUND_END));
+
+        roomManager.markDisconnected("a");
+        timeouts.update(session.getRoomId(), session);
+        assertNull(armed.get(GameClock.Deadline.ROUND_END), "nobody to play the round: it is held");
+        assertFalse(session.getGamePayload(BinaryState.class).allAnswered(session));
+
+        assertEquals("a", roomManager.resumePlayer(token));
+        timeouts.update(session.getRoomId(), session);
+        assertEquals(GamePhase.PLAYING, session.getPhase());
+        assertEquals(session.getRoundStartedAt() + TIME_LIMIT_MS, armed.get(GameClock.Deadline.ROUND_END),
+                "the round is still open, on its own time limit");
+    }
+}
@@ -0,0 +1,135 @@
+package com.educagame.service;
+
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomMailboxTest {
+
+    private final RoomMailbox mailbox = new RoomMailbox();
+
+    @BeforeEach
+    void start() {
+        mailbox.start();
+    }
+
+    @AfterEach
+    void stop() {
+        mailbox.stop();
+    }
+
+    @Test
+    void noLostUpdatesAcrossThousandConcurrentRooms() throws Exception {
+        int rooms = 1_000;
+        int submitters = 16;
+        int commandsPerSubmitter = 20_000;
+        List<GameSession> sessions = new ArrayList<>();
+        AtomicBoolean[] busy = new AtomicBoolean[rooms];
+        for (int i = 0; i < rooms; i++) {
+            GameSession session = new GameSession("room-" + i, "default", GameType.QUIZ_SPEED, "p");
+            session.addPlayer(new Player("p", "Ana"));
+            sessions.add(session);
+            busy[i] = new AtomicBoolean();
+        }
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(submitters * commandsPerSubmitter);
+        int[] expected = new int[rooms];
+
+        ExecutorService pool = Executors.newFixedThreadPool(submitters);
+        int[][] picks = new int[submitters][commandsPerSubmitter];
+        for (int t = 0; t < submitters; t++) {
+            for (int c = 0; c < commandsPerSubmitter; c++) {
+                picks[t][c] = ThreadLocalRandom.current().nextInt(rooms);
+                expected[picks[t][c]]++;
+            }
+        }
+        for (int t = 0; t < submitters; t++) {
+            int[] mine = picks[t];
+            pool.execute(() -> {
+                for (int room : mine) {
+                    GameSession session = sessions.get(room);
+                    mailbox.submit(session.getRoomId(), () -> {
+                        if (!busy[room].compareAndSet(false, true)) overlaps.incrementAndGet();
+                        // Plain read-modify-write on the session: only safe if the room is single-writer.
+                        session.getPlayers().get(0).addScore(1);
+                        busy[room].set(false);
+                        done.countDown();
+                    });
+                }
+            });
+        }
+
+        assertTrue(done.await(30, TimeUnit.SECONDS), "commands still pending: " + done.getCount());
+        pool.shutdown();
+        assertEquals(0, overlaps.get());
+        for (int i = 0; i < rooms; i++) {
+            assertEquals(expected[i], sessions.get(i).getPlayers().get(0).getScore(), "room " + i);
+        }
+    }
+
+    @Test
+    void forgettingARoomFromItsOwnDrainKeepsItSingleWriter() throws Exception {
+        AtomicBoolean busy = new AtomicBoolean();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch forgotten = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        mailbox.submit("r1", () -> {
+            busy.set(true);
+            mailbox.forgetRoom("r1");
+            forgotten.countDown();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            busy.set(false);
+        });
+        assertTrue(forgotten.await(5, TimeUnit.SECONDS));
+        // A late deadline or bot move for the closed room, submitted while its last command still runs.
+        mailbox.submit("r1", () -> {
+            if (busy.get()) overlaps.incrementAndGet();
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mailbox.roomCount() > 0 && System.nanoTime() < deadline) Thread.sleep(1);
+        assertEquals(0, mailbox.roomCount(), "the drained mailbox unmaps itself");
+    }
+
+    @Test
+    void commandsRunInSubmissionOrderAndSurviveFailures() throws Exception {
+        List<Integer> seen = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        for (int i = 0; i < RoomMailbox.BATCH * 3; i++) {
+            int n = i;
+            mailbox.submit("r1", () -> {
+                if (n == 5) throw new IllegalStateException("boom");
+                seen.add(n);
+            });
+        }
+        mailbox.submit("r1", done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(RoomMailbox.BATCH * 3 - 1, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i - 1) < seen.get(i));
+        }
+    }
+}
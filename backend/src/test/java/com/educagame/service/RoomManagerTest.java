@@ -0,0 +1,184 @@
+package com.educagame.service;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.state.BinaryState;
+import com.educagame.model.state.RoletrandoState;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomManagerTest {
+
+    private final RoomManager roomManager = new RoomManager();
+
+    @Test
+    void leaveRemovesPlayerAndEmptyRoom() {
+        String roomId = roomManager.createRoom("default", GameType.QUIZ_SPEED, false).getRoomId();
+        roomManager.joinRoom(roomId, "a", "Ana");
+        roomManager.joinRoom(roomId, "b", "Bia");
+
+        roomManager.leaveRoom("a");
+        GameSession session = roomManager.getSession(roomId).orElseThrow();
+        assertEquals(1, session.getPlayers().size());
+        assertEquals(Set.of("b"), roomManager.getConnectionIdsInRoom(roomId));
+
+        roomManager.leaveRoom("a");
+        roomManager.leaveRoom("b");
+        assertTrue(roomManager.getSession(roomId).isEmpty());
+        assertTrue(roomManager.getConnectionIdsInRoom(roomId).isEmpty());
+    }
+
+    @Test
+    void roomLeftToItsBotsIsRemoved() {
+        GameSession session = roomManager.createRoom("default", GameType.ROLETRANDO, false);
+        String roomId = session.getRoomId();
+        roomManager.joinRoom(roomId, "a", "Ana");
+        session.addPlayer(new Player("bot-1", "Bot 1", true));
+        session.addPlayer(new Player("bot-2", "Bot 2", true));
+
+        roomManager.leaveRoom("a");
+        assertTrue(roomManager.getSession(roomId).isEmpty(), "bots alone do not keep a room open");
+        assertTrue(roomManager.getConnectionIdsInRoom(roomId).isEmpty());
+    }
+
+    @Test
+    void largeRoomTakesAnAuditorium() {
+        String small = roomManager.createRoom("default", GameType.QUIZ_SPEED, false).getRoomId();
+        String large = roomManager.createRoom("default", GameType.QUIZ_SPEED, false, true).getRoomId();
+        for (int i = 0; i < 1000; i++) {
+            roomManager.joinRoom(small, "s" + i, "Aluno " + i);
+            assertTrue(roomManager.joinRoom(large, "l" + i, "Aluno " + i));
+        }
+        assertEquals(10, roomManager.getSession(small).orElseThrow().getPlayerCount());
+        GameSession session = roomManager.getSession(large).orElseThrow();
+        assertEquals(1000, session.getPlayerCount());
+        assertEquals("l0", session.getHostConnectionId());
+        assertNotNull(session.getPlayer("l999"));
+
+        roomManager.leaveRoom("l999");
+        assertNull(session.getPlayer("l999"));
+        assertEquals(999, session.getPlayerCount());
+    }
+
+    @Test
+    void largeRoomOnlyForSharedQuestionGames() {
+        assertThrows(IllegalArgumentException.class,
+                () -> roomManager.createRoom("default", GameType.ROLETRANDO, false, true));
+    }
+
+    @Test
+    void droppedPlayerKeepsTheirPlaceUntilTheGraceRunsOut() {
+        String roomId = roomManager.createRoom("default", GameType.QUIZ_SPEED, false).getRoomId();
+        roomManager.joinRoom(roomId, "a", "Ana");
+        roomManager.joinRoom(roomId, "b", "Bia");
+        String token = roomManager.issueResumeToken("a");
+        assertEquals(token, roomManager.issueResumeToken("a"));
+        GameSession session = roomManager.getSession(roomId).orElseThrow();
+        session.getPlayer("a").addScore(700);
+
+        long first = roomManager.markDisconnected("a");
+        assertFalse(session.getPlayer("a").isConnected());
+        assertEquals(roomId, roomManager.resumeRoom(token));
+        assertEquals("a", roomManager.resumePlayer(token));
+        assertTrue(session.getPlayer("a").isConnected());
+        assertEquals(700, session.getPlayer("a").getScore());
+        assertFalse(roomManager.expire("a", first), "resumed: the old grace period does not apply");
+
+        long second = roomManager.markDisconnected("a");
+        assertTrue(roomManager.expire("a", second));
+        assertNull(session.getPlayer("a"));
+        assertNull(roomManager.resumePlayer(token));
+        assertNull(roomManager.resumeRoom(token));
+    }
+
+    @Test
+    void someoneLeavingDoesNotReconnectADroppedPlayer() {
+        String roomId = roomManager.createRoom("default", GameType.QUIZ_SPEED, false).getRoomId();
+        roomManager.joinRoom(roomId, "a", "Ana");
+        roomManager.joinRoom(roomId, "b", "Bia");
+        roomManager.joinRoom(roomId, "c", "Caio");
+        roomManager.markDisconnected("a");
+
+        roomManager.leaveRoom("b");
+        GameSession session = roomManager.getSession(roomId).orElseThrow();
+        assertFalse(session.getPlayer("a").isConnected());
+        assertTrue(session.getPlayer("c").isConnected());
+    }
+
+    @Test
+    void droppedPlayerHoldsNeitherTheRoundTheTurnNorTheHost() {
+        String roomId = roomManager.createRoom("default", GameType.BINARY_DECISION, false).getRoomId();
+        roomManager.joinRoom(roomId, "a", "Ana");
+        roomManager.joinRoom(roomId, "b", "Bia");
+        roomManager.joinRoom(roomId, "c", "Caio");
+        GameSession session = roomManager.getSession(roomId).orElseThrow();
+        BinaryState round = new BinaryState(List.of());
+        round.getResponses().put("b", new BinaryState.Response(true, true, 500, 1, 100, 1));
+
+        roomManager.markDisconnected("a");
+        assertEquals("b", session.getHostConnectionId());
+        assertTrue(session.getPlayer("b").isHost());
+        assertFalse(session.getPlayer("a").isHost());
+        assertFalse(round.allAnswered(session), "Caio is still answering");
+        roomManager.markDisconnected("c");
+        assertTrue(round.allAnswered(session));
+        assertEquals(1, session.getConnectedCount());
+
+        GameSession wheel = new GameSession("w", "default", GameType.ROLETRANDO, "a");
+        for (String id : List.of("a", "b", "c")) wheel.addPlayer(new Player(id, id));
+        wheel.setGamePayload(new RoletrandoState("BRASIL"));
+        wheel.setPhase(GamePhase.GUESSING);
+        wheel.setCurrentTurnIndex(0);
+        wheel.setPlayerConnected("b", false);
+        RoletrandoEngine engine = new RoletrandoEngine();
+        assertFalse(engine.passTurnIfAway(wheel));
+        wheel.setPlayerConnected("a", false);
+        assertTrue(engine.passTurnIfAway(wheel));
+        assertEquals(2, wheel.getCurrentTurnIndex(), "Bia is away too, so the turn goes to Caio");
+        assertEquals(GamePhase.PLAYING, wheel.getPhase());
+    }
+
+    @Test
+    void largeRoomCountsOnlyAnswersFromPlayersStillConnected() {
+        GameSession session = roomManager.createRoom("default", GameType.BINARY_DECISION, false, true);
+        BinaryState round = new BinaryState(List.of());
+        session.setGamePayload(round);
+        for (int i = 0; i < 10; i++) roomManager.joinRoom(session.getRoomId(), "p" + i, "Jogador " + i);
+        for (int i = 0; i < 5; i++) {
+            round.getResponses().put("p" + i, new BinaryState.Response(true, true, 500, 1, 100, 1));
+            round.countAnswer(true);
+            roomManager.markDisconnected("p" + i);
+        }
+        assertEquals(5, session.getConnectedCount());
+        assertFalse(round.allAnswered(session), "the five still connected have not answered");
+
+        roomManager.resumePlayer(roomManager.issueResumeToken("p0"));
+        assertFalse(round.allAnswered(session));
+        for (int i = 5; i < 10; i++) {
+            round.getResponses().put("p" + i, new BinaryState.Response(true, true, 500, 1, 100, 1));
+            round.countAnswer(true);
+        }
+        assertTrue(round.allAnswered(session));
+    }
+
+    @Test
+    void joiningAnotherRoomMovesTheConnection() {
+        String first = roomManager.createRoom("default", GameType.QUIZ_SPEED, false).getRoomId();
+        String second = roomManager.createRoom("default", GameType.QUIZ_SPEED, false).getRoomId();
+        roomManager.joinRoom(first, "a", "Ana");
+        roomManager.joinRoom(first, "b", "Bia");
+        roomManager.joinRoom(second, "a", "Ana");
+
+        assertEquals(Set.of("b"), roomManager.getConnectionIdsInRoom(first));
+
+        roomManager.leaveRoom("a");
+        assertTrue(roomManager.getSession(second).isEmpty(), "close leaves the room the connection is in now");
+        assertTrue(roomManager.getSession(first).isPresent());
+    }
+}
@@ -0,0 +1,111 @@
+package com.educagame.tools;
+
+import com.educagame.model.content.MillionaireQuestion;
+import com.educagame.model.content.QuestionBank;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionBankCompilerTest {
+
+    private static final int QUESTIONS = 50_000;
+    private static final String[] TAGS = {"Ciências", "História", "Geografia"};
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsLargeBankWithLevelAndTagIndexes() throws IOException {
+        Path json = dir.resolve("millionaire.json");
+        try (Writer w = Files.newBufferedWriter(json)) {
+            w.write("[");
+            for (int i = 0; i < QUESTIONS; i++) {
+                if (i > 0) w.write(",\n");
+                String tag = i % 7 == 0 ? "" : ",\"category\":\"" + TAGS[i % TAGS.length] + "\"";
+                w.write("{\"question\":\"Pergunta " + i + "?\",\"options\":[\"A\",\"B\",\"C\",\"" + i + "\"],"
+                        + "\"correctIndex\":" + (i % 4) + ",\"level\":" + (1 + i % 10) + ",\"value\":" + i + tag + "}");
+            }
+            w.write("]");
+        }
+        Path out = dir.resolve("millionaire.qbank");
+        assertEquals(QUESTIONS, QuestionBankCompiler.compile(json, out));
+
+        QuestionBank bank = QuestionBank.open(out);
+        assertEquals(QUESTIONS, bank.size());
+        QuestionBank.Question q = bank.question(12_345);
+        assertEquals("Pergunta 12345?", q.question());
+        assertEquals(List.of("A", "B", "C", "12345"), q.options());
+        assertEquals(12_345 % 4, q.correctIndex());
+        assertEquals(1 + 12_345 % 10, q.level());
+        assertEquals(12_345, q.value());
+        assertNull(q.timeLimitMs());
+        assertEquals(TAGS[12_345 % TAGS.length], q.tag());
+
+        int total = 0;
+        for (int level = 0; level <= 11; level++) {
+            List<MillionaireQuestion> atLevel = bank.atLevel(level);
+            total += atLevel.size();
+            if (!atLevel.isEmpty()) assertEquals(level, atLevel.get(atLevel.size() - 1).level());
+        }
+        assertEquals(QUESTIONS, total);
+
+        int tagged = 0;
+        for (String tag : TAGS) {
+            List<Map<String, Object>> rows = bank.withTag(tag);
+            tagged += rows.size();
+            assertEquals(tag, rows.get(rows.size() / 2).get("tag"));
+        }
+        assertEquals(QUESTIONS - (QUESTIONS + 6) / 7, tagged);
+        assertTrue(bank.withTag("Artes").isEmpty());
+        assertFalse(Files.exists(dir.resolve("millionaire.qbank.tmp")));
+    }
+
+    @Test
+    void samplesDistinctQuestionsFromTheTagOrTheWholeBank() throws IOException {
+        Path json = dir.resolve("quiz.json");
+        try (Writer w = Files.newBufferedWriter(json)) {
+            w.write("[");
+            for (int i = 0; i < 300; i++) {
+                if (i > 0) w.write(",\n");
+                w.write("{\"question\":\"Q" + i + "\",\"options\":[\"a\",\"b\"],\"correctIndex\":0,"
+                        + "\"category\":\"" + TAGS[i % TAGS.length] + "\"}");
+            }
+            w.write("]");
+        }
+        Path out = dir.resolve("quiz.qbank");
+        QuestionBankCompiler.compile(json, out);
+        QuestionBank bank = QuestionBank.open(out);
+        SplittableRandom random = new SplittableRandom(7);
+
+        int[] history = bank.sample("História", 10, random);
+        assertEquals(10, history.length);
+        assertEquals(10, Arrays.stream(history).distinct().count());
+        for (Map<String, Object> row : bank.rows(history)) assertEquals("História", row.get("tag"));
+
+        int[] any = bank.sample("Artes", 10, random);
+        assertEquals(10, Arrays.stream(any).distinct().count());
+        assertTrue(Arrays.stream(any).allMatch(id -> id >= 0 && id < 300));
+        assertFalse(Arrays.equals(any, bank.sample(null, 10, random)));
+
+        assertEquals(100, bank.sample("Geografia", 500, random).length);
+        assertEquals(0, bank.sample(null, 0, random).length);
+    }
+
+    @Test
+    void rejectsBadEntriesAndForeignFiles() throws IOException {
+        Path json = dir.resolve("quiz.json");
+        Files.writeString(json, "[{\"question\":\"x\",\"options\":[\"a\"],\"correctIndex\":2}]");
+        assertThrows(IOException.class, () -> QuestionBankCompiler.compile(json, dir.resolve("quiz.qbank")));
+        assertThrows(IOException.class, () -> QuestionBank.open(json));
+    }
+}
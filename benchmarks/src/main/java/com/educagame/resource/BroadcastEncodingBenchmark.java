@@ -0,0 +1,97 @@
+package com.educagame.resource;
+
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.WsOutbound;
+import com.educagame.model.state.QuizState;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.websockets.next.WebSocketConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One room broadcast of a quiz-sized STATE: the old path (String per broadcast, UTF-8 encode per
+ * recipient) against the pooled frame shared by every recipient.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadcastEncodingBenchmark {
+
+    @Param({"10", "50", "200"})
+    int players;
+
+    private final FakeConnections fakes = new FakeConnections();
+    private ObjectMapper objectMapper;
+    private FrameEncoder encoder;
+    private List<WebSocketConnection> room;
+    private WsOutbound message;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        encoder = new FrameEncoder();
+        encoder.objectMapper = objectMapper;
+        encoder.queues = FakeConnections.outboundQueues();
+        encoder.init();
+
+        GameSession session = new GameSession("bench", "default", GameType.QUIZ_SPEED, "p0");
+        room = new ArrayList<>(players);
+        List<Map<String, Object>> questions = new ArrayList<>();
+        for (int q = 0; q < 20; q++) {
+            questions.add(Map.of(
+                    "question", "Qual é a capital do estado número " + q + "?",
+                    "options", List.of("São Paulo", "Brasília", "Salvador", "Curitiba"),
+                    "correctIndex", q % 4));
+        }
+        QuizState quiz = new QuizState(questions);
+        quiz.setQuestionIndex(3);
+        for (int i = 0; i < players; i++) {
+            session.addPlayer(new Player("p" + i, "Jogador " + i));
+            room.add(fakes.create("p" + i));
+            quiz.getResponses().put("p" + i, new QuizState.Response(i % 4, 0L, 500, i % 4 == 3, null, null));
+        }
+        session.setGamePayload(quiz);
+        message = WsOutbound.state(session);
+    }
+
+    @Benchmark
+    public void stringPerRecipient(Blackhole bh) throws Exception {
+        String json = objectMapper.writeValueAsString(message);
+        for (WebSocketConnection conn : room) {
+            conn.sendText(json).subscribe().asCompletionStage();
+        }
+        bh.consume(fakes.bytesSent.get());
+    }
+
+    @Benchmark
+    public void sharedPooledFrame(Blackhole bh) throws Exception {
+        FrameEncoder.Frame frame = encoder.frame(message).prepare(room);
+        try {
+            encoder.send(room, frame);
+        } finally {
+            frame.release();
+        }
+        bh.consume(fakes.bytesSent.get());
+    }
+}
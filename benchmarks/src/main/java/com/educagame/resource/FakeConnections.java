@@ -0,0 +1,94 @@
+package com.educagame.resource;
+
+import com.educagame.service.BenchmarkServices;
+import io.quarkus.websockets.next.UserData;
+import io.quarkus.websockets.next.WebSocketConnection;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.buffer.Buffer;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebSocketConnection stubs for benchmarks. Sends complete immediately; text sends pay the UTF-8
+ * encode Vert.x does per frame and binary sends take the per-connection slice it takes, so the
+ * work that scales with recipients is still measured.
+ */
+final class FakeConnections {
+
+    final AtomicLong bytesSent = new AtomicLong();
+
+    /** Outbound queues with the production limits; fake sends complete at once, so nothing queues. */
+    static OutboundQueues outboundQueues() {
+        OutboundQueues queues = new OutboundQueues();
+        queues.metrics = BenchmarkServices.gameMetrics();
+        queues.maxInFlight = 16;
+        queues.maxQueued = 64;
+        queues.stallMs = 10_000;
+        return queues;
+    }
+
+    WebSocketConnection create(String id) {
+        return create(id, WireFormat.JSON);
+    }
+
+    WebSocketConnection create(String id, WireFormat format) {
+        UserData userData = new MapUserData();
+        userData.put(WireFormat.KEY, format);
+        return (WebSocketConnection) Proxy.newProxyInstance(
+                WebSocketConnection.class.getClassLoader(),
+                new Class<?>[]{WebSocketConnection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "id" -> id;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> id;
+                    case "isOpen" -> true;
+                    case "userData" -> userData;
+                    case "sendText" -> {
+                        Buffer encoded = Buffer.buffer(String.valueOf(args[0]));
+                        bytesSent.addAndGet(encoded.length());
+                        yield Uni.createFrom().voidItem();
+                    }
+                    case "sendBinary" -> {
+                        bytesSent.addAndGet(((Buffer) args[0]).getByteBuf().readableBytes());
+                        yield Uni.createFrom().voidItem();
+                    }
+                    default -> method.getReturnType() == Uni.class ? Uni.createFrom().voidItem() : null;
+                });
+    }
+
+    private static final class MapUserData implements UserData {
+        private final Map<String, Object> values = new HashMap<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <V> V get(TypedKey<V> key) {
+            return (V) values.get(key.value());
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <V> V put(TypedKey<V> key, V value) {
+            return (V) values.put(key.value(), value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <V> V remove(TypedKey<V> key) {
+            return (V) values.remove(key.value());
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public void clear() {
+            values.clear();
+        }
+    }
+}
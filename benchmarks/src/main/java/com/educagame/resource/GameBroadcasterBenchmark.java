@@ -0,0 +1,95 @@
+package com.educagame.resource;
+
+import com.educagame.model.WsOutbound;
+import com.educagame.service.BenchmarkServices;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.websockets.next.WebSocketConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one room broadcast as the number of connections on the node grows. The room size is
+ * fixed, so {@link #roomIndexed} should stay flat while {@link #fullScan} (the old
+ * listAll-and-filter approach) grows linearly with {@code nodeConnections}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBroadcasterBenchmark {
+
+    private static final int ROOM_SIZE = 10;
+
+    @Param({"100", "1000", "10000"})
+    int nodeConnections;
+
+    private final FakeConnections fakes = new FakeConnections();
+    private GameBroadcaster broadcaster;
+    private List<WebSocketConnection> allConnections;
+    private Map<WebSocketConnection, String> roomOf;
+    private ObjectMapper objectMapper;
+    private WsOutbound message;
+    private String targetRoom;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        RoomConnectionRegistry registry = new RoomConnectionRegistry();
+        broadcaster = new GameBroadcaster();
+        broadcaster.connections = registry;
+        broadcaster.metrics = BenchmarkServices.gameMetrics();
+        broadcaster.encoder = new FrameEncoder();
+        broadcaster.encoder.objectMapper = objectMapper;
+        broadcaster.encoder.queues = FakeConnections.outboundQueues();
+        broadcaster.encoder.init();
+
+        allConnections = new ArrayList<>(nodeConnections);
+        roomOf = new HashMap<>();
+        for (int i = 0; i < nodeConnections; i++) {
+            String roomId = "room-" + (i / ROOM_SIZE);
+            WebSocketConnection conn = fakes.create("conn-" + i);
+            allConnections.add(conn);
+            roomOf.put(conn, roomId);
+            registry.register(roomId, conn);
+        }
+        targetRoom = "room-0";
+        message = WsOutbound.event("TICK", Map.of("secondsLeft", 12, "phase", "PLAYING"));
+    }
+
+    @Benchmark
+    public void roomIndexed(Blackhole bh) {
+        broadcaster.broadcastToRoom(targetRoom, message);
+        bh.consume(fakes.bytesSent.get());
+    }
+
+    @Benchmark
+    public void fullScan(Blackhole bh) throws Exception {
+        String json = objectMapper.writeValueAsString(message);
+        for (WebSocketConnection conn : allConnections) {
+            if (Objects.equals(targetRoom, roomOf.get(conn))) {
+                conn.sendText(json).subscribe().asCompletionStage();
+            }
+        }
+        bh.consume(fakes.bytesSent.get());
+    }
+}
@@ -0,0 +1,61 @@
+package com.educagame.resource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding one inbound frame: {@link InboundDecoder} against the generic {@code Map} parse the
+ * endpoint used before. Run with {@code -prof gc} to compare bytes per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InboundDecodeBenchmark {
+
+    private static final Map<String, String> FRAMES = Map.of(
+            "answer", "{\"type\":\"QUIZ_ANSWER\",\"answerIndex\":2}",
+            "join", "{\"type\":\"JOIN\",\"roomId\":\"a1b2c3d4\",\"playerName\":\"Jogador 17\"}",
+            "sequence", "{\"type\":\"SEQUENCING_SUBMIT\",\"orderedIds\":[\"s3\",\"s1\",\"s4\",\"s2\",\"s5\"]}");
+
+    @Param({"answer", "join", "sequence"})
+    String frame;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private InboundDecoder decoder;
+    private String raw;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        decoder = new InboundDecoder();
+        decoder.objectMapper = objectMapper;
+        decoder.init();
+        raw = FRAMES.get(frame);
+    }
+
+    @Benchmark
+    public Object typed() throws Exception {
+        return decoder.decode(raw);
+    }
+
+    @Benchmark
+    public Object map() throws Exception {
+        return objectMapper.readValue(raw, Map.class);
+    }
+}
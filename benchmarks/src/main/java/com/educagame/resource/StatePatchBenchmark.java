@@ -0,0 +1,99 @@
+package com.educagame.resource;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.state.BinaryState;
+import com.educagame.service.BenchmarkServices;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One answer in a Fato ou Fake round, published the way the engines publish it: the broadcaster
+ * serializes the session, projects it, diffs it against the previous revision and sends the patch
+ * to a 10-player room. The statement bank rides along in the session, so this is where its
+ * serialization cost would show up; with banks excluded from serialization the cost should not
+ * grow with {@code bankSize}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatePatchBenchmark {
+
+    private static final String ROOM = "bench";
+    private static final int PLAYERS = 10;
+
+    @Param({"20", "500"})
+    int bankSize;
+
+    private final FakeConnections fakes = new FakeConnections();
+    private GameBroadcaster broadcaster;
+    private GameSession session;
+    private BinaryState state;
+    private int answer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        broadcaster = new GameBroadcaster();
+        broadcaster.connections = new RoomConnectionRegistry();
+        broadcaster.projection = new StateProjection();
+        broadcaster.projection.objectMapper = objectMapper;
+        broadcaster.projection.init();
+        broadcaster.metrics = BenchmarkServices.gameMetrics();
+        broadcaster.encoder = new FrameEncoder();
+        broadcaster.encoder.objectMapper = objectMapper;
+        broadcaster.encoder.queues = FakeConnections.outboundQueues();
+        broadcaster.encoder.init();
+
+        List<Map<String, Object>> statements = new ArrayList<>(bankSize);
+        for (int i = 0; i < bankSize; i++) {
+            statements.add(Map.of(
+                    "statement", "A afirmação número " + i + " sobre a história do Brasil é verdadeira?",
+                    "isTrue", i % 2 == 0,
+                    "explanation", "Explicação detalhada da afirmação " + i + ", com a fonte consultada.",
+                    "category", "História",
+                    "difficulty", 1 + i % 3));
+        }
+        state = new BinaryState(statements);
+        state.setStatement("O Brasil tem 26 estados e um Distrito Federal.", true, "São 27 unidades federativas.", "Geografia", 1);
+        session = new GameSession(ROOM, "default", GameType.BINARY_DECISION, "p0");
+        for (int i = 0; i < PLAYERS; i++) {
+            session.addPlayer(new Player("p" + i, "Jogador " + i));
+            broadcaster.connections.register(ROOM, fakes.create("p" + i));
+        }
+        session.setPhase(GamePhase.PLAYING);
+        session.setGamePayload(state);
+        broadcaster.broadcastState(ROOM, session);
+    }
+
+    @Benchmark
+    public long answerPublished() {
+        String playerId = "p" + (answer++ % PLAYERS);
+        if (state.getResponses().size() == PLAYERS) state.getResponses().clear();
+        state.getResponses().put(playerId, new BinaryState.Response(true, true, 800, 1, 100, answer));
+        session.getPlayer(playerId).addScore(100);
+        broadcaster.broadcastState(ROOM, session);
+        return fakes.bytesSent.get();
+    }
+}
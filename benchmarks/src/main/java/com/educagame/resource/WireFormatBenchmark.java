@@ -0,0 +1,100 @@
+package com.educagame.resource;
+
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.WsOutbound;
+import com.educagame.model.state.QuizState;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.netty.buffer.ByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode cost of a 30-player quiz STATE and of a typical STATE_PATCH in each {@link WireFormat}.
+ * The wire size of each frame is printed once per trial ("wire size: ..."), since JMH has no
+ * per-operation size metric.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int PLAYERS = 30;
+
+    @Param({"JSON", "CBOR"})
+    WireFormat format;
+
+    @Param({"state", "patch"})
+    String message;
+
+    private FrameEncoder encoder;
+    private WsOutbound outbound;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        encoder = new FrameEncoder();
+        encoder.objectMapper = objectMapper;
+        encoder.init();
+
+        GameSession session = new GameSession("bench", "default", GameType.QUIZ_SPEED, "p0");
+        List<Map<String, Object>> questions = new ArrayList<>();
+        for (int q = 0; q < 20; q++) {
+            questions.add(Map.of(
+                    "question", "Qual é a capital do estado número " + q + "?",
+                    "options", List.of("São Paulo", "Brasília", "Salvador", "Curitiba"),
+                    "correctIndex", q % 4));
+        }
+        QuizState quiz = new QuizState(questions);
+        quiz.setQuestionIndex(3);
+        for (int i = 0; i < PLAYERS; i++) {
+            session.addPlayer(new Player("p" + i, "Jogador " + i));
+            quiz.getResponses().put("p" + i, new QuizState.Response(i % 4, 0L, 500, i % 4 == 3, null, null));
+        }
+        session.setGamePayload(quiz);
+
+        if ("state".equals(message)) {
+            outbound = WsOutbound.state(objectMapper.valueToTree(session), 7);
+        } else {
+            // One answer in and two scores moved: what a quiz round broadcasts most of the time.
+            ArrayNode ops = objectMapper.createArrayNode();
+            JsonNode response = objectMapper.valueToTree(new QuizState.Response(2, 0L, 800, true, null, null));
+            ops.addObject().put("op", "add").put("path", "/gamePayload/responses/p17").set("value", response);
+            ops.addObject().put("op", "replace").put("path", "/players/17/score").put("value", 1450);
+            ops.addObject().put("op", "replace").put("path", "/players/4/score").put("value", 900);
+            outbound = WsOutbound.statePatch(ops, 8);
+        }
+        ByteBuf probe = encoder.encode(outbound, format);
+        System.out.printf("%nwire size: %s %s = %d bytes%n", format, message, probe.readableBytes());
+        probe.release();
+    }
+
+    @Benchmark
+    public int encode() throws Exception {
+        ByteBuf frame = encoder.encode(outbound, format);
+        int size = frame.readableBytes();
+        frame.release();
+        return size;
+    }
+}
@@ -0,0 +1,44 @@
+package com.educagame.service;
+
+import com.educagame.model.GameResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.ZoneId;
+import java.util.function.ObjLongConsumer;
+
+/** Services wired by hand the way CDI would, minus anything that touches the disk. */
+public final class BenchmarkServices {
+
+    private BenchmarkServices() {
+    }
+
+    /** History and leaderboards in memory only: the log is never opened, so appends are no-ops. */
+    static GameHistoryService gameHistoryService() {
+        GameHistoryService service = new GameHistoryService();
+        service.historyLog = new HistoryLog() {
+            @Override
+            public synchronized void replay(ObjLongConsumer<GameResult> consumer) {
+            }
+        };
+        service.zone = ZoneId.of("America/Sao_Paulo");
+        service.initialize();
+        return service;
+    }
+
+    /** Meters kept in memory, as they are between two Prometheus scrapes. */
+    public static GameMetrics gameMetrics() {
+        GameMetrics metrics = new GameMetrics();
+        metrics.registry = new SimpleMeterRegistry();
+        metrics.roomManager = new RoomManager();
+        metrics.initialize();
+        return metrics;
+    }
+
+    /** Classpath themes, as packaged in the backend jar. */
+    static DataLoaderService dataLoaderService() {
+        DataLoaderService service = new DataLoaderService();
+        service.objectMapper = new ObjectMapper();
+        return service;
+    }
+}
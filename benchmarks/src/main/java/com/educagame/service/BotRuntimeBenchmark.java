@@ -0,0 +1,135 @@
+package com.educagame.service;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.resource.GameBroadcaster;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code bots} bots in rooms of 10, each making {@value #MOVES_PER_BOT} moves with a 200-600 ms
+ * think time, through the real {@link GameClock} and {@link RoomMailbox}. The score is the
+ * wall time of the whole run; the number to watch is the queue delay (how late moves started),
+ * printed once per iteration ("bot delay: ..."), which should stay in the low hundreds of
+ * milliseconds at p99 for 10k bots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BotRuntimeBenchmark {
+
+    private static final int BOTS_PER_ROOM = 10;
+    private static final int MOVES_PER_BOT = 3;
+
+    @Param({"1000", "10000"})
+    int bots;
+
+    private GameClock clock;
+    private RoomMailbox mailbox;
+    private BotRuntime runtime;
+    private List<GameSession> sessions;
+    private CountDownLatch done;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        clock = new GameClock();
+        mailbox = new RoomMailbox();
+        clock.start();
+        mailbox.start();
+        runtime = new BotRuntime();
+        runtime.clock = clock;
+        runtime.mailbox = mailbox;
+        runtime.roomManager = new RoomManager();
+        runtime.timeouts = new GameTimeouts() {
+            @Override
+            public void update(String roomId, GameSession session) {
+            }
+        };
+        runtime.broadcaster = new GameBroadcaster() {
+            @Override
+            public void broadcastState(String roomId, GameSession session) {
+            }
+        };
+        runtime.metrics = BenchmarkServices.gameMetrics();
+
+        done = new CountDownLatch(bots * MOVES_PER_BOT);
+        Map<String, Integer> movesByBot = new ConcurrentHashMap<>();
+        runtime.register(new BotStrategy() {
+            @Override
+            public Set<GameType> getSupportedGameTypes() {
+                return Set.of(GameType.QUIZ_SPEED);
+            }
+
+            @Override
+            public boolean wantsToAct(GameSession session, Player bot) {
+                return movesByBot.getOrDefault(bot.getId(), 0) < MOVES_PER_BOT;
+            }
+
+            @Override
+            public long thinkTimeMs(GameSession session, Player bot) {
+                return 200 + ThreadLocalRandom.current().nextInt(400);
+            }
+
+            @Override
+            public boolean act(GameSession session, Player bot) {
+                movesByBot.merge(bot.getId(), 1, Integer::sum);
+                bot.addScore(1);
+                done.countDown();
+                return true;
+            }
+        });
+
+        sessions = new ArrayList<>();
+        for (int r = 0; r < bots / BOTS_PER_ROOM; r++) {
+            GameSession session = runtime.roomManager.createRoom("default", GameType.QUIZ_SPEED, false);
+            for (int b = 0; b < BOTS_PER_ROOM; b++) {
+                session.addPlayer(new Player(session.getRoomId() + "-bot-" + b, "Bot " + b, true));
+            }
+            session.setPhase(GamePhase.QUIZ_QUESTION);
+            sessions.add(session);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        BotRuntime.BotStats stats = runtime.stats();
+        System.out.printf("%nbot delay: %d bots, mean %.1f ms, p99 <= %d ms, max %d ms%n",
+                bots, stats.meanDelayMs(), stats.p99DelayMs(), stats.maxDelayMs());
+        mailbox.stop();
+        clock.stop();
+    }
+
+    @Benchmark
+    public long allMoves() throws InterruptedException {
+        for (GameSession session : sessions) {
+            mailbox.submit(session.getRoomId(), () -> runtime.onStateChanged(session.getRoomId(), session));
+        }
+        if (!done.await(60, TimeUnit.SECONDS)) throw new IllegalStateException("moves left: " + done.getCount());
+        return runtime.stats().moves();
+    }
+}
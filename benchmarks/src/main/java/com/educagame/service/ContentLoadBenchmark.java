@@ -0,0 +1,53 @@
+package com.educagame.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DataLoaderService#loadJsonArray}: {@link #cached} is the call every game start and spin
+ * makes, {@link #firstLoad} the one-off parse of a whole theme from the classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentLoadBenchmark {
+
+    @Param({"quiz.json", "wheel.json", "phrases.json"})
+    String fileName;
+
+    private DataLoaderService warm;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        warm = BenchmarkServices.dataLoaderService();
+        warm.loadJsonArray("default", fileName);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> cached() {
+        return warm.loadJsonArray("default", fileName);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Map<String, Object>> firstLoad() {
+        return BenchmarkServices.dataLoaderService().loadJsonArray("default", fileName);
+    }
+}
@@ -0,0 +1,69 @@
+package com.educagame.service;
+
+import com.educagame.model.GameType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A school bell: {@value #CLOSES} sockets close back to back, spread across the node's rooms.
+ * Scores are per close; with the connection-to-room index they should stay flat as
+ * {@code rooms} grows, where the old scan over every room grew linearly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 50)
+@Fork(1)
+public class DisconnectStormBenchmark {
+
+    private static final int ROOM_SIZE = 10;
+    private static final int CLOSES = 500;
+
+    @Param({"100", "1000", "10000"})
+    int rooms;
+
+    private RoomManager roomManager;
+    private List<String> closing;
+
+    @Setup(Level.Iteration)
+    public void fillRooms() {
+        roomManager = new RoomManager();
+        List<String> roomIds = new ArrayList<>(rooms);
+        for (int r = 0; r < rooms; r++) {
+            String roomId = roomManager.createRoom("default", GameType.QUIZ_SPEED, false).getRoomId();
+            roomIds.add(roomId);
+            for (int p = 0; p < ROOM_SIZE; p++) {
+                roomManager.joinRoom(roomId, roomId + "-conn-" + p, "Player " + p);
+            }
+        }
+        // Round-robin over rooms so every room loses players and small nodes empty some rooms.
+        closing = new ArrayList<>(CLOSES);
+        for (int i = 0; i < CLOSES; i++) {
+            closing.add(roomIds.get(i % rooms) + "-conn-" + (i / rooms) % ROOM_SIZE);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLOSES)
+    public void bell() {
+        for (String connectionId : closing) {
+            roomManager.leaveRoom(connectionId);
+        }
+    }
+}
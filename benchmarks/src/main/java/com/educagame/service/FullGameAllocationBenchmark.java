@@ -0,0 +1,97 @@
+package com.educagame.service;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.WsOutbound;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One complete speed-quiz game driven through {@link QuizEngine}: every player answers every
+ * question, the host walks feedback and ranking, and each state change is serialized the way a
+ * STATE broadcast serializes it. Run with {@code -prof gc} and read {@code gc.alloc.rate.norm}
+ * (bytes per game) to see what the engine state costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FullGameAllocationBenchmark {
+
+    private static final int QUESTIONS = 10;
+
+    @Param({"10", "50"})
+    int players;
+
+    private QuizEngine engine;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        List<Map<String, Object>> questions = new ArrayList<>();
+        for (int q = 0; q < QUESTIONS; q++) {
+            questions.add(Map.of(
+                    "question", "Qual é a capital do estado número " + q + "?",
+                    "options", List.of("São Paulo", "Brasília", "Salvador", "Curitiba"),
+                    "correctIndex", q % 4));
+        }
+        engine = new QuizEngine();
+        engine.dataLoaderService = new DataLoaderService() {
+            @Override
+            public List<Map<String, Object>> getQuizQuestions(String theme) {
+                return questions;
+            }
+        };
+        engine.gameHistoryService = BenchmarkServices.gameHistoryService();
+    }
+
+    @Benchmark
+    public void quizGame(Blackhole bh) throws Exception {
+        GameSession session = new GameSession("bench", "default", GameType.QUIZ_SPEED, "p0");
+        for (int i = 0; i < players; i++) {
+            session.addPlayer(new Player("p" + i, "Jogador " + i));
+        }
+        engine.startGame(session);
+        broadcast(session, bh);
+        engine.transitionToPlaying(session);
+        broadcast(session, bh);
+        while (session.getPhase() != GamePhase.GAME_END) {
+            for (int i = 0; i < players; i++) {
+                engine.submitAnswer(session, "p" + i, i % 4);
+                broadcast(session, bh);
+            }
+            engine.hostNextStage(session, "p0"); // feedback
+            broadcast(session, bh);
+            engine.hostNextStage(session, "p0"); // ranking
+            broadcast(session, bh);
+            engine.hostNextStage(session, "p0"); // next question or end
+            broadcast(session, bh);
+        }
+    }
+
+    private void broadcast(GameSession session, Blackhole bh) throws Exception {
+        bh.consume(objectMapper.valueToTree(WsOutbound.state(session)));
+    }
+}
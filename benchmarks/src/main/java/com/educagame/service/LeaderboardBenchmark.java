@@ -0,0 +1,61 @@
+package com.educagame.service;
+
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GameHistoryService#getLeaderboard} for the top 10 after {@code games} finished games
+ * won by {@value #WINNERS} distinct players. Reads should not depend on how many games exist.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    private static final int WINNERS = 2_000;
+
+    @Param({"1000", "100000"})
+    int games;
+
+    @Param({"DAY", "WEEK", "ALL"})
+    GameHistoryService.Window window;
+
+    private GameHistoryService service;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        service = BenchmarkServices.gameHistoryService();
+        for (int g = 0; g < games; g++) {
+            GameSession session = new GameSession("r" + g, "default", GameType.QUIZ_SPEED, "p");
+            Player winner = new Player("p", "Aluno " + (g % WINNERS));
+            winner.setScore(100 + g % 900);
+            session.addPlayer(winner);
+            service.recordGame(session);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> top10() {
+        return service.getLeaderboard(GameType.QUIZ_SPEED, window, 10);
+    }
+}
@@ -0,0 +1,79 @@
+package com.educagame.service;
+
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.state.QuizState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One question round of {@link QuizEngine#submitAnswer}: every player in the room answers once.
+ * Scores are per round, so a per-answer cost that grows with the room shows up as a curve that
+ * bends upward across {@code players}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizAnswerBenchmark {
+
+    @Param({"10", "50", "200"})
+    int players;
+
+    private QuizEngine engine;
+    private GameSession session;
+    private QuizState state;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Map<String, Object>> questions = List.of(Map.of(
+                "question", "Qual é a capital do Brasil?",
+                "options", List.of("São Paulo", "Brasília", "Salvador", "Curitiba"),
+                "correctIndex", 1,
+                "timeLimitMs", 600_000));
+        engine = new QuizEngine();
+        engine.dataLoaderService = new DataLoaderService() {
+            @Override
+            public List<Map<String, Object>> getQuizQuestions(String theme) {
+                return questions;
+            }
+        };
+        engine.gameHistoryService = BenchmarkServices.gameHistoryService();
+        session = new GameSession("bench", "default", GameType.QUIZ_SPEED, "p0");
+        ids = new String[players];
+        for (int i = 0; i < players; i++) {
+            ids[i] = "p" + i;
+            session.addPlayer(new Player(ids[i], "Jogador " + i));
+        }
+        engine.startGame(session);
+        engine.transitionToPlaying(session);
+        state = session.getGamePayload(QuizState.class);
+    }
+
+    @Benchmark
+    public void answerRound(Blackhole bh) {
+        state.startRound(state.getTimeLimitMs());
+        for (int i = 0; i < ids.length; i++) {
+            bh.consume(engine.submitAnswer(session, ids[i], i % 4));
+        }
+    }
+}
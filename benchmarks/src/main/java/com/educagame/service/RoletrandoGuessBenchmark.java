@@ -0,0 +1,77 @@
+package com.educagame.service;
+
+import com.educagame.model.GamePhase;
+import com.educagame.model.GameSession;
+import com.educagame.model.GameType;
+import com.educagame.model.Player;
+import com.educagame.model.content.WheelSegment;
+import com.educagame.model.state.RoletrandoState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RoletrandoEngine#processGuess} for every letter of the alphabet against one phrase (hits,
+ * misses and the final reveal that records the game), and {@code normalize}, which runs on every
+ * phrase and every solve attempt. Scores are per guess and per normalized phrase.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoletrandoGuessBenchmark {
+
+    private static final String PHRASE = "O DESCOBRIMENTO DO BRASIL ACONTECEU EM MIL E QUINHENTOS";
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final WheelSegment SEGMENT = new WheelSegment("500", 500, "#ffcc00", "NORMAL");
+    private static final String[] ATTEMPTS = {
+            "o descobrimento do brasil aconteceu em mil e quinhentos",
+            "  Independência ou morte, às margens do Ipiranga  ",
+            "AÇAÍ, PÃO DE QUEIJO E CORAÇÃO DE GALINHA",
+            "São João, Festa Junina e quentão",
+    };
+
+    private RoletrandoEngine engine;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        engine = new RoletrandoEngine();
+        engine.gameHistoryService = BenchmarkServices.gameHistoryService();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(26)
+    public void guessAlphabet(Blackhole bh) {
+        GameSession session = new GameSession("bench", "default", GameType.ROLETRANDO, "p0");
+        session.addPlayer(new Player("p0", "Jogador"));
+        RoletrandoState state = new RoletrandoState(PHRASE);
+        session.setGamePayload(state);
+        for (int i = 0; i < ALPHABET.length() && session.getPhase() != GamePhase.GAME_END; i++) {
+            session.setPhase(GamePhase.GUESSING);
+            state.setSegment(0, SEGMENT, SEGMENT.type(), SEGMENT.value());
+            bh.consume(engine.processGuess(session, "p0", ALPHABET.charAt(i)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void normalize(Blackhole bh) {
+        for (String attempt : ATTEMPTS) {
+            bh.consume(RoletrandoEngine.normalize(attempt.trim().toUpperCase()));
+        }
+    }
+}
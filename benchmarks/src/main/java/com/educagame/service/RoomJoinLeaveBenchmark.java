@@ -0,0 +1,57 @@
+package com.educagame.service;
+
+import com.educagame.model.GameType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A player joining and then leaving a room on a node that already holds {@code rooms} rooms of
+ * nine players each (one seat left). Both calls should cost the same whatever the node size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomJoinLeaveBenchmark {
+
+    private static final int SEATED = 9;
+
+    @Param({"100", "10000"})
+    int rooms;
+
+    private RoomManager roomManager;
+    private String targetRoom;
+
+    @Setup(Level.Trial)
+    public void fillRooms() {
+        roomManager = new RoomManager();
+        for (int r = 0; r < rooms; r++) {
+            String roomId = roomManager.createRoom("default", GameType.QUIZ_SPEED, false).getRoomId();
+            for (int p = 0; p < SEATED; p++) {
+                roomManager.joinRoom(roomId, roomId + "-conn-" + p, "Player " + p);
+            }
+            targetRoom = roomId;
+        }
+    }
+
+    @Benchmark
+    public void joinThenLeave(Blackhole bh) {
+        bh.consume(roomManager.joinRoom(targetRoom, "bench-conn", "Visitante"));
+        roomManager.leaveRoom("bench-conn");
+    }
+}
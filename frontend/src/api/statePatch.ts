@@ -0,0 +1,57 @@
+/** One JSON Patch (RFC 6902) operation as produced by the backend StateDiff. */
+export interface PatchOp {
+  op: 'add' | 'remove' | 'replace'
+  path: string
+  value?: unknown
+}
+
+type Container = Record<string, unknown> | unknown[]
+
+function unescape(token: string): string {
+  return token.replace(/~1/g, '/').replace(/~0/g, '~')
+}
+
+/**
+ * Returns a new state with the ops applied. Only containers along each path are copied, so
+ * untouched branches keep their identity and React can skip re-rendering them.
+ */
+export function applyPatch<T>(state: T, ops: PatchOp[]): T {
+  let root: unknown = state
+  for (const op of ops) {
+    if (op.path === '') {
+      root = op.value
+      continue
+    }
+    const tokens = op.path.slice(1).split('/').map(unescape)
+    root = applyAt(root as Container, tokens, 0, op)
+  }
+  return root as T
+}
+
+function applyAt(node: Container, tokens: string[], depth: number, op: PatchOp): Container {
+  const key = tokens[depth]
+  const last = depth === tokens.length - 1
+  if (Array.isArray(node)) {
+    const copy = node.slice()
+    const idx = key === '-' ? copy.length : Number(key)
+    if (!last) {
+      copy[idx] = applyAt(copy[idx] as Container, tokens, depth + 1, op)
+    } else if (op.op === 'remove') {
+      copy.splice(idx, 1)
+    } else if (op.op === 'add') {
+      copy.splice(idx, 0, op.value)
+    } else {
+      copy[idx] = op.value
+    }
+    return copy
+  }
+  const copy: Record<string, unknown> = { ...node }
+  if (!last) {
+    copy[key] = applyAt(copy[key] as Container, tokens, depth + 1, op)
+  } else if (op.op === 'remove') {
+    delete copy[key]
+  } else {
+    copy[key] = op.value
+  }
+  return copy
+}
@@ -2,22 +2,39 @@ import { useEffect, useRef, useState, useCallback } from 'react'
 import { getWsUrl } from '@/api/client'
 import type { WsOutbound } from '@/types/game'
 import { log, newRequestId } from '@/api/logger'
+import { applyPatch, type PatchOp } from '@/api/statePatch'
 
 export type WsStatus = 'connecting' | 'open' | 'closed' | 'error'
 
+// JSON arrives in text frames; binary frames (older servers) hold the same UTF-8 JSON.
+const utf8 = new TextDecoder()
+
+// Reconnect backoff after an unexpected close: 1s, 2s, 4s... capped at 10s.
+const RECONNECT_BASE_MS = 1000
+const RECONNECT_MAX_MS = 10000
+
 export interface UseWebSocketOptions {
   path?: string
   onMessage?: (msg: WsOutbound) => void
   onOpen?: () => void
   onClose?: () => void
   autoConnect?: boolean
+  /** Reopen the socket when it drops (not after disconnect()); onOpen runs again on each reopen. */
+  reconnect?: boolean
 }
 
 export function useWebSocket(options: UseWebSocketOptions = {}) {
-  const { path = '/game', onMessage, onOpen, onClose, autoConnect = true } = options
+  const { path = '/game', onMessage, onOpen, onClose, autoConnect = true, reconnect = false } = options
   const [status, setStatus] = useState<WsStatus>('closed')
   const wsRef = useRef<WebSocket | null>(null)
   const attemptIdRef = useRef<string | null>(null)
+  // Last STATE (snapshot or patched) so STATE_PATCH deltas can be applied on top of it. Kept
+  // across reconnects: a RESUME replays only the patches missed since this revision.
+  const stateRef = useRef<{ revision: number; payload: unknown; self?: unknown } | null>(null)
+  const resyncPendingRef = useRef(false)
+  const closingRef = useRef(false)
+  const retriesRef = useRef(0)
+  const retryTimerRef = useRef<ReturnType<typeof setTimeout> | null>(null)
   const onMessageRef = useRef(onMessage)
   const onOpenRef = useRef(onOpen)
   const onCloseRef = useRef(onClose)
@@ -33,17 +50,26 @@ export function useWebSocket(options: UseWebSocketOptions = {}) {
     log.debug('ws:connect', { attemptId, url })
     setStatus('connecting')
     const ws = new WebSocket(url)
+    ws.binaryType = 'arraybuffer'
     wsRef.current = ws
+    closingRef.current = false
+    resyncPendingRef.current = false
     ws.onopen = () => {
       log.debug('ws:open', { attemptId })
+      retriesRef.current = 0
       setStatus('open')
       onOpenRef.current?.()
     }
     ws.onclose = (event) => {
       log.debug('ws:close', { attemptId, code: event.code, reason: event.reason, wasClean: event.wasClean })
       setStatus('closed')
-      wsRef.current = null
+      if (wsRef.current === ws) wsRef.current = null
       onCloseRef.current?.()
+      if (reconnect && !closingRef.current) {
+        const delay = Math.min(RECONNECT_MAX_MS, RECONNECT_BASE_MS * 2 ** retriesRef.current++)
+        log.debug('ws:reconnect', { attemptId, delay })
+        retryTimerRef.current = setTimeout(() => connect(), delay)
+      }
     }
     ws.onerror = () => {
       log.warn('ws:error', { attemptId })
@@ -51,16 +77,43 @@ export function useWebSocket(options: UseWebSocketOptions = {}) {
     }
     ws.onmessage = (event) => {
       try {
-        const data: WsOutbound = JSON.parse(event.data)
-        log.debug('ws:recv', { attemptId, type: data?.type })
+        const text = typeof event.data === 'string' ? event.data : utf8.decode(event.data as ArrayBuffer)
+        const data: WsOutbound = JSON.parse(text)
+        log.debug('ws:recv', { attemptId, type: data?.type, revision: data?.revision })
+        if (data?.type === 'STATE') {
+          stateRef.current = { revision: data.revision ?? 0, payload: data.payload, self: data.self }
+          resyncPendingRef.current = false
+        } else if (data?.type === 'STATE_PATCH') {
+          const current = stateRef.current
+          const pl = data.payload as { baseRevision: number; ops: PatchOp[] }
+          // No snapshot yet (JOIN in flight), stale revision, or already waiting on a resync.
+          if (!current || data.revision == null || data.revision <= current.revision || resyncPendingRef.current) return
+          if (pl.baseRevision !== current.revision) {
+            log.warn('ws:resync', { attemptId, have: current.revision, base: pl.baseRevision })
+            resyncPendingRef.current = true
+            ws.send(JSON.stringify({ type: 'RESYNC' }))
+            return
+          }
+          const payload = applyPatch(current.payload, pl.ops)
+          // "self" (this player's private view) only comes along when it changed.
+          const self = data.self !== undefined ? data.self : current.self
+          stateRef.current = { revision: data.revision, payload, self }
+          onMessageRef.current?.({ type: 'STATE', payload, revision: data.revision, self })
+          return
+        }
         onMessageRef.current?.(data)
       } catch {
         // ignore
       }
     }
-  }, [path])
+  }, [path, reconnect])
 
   const disconnect = useCallback(() => {
+    closingRef.current = true
+    if (retryTimerRef.current) {
+      clearTimeout(retryTimerRef.current)
+      retryTimerRef.current = null
+    }
     if (wsRef.current) {
       log.debug('ws:disconnect', { attemptId: attemptIdRef.current })
       wsRef.current.close()
@@ -93,5 +146,8 @@ export function useWebSocket(options: UseWebSocketOptions = {}) {
     }
   }, [autoConnect, connect, disconnect])
 
-  return { status, connect, disconnect, send }
+  /** Revision of the last state applied, for RESUME; null before the first STATE. */
+  const lastRevision = useCallback(() => stateRef.current?.revision ?? null, [])
+
+  return { status, connect, disconnect, send, lastRevision }
 }
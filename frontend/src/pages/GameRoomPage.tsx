@@ -31,6 +31,29 @@ import { QuizLeaderboard } from '@/components/QuizLeaderboard'
 import { MillionaireBoard } from '@/components/MillionaireBoard'
 import { api } from '@/api/client'
 
+// Resume token per room, so a dropped or reloaded tab takes its player back instead of joining again.
+type SavedSeat = { token: string; playerName: string }
+const seatKey = (roomId: string) => `educagame.seat.${roomId}`
+
+function loadSeat(roomId: string | undefined): SavedSeat | null {
+  if (!roomId) return null
+  try {
+    const raw = sessionStorage.getItem(seatKey(roomId))
+    return raw ? (JSON.parse(raw) as SavedSeat) : null
+  } catch {
+    return null
+  }
+}
+
+function saveSeat(roomId: string, seat: SavedSeat | null) {
+  try {
+    if (seat) sessionStorage.setItem(seatKey(roomId), JSON.stringify(seat))
+    else sessionStorage.removeItem(seatKey(roomId))
+  } catch {
+    // storage unavailable (private mode): resume just won't survive a reload
+  }
+}
+
 export function GameRoomPage() {
   const { roomId } = useParams<{ roomId: string }>()
   const navigate = useNavigate()
@@ -41,6 +64,8 @@ export function GameRoomPage() {
   const [pendingJoin, setPendingJoin] = useState<{ roomId: string; playerName: string } | null>(null)
   const [joinSent, setJoinSent] = useState(false)
   const lastJoinAttemptAtRef = useRef<number>(0)
+  const pendingJoinRef = useRef(pendingJoin)
+  pendingJoinRef.current = pendingJoin
   const [wheelSegments, setWheelSegments] = useState<WheelSegment[]>([])
   const [wheelResultIndex, setWheelResultIndex] = useState<number | null>(null)
   const [wheelSpinning, setWheelSpinning] = useState(false)
@@ -55,9 +80,25 @@ export function GameRoomPage() {
     if (msg.type === 'STATE' && msg.payload) {
       setSession(msg.payload as GameSession)
     }
-    if (msg.type === 'JOIN_OK' && msg.payload) {
-      const pl = msg.payload as { connectionId?: string }
+    if ((msg.type === 'JOIN_OK' || msg.type === 'RESUME_OK') && msg.payload) {
+      const pl = msg.payload as { connectionId?: string; resumeToken?: string }
       if (pl.connectionId) setMyConnectionId(pl.connectionId)
+      const name = pendingJoinRef.current?.playerName ?? loadSeat(roomId)?.playerName
+      if (roomId && pl.resumeToken && name) saveSeat(roomId, { token: pl.resumeToken, playerName: name })
+      if (msg.type === 'RESUME_OK') {
+        setJoined(true)
+        setJoinSent(true)
+      }
+    }
+    if (msg.type === 'RESUME_FAILED' && roomId) {
+      // Grace period over: the player is gone, join again under the same name.
+      const name = pendingJoinRef.current?.playerName ?? loadSeat(roomId)?.playerName
+      saveSeat(roomId, null)
+      if (name) {
+        setPendingJoin({ roomId, playerName: name })
+        setJoinSent(false)
+        setJoined(true)
+      }
     }
     if (msg.type === 'WHEEL_SPUN' && msg.payload) {
       const pl = msg.payload as { segmentIndex?: number }
@@ -71,17 +112,25 @@ export function GameRoomPage() {
       const pl = msg.payload as { message?: string }
       console.error('WS error:', pl?.message)
     }
-  }, [playWheelSound])
+  }, [playWheelSound, roomId])
 
-  const { status, send } = useWebSocket({
+  const { status, send, lastRevision } = useWebSocket({
     onMessage: handleMessage,
     onOpen: () => {
+      const seat = loadSeat(roomId)
+      if (seat) {
+        // Also after a reconnect: take the seat back and get only what was missed.
+        send({ type: 'RESUME', token: seat.token, revision: lastRevision() ?? -1 })
+        setJoinSent(true)
+        return
+      }
       if (pendingJoin && !joinSent) {
         send({ type: 'JOIN', roomId: pendingJoin.roomId, playerName: pendingJoin.playerName })
         setJoinSent(true)
       }
     },
     autoConnect: !!roomId,
+    reconnect: true,
   })
 
   useEffect(() => {
@@ -517,31 +566,40 @@ export function GameRoomPage() {
                   <Typography variant="h6" sx={{ fontWeight: 800, color: '#fff', mb: 1 }} data-testid="combination-stage">
                     Estágio: {combinationPayload?.currentStageType}
                   </Typography>
+                  {['SURVIVAL', 'DETECTIVE', 'SENSORY', 'ROLETRANDO'].includes(combinationPayload?.currentStageType ?? '') && (
+                    <TextField
+                      fullWidth
+                      size="small"
+                      placeholder="Seu palpite"
+                      value={genericTextAnswer}
+                      onChange={(e) => setGenericTextAnswer(e.target.value)}
+                      inputProps={{ 'data-testid': 'combination-guess-input' }}
+                      sx={{ mb: 1 }}
+                    />
+                  )}
                   <Button
                     variant="contained"
                     onClick={() => {
+                      // The public view carries no answer keys: send what the player typed or sees.
                       const stageType = combinationPayload?.currentStageType
-                      const stagePayload = (combinationPayload as unknown as { stagePayload?: Record<string, unknown> })?.stagePayload
+                      const stagePayload = combinationPayload?.stagePayload
 
                       let action: Record<string, unknown> = {}
                       if (stageType === 'BINARY_DECISION') {
-                        action = { decision: !!stagePayload?.isTrue }
+                        action = { decision: true }
                       } else if (stageType === 'SEQUENCING') {
-                        const correctOrder = stagePayload?.correctOrder
-                        action = { orderedIds: Array.isArray(correctOrder) ? correctOrder : [] }
+                        const shuffled = stagePayload?.shuffledItems
+                        action = { orderedIds: Array.isArray(shuffled) ? shuffled.map((item: { id: string }) => item.id) : [] }
                       } else if (stageType === 'SURVIVAL') {
-                        action = { answer: stagePayload?.originalPhrase }
-                      } else if (stageType === 'DETECTIVE') {
-                        action = { guess: stagePayload?.answer }
-                      } else if (stageType === 'SENSORY') {
-                        action = { guess: stagePayload?.answer }
-                      } else if (stageType === 'ROLETRANDO') {
-                        action = { guess: stagePayload?.phrase }
+                        action = { answer: genericTextAnswer.trim() }
+                      } else if (stageType === 'DETECTIVE' || stageType === 'SENSORY' || stageType === 'ROLETRANDO') {
+                        action = { guess: genericTextAnswer.trim() }
                       } else {
                         action = { answerIndex: 0 }
                       }
 
                       send({ type: 'COMBINATION_ACTION', action })
+                      setGenericTextAnswer('')
                       setActionAck((s) => ({ ...s, COMBINATION: Date.now() }))
                     }}
                     data-testid="combination-action"
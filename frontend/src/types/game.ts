@@ -157,6 +157,10 @@ export interface Room {
 export interface WsOutbound {
   type: string
   payload?: unknown
+  /** State revision on STATE / STATE_PATCH messages. */
+  revision?: number
+  /** Viewer-only part of the state (e.g. own answer), sent next to STATE / STATE_PATCH. */
+  self?: unknown
 }
 
 export interface WheelSegment {
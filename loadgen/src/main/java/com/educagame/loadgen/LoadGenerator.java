@@ -0,0 +1,117 @@
+package com.educagame.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless load generator for the {@code /game} protocol: keeps {@code --rooms} classrooms of
+ * {@code --players} simulated students playing against a running server and prints, per interval
+ * and at the end, action-to-broadcast latency (p50/p99/p99.9) and messages per second.
+ *
+ * <pre>
+ * java -jar loadgen.jar --url http://localhost:8080 --rooms 200 --players 10 --types ALL --duration 300
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private final LoadOptions options;
+    private final LoadStats stats = new LoadStats();
+    private final ScheduledExecutorService scheduler;
+    private final HttpClient http;
+    private final List<RoomRunner> rooms = new ArrayList<>();
+
+    LoadGenerator(LoadOptions options) {
+        this.options = options;
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        this.scheduler = Executors.newScheduledThreadPool(threads, r -> {
+            Thread t = new Thread(r, "loadgen");
+            t.setDaemon(true);
+            return t;
+        });
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(threads, r -> {
+                    Thread t = new Thread(r, "loadgen-io");
+                    t.setDaemon(true);
+                    return t;
+                }))
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (List.of(args).contains("--help")) {
+            System.out.print(LoadOptions.USAGE);
+            return;
+        }
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadGenerator(options).run();
+    }
+
+    void run() throws InterruptedException {
+        System.out.printf("%d rooms x %d players of %s against %s for %ds%n", options.rooms(), options.players(),
+                String.join(",", options.gameTypes()), options.baseUrl(), options.duration().toSeconds());
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (int i = 0; i < options.rooms(); i++) {
+            String type = options.gameTypes().get(i % options.gameTypes().size());
+            RoomRunner room = new RoomRunner(i, type, options, http, objectMapper, scheduler, stats);
+            rooms.add(room);
+            scheduler.schedule(room::start, i * options.rampMs(), TimeUnit.MILLISECONDS);
+        }
+
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + options.duration().toNanos();
+        long reportNanos = options.reportEvery().toNanos();
+        long lastNanos = startNanos;
+        long lastSent = 0;
+        long lastReceived = 0;
+        while (System.nanoTime() < endNanos) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(reportNanos, endNanos - System.nanoTime()));
+            long now = System.nanoTime();
+            double seconds = (now - lastNanos) / 1e9;
+            long sent = stats.sent.get();
+            long received = stats.received.get();
+            LatencyHistogram interval = stats.interval.drain();
+            System.out.printf("t=%3ds players=%d games=%d/%d in=%.0f/s out=%.0f/s actions=%d p50=%s p99=%s p99.9=%s errors=%d resyncs=%d%n",
+                    TimeUnit.NANOSECONDS.toSeconds(now - startNanos), stats.connected.get(),
+                    stats.gamesFinished.get(), stats.gamesStarted.get(),
+                    (received - lastReceived) / seconds, (sent - lastSent) / seconds, interval.count(),
+                    ms(interval.percentile(0.50)), ms(interval.percentile(0.99)), ms(interval.percentile(0.999)),
+                    stats.errors.get(), stats.resyncs.get());
+            lastNanos = now;
+            lastSent = sent;
+            lastReceived = received;
+        }
+
+        rooms.forEach(RoomRunner::stop);
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.println("---");
+        System.out.printf("actions timed       %d%n", stats.total.count());
+        System.out.printf("action->broadcast   p50=%s p99=%s p99.9=%s max=%s%n", ms(stats.total.percentile(0.50)),
+                ms(stats.total.percentile(0.99)), ms(stats.total.percentile(0.999)), ms(stats.total.percentile(1.0)));
+        System.out.printf("messages/s          in=%.0f out=%.0f%n", stats.received.get() / seconds, stats.sent.get() / seconds);
+        System.out.printf("games               started=%d finished=%d stalled=%d%n", stats.gamesStarted.get(),
+                stats.gamesFinished.get(), stats.gamesStalled.get());
+        System.out.printf("problems            errors=%d resyncs=%d unanswered=%d connectFailures=%d%n", stats.errors.get(),
+                stats.resyncs.get(), stats.unanswered.get(), stats.connectFailures.get());
+        scheduler.shutdownNow();
+    }
+
+    private static String ms(long micros) {
+        return String.format("%.1fms", micros / 1000.0);
+    }
+}
@@ -0,0 +1,77 @@
+package com.educagame.loadgen;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Command line options; every option has a default, so a bare run plays 10 speed-quiz rooms locally. */
+record LoadOptions(URI baseUrl, int rooms, int players, List<String> gameTypes, String theme, Duration duration,
+                   long thinkMinMs, long thinkMaxMs, Duration reportEvery, long rampMs, Duration stallAfter) {
+
+    static final List<String> ALL_TYPES = List.of("ROLETRANDO", "QUIZ_SPEED", "QUIZ_INCREMENTAL", "SURVIVAL",
+            "SEQUENCING", "DETECTIVE", "BUZZER", "SENSORY", "BINARY_DECISION", "COMBINATION");
+
+    static final String USAGE = """
+            usage: java -jar loadgen.jar [options]
+              --url URL            server base URL (default http://localhost:8080)
+              --rooms N            concurrent rooms (default 10)
+              --players N          simulated players per room, the first one hosts (default 10)
+              --types T1,T2|ALL    game types, assigned to rooms round-robin (default QUIZ_SPEED)
+              --theme NAME         theme for new rooms (default default)
+              --duration SECONDS   how long to keep rooms playing (default 60)
+              --think MIN-MAX      milliseconds a player waits before acting (default 300-2000)
+              --report SECONDS     interval between progress lines (default 5)
+              --ramp MS            delay between starting rooms (default 50)
+              --stall SECONDS      recycle a room with no state change for this long (default 120)
+            """;
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unexpected argument " + arg);
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            } else if (i + 1 < args.length) {
+                values.put(arg.substring(2), args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+        }
+        String types = values.getOrDefault("types", "QUIZ_SPEED").toUpperCase().replace('-', '_');
+        List<String> gameTypes = new ArrayList<>();
+        for (String type : types.split(",")) {
+            if (type.isBlank()) continue;
+            if ("ALL".equals(type.trim())) gameTypes.addAll(ALL_TYPES);
+            else if (ALL_TYPES.contains(type.trim())) gameTypes.add(type.trim());
+            else throw new IllegalArgumentException("Unknown game type " + type);
+        }
+        if (gameTypes.isEmpty()) throw new IllegalArgumentException("No game types");
+        String[] think = values.getOrDefault("think", "300-2000").split("-");
+        long thinkMin = Long.parseLong(think[0].trim());
+        long thinkMax = think.length > 1 ? Long.parseLong(think[1].trim()) : thinkMin;
+        LoadOptions options = new LoadOptions(
+                URI.create(values.getOrDefault("url", "http://localhost:8080").replaceAll("/+$", "")),
+                Integer.parseInt(values.getOrDefault("rooms", "10")),
+                Integer.parseInt(values.getOrDefault("players", "10")),
+                List.copyOf(gameTypes),
+                values.getOrDefault("theme", "default"),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60"))),
+                thinkMin, Math.max(thinkMin, thinkMax),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("report", "5"))),
+                Long.parseLong(values.getOrDefault("ramp", "50")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("stall", "120"))));
+        if (options.rooms() < 1 || options.players() < 1) throw new IllegalArgumentException("rooms and players must be positive");
+        return options;
+    }
+
+    /** The WebSocket endpoint on the same host: http becomes ws, https becomes wss. */
+    URI gameSocket() {
+        String scheme = "https".equals(baseUrl.getScheme()) ? "wss" : "ws";
+        return URI.create(scheme + "://" + baseUrl.getRawAuthority() + "/game");
+    }
+}
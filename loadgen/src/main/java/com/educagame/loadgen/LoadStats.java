@@ -0,0 +1,27 @@
+package com.educagame.loadgen;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Counters shared by every simulated player; read by the reporter. */
+final class LoadStats {
+
+    /** Action-to-broadcast latency since the last report, and since the start. */
+    final LatencyHistogram interval = new LatencyHistogram();
+    final LatencyHistogram total = new LatencyHistogram();
+    final AtomicLong sent = new AtomicLong();
+    final AtomicLong received = new AtomicLong();
+    final AtomicLong errors = new AtomicLong();
+    final AtomicLong resyncs = new AtomicLong();
+    /** Actions that got no state frame back within the timeout. */
+    final AtomicLong unanswered = new AtomicLong();
+    final AtomicLong connectFailures = new AtomicLong();
+    final AtomicLong gamesStarted = new AtomicLong();
+    final AtomicLong gamesFinished = new AtomicLong();
+    final AtomicLong gamesStalled = new AtomicLong();
+    final AtomicLong connected = new AtomicLong();
+
+    void latency(long micros) {
+        interval.record(micros);
+        total.record(micros);
+    }
+}
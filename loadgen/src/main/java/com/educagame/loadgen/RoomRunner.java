@@ -0,0 +1,200 @@
+package com.educagame.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One classroom, over and over: create a room with {@code POST /api/rooms}, connect the host and
+ * then the other players, START once everyone has joined, and when the game reaches GAME_END (or
+ * stops changing for the stall timeout) close every socket and start a fresh room.
+ */
+final class RoomRunner {
+
+    private static final long NEXT_GAME_DELAY_MS = 1000;
+
+    private final int slot;
+    private final String gameType;
+    private final LoadOptions options;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler;
+    private final LoadStats stats;
+
+    private volatile boolean running = true;
+    /** The current game; replaced as a whole when the room is recycled. Guarded by this. */
+    private List<SimulatedPlayer> players = List.of();
+    private String roomId;
+    private int joined;
+    private boolean started;
+    private boolean finished;
+    private volatile long lastChangeNanos;
+
+    RoomRunner(int slot, String gameType, LoadOptions options, HttpClient http, ObjectMapper objectMapper,
+               ScheduledExecutorService scheduler, LoadStats stats) {
+        this.slot = slot;
+        this.gameType = gameType;
+        this.options = options;
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.scheduler = scheduler;
+        this.stats = stats;
+    }
+
+    String gameType() {
+        return gameType;
+    }
+
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::checkStall, options.stallAfter().toSeconds(), 5, TimeUnit.SECONDS);
+        newGame();
+    }
+
+    void stop() {
+        running = false;
+        closeAll();
+    }
+
+    private void newGame() {
+        if (!running) return;
+        String body = objectMapper.createObjectNode().put("gameType", gameType).put("theme", options.theme()).toString();
+        HttpRequest request = HttpRequest.newBuilder(options.baseUrl().resolve("/api/rooms"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(10))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            String roomId = null;
+            if (error == null && response.statusCode() == 201) {
+                try {
+                    JsonNode created = objectMapper.readTree(response.body());
+                    roomId = created.path("roomId").asText(null);
+                } catch (Exception e) {
+                    stats.errors.incrementAndGet();
+                }
+            }
+            if (roomId == null) {
+                stats.connectFailures.incrementAndGet();
+                retryLater();
+                return;
+            }
+            connectPlayers(roomId);
+        });
+    }
+
+    /** The host joins first so it is the room's host; the others connect together once it is in. */
+    private void connectPlayers(String roomId) {
+        List<SimulatedPlayer> game = new ArrayList<>(options.players());
+        for (int i = 0; i < options.players(); i++) {
+            game.add(new SimulatedPlayer(this, "Aluno " + slot + "-" + i, i == 0, stats, objectMapper, scheduler,
+                    options.thinkMinMs(), options.thinkMaxMs()));
+        }
+        synchronized (this) {
+            if (!running) return;
+            players = game;
+            this.roomId = roomId;
+            joined = 0;
+            started = false;
+            finished = false;
+        }
+        lastChangeNanos = System.nanoTime();
+        // The rest connect when the host's JOIN_OK arrives (see joined).
+        connect(game.get(0), roomId);
+    }
+
+    private void connect(SimulatedPlayer player, String roomId) {
+        player.connect(http, options.gameSocket(), roomId).whenComplete((ws, error) -> {
+            if (error != null) connectFailed(player);
+        });
+    }
+
+    void joined(SimulatedPlayer player) {
+        List<SimulatedPlayer> others = List.of();
+        SimulatedPlayer host = null;
+        String room;
+        synchronized (this) {
+            if (!players.contains(player)) return;
+            room = roomId;
+            joined++;
+            if (player.isHost()) others = players.subList(1, players.size());
+            if (joined == players.size() && !started) {
+                started = true;
+                host = players.get(0);
+            }
+        }
+        for (SimulatedPlayer other : others) connect(other, room);
+        if (host != null) {
+            stats.gamesStarted.incrementAndGet();
+            host.start();
+        }
+    }
+
+    void stateChanged(SimulatedPlayer player, String phase) {
+        lastChangeNanos = System.nanoTime();
+        if (!player.isHost() || !"GAME_END".equals(phase)) return;
+        synchronized (this) {
+            if (finished || !players.contains(player)) return;
+            finished = true;
+        }
+        stats.gamesFinished.incrementAndGet();
+        recycle(player);
+    }
+
+    /** The server closed a socket or it failed mid-game: give up on this game. */
+    void playerLost(SimulatedPlayer player) {
+        if (recycle(player)) stats.errors.incrementAndGet();
+    }
+
+    private void connectFailed(SimulatedPlayer player) {
+        if (recycle(player)) stats.connectFailures.incrementAndGet();
+    }
+
+    private void checkStall() {
+        SimulatedPlayer any;
+        synchronized (this) {
+            if (players.isEmpty() || finished) return;
+            any = players.get(0);
+        }
+        if (System.nanoTime() - lastChangeNanos > options.stallAfter().toNanos() && recycle(any)) {
+            stats.gamesStalled.incrementAndGet();
+        }
+    }
+
+    /**
+     * Closes the game {@code member} belongs to and schedules the next one. Returns false if that
+     * game was already closed, so late callbacks from old sockets do nothing.
+     */
+    private boolean recycle(SimulatedPlayer member) {
+        List<SimulatedPlayer> game;
+        synchronized (this) {
+            if (!players.contains(member)) return false;
+            game = players;
+            players = List.of();
+        }
+        game.forEach(SimulatedPlayer::close);
+        retryLater();
+        return true;
+    }
+
+    private void retryLater() {
+        if (running) scheduler.schedule(this::newGame, NEXT_GAME_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void closeAll() {
+        List<SimulatedPlayer> game;
+        synchronized (this) {
+            game = players;
+            players = List.of();
+        }
+        game.forEach(SimulatedPlayer::close);
+    }
+}
@@ -0,0 +1,156 @@
+package com.educagame.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * What a student would do next in each game type, read off the mirrored state: answer the open
+ * question once, buzz when nobody has, spin and guess letters on their Roletrando turn, and (as
+ * host) advance the speed quiz. Answers are random, so scores and eliminations look like a real
+ * class rather than a perfect one. START is sent by {@link RoomRunner}, not here.
+ */
+final class Scripts {
+
+    /**
+     * One move. {@code key} names the round it belongs to; a player sends at most one move per key,
+     * so a state change that does not close the round does not trigger a second answer.
+     */
+    record Action(String key, ObjectNode message) {}
+
+    /** Portuguese letter frequency, most common first. */
+    private static final String LETTERS = "AEOSRINDMUTCLPVGHQBFZJXKWY";
+    private static final String[] WORDS = {"BRASIL", "AGUA", "SOL", "FLORESTA", "ENERGIA", "PLANETA", "CELULA", "HISTORIA"};
+    private static final JsonNodeFactory JSON = JsonNodeFactory.instance;
+
+    private Scripts() {
+    }
+
+    /** The move for {@code me} in {@code state}, or null when there is nothing to do. */
+    static Action next(String gameType, JsonNode state, String me, boolean host, Random random) {
+        String phase = state.path("phase").asText();
+        JsonNode payload = state.path("gamePayload");
+        if (payload.isMissingNode() || payload.isNull()) return null;
+        return switch (gameType) {
+            case "ROLETRANDO" -> roletrando(state, phase, payload, me, random);
+            case "QUIZ_SPEED" -> quiz(phase, payload, me, host, random);
+            case "QUIZ_INCREMENTAL" -> millionaire(state, phase, payload, me, random);
+            case "BUZZER" -> buzzer(phase, payload, me, random);
+            case "SURVIVAL" -> answerOnce(phase, payload, me, "phraseIndex", "SURVIVAL_ANSWER", "answer",
+                    JSON.textNode(word(random)), payload.path("eliminatedPlayers"));
+            case "SEQUENCING" -> answerOnce(phase, payload, me, "sequenceIndex", "SEQUENCING_SUBMIT", "orderedIds",
+                    shuffledIds(payload.path("shuffledItems"), random), null);
+            case "DETECTIVE" -> answerOnce(phase, payload, me, "mysteryIndex", "DETECTIVE_GUESS", "guess",
+                    JSON.textNode(word(random)), null);
+            case "SENSORY" -> answerOnce(phase, payload, me, "itemIndex", "SENSORY_GUESS", "guess",
+                    JSON.textNode(word(random)), null);
+            case "BINARY_DECISION" -> answerOnce(phase, payload, me, "statementIndex", "BINARY_DECISION", "decision",
+                    JSON.booleanNode(random.nextBoolean()), null);
+            case "COMBINATION" -> combination(phase, payload, random);
+            default -> null;
+        };
+    }
+
+    private static Action roletrando(JsonNode state, String phase, JsonNode payload, String me, Random random) {
+        JsonNode players = state.path("players");
+        if (players.size() == 0) return null;
+        int turn = state.path("currentTurnIndex").asInt() % players.size();
+        if (!me.equals(players.path(turn).path("id").asText())) return null;
+        String key = phase + ":" + turn + ":" + payload.path("revealed").size() + ":" + state.path("roundStartedAt").asLong();
+        if ("PLAYING".equals(phase)) return new Action(key, message("WHEEL_SPIN"));
+        if (!"GUESSING".equals(phase)) return null;
+        List<String> open = new ArrayList<>();
+        for (int i = 0; i < LETTERS.length() && open.size() < 6; i++) {
+            String letter = LETTERS.substring(i, i + 1);
+            if (!contains(payload.path("revealed"), letter)) open.add(letter);
+        }
+        if (open.isEmpty()) return null;
+        return new Action(key, message("GUESS").put("letter", open.get(random.nextInt(open.size()))));
+    }
+
+    private static Action quiz(String phase, JsonNode payload, String me, boolean host, Random random) {
+        String round = "q" + payload.path("questionIndex").asInt();
+        if ("QUIZ_QUESTION".equals(phase) && !payload.path("responses").has(me)) {
+            int options = Math.max(1, payload.path("options").size());
+            return new Action(round, message("QUIZ_ANSWER").put("answerIndex", random.nextInt(options)));
+        }
+        if (host && ("QUIZ_FEEDBACK".equals(phase) || "QUIZ_RANKING".equals(phase))) {
+            return new Action(round + ":" + phase, message("QUIZ_NEXT"));
+        }
+        return null;
+    }
+
+    /** Show do Milhão is played by the first player only; the rest of the room watches. */
+    private static Action millionaire(JsonNode state, String phase, JsonNode payload, String me, Random random) {
+        if (!"MILLIONAIRE_QUESTION".equals(phase)) return null;
+        if (!me.equals(state.path("players").path(0).path("id").asText())) return null;
+        int options = Math.max(1, payload.path("options").size());
+        String key = payload.path("level").asInt() + ":" + payload.path("question").asText();
+        return new Action(key, message("MILLIONAIRE_ANSWER").put("answerIndex", random.nextInt(options)));
+    }
+
+    /** Everyone races to buzz; only the winner answers. */
+    private static Action buzzer(String phase, JsonNode payload, String me, Random random) {
+        if (!"PLAYING".equals(phase)) return null;
+        String round = "q" + payload.path("questionIndex").asInt();
+        JsonNode winner = payload.path("currentBuzzWinner");
+        if (winner.isMissingNode() || winner.isNull()) return new Action(round + ":buzz", message("BUZZER_BUZZ"));
+        if (!me.equals(winner.asText()) || payload.path("responses").has(me)) return null;
+        int options = Math.max(1, payload.path("options").size());
+        return new Action(round + ":answer", message("BUZZER_ANSWER").put("answerIndex", random.nextInt(options)));
+    }
+
+    /** The common shape: one answer per round while PLAYING, unless this player is out. */
+    private static Action answerOnce(String phase, JsonNode payload, String me, String roundField, String type,
+                                     String field, JsonNode value, JsonNode eliminated) {
+        if (!"PLAYING".equals(phase) || payload.path("responses").has(me)) return null;
+        if (eliminated != null && contains(eliminated, me)) return null;
+        ObjectNode msg = message(type);
+        msg.set(field, value);
+        return new Action(roundField + payload.path(roundField).asInt(), msg);
+    }
+
+    private static Action combination(String phase, JsonNode payload, Random random) {
+        if (!"PLAYING".equals(phase)) return null;
+        ObjectNode action = JSON.objectNode();
+        switch (payload.path("currentStageType").asText()) {
+            case "QUIZ_SPEED", "QUIZ_INCREMENTAL", "BUZZER" -> action.put("answerIndex", random.nextInt(4));
+            case "BINARY_DECISION" -> action.put("decision", random.nextBoolean());
+            case "SEQUENCING" -> action.set("orderedIds", shuffledIds(payload.path("stagePayload").path("shuffledItems"), random));
+            default -> action.put("guess", word(random));
+        }
+        ObjectNode msg = message("COMBINATION_ACTION");
+        msg.set("action", action);
+        return new Action("stage" + payload.path("stageIndex").asInt(), msg);
+    }
+
+    private static ObjectNode message(String type) {
+        return JSON.objectNode().put("type", type);
+    }
+
+    private static ArrayNode shuffledIds(JsonNode items, Random random) {
+        List<String> ids = new ArrayList<>();
+        for (JsonNode item : items) ids.add(item.path("id").asText());
+        Collections.shuffle(ids, random);
+        ArrayNode array = JSON.arrayNode();
+        ids.forEach(array::add);
+        return array;
+    }
+
+    private static boolean contains(JsonNode array, String value) {
+        for (JsonNode n : array) {
+            if (value.equals(n.asText())) return true;
+        }
+        return false;
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
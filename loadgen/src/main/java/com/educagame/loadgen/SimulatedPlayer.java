@@ -0,0 +1,232 @@
+package com.educagame.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One student: a WebSocket to {@code /game} that mirrors the room state and plays its
+ * {@link Scripts} move after a random think time. Latency is measured from sending a move to the
+ * next STATE/STATE_PATCH (or ERROR) this player receives; a player keeps at most one move in
+ * flight, so replies are not attributed to the wrong move.
+ */
+final class SimulatedPlayer implements WebSocket.Listener {
+
+    /** A move with no reply after this long is counted as unanswered and forgotten. */
+    private static final long REPLY_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final RoomRunner room;
+    private final String name;
+    private final boolean host;
+    private final LoadStats stats;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler;
+    private final long thinkMinMs;
+    private final long thinkMaxMs;
+    private final Random random = new Random();
+    private final StateMirror mirror = new StateMirror();
+    private final ByteArrayOutputStream partial = new ByteArrayOutputStream();
+
+    private WebSocket socket;
+    private CompletableFuture<?> sending = CompletableFuture.completedFuture(null);
+    private String connectionId;
+    private String lastKey;
+    private boolean scheduled;
+    private long pendingSince;
+    private volatile boolean closed;
+
+    SimulatedPlayer(RoomRunner room, String name, boolean host, LoadStats stats, ObjectMapper objectMapper,
+                    ScheduledExecutorService scheduler, long thinkMinMs, long thinkMaxMs) {
+        this.room = room;
+        this.name = name;
+        this.host = host;
+        this.stats = stats;
+        this.objectMapper = objectMapper;
+        this.scheduler = scheduler;
+        this.thinkMinMs = thinkMinMs;
+        this.thinkMaxMs = thinkMaxMs;
+    }
+
+    /** Opens the socket and sends JOIN; {@link RoomRunner#joined} is called on JOIN_OK. */
+    CompletableFuture<WebSocket> connect(HttpClient client, URI uri, String roomId) {
+        return client.newWebSocketBuilder().buildAsync(uri, this).thenApply(ws -> {
+            socket = ws;
+            stats.connected.incrementAndGet();
+            ObjectNode join = objectMapper.createObjectNode().put("type", "JOIN").put("roomId", roomId).put("playerName", name);
+            send(join);
+            return ws;
+        });
+    }
+
+    boolean isHost() {
+        return host;
+    }
+
+    /** Sends START; timed like any other move. */
+    void start() {
+        ObjectNode start = objectMapper.createObjectNode().put("type", "START");
+        synchronized (this) {
+            pendingSince = System.nanoTime();
+        }
+        send(start);
+    }
+
+    void close() {
+        if (closed) return;
+        closed = true;
+        WebSocket ws = socket;
+        if (ws == null) return;
+        stats.connected.decrementAndGet();
+        ws.sendClose(WebSocket.NORMAL_CLOSURE, "done")
+                .orTimeout(5, TimeUnit.SECONDS)
+                .whenComplete((v, e) -> ws.abort());
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        webSocket.request(1);
+    }
+
+    @Override
+    public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        partial.writeBytes(bytes);
+        if (last) {
+            byte[] frame = partial.toByteArray();
+            partial.reset();
+            handle(frame);
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+        partial.writeBytes(data.toString().getBytes(StandardCharsets.UTF_8));
+        if (last) {
+            byte[] frame = partial.toByteArray();
+            partial.reset();
+            handle(frame);
+        }
+        webSocket.request(1);
+        return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        if (!closed) room.playerLost(this);
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        if (!closed) room.playerLost(this);
+    }
+
+    private void handle(byte[] bytes) {
+        stats.received.incrementAndGet();
+        JsonNode frame;
+        try {
+            frame = objectMapper.readTree(bytes);
+        } catch (IOException e) {
+            stats.errors.incrementAndGet();
+            return;
+        }
+        switch (frame.path("type").asText()) {
+            case "JOIN_OK" -> {
+                synchronized (this) {
+                    connectionId = frame.path("payload").path("connectionId").asText();
+                }
+                room.joined(this);
+            }
+            case "ERROR" -> {
+                stats.errors.incrementAndGet();
+                replied();
+            }
+            case "STATE", "STATE_PATCH" -> onState(frame);
+            default -> {
+            }
+        }
+    }
+
+    private void onState(JsonNode frame) {
+        String phase;
+        synchronized (this) {
+            if (!mirror.apply(frame)) {
+                stats.resyncs.incrementAndGet();
+                send(objectMapper.createObjectNode().put("type", "RESYNC"));
+                return;
+            }
+            phase = mirror.tree().path("phase").asText();
+        }
+        replied();
+        room.stateChanged(this, phase);
+        maybeAct();
+    }
+
+    private synchronized void replied() {
+        if (pendingSince == 0) return;
+        stats.latency((System.nanoTime() - pendingSince) / 1000);
+        pendingSince = 0;
+    }
+
+    /** Schedules the script's move after a think time, unless one is already scheduled or in flight. */
+    private synchronized void maybeAct() {
+        if (closed || scheduled || connectionId == null) return;
+        if (pendingSince != 0) {
+            if (System.nanoTime() - pendingSince < REPLY_TIMEOUT_NANOS) return;
+            stats.unanswered.incrementAndGet();
+            pendingSince = 0;
+        }
+        Scripts.Action action = Scripts.next(room.gameType(), mirror.tree(), connectionId, host, random);
+        if (action == null || action.key().equals(lastKey)) return;
+        scheduled = true;
+        long delay = thinkMaxMs > thinkMinMs ? ThreadLocalRandom.current().nextLong(thinkMinMs, thinkMaxMs + 1) : thinkMinMs;
+        scheduler.schedule(this::act, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /** Re-reads the state after the think time: the round may have moved on meanwhile. */
+    private void act() {
+        Scripts.Action action;
+        synchronized (this) {
+            scheduled = false;
+            if (closed) return;
+            action = Scripts.next(room.gameType(), mirror.tree(), connectionId, host, random);
+            if (action == null || action.key().equals(lastKey)) return;
+            lastKey = action.key();
+            pendingSince = System.nanoTime();
+        }
+        send(action.message());
+    }
+
+    /** java.net.http allows one outstanding send per socket, so sends are chained. */
+    private void send(ObjectNode message) {
+        String text;
+        try {
+            text = objectMapper.writeValueAsString(message);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        WebSocket ws = socket;
+        if (ws == null || closed) return;
+        stats.sent.incrementAndGet();
+        synchronized (this) {
+            sending = sending.handle((v, e) -> null).thenCompose(v -> ws.sendText(text, true));
+        }
+    }
+}
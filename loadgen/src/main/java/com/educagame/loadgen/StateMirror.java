@@ -0,0 +1,76 @@
+package com.educagame.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * A client's copy of the room state, kept the way the web client keeps it: a STATE frame replaces
+ * the tree, a STATE_PATCH applies its add/remove/replace ops on top when its base revision is the
+ * one held. A patch for any other revision leaves the copy stale until the next snapshot.
+ * Not thread-safe; the owning player guards it.
+ */
+final class StateMirror {
+
+    private JsonNode tree = MissingNode.getInstance();
+    private JsonNode self = MissingNode.getInstance();
+    private long revision;
+
+    /** Applies one server frame; returns false if it was a patch the mirror cannot apply (a RESYNC is due). */
+    boolean apply(JsonNode frame) {
+        String type = frame.path("type").asText();
+        if ("STATE".equals(type)) {
+            tree = frame.path("payload").deepCopy();
+            revision = frame.path("revision").asLong();
+        } else if ("STATE_PATCH".equals(type)) {
+            JsonNode payload = frame.path("payload");
+            if (tree.isMissingNode() || payload.path("baseRevision").asLong() != revision) return false;
+            for (JsonNode op : payload.path("ops")) patch(op);
+            revision = frame.path("revision").asLong();
+        } else {
+            return true;
+        }
+        if (frame.has("self")) self = frame.get("self");
+        return true;
+    }
+
+    JsonNode tree() {
+        return tree;
+    }
+
+    /** This player's own view (their response this round); missing until the server sends one. */
+    JsonNode self() {
+        return self;
+    }
+
+    long revision() {
+        return revision;
+    }
+
+    private void patch(JsonNode op) {
+        String path = op.path("path").asText();
+        JsonNode value = op.get("value");
+        if (path.isEmpty()) {
+            tree = value;
+            return;
+        }
+        int slash = path.lastIndexOf('/');
+        JsonNode parent = tree.at(path.substring(0, slash));
+        String key = path.substring(slash + 1).replace("~1", "/").replace("~0", "~");
+        String kind = op.path("op").asText();
+        if (parent instanceof ObjectNode object) {
+            if ("remove".equals(kind)) object.remove(key);
+            else object.set(key, value);
+        } else if (parent instanceof ArrayNode array) {
+            int index = Integer.parseInt(key);
+            switch (kind) {
+                case "add" -> array.insert(index, value);
+                case "replace" -> array.set(index, value);
+                case "remove" -> array.remove(index);
+                default -> {
+                }
+            }
+        }
+    }
+}
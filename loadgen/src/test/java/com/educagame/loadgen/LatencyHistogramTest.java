@@ -0,0 +1,23 @@
+package com.educagame.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentilesStayWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) histogram.record(i * 10L);
+        assertEquals(10_000, histogram.count());
+        assertEquals(50_000, histogram.percentile(0.5), 50_000 * 0.04);
+        assertEquals(99_000, histogram.percentile(0.99), 99_000 * 0.04);
+        for (long v : new long[]{0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789}) {
+            long upper = LatencyHistogram.upperBound(LatencyHistogram.index(v));
+            assertTrue(upper >= v && upper <= v + v / 16 + 1, v + " -> " + upper);
+        }
+        assertEquals(10_000, histogram.drain().count());
+        assertEquals(0, histogram.count());
+    }
+}
@@ -0,0 +1,41 @@
+package com.educagame.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateMirrorTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonNode json(String s) throws Exception {
+        return mapper.readTree(s.replace('\'', '"'));
+    }
+
+    @Test
+    void appliesPatchesOnTopOfTheSnapshotAndRejectsGaps() throws Exception {
+        StateMirror mirror = new StateMirror();
+        assertTrue(mirror.apply(json("{'type':'STATE','revision':3,'payload':{'phase':'QUIZ_QUESTION',"
+                + "'players':[{'id':'a'}],'gamePayload':{'responses':{}}},'self':{}}")));
+        assertTrue(mirror.apply(json("{'type':'STATE_PATCH','revision':4,'payload':{'baseRevision':3,'ops':["
+                + "{'op':'add','path':'/gamePayload/responses/a','value':true},"
+                + "{'op':'add','path':'/players/1','value':{'id':'b/c'}},"
+                + "{'op':'replace','path':'/phase','value':'QUIZ_FEEDBACK'}]},'self':{'response':{'points':10}}}")));
+        assertEquals(4, mirror.revision());
+        assertEquals("QUIZ_FEEDBACK", mirror.tree().path("phase").asText());
+        assertTrue(mirror.tree().path("gamePayload").path("responses").has("a"));
+        assertEquals("b/c", mirror.tree().at("/players/1/id").asText());
+        assertEquals(10, mirror.self().at("/response/points").asInt());
+
+        assertTrue(mirror.apply(json("{'type':'STATE_PATCH','revision':5,'payload':{'baseRevision':4,'ops':["
+                + "{'op':'remove','path':'/players/1'},{'op':'remove','path':'/gamePayload/responses/a'}]}}")));
+        assertEquals(1, mirror.tree().path("players").size());
+        assertFalse(mirror.tree().path("gamePayload").path("responses").has("a"));
+
+        // A missed revision cannot be patched; the copy stays at 5 until the next snapshot.
+        assertFalse(mirror.apply(json("{'type':'STATE_PATCH','revision':7,'payload':{'baseRevision':6,'ops':[]}}")));
+        assertEquals(5, mirror.revision());
+    }
+}